@@ -0,0 +1,52 @@
+package Controller;
+
+import java.io.Serializable;
+
+/**
+ * Enumerations representing the points of the setup and of the end of a match that every player has to reach
+ * before the match can go on. The server tells every player of the match when a barrier is reached,
+ * so the clients can wait for it without asking the server again and again.
+ */
+public enum Barrier implements Serializable {
+
+    CONNECTED {
+        @Override
+        public boolean isReachedBy(MatchController match) {
+            return match.getNumOfPlayers() == match.getTable().getPlayers().size();
+        }
+    },
+    STARTER_CARDS_PLACED {
+        @Override
+        public boolean isReachedBy(MatchController match) {
+            return match.getNumOfStarterCardsPlaced() == match.getTable().getPlayers().size();
+        }
+    },
+    OBJECTIVE_CARDS_CHOSEN {
+        @Override
+        public boolean isReachedBy(MatchController match) {
+            return match.getNumOfObjectiveCardChosen() == match.getNumOfPlayers();
+        }
+    },
+    BLACK_PAWN_CHOSEN {
+        @Override
+        public boolean isReachedBy(MatchController match) {
+            return match.isBlackPawnChosen();
+        }
+    },
+    OBJECTIVE_CARDS_CALCULATED {
+        @Override
+        public boolean isReachedBy(MatchController match) {
+            return match.getNumOfObjectiveCardCalculated() == match.getNumOfPlayers();
+        }
+    };
+
+
+    /**
+     * Checks if a match has reached this barrier.
+     * It has to be called by the mailbox of the match.
+     *
+     * @param match is the match to be checked
+     * @return true if every player of the match has reached this barrier
+     */
+    public abstract boolean isReachedBy(MatchController match);
+}
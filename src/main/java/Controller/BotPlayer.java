@@ -0,0 +1,501 @@
+package Controller;
+
+import Listeners.BotListener;
+import Model.Cards.Colors;
+import Model.Cards.StarterCard;
+import Model.Cards.Symbols;
+import Model.MonteCarloSearch;
+import Model.Move;
+import Model.Player;
+import Network.VirtualServer;
+
+import java.rmi.RemoteException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A player played by the server, without a client process: it joins a match through the GameController with its own
+ * listener and then goes through the same steps of a client, calling the server directly.
+ * The placements, the draws and the secret objective are chosen with a Monte Carlo search on a fork of the match,
+ * made by the mailbox of the match, so the bot never reads the live match outside the mailbox.
+ * The bot observes its match and waits for the barriers, the turns and the commands without result run in the match
+ * before checking again if it can go on, instead of polling the server.
+ * Bots can fill the empty seats of a match or whole matches, for example to load a server.
+ */
+public class BotPlayer implements Runnable {
+
+    /**
+     * The server the bot is playing on, in the same process.
+     */
+    private final VirtualServer server;
+
+    /**
+     * The nickname of the bot.
+     */
+    private final String nickname;
+
+    /**
+     * The number of players of the match, used only if the bot creates the match.
+     */
+    private final int numOfPlayers;
+
+    /**
+     * The search which chooses the actions of the bot.
+     */
+    private final MonteCarloSearch search;
+
+    /**
+     * The listener of the player of the bot.
+     */
+    private final BotListener listener = new BotListener();
+
+    /**
+     * The observer of the match which wakes up the bot.
+     */
+    private final WakeUp wakeUp = new WakeUp();
+
+    /**
+     * The ID of the match the bot is playing.
+     */
+    private int idMatch;
+
+    /**
+     * True if the bot created the match, so it has to perform the actions of the first player.
+     */
+    private boolean first;
+
+    /**
+     * True if the bot has played its last turn.
+     */
+    private boolean finishedToPlay;
+
+
+    /**
+     * Constructor for the BotPlayer class.
+     *
+     * @param server is the server the bot is playing on, in the same process
+     * @param nickname is the nickname of the bot, which must not be used by anyone else
+     * @param numOfPlayers is the number of players of the match, used only if the bot creates the match
+     * @param search is the search which chooses the actions of the bot
+     */
+    public BotPlayer(VirtualServer server, String nickname, int numOfPlayers, MonteCarloSearch search) {
+        this.server = server;
+        this.nickname = nickname;
+        this.numOfPlayers = numOfPlayers;
+        this.search = search;
+    }
+
+
+    /**
+     * Getter method for the nickname attribute.
+     *
+     * @return the nickname of the bot
+     */
+    public String getNickname() {
+        return nickname;
+    }
+
+
+    /**
+     * Getter method for the idMatch attribute.
+     *
+     * @return the ID of the match the bot is playing
+     */
+    public int getIdMatch() {
+        return idMatch;
+    }
+
+
+    /**
+     * Starts the bot on a new virtual thread.
+     *
+     * @return the thread playing the match
+     */
+    public Thread start() {
+        return Thread.ofVirtual().name("bot-" + nickname).start(this);
+    }
+
+
+    /**
+     * Plays a whole match, from the creation or the choice of the match to the final score.
+     */
+    @Override
+    public void run() {
+        try {
+            GameController controller = server.getController();
+            join();
+            controller.addObserver(idMatch, wakeUp);
+            try {
+                waitUntil(() -> server.allConnected(idMatch));
+                placeStarterCard();
+                chooseColor();
+                drawCardsAndChooseSecretObjective();
+                assignBlackPawn();
+                while (!finishedToPlay) {
+                    waitUntil(() -> server.checkTurn(idMatch, nickname));
+                    playTurn();
+                    checkEndPhase();
+                }
+                manageEndgame();
+            } finally {
+                controller.removeObserver(idMatch, wakeUp);
+            }
+        } catch (RemoteException e) {
+            throw new RuntimeException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    /**
+     * Creates a new match if there is not an open one, otherwise joins the open match.
+     * Only one of the bots starting together opens the match, the others join the match it opens.
+     *
+     * @throws RemoteException in case of network errors
+     */
+    private void join() throws RemoteException {
+        GameController controller = server.getController();
+        while (true) {
+            int opened = controller.openMatch(nickname, numOfPlayers, listener);
+            if (opened >= 0) {
+                first = true;
+                idMatch = opened;
+                listener.setServer(server);
+                return;
+            }
+            try {
+                idMatch = controller.addPlayer(nickname, listener);
+                listener.setServer(server);
+                return;
+            } catch (NoSuchElementException e) {
+                //The open match has been filled in the meantime, so the bot tries to open a new one
+            }
+        }
+    }
+
+
+    /**
+     * Places the starter card on the face showing more symbols, then waits for the other players.
+     *
+     * @throws RemoteException in case of network errors
+     * @throws InterruptedException if the bot is interrupted while waiting
+     */
+    private void placeStarterCard() throws RemoteException, InterruptedException {
+        if (first) server.shuffleDecksAndGiveStarterCards(idMatch);
+        waitUntil(() -> read(player -> !player.getHand().isEmpty()));
+        String face = read(player -> {
+            StarterCard starter = (StarterCard) player.getHand().getFirst();
+            int front = starter.getCentre().length;
+            int back = 0;
+            for (int i = 0; i < 4; i++) {
+                if (shows(starter.getSymbols()[i])) front++;
+                if (shows(starter.getDefaultSymbols()[i])) back++;
+            }
+            return front >= back ? "front" : "back";
+        });
+        server.place(idMatch, nickname, 1, face, 0, 0);
+        server.increaseNumOfStarterCardsPlaced(idMatch);
+        waitUntil(() -> server.allStarterCardsPlaced(idMatch));
+    }
+
+
+    /**
+     * Chooses the first available color when it is the turn of the bot.
+     *
+     * @throws RemoteException in case of network errors
+     * @throws InterruptedException if the bot is interrupted while waiting
+     */
+    private void chooseColor() throws RemoteException, InterruptedException {
+        if (first) server.itIsMyTurn(idMatch, nickname);
+        waitUntil(() -> server.canIChooseTheColor(idMatch, nickname));
+        for (Colors color : server.showAvailableColors(idMatch)) {
+            if (color != null && server.checkColor(idMatch, color)) {
+                server.removeColorAndPassTurn(idMatch, nickname, color);
+                return;
+            }
+        }
+    }
+
+
+    /**
+     * Lets the first player deal the cards and the objectives, then the bot chooses its secret objective
+     * and waits for the other players.
+     *
+     * @throws RemoteException in case of network errors
+     * @throws InterruptedException if the bot is interrupted while waiting
+     */
+    private void drawCardsAndChooseSecretObjective() throws RemoteException, InterruptedException {
+        if (first) {
+            server.drawCardsAndPlaceCommonObjectives(idMatch);
+            server.giveObjectives(idMatch);
+        }
+        waitUntil(() -> read(player -> player.getObChoice2() != null));
+        server.putChoiceObjectives(idMatch, nickname, search.chooseObjective(fork()));
+        server.increaseNumOfObjectiveCardChosen(idMatch);
+        waitUntil(() -> server.allObjectiveCardsChosen(idMatch));
+    }
+
+
+    /**
+     * Lets the first player assign the black pawn, then the player owning it starts.
+     * The first player also gives the turn to the owner of the black pawn before telling that it has been chosen,
+     * so that the turn left by the choice of the colors is never seen by the bots.
+     *
+     * @throws RemoteException in case of network errors
+     * @throws InterruptedException if the bot is interrupted while waiting
+     */
+    private void assignBlackPawn() throws RemoteException, InterruptedException {
+        if (first) {
+            server.chooseTheBlackPawn(idMatch);
+            server.itIsMyTurn(idMatch, server.getNameOfThePlayerWithTheBlackPawn(idMatch));
+            server.setBlackPawnChosen(idMatch, true);
+        }
+        waitUntil(() -> server.isBlackPawnChosen(idMatch));
+        if (nickname.equals(server.getNameOfThePlayerWithTheBlackPawn(idMatch))) server.itIsMyTurn(idMatch, nickname);
+    }
+
+
+    /**
+     * Places the card chosen by the search and draws from the place chosen by the search, each one searched
+     * on a new fork of the match.
+     * If no card can be placed, the turn goes on to the draw; if nothing is left to draw, the turn passes anyway.
+     *
+     * @throws RemoteException in case of network errors
+     */
+    private void playTurn() throws RemoteException {
+        Move move = search.chooseMove(fork());
+        boolean placed = move != null && server.tryPlace(idMatch, nickname, move.getHandIndex() + 1,
+                move.isFace() ? "front" : "back", move.getRow(), move.getColumn()).isAccepted();
+        if (!placed) server.checkCommand(idMatch, nickname, "place");
+        int choice = search.chooseDraw(fork());
+        if (choice == MonteCarloSearch.RESOURCE_DECK) server.tryDraw(idMatch, nickname, "resource", 0);
+        else if (choice == MonteCarloSearch.GOLD_DECK) server.tryDraw(idMatch, nickname, "gold", 0);
+        else server.tryDraw(idMatch, nickname, "table", choice);
+    }
+
+
+    /**
+     * Checks if the conditions to proceed to the last phase of the game are met, as the clients do.
+     * Once the bot has finished to play it does not read the match again, since the last player finishing
+     * makes the server score the match, which is then moved to the archive.
+     *
+     * @throws RemoteException in case of network errors
+     */
+    private void checkEndPhase() throws RemoteException {
+        if (server.isLastRound(idMatch)) {
+            finishedToPlay = true;
+            server.increaseNumOfPlayersThatHaveFinishedToPlay(idMatch);
+            return;
+        }
+        if (!server.isLastRound(idMatch)) {
+            int result = server.checkSecondToLastTurn(idMatch, nickname);
+            if (result == 1) server.setSecondToLastRound(idMatch, true);
+            if (result == 2) server.setLastRound(idMatch, true);
+        }
+        if (server.isSecondToLastRound(idMatch) && server.isNextPlayerTheBlackPawn(idMatch, nickname)) {
+            server.setLastRound(idMatch, true);
+        }
+    }
+
+
+    /**
+     * Waits until the server has scored the match, which happens when the last player finishes to play.
+     *
+     * @throws RemoteException in case of network errors
+     * @throws InterruptedException if the bot is interrupted while waiting
+     */
+    private void manageEndgame() throws RemoteException, InterruptedException {
+        waitUntil(wakeUp::isScored);
+    }
+
+
+    /**
+     * Waits until a condition is true, the bot checks it again every time its match notifies a change.
+     *
+     * @param condition is the condition to wait for
+     * @throws RemoteException in case of network errors
+     * @throws InterruptedException if the bot is interrupted while waiting
+     */
+    private void waitUntil(Condition condition) throws RemoteException, InterruptedException {
+        while (true) {
+            long seen = wakeUp.getNotifications();
+            if (condition.check()) return;
+            wakeUp.awaitAfter(seen);
+        }
+    }
+
+
+    /**
+     * Reads the player of the bot through the mailbox of the match.
+     *
+     * @param reader reads what the bot needs from its player
+     * @param <T> is the type of what is read
+     * @return what has been read
+     * @throws RemoteException in case of network errors
+     */
+    private <T> T read(Function<Player, T> reader) throws RemoteException {
+        return server.getController().call(idMatch, match -> reader.apply(match.getPlayerByName(nickname)));
+    }
+
+
+    /**
+     * Forks the match through its mailbox, so that the search can read the fork of the player while the match goes on.
+     *
+     * @return the fork of the player of the bot
+     * @throws RemoteException in case of network errors
+     */
+    private Player fork() throws RemoteException {
+        return server.getController().call(idMatch, match -> match.fork().getPlayerByName(nickname));
+    }
+
+
+    /**
+     * Checks if a corner shows a resource or an object.
+     *
+     * @param symbol is the symbol on the corner
+     * @return true if the symbol counts in the available resources
+     */
+    private static boolean shows(Symbols symbol) {
+        return symbol != null && symbol != Symbols.EMPTY && symbol != Symbols.NOCORNER;
+    }
+
+
+    /**
+     * A condition the bot waits for.
+     */
+    private interface Condition {
+
+        /**
+         * Checks the condition.
+         *
+         * @return true if the bot can go on
+         * @throws RemoteException in case of network errors
+         */
+        boolean check() throws RemoteException;
+    }
+
+
+    /**
+     * The observer of the match of the bot, which counts the notifications of the match and wakes up the bot
+     * every time a barrier is reached, the turn changes or a command without result has been run.
+     * It waits with a lock instead of a monitor, so a bot running on a virtual thread does not pin its carrier
+     * while it sleeps.
+     */
+    private static class WakeUp implements MatchObserver {
+
+        /**
+         * The lock guarding the notifications.
+         */
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * The condition the bot waits on until a new notification is received.
+         */
+        private final java.util.concurrent.locks.Condition notified = lock.newCondition();
+
+        /**
+         * The number of notifications received since the bot started observing its match.
+         */
+        private long notifications;
+
+        /**
+         * True once the match has been scored, after which the match is no longer read by the bot.
+         */
+        private volatile boolean scored;
+
+
+        /**
+         * Wakes up the bot when all the players have reached a barrier, and records when the match has been scored.
+         *
+         * @param idMatch is the ID of the match
+         * @param barrier is the barrier reached
+         */
+        @Override
+        public void barrierReached(int idMatch, Barrier barrier) {
+            if (barrier == Barrier.OBJECTIVE_CARDS_CALCULATED) scored = true;
+            wake();
+        }
+
+
+        /**
+         * Wakes up the bot when the turn changes.
+         *
+         * @param idMatch is the ID of the match
+         * @param turnOwner is the nickname of the player whose turn it is
+         * @param phase is the name of the phase of the turn
+         */
+        @Override
+        public void turnChanged(int idMatch, String turnOwner, String phase) {
+            wake();
+        }
+
+
+        /**
+         * Wakes up the bot when a command without result has been run, as it can change what the bot is waiting for
+         * without reaching a barrier or changing the turn, for example when the cards are dealt.
+         *
+         * @param idMatch is the ID of the match
+         */
+        @Override
+        public void commandRun(int idMatch) {
+            wake();
+        }
+
+
+        /**
+         * Counts the notification and wakes up the bot.
+         */
+        private void wake() {
+            lock.lock();
+            try {
+                notifications++;
+                notified.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+
+        /**
+         * Getter method for the scored attribute.
+         *
+         * @return true if the match has been scored
+         */
+        private boolean isScored() {
+            return scored;
+        }
+
+
+        /**
+         * Getter method for the notifications attribute.
+         *
+         * @return the number of notifications received so far
+         */
+        private long getNotifications() {
+            lock.lock();
+            try {
+                return notifications;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+
+        /**
+         * Waits until a notification has been received after the given number of notifications.
+         *
+         * @param seen is the number of notifications already seen by the bot
+         * @throws InterruptedException if the bot is interrupted while waiting
+         */
+        private void awaitAfter(long seen) throws InterruptedException {
+            lock.lock();
+            try {
+                while (notifications == seen) notified.await();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
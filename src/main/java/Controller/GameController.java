@@ -8,34 +8,86 @@ import org.json.simple.parser.ParseException;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Controller which manages the creation of new matches and adds players to those matches.
+ * The matches are kept in a concurrent map indexed by id, the ids are allocated atomically and the match which
+ * is still waiting for players is published together with its free seats in a single atomic reference,
+ * so that matches can be created and joined by many connection threads at the same time without locks.
+ * Matches which have ended or have been aborted are removed and only their compact records are kept,
+ * in an archive of bounded size.
  */
 public class GameController implements Serializable {
 
     /**
-     * A list of every match currently starting or already started.
+     * The default time, in milliseconds, a scored match stays live before it is moved to the archive.
      */
-    private final List<MatchController> matchList = new ArrayList<>();
+    public static final long END_GRACE = 60_000;
 
     /**
-     * The ID of the first match created, usually 0.
+     * Every match currently starting or already started, indexed by ID.
      */
-    private int currentMatch;
+    private final Map<Integer, MatchController> matches = new ConcurrentHashMap<>();
 
     /**
-     * An integer indicating the number of players chosen by the creator of the match.
-     * Every time a player has been added to the match, this number decreases until it reaches 0 anf the match starts.
+     * The ID which will be given to the next match created.
      */
-    private int playersQueue;
+    private final AtomicInteger nextMatch = new AtomicInteger();
+
+    /**
+     * The match which is waiting for players, with the number of seats still free.
+     * It is null if no match is waiting for players.
+     */
+    private final AtomicReference<Lobby> lobby = new AtomicReference<>();
+
+    /**
+     * The ID of the last match created, or of the first match which will be created, usually 0.
+     */
+    private volatile int currentMatch;
 
     /**
      * An attribute which is true if a player is the first one to enter the match, which means they are creating it.
      */
-    private boolean first = true;
+    private volatile boolean first = true;
+
+    /**
+     * The records of the matches most recently ended or aborted, which are no longer among the live matches.
+     */
+    private final MatchArchive archive = new MatchArchive(MatchArchive.DEFAULT_CAPACITY);
+
+    /**
+     * The time, in milliseconds, a scored match stays live so that its players can read the final score,
+     * before it is moved to the archive whoever is still connected to it.
+     */
+    private volatile long endGrace = END_GRACE;
+
+    /**
+     * The observers told about the barriers reached and the turns changed in every match.
+     */
+    private final transient CopyOnWriteArrayList<MatchObserver> observers = new CopyOnWriteArrayList<>();
+
+    /**
+     * The observers told about the changes of a single match, indexed by the ID of the match.
+     */
+    private final transient Map<Integer, CopyOnWriteArrayList<MatchObserver>> matchObservers = new ConcurrentHashMap<>();
+
+    /**
+     * The changes collected by the command which the current thread is running in the mailbox of a match,
+     * null if the thread is not running a command.
+     */
+    private static final ThreadLocal<Changes> running = new ThreadLocal<>();
 
 
     /**
@@ -46,7 +98,7 @@ public class GameController implements Serializable {
      */
     public GameController(int i) {
         currentMatch = i;
-        playersQueue = 0;
+        nextMatch.set(i);
     }
 
 
@@ -59,13 +111,26 @@ public class GameController implements Serializable {
     /**
      * Getter method for the matchList attribute.
      *
-     * @return the list containing all the matchControllers in the game.
+     * @return a list containing all the matchControllers in the game, ordered by ID
      */
     public List<MatchController> getMatchList() {
+        List<MatchController> matchList = new ArrayList<>(matches.values());
+        matchList.sort(Comparator.comparingInt(MatchController::getMatchID));
         return matchList;
     }
 
 
+    /**
+     * Setter method for the matchList attribute, used for Jackson serialization.
+     *
+     * @param matchList is the list of the matches to be put, each one under its ID
+     */
+    public void setMatchList(List<MatchController> matchList) {
+        matches.clear();
+        for (MatchController match : matchList) matches.put(match.getMatchID(), match);
+    }
+
+
     /**
      * Gets a match based on the provided ID.
      *
@@ -73,30 +138,211 @@ public class GameController implements Serializable {
      * @return the match with the provided ID
      */
     public MatchController getMatch(int id){
-        if (id < 0 || id >= matchList.size()) {
+        MatchController match = matches.get(id);
+        if (match == null) {
             throw new IndexOutOfBoundsException("Invalid match id: " + id);
         }
-        return matchList.get(id);
+        return match;
+    }
+
+
+    /**
+     * Runs a command on a match through the mailbox of the match and waits for its result.
+     * The commands of the same match are run one at a time, the commands of different matches in parallel.
+     * The barriers reached and the turn changed by the command are announced to every observer
+     * once the command has been run, outside the mailbox, after the actions the command has put off with afterCommand.
+     *
+     * @param id is the ID of the match
+     * @param command is the command to be run on the match
+     * @param <T> is the type of the result
+     * @return the result of the command
+     */
+    public <T> T call(int id, Function<MatchController, T> command) {
+        MatchController match = getMatch(id);
+        Changes changes = new Changes();
+        T result = match.getMailbox().call(() -> {
+            Changes outer = running.get();
+            if (outer == null) running.set(changes);
+            try {
+                return command.apply(match);
+            } finally {
+                changes.collect(match);
+                if (outer == null) running.remove();
+            }
+        });
+        announce(id, changes);
+        return result;
+    }
+
+
+    /**
+     * Runs a command without result on a match through the mailbox of the match and waits until it has been run.
+     * Such a command is run to change the match, so the observers are told that it has been run
+     * even if it has reached no barrier and has not changed the turn.
+     *
+     * @param id is the ID of the match
+     * @param command is the command to be run on the match
+     */
+    public void run(int id, Consumer<MatchController> command) {
+        call(id, match -> {
+            command.accept(match);
+            running.get().commandRun = true;
+            return null;
+        });
+    }
+
+
+    /**
+     * Puts off an action until the command which the current thread is running has ended, so that the action is run
+     * by the thread which sent the command, outside the mailbox, and can send other commands to the same match.
+     * The actions put off by a command are run in order, before its changes are announced.
+     *
+     * @param action is the action to be put off
+     * @return true if the action has been put off, false if the current thread is not running a command
+     * and the action has to be run now
+     */
+    public boolean afterCommand(Runnable action) {
+        Changes changes = running.get();
+        if (changes == null) return false;
+        changes.deferred.add(action);
+        return true;
+    }
+
+
+    /**
+     * Adds an observer of the matches, unless an equal observer has already been added,
+     * so that servers sharing the same clients can register the same notifier without telling them twice.
+     *
+     * @param observer is told about the barriers reached and the turns changed in every match
+     */
+    public void addObserver(MatchObserver observer) {
+        observers.addIfAbsent(observer);
+    }
+
+
+    /**
+     * Adds an observer of a single match, for example a bot waiting for the other players of its match.
+     *
+     * @param id is the ID of the match
+     * @param observer is told about the barriers reached, the turns changed and the commands without result run in the match
+     */
+    public void addObserver(int id, MatchObserver observer) {
+        matchObservers.computeIfAbsent(id, key -> new CopyOnWriteArrayList<>()).addIfAbsent(observer);
+    }
+
+
+    /**
+     * Removes an observer of a single match.
+     *
+     * @param id is the ID of the match
+     * @param observer is the observer to be removed
+     */
+    public void removeObserver(int id, MatchObserver observer) {
+        matchObservers.computeIfPresent(id, (key, list) -> {
+            list.remove(observer);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+
+    /**
+     * Tells the observers of every match and the observers of the match about the changes made by a command.
+     * If the command has scored the match, the match is moved to the archive once the end grace is over.
+     *
+     * @param id is the ID of the match
+     * @param changes are the changes made by the command
+     */
+    private void announce(int id, Changes changes) {
+        List<MatchObserver> thisMatch = matchObservers.get(id);
+        changes.announce(id, observers, thisMatch == null ? List.of() : thisMatch);
+        if (changes.barriers.contains(Barrier.OBJECTIVE_CARDS_CALCULATED)) {
+            CompletableFuture.runAsync(() -> evictIfEnded(id), CompletableFuture.delayedExecutor(endGrace, TimeUnit.MILLISECONDS));
+        }
+    }
+
+
+    /**
+     * Removes a match from the live matches and keeps only its compact record in the archive.
+     * The record is taken through the mailbox of the match, after the commands already sent to it.
+     * If the match is also the one waiting for players, no more players are added to it.
+     *
+     * @param id is the ID of the match
+     * @param aborted is true if the match has been aborted before its end
+     * @return the record of the match, null if the match has never existed or has been forgotten
+     */
+    public MatchRecord evict(int id, boolean aborted) {
+        MatchController match = matches.get(id);
+        if (match == null) return archive.get(id);
+        MatchRecord record = match.getMailbox().call(() -> new MatchRecord(match, aborted));
+        if (!matches.remove(id, match)) return archive.get(id);
+        archive.put(record);
+        matchObservers.remove(id);
+        Lobby current = lobby.get();
+        while (current != null && current.match() == match && !lobby.compareAndSet(current, null)) {
+            current = lobby.get();
+        }
+        return record;
+    }
+
+
+    /**
+     * Removes a match from the live matches if the final scores of its players have been calculated.
+     * It is called by the controller once the end grace of a scored match is over, whether its players are clients
+     * or bots, and by the servers when the last client of a match leaves.
+     *
+     * @param id is the ID of the match
+     * @return true if the match has ended and has been moved to the archive
+     */
+    public boolean evictIfEnded(int id) {
+        MatchController match = matches.get(id);
+        if (match == null || !match.getMailbox().call(match::isScored)) return false;
+        return evict(id, false) != null;
+    }
+
+
+    /**
+     * Gets the record of a match which has ended or has been aborted.
+     *
+     * @param id is the ID of the match
+     * @return the record of the match, null if the match is still live, has never existed or has been forgotten
+     */
+    public MatchRecord getResult(int id) {
+        return archive.get(id);
     }
 
 
     /**
      * Getter method for the playersQueue attribute.
      *
-     * @return the value of the queue
+     * @return the number of seats still free in the match which is waiting for players, 0 if there is none
      */
     public int getPlayersQueue(){
-        return playersQueue;
+        Lobby current = lobby.get();
+        return current == null ? 0 : current.seats();
     }
 
 
     /**
-     * Setter method for the playersQueue attribute.
+     * Opens a new match for the given number of players and adds the player who invoked this method as its
+     * first player, unless another match is already waiting for players or being created.
+     * Checking that there is no open match and choosing the number of players happen in a single atomic step,
+     * so only one of the players calling it at the same time becomes the creator, and the others can join
+     * the match it opens.
      *
-     * @param playersQueue indicates how many players still need to join the match in order to start it
+     * @param nickname name of the player
+     * @param numOfPlayers is the number of players of the new match
+     * @param playerListener is the listener which is going to be added to the newly created player
+     * @return the ID of the created match, or -1 if another match is waiting for players or being created
      */
-    public void setPlayersQueue(int playersQueue) {
-        this.playersQueue = playersQueue;
+    public int openMatch(String nickname, int numOfPlayers, Listener playerListener) {
+        Lobby reservation = new Lobby(null, numOfPlayers);
+        if (!lobby.compareAndSet(null, reservation)) return -1;
+        try {
+            return addMatch(nickname, playerListener);
+        } catch (RuntimeException e) {
+            lobby.compareAndSet(reservation, null);
+            throw e;
+        }
     }
 
 
@@ -120,6 +366,16 @@ public class GameController implements Serializable {
     }
 
 
+    /**
+     * Setter method for the endGrace attribute.
+     *
+     * @param endGrace is the time, in milliseconds, a scored match stays live before it is moved to the archive
+     */
+    public void setEndGrace(long endGrace) {
+        this.endGrace = endGrace;
+    }
+
+
     /**
      * Getter method for the currentMatch attribute.
      *
@@ -137,57 +393,213 @@ public class GameController implements Serializable {
      */
     public void setCurrentMatch(int currentMatch) {
         this.currentMatch = currentMatch;
+        nextMatch.set(currentMatch);
     }
 
 
     /**
-     * This method creates a new match in the controller and adds the player who invoked this method
+     * This method creates the match reserved by 'openMatch' and adds the player who invoked this method
      * as the first player to join the match.
+     * The ID of the match is allocated atomically, so matches created at the same time never share an ID.
      *
      * @param nickname name of the player
      * @param playerListener is the listener which is going to be added to the newly created player
      * @return the ID of the created match
      */
-    public int addMatch(String nickname, Listener playerListener) {
+    private int addMatch(String nickname, Listener playerListener) {
+        int id = nextMatch.getAndIncrement();
         MatchController match;
-        if (first) {
-            try {match = new MatchController(currentMatch, playersQueue, new Table());}
-            catch (IOException | ParseException e) {throw new RuntimeException(e);}
-            matchList.add(match);
-            addPlayer(nickname, playerListener);
-            first = false;
-
-        } else {
-            currentMatch++;
-            try {match = new MatchController(currentMatch, playersQueue, new Table());}
-            catch (IOException | ParseException e) {throw new RuntimeException(e);}
-            matchList.add(match);
-            addPlayer(nickname, playerListener);
+        try {match = new MatchController(id, getPlayersQueue(), new Table());}
+        catch (IOException | ParseException e) {throw new RuntimeException(e);}
+        addMatch(match);
+        addPlayer(nickname, playerListener);
+        first = false;
+        return id;
+    }
+
+
+    /**
+     * Adds a match which has already been created to the controller, under its ID.
+     * If a match has been reserved by 'openMatch' and is still being created, the players who join
+     * from now on are added to this match.
+     *
+     * @param match is the match to be added
+     */
+    public void addMatch(MatchController match) {
+        matches.put(match.getMatchID(), match);
+        currentMatch = match.getMatchID();
+        nextMatch.accumulateAndGet(match.getMatchID() + 1, Math::max);
+        Lobby current = lobby.get();
+        while (current != null && current.match() == null && !lobby.compareAndSet(current, new Lobby(match, current.seats()))) {
+            current = lobby.get();
         }
-        return currentMatch;
     }
 
 
     /**
-     * This method adds a player to the current match.
+     * This method adds a player to the match which is waiting for players.
+     * A free seat is taken atomically, so a player is never added to a match which is already full, and the player
+     * is added to the table through the mailbox of the match. If the match is still being created by 'openMatch',
+     * the player waits until it has been created.
      *
      * @param nickname name of the player
      * @param playerListener is the listener which is going to be added to the newly created player
-     * @return the ID of the current match
-     * @throws NoSuchElementException if there is still no match created, whereas another player has already started
-     * the software and is currently creating the first match
+     * @return the ID of the match the player joined
+     * @throws NoSuchElementException if no match is waiting for players, so the player has to open one
      */
     public int addPlayer(String nickname, Listener playerListener) throws NoSuchElementException {
-        MatchController match = matchList.getLast();
-        if(playersQueue > 0) {
-            Player player = new Player(nickname, currentMatch, match.getTable());
-            match.getTable().getPlayers().add(player);
-            if (match.getTable().getPlayers().getFirst().equals(player))
-                player.setYourTurn(true);
-            else player.setYourTurn(false);
-            player.addListener(playerListener);
-            playersQueue--;
+        while (true) {
+            Lobby current = lobby.get();
+            if (current == null) throw new NoSuchElementException("No match is waiting for players");
+            if (current.match() == null) {
+                Thread.yield();
+                continue;
+            }
+            Lobby next = current.seats() > 1 ? new Lobby(current.match(), current.seats() - 1) : null;
+            if (lobby.compareAndSet(current, next)) {
+                MatchController match = current.match();
+                Changes changes = match.getMailbox().call(() -> {
+                    Player player = new Player(nickname, match.getMatchID(), match.getTable());
+                    match.getTable().getPlayers().add(player);
+                    player.setYourTurn(match.getTable().getPlayers().getFirst().equals(player));
+                    player.addListener(playerListener);
+                    return new Changes().collect(match);
+                });
+                announce(match.getMatchID(), changes);
+                return match.getMatchID();
+            }
+        }
+    }
+
+
+    /**
+     * The changes of a match made by a command which have to be announced to the observers.
+     * They are collected by the mailbox of the match and announced by the thread which sent the command.
+     */
+    private static final class Changes {
+
+        /**
+         * The barriers reached, in order.
+         */
+        private List<Barrier> barriers = List.of();
+
+        /**
+         * The actions put off by the command until it has ended, in order.
+         */
+        private final List<Runnable> deferred = new ArrayList<>();
+
+        /**
+         * True if the player whose turn it is or the phase of the turn have changed.
+         */
+        private boolean turnChanged;
+
+        /**
+         * True if a command without result has been run, which may have changed the match in other ways.
+         */
+        private boolean commandRun;
+
+        /**
+         * The nickname of the player whose turn it is, after the command.
+         */
+        private String turnOwner;
+
+        /**
+         * The name of the phase of the turn, after the command.
+         */
+        private String phase;
+
+
+        /**
+         * Collects the changes of a match since the last announcement, it has to be called by the mailbox of the match.
+         *
+         * @param match is the match which has been changed
+         * @return these changes
+         */
+        private Changes collect(MatchController match) {
+            barriers = match.passBarriers();
+            turnChanged = match.passTurn();
+            if (turnChanged) {
+                turnOwner = match.getTurnOwner();
+                phase = match.getPhaseName();
+            }
+            return this;
+        }
+
+
+        /**
+         * Runs the actions put off by the command, then tells every observer about the changes collected.
+         *
+         * @param id is the ID of the match
+         * @param everyMatch are the observers of every match
+         * @param thisMatch are the observers of the match
+         */
+        private void announce(int id, List<MatchObserver> everyMatch, List<MatchObserver> thisMatch) {
+            for (Runnable action : deferred) action.run();
+            for (MatchObserver observer : everyMatch) tell(id, observer);
+            for (MatchObserver observer : thisMatch) tell(id, observer);
+        }
+
+
+        /**
+         * Tells an observer about the changes collected.
+         *
+         * @param id is the ID of the match
+         * @param observer is the observer to be told
+         */
+        private void tell(int id, MatchObserver observer) {
+            for (Barrier barrier : barriers) observer.barrierReached(id, barrier);
+            if (turnChanged) observer.turnChanged(id, turnOwner, phase);
+            if (commandRun) observer.commandRun(id);
+        }
+    }
+
+
+    /**
+     * The match which is waiting for players, with the number of seats still free.
+     * It is immutable, so that the match and its seats are always changed together.
+     */
+    private static final class Lobby implements Serializable {
+
+        /**
+         * The match waiting for players, null if its creator has chosen the number of players but has not created it yet.
+         */
+        private final MatchController match;
+
+        /**
+         * The number of seats still free.
+         */
+        private final int seats;
+
+
+        /**
+         * Constructor for the Lobby class.
+         *
+         * @param match is the match waiting for players, null if it has not been created yet
+         * @param seats is the number of seats still free
+         */
+        private Lobby(MatchController match, int seats) {
+            this.match = match;
+            this.seats = seats;
+        }
+
+
+        /**
+         * Getter method for the match attribute.
+         *
+         * @return the match waiting for players, null if it has not been created yet
+         */
+        private MatchController match() {
+            return match;
+        }
+
+
+        /**
+         * Getter method for the seats attribute.
+         *
+         * @return the number of seats still free
+         */
+        private int seats() {
+            return seats;
         }
-        return currentMatch;
     }
 }
@@ -0,0 +1,129 @@
+package Controller;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * The mailbox of a match: a serial executor through which every command for the match passes, so that the state
+ * of the match is only changed by one command at a time and needs no locks.
+ * The commands are run in order on a virtual thread, which is started when the first command arrives and ends
+ * as soon as the mailbox is empty, so an idle match keeps no thread.
+ * Different matches have different mailboxes, so their commands run in parallel.
+ */
+public class Mailbox implements Executor {
+
+    /**
+     * The name of the threads running the commands.
+     */
+    private final String name;
+
+    /**
+     * The commands waiting to be run, in order of arrival.
+     */
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+
+    /**
+     * True if a thread is running the commands of the mailbox.
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * The thread which is running the commands, null if the mailbox is idle.
+     */
+    private volatile Thread owner;
+
+
+    /**
+     * Constructor for the Mailbox class.
+     *
+     * @param name is the name of the threads running the commands
+     */
+    public Mailbox(String name) {
+        this.name = name;
+    }
+
+
+    /**
+     * Adds a command to the mailbox, it will be run after the commands already in the mailbox.
+     *
+     * @param command is the command to be run
+     */
+    @Override
+    public void execute(Runnable command) {
+        commands.add(command);
+        schedule();
+    }
+
+
+    /**
+     * Runs a command in the mailbox and waits for its result.
+     * A command sent by a command of the same mailbox is run immediately, since waiting for it would never end.
+     *
+     * @param command is the command to be run
+     * @param <T> is the type of the result
+     * @return the result of the command
+     * @throws RuntimeException the exception thrown by the command, if any
+     */
+    public <T> T call(Supplier<T> command) {
+        if (isOwner()) return command.get();
+        FutureTask<T> task = new FutureTask<>(command::get);
+        execute(task);
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the mailbox " + name, e);
+        }
+    }
+
+
+    /**
+     * Checks if the current thread is the one running the commands of the mailbox.
+     *
+     * @return true if the method is called by a command of the mailbox
+     */
+    public boolean isOwner() {
+        return Thread.currentThread() == owner;
+    }
+
+
+    /**
+     * Starts a thread running the commands, unless there is one already.
+     */
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            Thread.ofVirtual().name(name).start(this::drain);
+        }
+    }
+
+
+    /**
+     * Runs the commands until the mailbox is empty, then lets another thread start if a command arrived meanwhile.
+     */
+    private void drain() {
+        owner = Thread.currentThread();
+        try {
+            Runnable command;
+            while ((command = commands.poll()) != null) {
+                try {
+                    command.run();
+                } catch (RuntimeException e) {
+                    System.err.println("\nCommand failed in " + name + ": " + e.getMessage());
+                }
+            }
+        } finally {
+            owner = null;
+            scheduled.set(false);
+            if (!commands.isEmpty()) schedule();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package Controller;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The records of the matches most recently ended or aborted, indexed by ID.
+ * It keeps at most a fixed number of records and forgets the least recently used one when it is full,
+ * so the memory used by the server does not grow with the number of matches played.
+ */
+public class MatchArchive implements Serializable {
+
+    /**
+     * The number of records kept if no other capacity is chosen.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * The maximum number of records kept.
+     */
+    private final int capacity;
+
+    /**
+     * The records kept, from the least to the most recently used.
+     */
+    private final LinkedHashMap<Integer, MatchRecord> records;
+
+
+    /**
+     * Constructor for the MatchArchive class.
+     *
+     * @param capacity is the maximum number of records kept
+     */
+    public MatchArchive(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        this.capacity = capacity;
+        this.records = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, MatchRecord> eldest) {
+                return size() > MatchArchive.this.capacity;
+            }
+        };
+    }
+
+
+    /**
+     * Adds the record of a match, forgetting the least recently used record if the archive is full.
+     *
+     * @param record is the record to be added
+     */
+    public synchronized void put(MatchRecord record) {
+        records.put(record.getMatchID(), record);
+    }
+
+
+    /**
+     * Gets the record of a match and marks it as the most recently used.
+     *
+     * @param id is the ID of the match
+     * @return the record of the match, null if the match is not in the archive
+     */
+    public synchronized MatchRecord get(int id) {
+        return records.get(id);
+    }
+
+
+    /**
+     * Getter method for the number of records kept.
+     *
+     * @return the number of records currently in the archive
+     */
+    public synchronized int size() {
+        return records.size();
+    }
+
+
+    /**
+     * Getter method for the capacity attribute.
+     *
+     * @return the maximum number of records kept
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -3,7 +3,11 @@ package Controller;
 import Listeners.GameStatus;
 import Listeners.Listener;
 import Model.Cards.*;
+import Model.Move;
+import Model.MoveEvaluator;
+import Model.PlayArea;
 import Model.Player;
+import Model.SparseGrid;
 import Model.Table;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -13,14 +17,17 @@ import java.io.Serializable;
 import java.rmi.RemoteException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Random;
 
 /**
  * Controller managing a single match.
  */
 public class MatchController implements Serializable {
 
+	/**
+	 * The evaluator of the moves, shared by all the matches since it has no state.
+	 */
+	private static final MoveEvaluator MOVE_EVALUATOR = new MoveEvaluator();
+
 	/**
 	 * A number which uniquely identifies the match.
 	 */
@@ -100,6 +107,30 @@ public class MatchController implements Serializable {
 	 */
 	private Player[] winners = new Player[4];
 
+	/**
+	 * Indicates if the objectives of every player have been calculated by the server at the end of the match.
+	 */
+	private boolean scored = false;
+
+	/**
+	 * The mailbox through which every command of the clients for the match passes, one at a time.
+	 */
+	@JsonIgnore
+	private transient Mailbox mailbox;
+
+	/**
+	 * The number of barriers of the match which have already been reached and announced to the players,
+	 * they are reached in the order in which they are declared.
+	 */
+	@JsonIgnore
+	private transient int barriersPassed;
+
+	/**
+	 * The turn owner and the phase last announced to the players, null if nothing has been announced yet.
+	 */
+	@JsonIgnore
+	private transient String announcedTurn;
+
 
 	/**
 	 * Constructor for the match controller.
@@ -118,6 +149,7 @@ public class MatchController implements Serializable {
 		availableColors[2] = Colors.RED;
 		availableColors[3] = Colors.BLUE;
 		this.phase = new PlacingPhase(this);
+		this.mailbox = new Mailbox("match-" + matchID);
 	}
 
 
@@ -127,6 +159,110 @@ public class MatchController implements Serializable {
 	public MatchController() {}
 
 
+	/**
+	 * Getter method for the mailbox attribute.
+	 * The matches created by Jackson and the forks have no mailbox, since they do not receive commands from the clients.
+	 *
+	 * @return the mailbox of the match, null if the match does not receive commands
+	 */
+	@JsonIgnore
+	public Mailbox getMailbox() {
+		return mailbox;
+	}
+
+
+	/**
+	 * Checks which barriers the match has reached since the last call, so that they are announced only once.
+	 * A barrier is reached only after all the barriers before it, so a barrier which is trivially true
+	 * while the players are still joining is not announced too early.
+	 * It has to be called by the mailbox of the match, after every command.
+	 *
+	 * @return the barriers reached since the last call, in order, empty if there are none
+	 */
+	public List<Barrier> passBarriers() {
+		List<Barrier> passed = new ArrayList<>();
+		Barrier[] barriers = Barrier.values();
+		while (barriersPassed < barriers.length && barriers[barriersPassed].isReachedBy(this)) {
+			passed.add(barriers[barriersPassed++]);
+		}
+		return passed;
+	}
+
+
+	/**
+	 * Checks if the player whose turn it is or the phase of the turn have changed since the last call,
+	 * so that every change is announced once, whichever command caused it.
+	 * It has to be called by the mailbox of the match, after every command.
+	 *
+	 * @return true if the turn has changed and has to be announced to the players
+	 */
+	public boolean passTurn() {
+		String turn = getTurnOwner() + "/" + getPhaseName();
+		if (turn.equals(announcedTurn)) return false;
+		announcedTurn = turn;
+		return true;
+	}
+
+
+	/**
+	 * Gets the player whose turn it is.
+	 *
+	 * @return the nickname of the player whose turn it is, null if it is nobody's turn
+	 */
+	@JsonIgnore
+	public String getTurnOwner() {
+		if (table == null) return null;
+		for (Player p : table.getPlayers())
+			if (p.isYourTurn())
+				return p.getNickname();
+		return null;
+	}
+
+
+	/**
+	 * Gets the name of the phase of the turn, as it is shown by the GUI.
+	 *
+	 * @return the name of the current phase, null if there is no phase
+	 */
+	@JsonIgnore
+	public String getPhaseName() {
+		return phase == null ? null : phase.communicatePhaseToGui();
+	}
+
+
+	/**
+	 * Creates a fork of the match in a few microseconds, to simulate the rest of the match without changing it.
+	 * The decks, the grids and the cards are shared with the fork until one of the two matches changes them,
+	 * the players of the fork do not send anything to the clients.
+	 *
+	 * @return a match with the same state, which can be played and thrown away
+	 */
+	public MatchController fork() {
+		MatchController fork = new MatchController();
+		fork.matchID = matchID;
+		fork.numOfPlayers = numOfPlayers;
+		fork.numOfStarterCardsPlaced = numOfStarterCardsPlaced;
+		fork.starting = starting;
+		fork.table = table.fork();
+		fork.table.setMatch(fork);
+		for (Player player : fork.table.getPlayers()) player.setMatch(fork);
+		if (currentPlayer != null) fork.currentPlayer = fork.getPlayerByName(currentPlayer.getNickname());
+		fork.phase = phase instanceof DrawPhase ? new DrawPhase(fork) : new PlacingPhase(fork);
+		fork.availableColors = availableColors.clone();
+		fork.blackPawnChosen = blackPawnChosen;
+		fork.nameOfThePlayerWithTheBlackPawn = nameOfThePlayerWithTheBlackPawn;
+		fork.numOfObjectiveCardChosen = numOfObjectiveCardChosen;
+		fork.numOfPlayersThatHaveFinishedToPlay = numOfPlayersThatHaveFinishedToPlay;
+		fork.numOfObjectiveCardCalculated = numOfObjectiveCardCalculated;
+		fork.lastRound = lastRound;
+		fork.secondToLastRound = secondToLastRound;
+		fork.scored = scored;
+		for (int i = 0; i < winners.length; i++)
+			if (winners[i] != null) fork.winners[i] = fork.getPlayerByName(winners[i].getNickname());
+		return fork;
+	}
+
+
 	/**
 	 * Getter for the matchID attribute.
 	 *
@@ -407,6 +543,26 @@ public class MatchController implements Serializable {
 	}
 
 
+	/**
+	 * Getter method for the scored attribute.
+	 *
+	 * @return true if the final score of every player has been calculated
+	 */
+	public boolean isScored() {
+		return scored;
+	}
+
+
+	/**
+	 * Setter method for the scored attribute.
+	 *
+	 * @param scored is true if the final score of every player has been calculated
+	 */
+	public void setScored(boolean scored) {
+		this.scored = scored;
+	}
+
+
 	/**
 	 * Getter method for the winners attribute.
 	 *
@@ -452,18 +608,14 @@ public class MatchController implements Serializable {
 	public void prepareTable() {
 		table.shuffle_resource_deck();
 		ResourceCard [] cardsR = new ResourceCard[2];
-		cardsR[0] = table.getDeckR().getFirst();
-		table.getDeckR().removeFirst();
-		cardsR[1] = table.getDeckR().getFirst();
-		table.getDeckR().removeFirst();
+		cardsR[0] = table.getDeckR().draw();
+		cardsR[1] = table.getDeckR().draw();
 		table.setCardsR(cardsR);
 		//faccio la stessa cosa per le carte oro
 		table.shuffle_golden_deck();
 		GoldCard [] cardsG = new GoldCard[2];
-		cardsG[0] = table.getDeckG().getFirst();
-		table.getDeckG().removeFirst();
-		cardsG[1] = table.getDeckG().getFirst();
-		table.getDeckG().removeFirst();
+		cardsG[0] = table.getDeckG().draw();
+		cardsG[1] = table.getDeckG().draw();
 		table.setCardsG(cardsG);
 		//mescolo il mazzo di carte iniziali e ne distribuisco una a ciascuno giocatore; ciascuno poi sceglie
 		//il verso in cui posizionare la carta iniziale e la mette al centro della sua matrice
@@ -472,28 +624,22 @@ public class MatchController implements Serializable {
 		do{
 			boolean chosen_face = true;
 			setCurrentPlayer(table.getPlayers().get(i++));
-			currentPlayer.placeCard(table.getDeckS().getFirst(), chosen_face, 0, 0); //la carta iniziale viene inserita sempre in posizione 2 2 quindi metto di default 2 zeri
-			table.getDeckS().removeFirst();
+			currentPlayer.placeCard(table.getDeckS().draw(), chosen_face, 0, 0); //la carta iniziale viene inserita sempre in posizione 2 2 quindi metto di default 2 zeri
 		}while (!this.getCurrentPlayer().equals(table.getPlayers().getLast()));
 		//adesso ogni giocatore pesca 2 carte risorsa e 1 carta oro
 		i = 0;
 		setCurrentPlayer(table.getPlayers().getFirst());
 		do{
 			setCurrentPlayer(table.getPlayers().get(i++));
-			getCurrentPlayer().getHand().add(table.getDeckR().getFirst());
-			table.getDeckR().removeFirst();
-			getCurrentPlayer().getHand().add(table.getDeckR().getFirst());
-			table.getDeckR().removeFirst();
-			getCurrentPlayer().getHand().add(table.getDeckG().getFirst());
-			table.getDeckG().removeFirst();
+			getCurrentPlayer().getHand().add(table.getDeckR().draw());
+			getCurrentPlayer().getHand().add(table.getDeckR().draw());
+			getCurrentPlayer().getHand().add(table.getDeckG().draw());
 		}while (!getCurrentPlayer().equals(table.getPlayers().getLast()));
 		//adesso mescolo il mazzo di carte obiettivo e ne posiziono 2 scoperte sul tavolo
 		table.shuffle_starter_deck();
 		ObjectiveCard [] cardsO = new ObjectiveCard[2];
-		cardsO[0] = table.getDeckO().getFirst();
-		table.getDeckO().removeFirst();
-		cardsO[1] = table.getDeckO().getFirst();
-		table.getDeckO().removeFirst();
+		cardsO[0] = table.getDeckO().draw();
+		cardsO[1] = table.getDeckO().draw();
 		table.setCardsO(cardsO);
 		cardsO[0].setSecret(false);
 		cardsO[1].setSecret(false);
@@ -504,10 +650,8 @@ public class MatchController implements Serializable {
 		this.setCurrentPlayer(table.getPlayers().getFirst());
 		do {
 			setCurrentPlayer(table.getPlayers().get(i++));
-			ObjectiveCard Card1 = table.getDeckO().getFirst();
-			table.getDeckO().removeFirst();
-			ObjectiveCard Card2 = table.getDeckO().getFirst();
-			table.getDeckO().removeFirst();
+			ObjectiveCard Card1 = table.getDeckO().draw();
+			ObjectiveCard Card2 = table.getDeckO().draw();
 			ObjectiveCard selected_one = Card1;
 			getCurrentPlayer().setObjective(selected_one);
 		} while (!getCurrentPlayer().equals(table.getPlayers().getLast()));
@@ -618,6 +762,80 @@ public class MatchController implements Serializable {
 	}
 
 
+	/**
+	 * Validates and executes a placement in a single step, so the client does not have to check the turn, the phase,
+	 * the coordinates and the requirements one request at a time.
+	 * If the placement is accepted, the turn passes to the draw phase.
+	 *
+	 * @param playerName is the name of the player who launched the command
+	 * @param cardNumber references to the index of the card which has been selected, starting from 1
+	 * @param cardFace is "front" or "back"
+	 * @param row is the first coordinate of the position where the player wants to place the card
+	 * @param column is the second coordinate of the position where the player wants to place the card
+	 * @return the hand, the change of resources and the points of the player if the placement is accepted,
+	 * the reason of the rejection otherwise
+	 */
+	public TurnResult tryPlace(String playerName, int cardNumber, String cardFace, int row, int column) {
+		Player p = getPlayerByName(playerName);
+		if (p == null || !p.isYourTurn()) return TurnResult.rejected(TurnResult.Rejection.NOT_YOUR_TURN);
+		if (!(getPhase() instanceof PlacingPhase)) return TurnResult.rejected(TurnResult.Rejection.WRONG_PHASE);
+		if (cardNumber < 1 || cardNumber > p.getHand().size()) return TurnResult.rejected(TurnResult.Rejection.INVALID_CARD);
+		if (!"front".equalsIgnoreCase(cardFace) && !"back".equalsIgnoreCase(cardFace)) {
+			return TurnResult.rejected(TurnResult.Rejection.INVALID_FACE);
+		}
+		if (!areCoordinatesValid(playerName, row, column)) return TurnResult.rejected(TurnResult.Rejection.INVALID_POSITION);
+		if (cardFace.equalsIgnoreCase("front") && !canIPlaceTheGoldCard(playerName, cardNumber)) {
+			return TurnResult.rejected(TurnResult.Rejection.REQUIREMENTS_NOT_MET);
+		}
+		ResourceLedger before = new ResourceLedger();
+		before.copyFrom(p.getPlayArea().getAvailableResources());
+		place(playerName, cardNumber, cardFace, row, column);
+		getPhase().processCommand("place");
+		ResourceLedger delta = new ResourceLedger();
+		delta.difference(p.getPlayArea().getAvailableResources(), before);
+		return TurnResult.accepted(p.getHand(), delta, p.getPoints());
+	}
+
+
+	/**
+	 * Validates and executes a draw in a single step, so the client does not have to check the turn, the phase,
+	 * the decks and the table one request at a time.
+	 * If there is nothing left on the decks and on the table, whatever valid source has been chosen, the draw is
+	 * accepted without changing the hand, the result says that there was nothing to draw and the turn passes anyway.
+	 *
+	 * @param playerName is the name of the player who wants to play the action
+	 * @param source is "resource" or "gold" to draw from the respective deck, "table" to take a card from the table
+	 * @param selection references to the position of the card on the table, from 1 to 4, ignored for the decks
+	 * @return the hand and the points of the player if the draw is accepted, the reason of the rejection otherwise
+	 */
+	public TurnResult tryDraw(String playerName, String source, int selection) {
+		Player p = getPlayerByName(playerName);
+		if (p == null || !p.isYourTurn()) return TurnResult.rejected(TurnResult.Rejection.NOT_YOUR_TURN);
+		if (!(getPhase() instanceof DrawPhase)) return TurnResult.rejected(TurnResult.Rejection.WRONG_PHASE);
+		if (!"resource".equalsIgnoreCase(source) && !"gold".equalsIgnoreCase(source) && !"table".equalsIgnoreCase(source)) {
+			return TurnResult.rejected(TurnResult.Rejection.INVALID_SOURCE);
+		}
+		int whereCanIDraw = whereCanIDraw();
+		if (whereCanIDraw == 4) {
+			p.passTurn();
+			getPhase().processCommand("draw");
+			return TurnResult.drawn(p.getHand(), p.getPoints(), true);
+		}
+		if ("resource".equalsIgnoreCase(source)) {
+			if (whereCanIDraw == 1 || whereCanIDraw == 3) return TurnResult.rejected(TurnResult.Rejection.EMPTY_DECK);
+			drawResource(playerName);
+		} else if ("gold".equalsIgnoreCase(source)) {
+			if (whereCanIDraw == 2 || whereCanIDraw == 3) return TurnResult.rejected(TurnResult.Rejection.EMPTY_DECK);
+			drawGold(playerName);
+		} else if ("table".equalsIgnoreCase(source)) {
+			if (!availablePositionsForDrawing().contains(selection)) return TurnResult.rejected(TurnResult.Rejection.EMPTY_SLOT);
+			drawTable(playerName, selection);
+		}
+		getPhase().processCommand("draw");
+		return TurnResult.drawn(p.getHand(), p.getPoints(), false);
+	}
+
+
 	/**
 	 * Calls the respective method present in Player.
 	 * Displays to the player their hand.
@@ -704,11 +922,27 @@ public class MatchController implements Serializable {
 
 	/**
 	 * Calculates the points gained by the specified player from the common and the secret objectives.
+	 * The patterns of the objectives based on positions are read from the tracker of the play area,
+	 * which is kept updated at every placement.
+	 * Once the server has scored the whole match, this method does nothing, so the points are never added twice.
 	 *
 	 * @param playerName is the nickname of the client/player
 	 */
 	public void calculateObjectives(String playerName) {
+		if (scored) return;
 		Player p = getPlayerByName(playerName);
+		addObjectivesPoints(p);
+		p.notifyListener(GameStatus.SHOW_POINTS);
+	}
+
+
+	/**
+	 * Adds to the points of a player the points of the common and the secret objectives.
+	 * Only the player and its play area are changed, so the players can be scored in parallel.
+	 *
+	 * @param p is the player to be scored
+	 */
+	private void addObjectivesPoints(Player p) {
 		int actualPoints = p.getPoints();
 		if (getTable().getCardsO()[0].getClass() == ObCardSymbols.class) {
 			((ObCardSymbols) getTable().getCardsO()[0]).calculateObCardSymbols(((ObCardSymbols) getTable().getCardsO()[0]), p);
@@ -718,7 +952,7 @@ public class MatchController implements Serializable {
 			actualPoints = p.getPoints();
 		}
 		if (getTable().getCardsO()[0].getClass() == ObCardPosition.class) {
-			((ObCardPosition) getTable().getCardsO()[0]).calculateObCardPosition(((ObCardPosition) getTable().getCardsO()[0]), p);
+			p.setPoints(p.getPoints() + getTable().getCardsO()[0].getPoints() * p.getPlayArea().getPatternTracker().getMatches((ObCardPosition) getTable().getCardsO()[0], p.getPlayArea().getGrid()));
 			if (actualPoints != p.getPoints()) {
 				p.setObCardUsed(p.getObCardUsed() + 1);
 			}
@@ -732,7 +966,7 @@ public class MatchController implements Serializable {
 			actualPoints = p.getPoints();
 		}
 		if (getTable().getCardsO()[1].getClass() == ObCardPosition.class) {
-			((ObCardPosition) getTable().getCardsO()[1]).calculateObCardPosition(((ObCardPosition) getTable().getCardsO()[1]), p);
+			p.setPoints(p.getPoints() + getTable().getCardsO()[1].getPoints() * p.getPlayArea().getPatternTracker().getMatches((ObCardPosition) getTable().getCardsO()[1], p.getPlayArea().getGrid()));
 			if (actualPoints != p.getPoints()) {
 				p.setObCardUsed(p.getObCardUsed() + 1);
 			}
@@ -746,12 +980,42 @@ public class MatchController implements Serializable {
 			actualPoints = p.getPoints();
 		}
 		if (p.getObjective().getClass() == ObCardPosition.class) {
-			((ObCardPosition) p.getObjective()).calculateObCardPosition(((ObCardPosition) p.getObjective()), p);
+			p.setPoints(p.getPoints() + p.getObjective().getPoints() * p.getPlayArea().getPatternTracker().getMatches((ObCardPosition) p.getObjective(), p.getPlayArea().getGrid()));
 			if (actualPoints != p.getPoints()) {
 				p.setObCardUsed(p.getObCardUsed() + 1);
 			}
 		}
-		p.notifyListener(GameStatus.SHOW_POINTS);
+	}
+
+
+	/**
+	 * Increases the number of players who have finished to play the match.
+	 * When the last player finishes, the whole match is scored by the server.
+	 */
+	public void increaseNumOfPlayersThatHaveFinishedToPlay() {
+		numOfPlayersThatHaveFinishedToPlay++;
+		if (numOfPlayersThatHaveFinishedToPlay == numOfPlayers) scoreMatch();
+	}
+
+
+	/**
+	 * Calculates the points of the common and the secret objectives of every player in one operation,
+	 * scoring the players in parallel, chooses the winners and sends the final score and a "you won"
+	 * or a "you lost" message to every player.
+	 * The number of players with their final score calculated is updated only after the messages have been sent,
+	 * so a client which sees every score calculated has already received its result.
+	 * The match is scored only once.
+	 */
+	public void scoreMatch() {
+		if (scored) return;
+		table.getPlayers().parallelStream().forEach(this::addObjectivesPoints);
+		scored = true;
+		calculateWinner();
+		for (Player p : table.getPlayers()) {
+			p.notifyListener(GameStatus.SHOW_POINTS);
+			showEndGameMessage(p.getNickname());
+		}
+		numOfObjectiveCardCalculated = numOfPlayers;
 	}
 
 
@@ -762,19 +1026,15 @@ public class MatchController implements Serializable {
 		//Shuffles the resource deck and places the 2 first resource cards on the table
 		table.shuffle_resource_deck();
 		ResourceCard [] cardsR = new ResourceCard[2];
-		cardsR[0] = table.getDeckR().getFirst();
-		table.getDeckR().removeFirst();
-		cardsR[1] = table.getDeckR().getFirst();
-		table.getDeckR().removeFirst();
+		cardsR[0] = table.getDeckR().draw();
+		cardsR[1] = table.getDeckR().draw();
 		table.setCardsR(cardsR);
 
 		//Shuffles the gold deck and places the 2 first gold cards on the table
 		table.shuffle_golden_deck();
 		GoldCard [] cardsG = new GoldCard[2];
-		cardsG[0] = table.getDeckG().getFirst();
-		table.getDeckG().removeFirst();
-		cardsG[1] = table.getDeckG().getFirst();
-		table.getDeckG().removeFirst();
+		cardsG[0] = table.getDeckG().draw();
+		cardsG[1] = table.getDeckG().draw();
 		table.setCardsG(cardsG);
 
 		//Shuffles the starter deck and gives a starter card to every player
@@ -782,8 +1042,7 @@ public class MatchController implements Serializable {
 		int i = 0;
 		do {
 			setCurrentPlayer(table.getPlayers().get(i++));
-			currentPlayer.getHand().add(table.getDeckS().getFirst());
-			table.getDeckS().removeFirst();
+			currentPlayer.getHand().add(table.getDeckS().draw());
 		} while (!this.getCurrentPlayer().equals(table.getPlayers().getLast()));
 	}
 
@@ -796,24 +1055,24 @@ public class MatchController implements Serializable {
 		setCurrentPlayer(table.getPlayers().getFirst());
 		do {
 			setCurrentPlayer(table.getPlayers().get(i++));
-			getCurrentPlayer().getHand().add(table.getDeckR().getFirst());
-			table.getDeckR().removeFirst();
-			getCurrentPlayer().getHand().add(table.getDeckR().getFirst());
-			table.getDeckR().removeFirst();
-			getCurrentPlayer().getHand().add(table.getDeckG().getFirst());
-			table.getDeckG().removeFirst();
+			getCurrentPlayer().getHand().add(table.getDeckR().draw());
+			getCurrentPlayer().getHand().add(table.getDeckR().draw());
+			getCurrentPlayer().getHand().add(table.getDeckG().draw());
 		} while (!getCurrentPlayer().equals(table.getPlayers().getLast()));
 
 		//Shuffles the objective deck and places 2 objective cards on the table
 		table.shuffle_objective_deck();
 		ObjectiveCard [] cardsO = new ObjectiveCard[2];
-		cardsO[0] = table.getDeckO().getFirst();
-		table.getDeckO().removeFirst();
-		cardsO[1] = table.getDeckO().getFirst();
-		table.getDeckO().removeFirst();
+		cardsO[0] = table.getDeckO().draw();
+		cardsO[1] = table.getDeckO().draw();
 		table.setCardsO(cardsO);
 		cardsO[0].setSecret(false);
 		cardsO[1].setSecret(false);
+		//The patterns of the common objectives are tracked from now on, so that they are counted at every placement
+		for (Player p : table.getPlayers()) {
+			p.getPlayArea().getPatternTracker().track(cardsO[0], p.getPlayArea().getGrid());
+			p.getPlayArea().getPatternTracker().track(cardsO[1], p.getPlayArea().getGrid());
+		}
 	}
 
 
@@ -825,12 +1084,10 @@ public class MatchController implements Serializable {
 		currentPlayer = table.getPlayers().getFirst();
 		do {
 			currentPlayer = table.getPlayers().get(i++);
-			currentPlayer.setObChoice1(table.getDeckO().getFirst());
+			currentPlayer.setObChoice1(table.getDeckO().draw());
 			currentPlayer.getObChoice1().setSecret(true);
-			table.getDeckO().removeFirst();
-			currentPlayer.setObChoice2(table.getDeckO().getFirst());
+			currentPlayer.setObChoice2(table.getDeckO().draw());
 			currentPlayer.getObChoice2().setSecret(true);
-			table.getDeckO().removeFirst();
 		} while (!getCurrentPlayer().equals(table.getPlayers().getLast()));
 	}
 
@@ -914,10 +1171,10 @@ public class MatchController implements Serializable {
 
 
 	/**
-	 * Randomly assigns the black pawn.
+	 * Randomly assigns the black pawn, using the source of randomness of the table so that a seeded match can be replayed.
 	 */
 	public void chooseTheBlackPawn(){
-		int k = new Random().nextInt(numOfPlayers);
+		int k = table.getRandom().nextInt(numOfPlayers);
 		this.getTable().getPlayers().get(k).setBlackPawn(true);
 		this.setNameOfThePlayerWithTheBlackPawn(this.getTable().getPlayers().get(k).getNickname());
 	}
@@ -986,11 +1243,42 @@ public class MatchController implements Serializable {
 	 * @return true if a card can be placed on the specified coordinates, false otherwise
 	 */
 	public boolean areCoordinatesValid(String playerName, int x, int y){
-		boolean valid;
 		Player p = getPlayerByName(playerName);
-		try {valid = checkCoordinates(p.getPlayArea().getGrid(), x, y);}
-		catch (IndexOutOfBoundsException | NullPointerException e) {valid = false;}
-		return valid;
+		return p != null && p.getPlayArea().isLegalPosition(x, y);
+	}
+
+
+	/**
+	 * Returns all the coordinates where the specified player can place a card.
+	 *
+	 * @param playerName is the nickname of the player who is requesting the positions
+	 * @return a list with the row and the column of every legal position, one position after the other, in row-major order
+	 */
+	public List<Integer> legalPositions(String playerName){
+		List<Integer> positions = new ArrayList<>();
+		Player p = getPlayerByName(playerName);
+		if (p != null) {
+			for (long key : p.getPlayArea().sortedLegalPositions()) {
+				positions.add(SparseGrid.rowOf(key));
+				positions.add(SparseGrid.columnOf(key));
+			}
+		}
+		return positions;
+	}
+
+
+	/**
+	 * Evaluates every placement of the cards in the hand of the specified player, without changing the play area.
+	 *
+	 * @param playerName is the nickname of the player who is requesting the evaluation
+	 * @return the moves with the points they give, the change of resources and if the requirements are met
+	 */
+	public List<Move> evaluateMoves(String playerName){
+		Player p = getPlayerByName(playerName);
+		if (p == null) {
+			return new ArrayList<>();
+		}
+		return MOVE_EVALUATOR.evaluate(p);
 	}
 
 
@@ -1001,63 +1289,23 @@ public class MatchController implements Serializable {
 	 * @param pos1 is the first coordinate (row) selected by the player
 	 * @param pos2 is the second coordinate (column) selected by the player
 	 * @return true if the coordinates are valid
-	 * @throws IndexOutOfBoundsException if the coordinates exceed the boundaries of the grid
-	 * @throws NullPointerException if the coordinates point to a null cell
-	 */
-	public boolean checkCoordinates(Card[][] grid, int pos1, int pos2) throws IndexOutOfBoundsException, NullPointerException {
-		boolean can_I_continue = false;
-		if ((grid[pos1 + 1][pos2 + 1] != null &&
-				grid[pos1 + 1][pos2 + 1].getCorners()[0] == true)
-				|| (grid[pos1 + 1][pos2 - 1] != null &&
-				grid[pos1 + 1][pos2 - 1].getCorners()[1] == true)
-				|| (grid[pos1 - 1][pos2 + 1] != null &&
-				grid[pos1 - 1][pos2 + 1].getCorners()[2] == true)
-				|| (grid[pos1 - 1][pos2 - 1] != null &&
-				grid[pos1 - 1][pos2 - 1].getCorners()[3] == true)) {
-			can_I_continue = true;
-		}
-		if (can_I_continue) {
-			if ((grid[pos1 + 1][pos2 + 1] != null &&
-					(grid[pos1 + 1][pos2 + 1].getCorners()[0] == false ||
-							grid[pos1 + 1][pos2 + 1].getSymbols()[0] == Symbols.NOCORNER))
-					|| (grid[pos1 + 1][pos2 - 1] != null &&
-					(grid[pos1 + 1][pos2 - 1].getCorners()[1] == false ||
-							grid[pos1 + 1][pos2 - 1].getSymbols()[1] == Symbols.NOCORNER))
-					|| (grid[pos1 - 1][pos2 + 1] != null &&
-					(grid[pos1 - 1][pos2 + 1].getCorners()[2] == false ||
-							grid[pos1 - 1][pos2 + 1].getSymbols()[2] == Symbols.NOCORNER))
-					|| (grid[pos1 - 1][pos2 - 1] != null &&
-					(grid[pos1 - 1][pos2 - 1].getCorners()[3] == false ||
-							grid[pos1 - 1][pos2 - 1].getSymbols()[3] == Symbols.NOCORNER))) {
-				can_I_continue = false;
-			}
-		}
-		return can_I_continue;
+	 */
+	public boolean checkCoordinates(SparseGrid grid, int pos1, int pos2) {
+		return PlayArea.check_position(grid, pos1, pos2);
 	}
 
 
 	/**
 	 * Checks if the requirements to place a gold card are met.
+	 * The answer is read from the playable mask of the player, which is recomputed only when the hand
+	 * or the available resources change.
 	 *
 	 * @param playerName is the nickname of the layer who is requesting to place the gold card
 	 * @param cardSelected indicates the position of the gold card in the player's hand
 	 * @return true if the requirements are met, false otherwise
 	 */
 	public boolean canIPlaceTheGoldCard(String playerName, int cardSelected){
-		boolean k = false;
-		Player p = getPlayerByName(playerName);
-		Map<Symbols, Integer> a = p.getPlayArea().getAvailableResources();
-		if (p.getHand().get(cardSelected-1).getClass() == ResourceCard.class) {
-			k= true;
-		} else {
-			if (p.getPlayArea().getAvailableResources().get(Symbols.ANIMAL) >= ((GoldCard) p.getHand().get(cardSelected-1)).getRequirements().get(Symbols.ANIMAL) &&
-					p.getPlayArea().getAvailableResources().get(Symbols.FUNGI) >= ((GoldCard) p.getHand().get(cardSelected-1)).getRequirements().get(Symbols.FUNGI) &&
-					p.getPlayArea().getAvailableResources().get(Symbols.INSECT) >= ((GoldCard) p.getHand().get(cardSelected-1)).getRequirements().get(Symbols.INSECT) &&
-					p.getPlayArea().getAvailableResources().get(Symbols.PLANT) >= ((GoldCard) p.getHand().get(cardSelected-1)).getRequirements().get(Symbols.PLANT)) {
-				k = true;
-			}
-		}
-		return k;
+		return getPlayerByName(playerName).isPlayable(cardSelected-1);
 	}
 
 
@@ -0,0 +1,39 @@
+package Controller;
+
+/**
+ * Interface for the observers of the matches, which are told about the changes of a match that every player
+ * of the match has to know, so that the players do not have to ask for them again and again.
+ * The observer is called after the command which caused the change, outside the mailbox of the match.
+ */
+public interface MatchObserver {
+
+
+    /**
+     * Tells the observer that every player of a match has reached a barrier.
+     *
+     * @param idMatch is the ID of the match
+     * @param barrier is the barrier reached
+     */
+    void barrierReached(int idMatch, Barrier barrier);
+
+
+    /**
+     * Tells the observer that the player whose turn it is or the phase of the turn have changed.
+     *
+     * @param idMatch is the ID of the match
+     * @param turnOwner is the nickname of the player whose turn it is, null if it is nobody's turn
+     * @param phase is the name of the phase of the turn, as it is shown by the GUI
+     */
+    void turnChanged(int idMatch, String turnOwner, String phase);
+
+
+    /**
+     * Tells the observer that a command without result has been run on a match, after its barriers and its turn
+     * have been announced, whether it has changed them or not.
+     * Such a command is run to change the match, so it lets an observer waiting for a change which is neither
+     * a barrier nor a turn check the match again; the commands which only read the match are not announced.
+     *
+     * @param idMatch is the ID of the match
+     */
+    default void commandRun(int idMatch) {}
+}
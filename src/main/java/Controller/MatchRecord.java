@@ -0,0 +1,185 @@
+package Controller;
+
+import Model.Cards.Card;
+import Model.Player;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The compact record of a match which has ended or has been aborted, kept after the match has been removed
+ * from the live matches. It holds only the nicknames, the final points, the winners and the cards placed
+ * by each player, so it is a small fraction of the size of the match with its table, decks and play areas.
+ */
+public class MatchRecord implements Serializable {
+
+    /**
+     * The number of integers stored for each card placed: ID, row, column and face.
+     */
+    public static final int STRIDE = 4;
+
+    /**
+     * The ID of the match.
+     */
+    private final int matchID;
+
+    /**
+     * True if the match has been aborted before its end.
+     */
+    private final boolean aborted;
+
+    /**
+     * The time the match has been archived, in milliseconds since the epoch.
+     */
+    private final long archivedAt;
+
+    /**
+     * The nicknames of the players, in turn order.
+     */
+    private final String[] nicknames;
+
+    /**
+     * The final points of each player, in the same order as the nicknames.
+     */
+    private final int[] points;
+
+    /**
+     * The nicknames of the winners, empty if the match has been aborted.
+     */
+    private final String[] winners;
+
+    /**
+     * The cards placed by each player in order of placement, in the same order as the nicknames.
+     * Every card takes STRIDE integers: its ID, its row, its column and 1 if it is placed face up, 0 otherwise.
+     */
+    private final int[][] placements;
+
+
+    /**
+     * Constructor for the MatchRecord class, it copies what has to be kept of the match.
+     * It has to be called by the mailbox of the match, so that the match does not change meanwhile.
+     *
+     * @param match is the match to be archived
+     * @param aborted is true if the match has been aborted before its end
+     */
+    public MatchRecord(MatchController match, boolean aborted) {
+        List<Player> players = match.getTable().getPlayers();
+        this.matchID = match.getMatchID();
+        this.aborted = aborted;
+        this.archivedAt = System.currentTimeMillis();
+        this.nicknames = new String[players.size()];
+        this.points = new int[players.size()];
+        this.placements = new int[players.size()][];
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            nicknames[i] = player.getNickname();
+            points[i] = player.getPoints();
+            placements[i] = placementsOf(player);
+        }
+        Player[] matchWinners = aborted || match.getWinners() == null ? new Player[0] : match.getWinners();
+        this.winners = Arrays.stream(matchWinners).filter(Objects::nonNull).map(Player::getNickname).toArray(String[]::new);
+    }
+
+
+    /**
+     * Packs the cards placed by a player in order of placement.
+     *
+     * @param player is the player whose cards are packed
+     * @return the ID, row, column and face of each card placed, STRIDE integers for each card
+     */
+    private static int[] placementsOf(Player player) {
+        if (player.getPlayArea() == null || player.getPlayArea().getOrderedCardList() == null) return new int[0];
+        Card[] cards = player.getPlayArea().getOrderedCardList();
+        int count = 0;
+        while (count < cards.length && cards[count] != null) count++;
+        int[] packed = new int[count * STRIDE];
+        for (int i = 0; i < count; i++) {
+            packed[i * STRIDE] = cards[i].getId();
+            packed[i * STRIDE + 1] = (int) cards[i].getRow();
+            packed[i * STRIDE + 2] = (int) cards[i].getColumn();
+            packed[i * STRIDE + 3] = cards[i].isFace() ? 1 : 0;
+        }
+        return packed;
+    }
+
+
+    /**
+     * Getter method for the matchID attribute.
+     *
+     * @return the ID of the match
+     */
+    public int getMatchID() {
+        return matchID;
+    }
+
+
+    /**
+     * Getter method for the aborted attribute.
+     *
+     * @return true if the match has been aborted before its end
+     */
+    public boolean isAborted() {
+        return aborted;
+    }
+
+
+    /**
+     * Getter method for the archivedAt attribute.
+     *
+     * @return the time the match has been archived, in milliseconds since the epoch
+     */
+    public long getArchivedAt() {
+        return archivedAt;
+    }
+
+
+    /**
+     * Getter method for the nicknames attribute.
+     *
+     * @return a copy of the nicknames of the players, in turn order
+     */
+    public String[] getNicknames() {
+        return nicknames.clone();
+    }
+
+
+    /**
+     * Gets the final points of a player of the match.
+     *
+     * @param nickname is the nickname of the player
+     * @return the final points of the player, -1 if the player was not in the match
+     */
+    public int getPoints(String nickname) {
+        for (int i = 0; i < nicknames.length; i++) {
+            if (nicknames[i].equals(nickname)) return points[i];
+        }
+        return -1;
+    }
+
+
+    /**
+     * Getter method for the winners attribute.
+     *
+     * @return a copy of the nicknames of the winners, empty if the match has been aborted
+     */
+    public String[] getWinners() {
+        return winners.clone();
+    }
+
+
+    /**
+     * Gets the cards placed by a player of the match.
+     *
+     * @param nickname is the nickname of the player
+     * @return a copy of the ID, row, column and face of each card placed, STRIDE integers for each card,
+     * empty if the player was not in the match
+     */
+    public int[] getPlacements(String nickname) {
+        for (int i = 0; i < nicknames.length; i++) {
+            if (nicknames[i].equals(nickname)) return placements[i].clone();
+        }
+        return new int[0];
+    }
+}
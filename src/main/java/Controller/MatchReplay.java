@@ -0,0 +1,363 @@
+package Controller;
+
+import Listeners.BotListener;
+import Model.Cards.Colors;
+import Model.Move;
+import Model.Player;
+import Model.Table;
+import org.json.simple.parser.ParseException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A harness which plays a match in the same process from a seed and a script of commands, calling the
+ * MatchController directly, and measures how fast the commands are executed.
+ * The seed is the only source of randomness of the match, so the same script always produces the same match,
+ * and two versions of the engine can be compared on the same sequence of states.
+ * The first line of a script is "match seed nickname...", every other line is a command with its arguments
+ * separated by spaces, named as the method of the MatchController it calls; empty lines and lines starting
+ * with '#' are ignored.
+ */
+public class MatchReplay {
+
+    /**
+     * The maximum number of turns of a recorded match, a match which is still going on after them is not valid.
+     */
+    private static final int MAX_TURNS = 1000;
+
+    /**
+     * The match being played.
+     */
+    private final MatchController match;
+
+
+    /**
+     * Constructor of a new match with a seeded table, the players have listeners which do not send anything.
+     *
+     * @param seed is the seed of the shuffles and of the choice of the black pawn
+     * @param nicknames are the nicknames of the players, in the order of the turns
+     * @throws IOException if there is an input/output problem
+     * @throws ParseException if there is an error during the parsing of text input
+     */
+    public MatchReplay(long seed, List<String> nicknames) throws IOException, ParseException {
+        Table table = new Table();
+        table.setRandom(new Random(seed));
+        for (String nickname : nicknames) {
+            Player player = new Player(nickname, 0, table);
+            player.addListener(new BotListener());
+            table.getPlayers().add(player);
+        }
+        match = new MatchController(0, nicknames.size(), table);
+    }
+
+
+    /**
+     * Getter method for the match attribute.
+     *
+     * @return the match being played
+     */
+    public MatchController getMatch() {
+        return match;
+    }
+
+
+    /**
+     * Plays a whole match from a seed, choosing at every turn the placement giving more points and drawing
+     * from the decks while they have cards, and returns the script of the commands which have been executed.
+     *
+     * @param seed is the seed of the match
+     * @param nicknames are the nicknames of the players, in the order of the turns
+     * @return the script of the match, starting with its header
+     * @throws IOException if there is an input/output problem
+     * @throws ParseException if there is an error during the parsing of text input
+     */
+    public static List<String> record(long seed, List<String> nicknames) throws IOException, ParseException {
+        MatchReplay replay = new MatchReplay(seed, nicknames);
+        MatchController match = replay.match;
+        List<String> script = new ArrayList<>();
+        script.add("match " + seed + " " + String.join(" ", nicknames));
+        replay.record(script, "shuffleDecksAndGiveStarterCards");
+        for (String nickname : nicknames) replay.record(script, "placeStarterCard " + nickname + " front");
+        replay.record(script, "itIsMyTurn " + nicknames.getFirst());
+        for (String nickname : nicknames) {
+            Colors color = Arrays.stream(match.getAvailableColors()).filter(c -> c != null).findFirst().orElseThrow();
+            replay.record(script, "removeColorAndPassTurn " + nickname + " " + color.name());
+        }
+        replay.record(script, "drawCardsAndPlaceCommonObjectives");
+        replay.record(script, "giveObjectives");
+        for (String nickname : nicknames) replay.record(script, "putChoiceObjectives " + nickname + " 1");
+        replay.record(script, "chooseTheBlackPawn");
+        replay.record(script, "itIsMyTurn " + match.getNameOfThePlayerWithTheBlackPawn());
+        int finished = 0;
+        int turns = 0;
+        while (finished < nicknames.size()) {
+            if (++turns > MAX_TURNS) throw new IllegalStateException("The match did not end in " + MAX_TURNS + " turns");
+            String nickname = match.getTable().getPlayers().stream().filter(Player::isYourTurn).findFirst().orElseThrow().getNickname();
+            replay.record(script, "processCommand " + nickname + " place");
+            replay.record(script, "evaluateMoves " + nickname);
+            Move best = null;
+            for (Move move : match.evaluateMoves(nickname)) {
+                if (move.isRequirementsMet() && (best == null || move.getPoints() > best.getPoints())) best = move;
+            }
+            if (best != null) {
+                replay.record(script, "place " + nickname + " " + (best.getHandIndex() + 1) + " "
+                        + (best.isFace() ? "front" : "back") + " " + best.getRow() + " " + best.getColumn());
+            }
+            replay.record(script, "processCommand " + nickname + " draw");
+            if (!match.getTable().getDeckR().isEmpty()) replay.record(script, "drawResource " + nickname);
+            else if (!match.getTable().getDeckG().isEmpty()) replay.record(script, "drawGold " + nickname);
+            else if (match.whereCanIDraw() == 4) replay.record(script, "drawTable " + nickname + " 5");
+            else replay.record(script, "drawTable " + nickname + " " + match.availablePositionsForDrawing().getFirst());
+            //The same checks of the clients at the end of a turn
+            if (match.isLastRound()) finished++;
+            else {
+                int result = match.checkSecondToLastTurn(nickname);
+                if (result == 1) replay.record(script, "setSecondToLastRound true");
+                if (result == 2) replay.record(script, "setLastRound true");
+            }
+            if (match.isSecondToLastRound() && !match.isLastRound() && match.isNextPlayerTheBlackPawn(nickname)) {
+                replay.record(script, "setLastRound true");
+            }
+        }
+        replay.record(script, "scoreMatch");
+        return script;
+    }
+
+
+    /**
+     * Plays a whole script on a new match and measures the time of every command.
+     *
+     * @param script is the script of the match, starting with its header
+     * @return the measures and the final points of the players
+     * @throws IOException if there is an input/output problem
+     * @throws ParseException if there is an error during the parsing of text input
+     */
+    public static Report replay(List<String> script) throws IOException, ParseException {
+        String[] header = script.getFirst().trim().split(" +");
+        if (header.length < 3 || !header[0].equals("match")) {
+            throw new IllegalArgumentException("The script must start with 'match seed nickname...'");
+        }
+        MatchReplay replay = new MatchReplay(Long.parseLong(header[1]), List.of(header).subList(2, header.length));
+        Report report = new Report();
+        for (String line : script.subList(1, script.size())) {
+            String command = line.trim();
+            if (command.isEmpty() || command.startsWith("#")) continue;
+            String[] args = command.split(" +");
+            long start = System.nanoTime();
+            replay.execute(args);
+            report.add(args[0], System.nanoTime() - start);
+        }
+        for (Player player : replay.match.getTable().getPlayers()) {
+            report.points.put(player.getNickname(), player.getPoints());
+        }
+        return report;
+    }
+
+
+    /**
+     * Executes a single command of a script on the match.
+     *
+     * @param command is the command with its arguments separated by spaces
+     */
+    public void execute(String command) {
+        execute(command.trim().split(" +"));
+    }
+
+
+    /**
+     * Executes a command and adds it to a script.
+     *
+     * @param script is the script being recorded
+     * @param command is the command with its arguments
+     */
+    private void record(List<String> script, String command) {
+        execute(command.split(" "));
+        script.add(command);
+    }
+
+
+    /**
+     * Calls the method of the MatchController named by a command.
+     *
+     * @param args are the name of the command followed by its arguments
+     */
+    private void execute(String[] args) {
+        switch (args[0]) {
+            case "shuffleDecksAndGiveStarterCards" -> match.shuffleDecksAndGiveStarterCards();
+            case "placeStarterCard" -> match.placeStarterCard(args[1], args[2]);
+            case "itIsMyTurn" -> match.itIsMyTurn(args[1]);
+            case "removeColorAndPassTurn" -> match.removeColorAndPassTurn(args[1], Colors.valueOf(args[2]));
+            case "drawCardsAndPlaceCommonObjectives" -> match.drawCardsAndPlaceCommonObjectives();
+            case "giveObjectives" -> match.giveObjectives();
+            case "putChoiceObjectives" -> match.putChoiceObjectives(args[1], Integer.parseInt(args[2]));
+            case "chooseTheBlackPawn" -> match.chooseTheBlackPawn();
+            case "processCommand" -> {
+                if (!match.getPlayerByName(args[1]).isYourTurn() || !match.getPhase().processCommand(args[2])) {
+                    throw new IllegalStateException("The command '" + String.join(" ", args) + "' is not valid now");
+                }
+            }
+            case "evaluateMoves" -> match.evaluateMoves(args[1]);
+            case "place" -> match.place(args[1], Integer.parseInt(args[2]), args[3], Integer.parseInt(args[4]), Integer.parseInt(args[5]));
+            case "drawResource" -> match.drawResource(args[1]);
+            case "drawGold" -> match.drawGold(args[1]);
+            case "drawTable" -> match.drawTable(args[1], Integer.parseInt(args[2]));
+            case "setSecondToLastRound" -> match.setSecondToLastRound(Boolean.parseBoolean(args[1]));
+            case "setLastRound" -> match.setLastRound(Boolean.parseBoolean(args[1]));
+            case "calculateObjectives" -> match.calculateObjectives(args[1]);
+            case "calculateWinner" -> match.calculateWinner();
+            case "scoreMatch" -> match.scoreMatch();
+            default -> throw new IllegalArgumentException("Unknown command '" + args[0] + "'");
+        }
+    }
+
+
+    /**
+     * Records a match or replays a script, printing the measures.
+     * Usage: "record seed script-file nickname..." or "replay script-file [repetitions]".
+     *
+     * @param args are the arguments of the command line
+     * @throws IOException if there is an input/output problem
+     * @throws ParseException if there is an error during the parsing of text input
+     */
+    public static void main(String[] args) throws IOException, ParseException {
+        if (args.length >= 4 && args[0].equals("record")) {
+            List<String> script = record(Long.parseLong(args[1]), List.of(args).subList(3, args.length));
+            Files.write(Path.of(args[2]), script);
+            System.out.println("Recorded " + (script.size() - 1) + " commands in " + args[2]);
+        } else if (args.length >= 2 && args[0].equals("replay")) {
+            List<String> script = Files.readAllLines(Path.of(args[1]));
+            int repetitions = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+            for (int i = 0; i < repetitions; i++) {
+                System.out.println(replay(script));
+            }
+        } else {
+            System.out.println("Usage: record <seed> <script file> <nickname>... | replay <script file> [repetitions]");
+        }
+    }
+
+
+    /**
+     * The measures of a replayed script: the time of every command, grouped by command, and the final points.
+     */
+    public static class Report {
+
+        /**
+         * The times of the executions of every command, in nanoseconds, in the order of the first execution.
+         */
+        private final Map<String, List<Long>> latencies = new LinkedHashMap<>();
+
+        /**
+         * The final points of every player.
+         */
+        private final Map<String, Integer> points = new LinkedHashMap<>();
+
+        /**
+         * The number of executed commands.
+         */
+        private int commands;
+
+        /**
+         * The total time of the executed commands, in nanoseconds.
+         */
+        private long nanos;
+
+
+        /**
+         * Adds the time of an executed command.
+         *
+         * @param command is the name of the command
+         * @param latency is the time of the execution, in nanoseconds
+         */
+        private void add(String command, long latency) {
+            latencies.computeIfAbsent(command, c -> new ArrayList<>()).add(latency);
+            commands++;
+            nanos += latency;
+        }
+
+
+        /**
+         * Getter method for the commands attribute.
+         *
+         * @return the number of executed commands
+         */
+        public int getCommands() {
+            return commands;
+        }
+
+
+        /**
+         * Getter method for the nanos attribute.
+         *
+         * @return the total time of the executed commands, in nanoseconds
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+
+        /**
+         * Getter method for the points attribute.
+         *
+         * @return the final points of every player
+         */
+        public Map<String, Integer> getPoints() {
+            return points;
+        }
+
+
+        /**
+         * Returns the throughput of the engine on the script.
+         *
+         * @return the number of commands executed per second
+         */
+        public double getCommandsPerSecond() {
+            return nanos == 0 ? 0 : commands * 1e9 / nanos;
+        }
+
+
+        /**
+         * Returns a percentile of the times of a command.
+         *
+         * @param command is the name of the command
+         * @param percentile is the percentile, between 0 and 100
+         * @return the time in nanoseconds, 0 if the command has never been executed
+         */
+        public long getLatency(String command, double percentile) {
+            List<Long> samples = latencies.get(command);
+            if (samples == null) return 0;
+            long[] sorted = samples.stream().mapToLong(Long::longValue).sorted().toArray();
+            int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+        }
+
+
+        /**
+         * Formats the measures as a table with a line for every command.
+         *
+         * @return the throughput, the latencies in microseconds and the final points
+         */
+        @Override
+        public String toString() {
+            StringBuilder s = new StringBuilder(String.format("%d commands in %.3f ms, %.0f commands/s%n",
+                    commands, nanos / 1e6, getCommandsPerSecond()));
+            s.append(String.format("%-34s %7s %10s %10s %10s %10s%n", "command", "count", "mean us", "p50 us", "p99 us", "max us"));
+            for (Map.Entry<String, List<Long>> entry : latencies.entrySet()) {
+                List<Long> samples = entry.getValue();
+                double mean = samples.stream().mapToLong(Long::longValue).average().orElse(0);
+                s.append(String.format("%-34s %7d %10.1f %10.1f %10.1f %10.1f%n", entry.getKey(), samples.size(), mean / 1e3,
+                        getLatency(entry.getKey(), 50) / 1e3, getLatency(entry.getKey(), 99) / 1e3,
+                        getLatency(entry.getKey(), 100) / 1e3));
+            }
+            s.append("points ").append(points);
+            return s.toString();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package Controller;
+
+import Model.Cards.Card;
+import Model.Cards.ResourceLedger;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The answer of the server to a placement or a draw which is validated and executed in a single request.
+ * If the move is accepted it carries the state of the player after the move, so the client does not have to ask for it,
+ * otherwise it carries the reason why the move has been rejected and nothing has changed on the server.
+ */
+@JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
+public class TurnResult implements Serializable {
+
+    /**
+     * True if the move has been executed.
+     */
+    private boolean accepted;
+
+    /**
+     * The reason why the move has been rejected, null if it has been accepted.
+     */
+    private Rejection rejection;
+
+    /**
+     * An unmodifiable copy of the hand of the player after the move, empty if the move has been rejected.
+     */
+    private List<Card> hand;
+
+    /**
+     * The change of the available resources and objects of the player caused by a placement,
+     * null for a draw, which never changes them.
+     */
+    private ResourceLedger resourceDelta;
+
+    /**
+     * True if the draw has been accepted without drawing, since nothing was left on the decks and on the table.
+     */
+    private boolean nothingToDraw;
+
+    /**
+     * The points of the player after the move.
+     */
+    private int points;
+
+
+    /**
+     * Empty constructor for Jackson serialization.
+     */
+    public TurnResult() {}
+
+
+    /**
+     * Creates the result of a placement which has been executed.
+     *
+     * @param hand is the hand of the player after the placement, which is copied
+     * @param resourceDelta is the change of the available resources and objects of the player
+     * @param points are the points of the player after the placement
+     * @return the result of the placement
+     */
+    public static TurnResult accepted(List<Card> hand, ResourceLedger resourceDelta, int points) {
+        TurnResult result = new TurnResult();
+        result.accepted = true;
+        result.hand = Collections.unmodifiableList(new ArrayList<>(hand));
+        result.resourceDelta = resourceDelta;
+        result.points = points;
+        return result;
+    }
+
+
+    /**
+     * Creates the result of a draw which has been executed.
+     *
+     * @param hand is the hand of the player after the draw, which is copied
+     * @param points are the points of the player
+     * @param nothingToDraw is true if the turn has passed without drawing, since nothing was left to draw
+     * @return the result of the draw
+     */
+    public static TurnResult drawn(List<Card> hand, int points, boolean nothingToDraw) {
+        TurnResult result = accepted(hand, null, points);
+        result.nothingToDraw = nothingToDraw;
+        return result;
+    }
+
+
+    /**
+     * Creates the result of a move which has been rejected.
+     *
+     * @param rejection is the reason why the move has been rejected
+     * @return the result of the move
+     */
+    public static TurnResult rejected(Rejection rejection) {
+        TurnResult result = new TurnResult();
+        result.rejection = rejection;
+        result.hand = List.of();
+        result.resourceDelta = new ResourceLedger();
+        return result;
+    }
+
+
+    /**
+     * Getter method for the accepted attribute.
+     *
+     * @return true if the move has been executed
+     */
+    public boolean isAccepted() {
+        return accepted;
+    }
+
+
+    /**
+     * Getter method for the rejection attribute.
+     *
+     * @return the reason why the move has been rejected, null if it has been accepted
+     */
+    public Rejection getRejection() {
+        return rejection;
+    }
+
+
+    /**
+     * Getter method for the hand attribute.
+     *
+     * @return the hand of the player after the move
+     */
+    public List<Card> getHand() {
+        return hand;
+    }
+
+
+    /**
+     * Getter method for the resourceDelta attribute.
+     *
+     * @return the change of the available resources and objects of the player caused by a placement,
+     * null for a draw
+     */
+    public ResourceLedger getResourceDelta() {
+        return resourceDelta;
+    }
+
+
+    /**
+     * Getter method for the nothingToDraw attribute.
+     *
+     * @return true if the draw has been accepted without drawing, since nothing was left to draw
+     */
+    public boolean isNothingToDraw() {
+        return nothingToDraw;
+    }
+
+
+    /**
+     * Getter method for the points attribute.
+     *
+     * @return the points of the player after the move
+     */
+    public int getPoints() {
+        return points;
+    }
+
+
+    /**
+     * Enumerations representing the reasons why the server rejects a move.
+     */
+    public enum Rejection {
+
+        NOT_YOUR_TURN("Wait for your turn.", false),
+        WRONG_PHASE("Sorry, this command is not valid.", false),
+        INVALID_CARD("Sorry, the selection is not valid, try again.", true),
+        INVALID_FACE("Sorry, the selection is not valid, try again.", true),
+        INVALID_POSITION("Sorry, you can not place a card here, try again.", true),
+        REQUIREMENTS_NOT_MET("Sorry, you do not have enough resources to place the card, retry", true),
+        INVALID_SOURCE("Sorry, the command is not valid, try again.", true),
+        EMPTY_DECK("Sorry, this deck is empty, try again.", true),
+        EMPTY_SLOT("Sorry, there is not a card here, try again.", true);
+
+
+        /**
+         * The message shown to the player.
+         */
+        private final String message;
+
+        /**
+         * True if the player can try again with another choice during the same phase.
+         */
+        private final boolean retry;
+
+
+        /**
+         * Constructor of the Rejection enumeration.
+         *
+         * @param message is the message shown to the player
+         * @param retry is true if the player can try again with another choice
+         */
+        Rejection(String message, boolean retry) {
+            this.message = message;
+            this.retry = retry;
+        }
+
+
+        /**
+         * Getter method for the message attribute.
+         *
+         * @return the message shown to the player
+         */
+        public String getMessage() {
+            return message;
+        }
+
+
+        /**
+         * Getter method for the retry attribute.
+         *
+         * @return true if the player can try again with another choice during the same phase
+         */
+        public boolean canRetry() {
+            return retry;
+        }
+    }
+}
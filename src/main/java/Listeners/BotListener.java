@@ -0,0 +1,69 @@
+package Listeners;
+
+import Model.PlayArea;
+import Model.Player;
+import Network.VirtualServer;
+
+/**
+ * Representation of the listener of a player which is not linked to a client, as a bot or a copy of a player
+ * used to simulate the match.
+ * The messages are not sent to anyone, the bot is woken up by the observer of its match.
+ */
+public class BotListener implements Listener {
+
+    /**
+     * A reference to the virtual server the bot is playing on.
+     */
+    private VirtualServer myServer;
+
+
+    /**
+     * Constructor for the BotListener class.
+     */
+    public BotListener() {}
+
+
+    /**
+     * Getter method for the server attribute.
+     *
+     * @return the virtual server linked to the listener
+     */
+    @Override
+    public VirtualServer getServer() {
+        return myServer;
+    }
+
+
+    /**
+     * Setter method for the server attribute.
+     *
+     * @param server is the virtual server linked to the listener
+     */
+    @Override
+    public void setServer(VirtualServer server) {
+        this.myServer = server;
+    }
+
+
+    /**
+     * The messages are not sent to anyone, so they are ignored.
+     *
+     * @param status indicates the status or event of the game
+     * @param player is the player who performed the action
+     */
+    @Override
+    public void onNotify(GameStatus status, Player player) {}
+
+
+    /**
+     * The play areas are not shown to anyone, so the message is ignored.
+     *
+     * @param status indicates the status or event of the game
+     * @param player is the player who requested to see the area
+     * @param areaOwner is the name of the player who owns the area on display
+     * @param playArea is the area the player wants to see
+     * @param points the points of the player who owns the play area
+     */
+    @Override
+    public void onNotify(GameStatus status, Player player, String areaOwner, PlayArea playArea, int points) {}
+}
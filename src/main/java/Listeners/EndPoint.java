@@ -71,14 +71,14 @@ public class EndPoint implements Listener, Serializable {
             String args = createArgs(player);
             Message message = switch (status) {
                 case VIEW_STARTER_CARD -> new Message(args, status, player.getNickname(), (StarterCard) player.getHand().getFirst());
-                case STARTER_CARD_PLACED -> new Message(args, status, player.getNickname(), (StarterCard) player.getPlayArea().getGrid()[2][2]);
+                case STARTER_CARD_PLACED -> new Message(args, status, player.getNickname(), (StarterCard) player.getPlayArea().getGrid().get(0, 0));
                 case VIEW_SECRET_OBJECTIVE -> new Message(args, status, player.getNickname(), player.getObjective());
                 case VIEW_TABLE ->
                         new Message(args, status, player.getNickname(), player.getTable().getDeckR(), player.getTable().getDeckG(),
                                 player.getTable().getCardsR(), player.getTable().getCardsG(), player.getTable().getCardsO());
                 case VIEW_STARTING_TABLE ->
-                        new Message(args, status, player.getNickname(), player.getTable().getDeckR().getFirst().getColors(),
-                                player.getTable().getDeckG().getFirst().getColors(), player.getTable().getCardsR(), player.getTable().getCardsG());
+                        new Message(args, status, player.getNickname(), player.getTable().getDeckR().peekTopColor(),
+                                player.getTable().getDeckG().peekTopColor(), player.getTable().getCardsR(), player.getTable().getCardsG());
                 case VIEW_CHOICE_OBJECTIVES -> new Message(args, status, player.getNickname(), player.getObChoice1(), player.getObChoice2());
                 case VIEW_DIFFERENCES_OF_RESOURCES -> new Message(args, status, player.getNickname(), player.getPlayArea());
                 case IT_IS_YOUR_TURN, I_HAVE_WON, I_HAVE_LOST -> new Message(args, status, player.getNickname());
@@ -88,6 +88,8 @@ public class EndPoint implements Listener, Serializable {
                 case SHOW_POINTS -> new Message(args, status, player.getNickname(), player.getPoints());
                 case ACTION_FAILED -> new Message(status, player.getNickname());
             };
+            //The clients know which cards they can place without asking the server
+            if (message != null && message.getHand() != null) message.setPlayableMask(player.getPlayableMask());
             myServer.sendUpdate(message);
         } catch (RemoteException e) { throw new RuntimeException(e); }
     }
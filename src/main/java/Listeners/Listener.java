@@ -11,7 +11,8 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
  */
 @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
 @JsonSubTypes({
-        @JsonSubTypes.Type(value = EndPoint.class, name = "EndPoint")
+        @JsonSubTypes.Type(value = EndPoint.class, name = "EndPoint"),
+        @JsonSubTypes.Type(value = BotListener.class, name = "BotListener")
 })
 public interface Listener {
 
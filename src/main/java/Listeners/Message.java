@@ -6,7 +6,6 @@ import Model.Table;
 
 import java.io.Serializable;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Represents a message carrying information about a player or table to a server.
@@ -78,6 +77,11 @@ public class Message implements Serializable {
      */
     private List<Card> hand;
 
+    /**
+     * The cards of the hand which can be placed on the front, one bit per position, -1 if the message has no hand.
+     */
+    private int playableMask = -1;
+
     /**
      * A reference to the table.
      */
@@ -101,7 +105,7 @@ public class Message implements Serializable {
     /**
      * Player's available resources.
      */
-    private Map<Symbols, Integer> availableResources;
+    private ResourceLedger availableResources;
 
     /**
      * Represents an event or status in the game.
@@ -463,6 +467,16 @@ public class Message implements Serializable {
     }
 
 
+    /**
+     * Getter method for the playableMask attribute.
+     *
+     * @return the cards of the hand which can be placed on the front, -1 if the message has no hand
+     */
+    public int getPlayableMask() {
+        return playableMask;
+    }
+
+
     /**
      * Getter method for the table attribute.
      *
@@ -528,7 +542,7 @@ public class Message implements Serializable {
      *
      * @return the player's available resources
      */
-    public Map<Symbols, Integer> getAvailableResources() {
+    public ResourceLedger getAvailableResources() {
         return availableResources;
     }
 
@@ -663,6 +677,16 @@ public class Message implements Serializable {
     }
 
 
+    /**
+     * Setter method for the playableMask attribute.
+     *
+     * @param playableMask the cards of the hand which can be placed on the front, one bit per position
+     */
+    public void setPlayableMask(int playableMask) {
+        this.playableMask = playableMask;
+    }
+
+
     /**
      * Setter method for the table attribute.
      *
@@ -708,7 +732,7 @@ public class Message implements Serializable {
      *
      * @param availableResources player's available resources
      */
-    public void setAvailableResources(Map<Symbols, Integer> availableResources) {
+    public void setAvailableResources(ResourceLedger availableResources) {
         this.availableResources = availableResources;
     }
 
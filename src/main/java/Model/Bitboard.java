@@ -0,0 +1,302 @@
+package Model;
+
+import Model.Cards.Card;
+import Model.Cards.Symbols;
+
+import java.util.Arrays;
+
+/**
+ * This class represents the play area as a set of bitboards over a window of the grid: one for the occupied positions
+ * and one for every corner which is still open towards the near position.
+ * Every row of the window is stored in two words, so that the legal positions are computed a whole row
+ * at a time with shifts and bitwise operations, instead of looking up the cards one by one.
+ * The patterns of the objective cards are counted by the PatternTracker, which is updated at every placement.
+ * The grid is the reference: if a card is placed outside the window the bitboard is marked as overflowed,
+ * and the callers must go back to the grid.
+ */
+public class Bitboard {
+
+    /**
+     * The number of words of every row.
+     */
+    private static final int WORDS = 2;
+
+    /**
+     * The number of rows and columns of the window.
+     */
+    private static final int SIDE = WORDS * Long.SIZE;
+
+    /**
+     * The offset added to the coordinates of the grid, so that the starter card is in the middle of the window.
+     */
+    private static final int OFFSET = SIDE / 2;
+
+    /**
+     * The bitboard of the occupied positions.
+     */
+    private long[] occupied;
+
+    /**
+     * The bitboard of the cards whose corner i exists and is not covered, for every corner.
+     * The corner i faces the position on the opposite side of the offset used by 'PlayArea.check_position'.
+     */
+    private long[][] open;
+
+    /**
+     * The number of cards on the grid when the bitboard was last updated.
+     */
+    private int cards;
+
+    /**
+     * True if a card of the grid is outside the window.
+     */
+    private boolean overflowed;
+
+    /**
+     * True if the arrays may be shared with a fork of the bitboard, so they must be copied before being modified.
+     */
+    private boolean shared;
+
+
+    /**
+     * Constructor of an empty bitboard.
+     */
+    public Bitboard() {
+        this(new long[SIDE * WORDS], new long[4][SIDE * WORDS]);
+    }
+
+
+    /**
+     * Constructor of a fork of a bitboard, sharing its arrays.
+     *
+     * @param occupied is the bitboard of the occupied positions
+     * @param open are the bitboards of the open corners
+     */
+    private Bitboard(long[] occupied, long[][] open) {
+        this.occupied = occupied;
+        this.open = open;
+    }
+
+
+    /**
+     * Creates a fork of the bitboard in constant time: the fork and the bitboard share the arrays until one of them
+     * is updated, then the arrays are copied.
+     *
+     * @return a bitboard with the same bits
+     */
+    public Bitboard fork() {
+        Bitboard fork = new Bitboard(occupied, open);
+        fork.cards = cards;
+        fork.overflowed = overflowed;
+        fork.shared = true;
+        shared = true;
+        return fork;
+    }
+
+
+    /**
+     * Fills the bitboard with all the cards of a grid.
+     *
+     * @param grid is the grid of the play area
+     */
+    public void build(SparseGrid grid) {
+        if (shared) {
+            occupied = new long[SIDE * WORDS];
+            open = new long[4][SIDE * WORDS];
+            shared = false;
+        } else {
+            for (long[] bits : open) Arrays.fill(bits, 0L);
+            Arrays.fill(occupied, 0L);
+        }
+        overflowed = false;
+        for (long key : grid.sortedKeys()) {
+            refresh(grid, SparseGrid.rowOf(key), SparseGrid.columnOf(key));
+        }
+        cards = grid.getSize();
+    }
+
+
+    /**
+     * Updates the bitboard after a card has been placed and the corners it covers have been set to false.
+     *
+     * @param grid is the grid of the play area, already containing the new card
+     * @param row is the first coordinate of the new card
+     * @param column is the second coordinate of the new card
+     */
+    public void cardPlaced(SparseGrid grid, int row, int column) {
+        unshare();
+        refresh(grid, row, column);
+        refresh(grid, row + 1, column + 1);
+        refresh(grid, row + 1, column - 1);
+        refresh(grid, row - 1, column + 1);
+        refresh(grid, row - 1, column - 1);
+        cards = grid.getSize();
+    }
+
+
+    /**
+     * Computes all the positions where a card can be placed, with the same rule of 'PlayArea.check_position':
+     * the position must be empty, near at least one card, and every card near it must have an open corner towards it.
+     *
+     * @return the packed coordinates of the legal positions, in row-major order
+     */
+    public long[] legalPositions() {
+        long[] legal = new long[SIDE * WORDS];
+        int found = 0;
+        for (int r = 0; r < SIDE; r++) {
+            for (int w = 0; w < WORDS; w++) {
+                long near = shifted(occupied, r + 1, w, 1) | shifted(occupied, r + 1, w, -1)
+                        | shifted(occupied, r - 1, w, 1) | shifted(occupied, r - 1, w, -1);
+                long closed = (shifted(occupied, r + 1, w, 1) & ~shifted(open[0], r + 1, w, 1))
+                        | (shifted(occupied, r + 1, w, -1) & ~shifted(open[1], r + 1, w, -1))
+                        | (shifted(occupied, r - 1, w, 1) & ~shifted(open[2], r - 1, w, 1))
+                        | (shifted(occupied, r - 1, w, -1) & ~shifted(open[3], r - 1, w, -1));
+                legal[r * WORDS + w] = near & ~closed & ~occupied[r * WORDS + w];
+                found += Long.bitCount(legal[r * WORDS + w]);
+            }
+        }
+        long[] result = new long[found];
+        int k = 0;
+        for (int r = 0; r < SIDE; r++) {
+            for (int w = 0; w < WORDS; w++) {
+                for (long bits = legal[r * WORDS + w]; bits != 0; bits &= bits - 1) {
+                    int c = w * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                    result[k++] = SparseGrid.pack(r - OFFSET, c - OFFSET);
+                }
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * Checks if a position is occupied.
+     *
+     * @param row is the first coordinate of the position
+     * @param column is the second coordinate of the position
+     * @return true if there is a card in the position, false if it is empty or outside the window
+     */
+    public boolean isOccupied(int row, int column) {
+        return inWindow(row, column) && bit(occupied, row + OFFSET, column + OFFSET);
+    }
+
+
+    /**
+     * Getter method for the attribute 'cards'
+     *
+     * @return the number of cards on the grid when the bitboard was last updated
+     */
+    public int getCards() {
+        return cards;
+    }
+
+
+    /**
+     * Getter method for the attribute 'overflowed'
+     *
+     * @return true if some card is outside the window and the bitboard cannot be used
+     */
+    public boolean isOverflowed() {
+        return overflowed;
+    }
+
+
+    /**
+     * Copies the state of a position of the grid into the bitboard.
+     *
+     * @param grid is the grid of the play area
+     * @param row is the first coordinate of the position
+     * @param column is the second coordinate of the position
+     */
+    private void refresh(SparseGrid grid, int row, int column) {
+        Card card = grid.get(row, column);
+        if (card == null) return;
+        //The positions near a card must be in the window too, to compute the legal positions
+        if (!inWindow(row - 1, column - 1) || !inWindow(row + 1, column + 1)) {
+            overflowed = true;
+            return;
+        }
+        int r = row + OFFSET;
+        int c = column + OFFSET;
+        set(occupied, r, c, true);
+        for (int i = 0; i < 4; i++) {
+            set(open[i], r, c, card.getCorners()[i] && card.getSymbols()[i] != Symbols.NOCORNER);
+        }
+    }
+
+
+    /**
+     * Copies the arrays if they may be shared with a fork, before they are modified.
+     */
+    private void unshare() {
+        if (shared) {
+            occupied = occupied.clone();
+            long[][] copy = new long[open.length][];
+            for (int i = 0; i < open.length; i++) copy[i] = open[i].clone();
+            open = copy;
+            shared = false;
+        }
+    }
+
+
+    /**
+     * Checks if a position of the grid is in the window.
+     *
+     * @param row is the first coordinate of the position
+     * @param column is the second coordinate of the position
+     * @return true if the position has a bit in the bitboards
+     */
+    private static boolean inWindow(int row, int column) {
+        return row >= -OFFSET && row < SIDE - OFFSET && column >= -OFFSET && column < SIDE - OFFSET;
+    }
+
+
+    /**
+     * Reads a bit of a bitboard.
+     *
+     * @param bits is the bitboard
+     * @param r is the row in the window
+     * @param c is the column in the window
+     * @return the value of the bit
+     */
+    private static boolean bit(long[] bits, int r, int c) {
+        return (bits[r * WORDS + c / Long.SIZE] & (1L << c)) != 0;
+    }
+
+
+    /**
+     * Writes a bit of a bitboard.
+     *
+     * @param bits is the bitboard
+     * @param r is the row in the window
+     * @param c is the column in the window
+     * @param value is the value of the bit
+     */
+    private static void set(long[] bits, int r, int c, boolean value) {
+        if (value) bits[r * WORDS + c / Long.SIZE] |= 1L << c;
+        else bits[r * WORDS + c / Long.SIZE] &= ~(1L << c);
+    }
+
+
+    /**
+     * Returns a word of a row moved horizontally: the bit of column c of the result is the bit of column c + shift
+     * of the row, the columns outside the window and the rows outside the window are read as zero.
+     *
+     * @param bits is the bitboard
+     * @param r is the row in the window
+     * @param w is the index of the word in the row
+     * @param shift is the number of columns, between -63 and 63
+     * @return the moved word
+     */
+    private static long shifted(long[] bits, int r, int w, int shift) {
+        if (r < 0 || r >= SIDE) return 0L;
+        int base = r * WORDS;
+        if (shift == 0) return bits[base + w];
+        if (shift > 0) {
+            long next = w + 1 < WORDS ? bits[base + w + 1] : 0L;
+            return (bits[base + w] >>> shift) | (next << (Long.SIZE - shift));
+        }
+        long previous = w > 0 ? bits[base + w - 1] : 0L;
+        return (bits[base + w] << -shift) | (previous >>> (Long.SIZE + shift));
+    }
+}
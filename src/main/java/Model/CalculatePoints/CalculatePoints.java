@@ -1,13 +1,13 @@
 package Model.CalculatePoints;
 
-import Model.Cards.Card;
-import Model.Player;
+import Model.Cards.Symbols;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
 /**
  * this interface is implemented by the class PointsByPosition and PointsPerObject for calculating points
- * obtained by a player who has placed a card
+ * obtained by a player who has placed a card.
+ * The implementations are stateless, so a single instance of each one is shared by all the cards which use it
  */
 @JsonTypeInfo(
         use = JsonTypeInfo.Id.NAME,
@@ -20,8 +20,21 @@ public interface CalculatePoints {
 
     /**
      * this is the main method that will be rewritten by subclasses
-     * @param card is the card which has been placed.
-     * @param currentPlayer is the player who just placed the card on their play area.
+     * @param placement is the event of the card which has just been placed, with its coordinates and the available resources.
+     * @return the points which need to be added to the score of the player who placed the card.
      */
-    void calculatePoints(Card card, Player currentPlayer);
+    int calculatePoints(Placement placement);
+
+
+    /**
+     * Chooses the strategy which scores a gold card, given what is printed on the card.
+     * @param points are the points given by the card.
+     * @param pointsObject is the object which provides the points, EMPTY if there is none.
+     * @return the shared strategy, null if the points of the card do not depend on the play area.
+     */
+    static CalculatePoints of(int points, Symbols pointsObject) {
+        if (pointsObject != null && pointsObject != Symbols.EMPTY) return PointsPerObject.INSTANCE;
+        if (points == 2) return PointsByPosition.INSTANCE;
+        return null;
+    }
 }
@@ -0,0 +1,121 @@
+package Model.CalculatePoints;
+
+import Model.Cards.Card;
+import Model.Cards.ResourceLedger;
+import Model.PlayArea;
+import Model.SparseGrid;
+
+/**
+ * This class represents the event of a card which has just been placed on a play area.
+ * It carries everything the scoring strategies need, that is the card, its coordinates on the grid
+ * and the resources available after the placement, so that the points can be calculated without searching the grid.
+ */
+public final class Placement {
+
+    /**
+     * The card which has been placed.
+     */
+    private final Card card;
+
+    /**
+     * The row of the grid where the card has been placed.
+     */
+    private final int row;
+
+    /**
+     * The column of the grid where the card has been placed.
+     */
+    private final int column;
+
+    /**
+     * The grid of the play area, already containing the card.
+     */
+    private final SparseGrid grid;
+
+    /**
+     * The resources available on the play area, already counting the card.
+     */
+    private final ResourceLedger resources;
+
+
+    /**
+     * Constructor for the Placement class.
+     *
+     * @param card is the card which has been placed
+     * @param row is the row of the grid where the card has been placed
+     * @param column is the column of the grid where the card has been placed
+     * @param grid is the grid of the play area, already containing the card
+     * @param resources are the resources available on the play area, already counting the card
+     */
+    public Placement(Card card, int row, int column, SparseGrid grid, ResourceLedger resources) {
+        this.card = card;
+        this.row = row;
+        this.column = column;
+        this.grid = grid;
+        this.resources = resources;
+    }
+
+
+    /**
+     * Creates the event of a card placed on a play area.
+     *
+     * @param card is the card which has been placed
+     * @param playArea is the play area where the card has been placed
+     * @param row is the row of the grid where the card has been placed
+     * @param column is the column of the grid where the card has been placed
+     * @return the placement of the card
+     */
+    public static Placement of(Card card, PlayArea playArea, int row, int column) {
+        return new Placement(card, row, column, playArea.getGrid(), playArea.getAvailableResources());
+    }
+
+
+    /**
+     * Getter method for the attribute 'card'.
+     *
+     * @return the card which has been placed
+     */
+    public Card getCard() {
+        return card;
+    }
+
+
+    /**
+     * Getter method for the attribute 'row'.
+     *
+     * @return the row of the grid where the card has been placed
+     */
+    public int getRow() {
+        return row;
+    }
+
+
+    /**
+     * Getter method for the attribute 'column'.
+     *
+     * @return the column of the grid where the card has been placed
+     */
+    public int getColumn() {
+        return column;
+    }
+
+
+    /**
+     * Getter method for the attribute 'grid'.
+     *
+     * @return the grid of the play area, already containing the card
+     */
+    public SparseGrid getGrid() {
+        return grid;
+    }
+
+
+    /**
+     * Getter method for the attribute 'resources'.
+     *
+     * @return the resources available on the play area, already counting the card
+     */
+    public ResourceLedger getResources() {
+        return resources;
+    }
+}
@@ -1,7 +1,6 @@
 package Model.CalculatePoints;
 
-import Model.Cards.Card;
-import Model.Player;
+import Model.SparseGrid;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import org.jetbrains.annotations.NotNull;
@@ -9,7 +8,7 @@ import org.jetbrains.annotations.NotNull;
 import java.io.Serializable;
 
 /**
- * This class serves to calculate and to add the points of a just placed card to the score of the player who placed it.
+ * This class serves to calculate the points of a just placed card, which are added to the score of the player who placed it.
  * This version of Model.CalculatePoints.CalculatePoints regards only the case in which the points granted by the card are a value
  * which depends on how many corners the placed card covers.
  */
@@ -17,6 +16,11 @@ import java.io.Serializable;
 @JsonDeserialize
 public class PointsByPosition implements CalculatePoints, Serializable {
 
+    /**
+     * The instance shared by all the cards scored by position, since the class has no state.
+     */
+    public static final PointsByPosition INSTANCE = new PointsByPosition();
+
 
     /**
      * The constructor of this version of CalculatePoints.
@@ -25,31 +29,34 @@ public class PointsByPosition implements CalculatePoints, Serializable {
 
 
     /**
-     * The method we use to update the score of the current player both in the specific player and the score track.
-     * We search for the placed card in the grid and, once we find it, we count how many cards are covered by the 4 corners of the placed card.
+     * The method we use to calculate the points of the placed card.
+     * Since the placement carries the coordinates of the card, only the 4 cells on its corners are checked,
+     * whatever the size of the play area.
      * The number of covered corners is then multiplied by the number on the card.
      * The result of this multiplication is the number of points which needs to be added to the player current score.
-     * @param card is the card which has been placed.
-     * @param currentPlayer is the player who just placed the card on their play area.
+     * @param placement is the event of the card which has just been placed.
+     * @return the points given by the card.
      */
     @Override
-    public void calculatePoints(@NotNull Card card, @NotNull Player currentPlayer) {
+    public int calculatePoints(@NotNull Placement placement) {
         int coveredCorners = 0;
-        //Explores the matrix until it finds the placed card
-        for (int i = 0; i < currentPlayer.getPlayArea().getGrid().length; i++) {
-            for (int j = 0; j < currentPlayer.getPlayArea().getGrid()[i].length; j++) {
-                //As soon as the card is found, the cards on the corners are checked
-                if (currentPlayer.getPlayArea().getGrid()[i][j] != null && currentPlayer.getPlayArea().getGrid()[i][j].equals(card)) {
-                    for (int x = i-1; x <= i+1; x+=2) {
-                        for (int y = j-1; y <= j+1; y+=2) {
-                            if (currentPlayer.getPlayArea().getGrid()[x][y] != null) { coveredCorners++; }
-                        }
-                    }
-                    int pointsToBeAdded = card.getPoints() * coveredCorners; //Multiplies the points reported on the card with the number of covered corners
-                    currentPlayer.setPoints(currentPlayer.getPoints() + pointsToBeAdded); //Sums the result with the player's points
-                    return;
-                }
+        SparseGrid grid = placement.getGrid();
+        int i = placement.getRow();
+        int j = placement.getColumn();
+        for (int x = i-1; x <= i+1; x+=2) {
+            for (int y = j-1; y <= j+1; y+=2) {
+                if (grid.get(x, y) != null) { coveredCorners++; }
             }
         }
+        return placement.getCard().getPoints() * coveredCorners; //Multiplies the points reported on the card with the number of covered corners
+    }
+
+
+    /**
+     * Keeps a single instance of the class when a player is deserialized.
+     * @return the shared instance
+     */
+    private Object readResolve() {
+        return INSTANCE;
     }
 }
@@ -1,8 +1,6 @@
 package Model.CalculatePoints;
 
 import Model.Cards.Card;
-import Model.Cards.Symbols;
-import Model.Player;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import org.jetbrains.annotations.NotNull;
@@ -10,7 +8,7 @@ import org.jetbrains.annotations.NotNull;
 import java.io.Serializable;
 
 /**
- * This class serves to calculate and to add the points of a just placed card to the score of the player who placed it.
+ * This class serves to calculate the points of a just placed card, which are added to the score of the player who placed it.
  * This version of Model.CalculatePoints.CalculatePoints regards only the case in which the points granted by the card are a value
  * which depends on the quantity of objects, the same type as indicated on the card, are currently present on the player's play area.
  */
@@ -18,6 +16,11 @@ import java.io.Serializable;
 @JsonDeserialize
 public class PointsPerObject implements CalculatePoints, Serializable {
 
+    /**
+     * The instance shared by all the cards scored per object, since the class has no state.
+     */
+    public static final PointsPerObject INSTANCE = new PointsPerObject();
+
 
     /**
      * The constructor of this version of CalculatePoints.
@@ -26,20 +29,27 @@ public class PointsPerObject implements CalculatePoints, Serializable {
 
 
     /**
-     * The method we use to update the score of the current player both in the specific player and the score track.
+     * The method we use to calculate the points of the placed card.
      * We search for the integer value associated with the object on the card. This indicates the quantity of that object
-     * present on the play area at that moment and can be found in availableResources, a map present in the player's play area.
+     * present on the play area at that moment and can be found in the resources carried by the placement.
      * Next, we multiply that value by the number indicated by the card.
      * The result of the multiplication is the number of points which needs to be added to the player current score.
-     * @param card is the card which has been placed.
-     * @param currentPlayer is the player who just placed the card on their play area.
+     * @param placement is the event of the card which has just been placed.
+     * @return the points given by the card.
      */
     @Override
-    public void calculatePoints(@NotNull Card card, @NotNull Player currentPlayer) {
-        Symbols object = card.getPointsObject();
-        int objectQuantity = currentPlayer.getPlayArea().getAvailableResources().get(object); //Finds the quantity for the searched object
-        int pointsToBeAdded = card.getPoints() * objectQuantity; //Multiplies the points reported on the card with the object's quantity
-        currentPlayer.setPoints(currentPlayer.getPoints() + pointsToBeAdded); //Sums the result with the player's points
+    public int calculatePoints(@NotNull Placement placement) {
+        Card card = placement.getCard();
+        int objectQuantity = placement.getResources().get(card.getPointsObject()); //Finds the quantity for the searched object
+        return card.getPoints() * objectQuantity; //Multiplies the points reported on the card with the object's quantity
     }
 
+
+    /**
+     * Keeps a single instance of the class when a player is deserialized.
+     * @return the shared instance
+     */
+    private Object readResolve() {
+        return INSTANCE;
+    }
 }
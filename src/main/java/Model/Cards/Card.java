@@ -16,6 +16,11 @@ import java.io.Serializable;
 })
 public class Card implements Serializable {
 
+    /**
+     * the id of the definition of the card in the catalog, 0 if the card has not been created from the catalog
+     */
+    private int id;
+
     /**
      * symbols on the corners of the card
      */
@@ -51,11 +56,6 @@ public class Card implements Serializable {
      */
     private Symbols pointsObject;
 
-    /**
-     * boolean used for checking if a card has already been considered by an objective card
-     */
-    private boolean considered;
-
     /**
      * Indicates the row of the play area where the card is placed.
      */
@@ -98,7 +98,6 @@ public class Card implements Serializable {
         this.face = face;
         this.points = points;
         this.pointsObject = pointsObject;
-        this.considered = false;
         this.imageFront = imageFront;
         this.imageBack = imageBack;
         this.row = -1;
@@ -222,22 +221,6 @@ public class Card implements Serializable {
         this.pointsObject = pointsObject;
     }
 
-    /**
-     * getter method for the attribute 'considered'
-     * @return the attribute 'considered'
-     */
-    public boolean isConsidered() {
-        return considered;
-    }
-
-    /**
-     * setter method for the attribute 'considered'
-     * @param considered is the boolean to be put
-     */
-    public void setConsidered(boolean considered) {
-        this.considered = considered;
-    }
-
     /**
      * Getter method for the row attribute.
      *
@@ -305,7 +288,20 @@ public class Card implements Serializable {
     public void setImageBack(String imageBack) {
         this.imageBack = imageBack;
     }
-}
-
 
+    /**
+     * getter method for the attribute 'id'
+     * @return the id of the definition of the card in the catalog
+     */
+    public int getId() {
+        return id;
+    }
 
+    /**
+     * setter method for the attribute 'id'
+     * @param id is the id of the definition of the card in the catalog
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+}
@@ -0,0 +1,329 @@
+package Model.Cards;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.*;
+
+/**
+ * This class represents the catalog of all the cards of the game.
+ * The json file is parsed only once per JVM, when the catalog is first requested, and the resulting definitions
+ * are shared by every match, indexed by id, by color and by the symbols they show.
+ */
+public final class CardCatalog {
+
+    /**
+     * The name of the json file describing the cards.
+     */
+    private static final String CARDS_FILE = "Cards.json";
+
+    /**
+     * The only instance of the catalog, created on first use.
+     */
+    private static volatile CardCatalog instance;
+
+    /**
+     * The symbols indexed by the string used in the json file.
+     */
+    private static final Map<String, Symbols> SYMBOLS_BY_VALUE = new HashMap<>();
+
+    /**
+     * The colors indexed by the string used in the json file.
+     */
+    private static final Map<String, Colors> COLORS_BY_VALUE = new HashMap<>();
+
+    static {
+        for (Symbols symbol : Symbols.values()) SYMBOLS_BY_VALUE.put(symbol.getValue(), symbol);
+        for (Colors color : Colors.values()) COLORS_BY_VALUE.put(color.getValue(), color);
+    }
+
+    /**
+     * The definitions of the resource cards, in the order of the json file.
+     */
+    private final List<CardDefinition> resourceCards = new ArrayList<>();
+
+    /**
+     * The definitions of the gold cards, in the order of the json file.
+     */
+    private final List<CardDefinition> goldCards = new ArrayList<>();
+
+    /**
+     * The definitions of the starter cards, in the order of the json file.
+     */
+    private final List<CardDefinition> starterCards = new ArrayList<>();
+
+    /**
+     * The definitions of the objective cards, in the order of the json file.
+     */
+    private final List<CardDefinition> objectiveCards = new ArrayList<>();
+
+    /**
+     * The definitions indexed by id.
+     */
+    private final Map<Integer, CardDefinition> byId = new HashMap<>();
+
+    /**
+     * The definitions of the resource and gold cards indexed by color.
+     */
+    private final Map<Colors, List<CardDefinition>> byColor = new EnumMap<>(Colors.class);
+
+    /**
+     * The definitions of the resource, gold and starter cards indexed by the symbols they show.
+     */
+    private final Map<Symbols, List<CardDefinition>> bySymbol = new EnumMap<>(Symbols.class);
+
+
+    /**
+     * Constructor of the catalog, which parses the json file.
+     *
+     * @throws ParseException if there is an error during the parsing of text input
+     * @throws IOException if there is an input/output problem
+     */
+    private CardCatalog() throws ParseException, IOException {
+        ClassLoader classloader = Thread.currentThread().getContextClassLoader();
+        try (InputStream is = classloader.getResourceAsStream(CARDS_FILE)) {
+            if (is == null) throw new IOException(CARDS_FILE + " not found");
+            JSONObject cards = (JSONObject) new JSONParser().parse(new InputStreamReader(is));
+            for (Object card : (JSONArray) cards.get("ResourceCard")) add(resourceCards, parsePlayable((JSONObject) card, CardDefinition.Type.RESOURCE));
+            for (Object card : (JSONArray) cards.get("GoldCard")) add(goldCards, parsePlayable((JSONObject) card, CardDefinition.Type.GOLD));
+            for (Object card : (JSONArray) cards.get("StarterCard")) add(starterCards, parsePlayable((JSONObject) card, CardDefinition.Type.STARTER));
+            for (Object card : (JSONArray) cards.get("ObjectiveCard")) add(objectiveCards, parseObjective((JSONObject) card));
+        }
+        byColor.replaceAll((color, definitions) -> Collections.unmodifiableList(definitions));
+        bySymbol.replaceAll((symbol, definitions) -> Collections.unmodifiableList(definitions));
+    }
+
+
+    /**
+     * Returns the catalog, parsing the json file the first time.
+     *
+     * @return the only instance of the catalog
+     * @throws ParseException if there is an error during the parsing of text input
+     * @throws IOException if there is an input/output problem
+     */
+    public static CardCatalog getInstance() throws ParseException, IOException {
+        CardCatalog catalog = instance;
+        if (catalog == null) {
+            synchronized (CardCatalog.class) {
+                catalog = instance;
+                if (catalog == null) {
+                    catalog = new CardCatalog();
+                    instance = catalog;
+                }
+            }
+        }
+        return catalog;
+    }
+
+
+    /**
+     * Creates a new deck of resource cards for a match, in the order of the json file.
+     *
+     * @return the deck of resource cards
+     */
+    public List<ResourceCard> newResourceDeck() {
+        List<ResourceCard> deck = new ArrayList<>(resourceCards.size());
+        for (CardDefinition definition : resourceCards) deck.add((ResourceCard) definition.newCard());
+        return deck;
+    }
+
+
+    /**
+     * Creates a new deck of gold cards for a match, in the order of the json file.
+     *
+     * @return the deck of gold cards
+     */
+    public List<GoldCard> newGoldDeck() {
+        List<GoldCard> deck = new ArrayList<>(goldCards.size());
+        for (CardDefinition definition : goldCards) deck.add((GoldCard) definition.newCard());
+        return deck;
+    }
+
+
+    /**
+     * Creates a new deck of starter cards for a match, in the order of the json file.
+     *
+     * @return the deck of starter cards
+     */
+    public List<StarterCard> newStarterDeck() {
+        List<StarterCard> deck = new ArrayList<>(starterCards.size());
+        for (CardDefinition definition : starterCards) deck.add((StarterCard) definition.newCard());
+        return deck;
+    }
+
+
+    /**
+     * Creates a new deck of objective cards for a match, in the order of the json file.
+     *
+     * @return the deck of objective cards
+     */
+    public List<ObjectiveCard> newObjectiveDeck() {
+        List<ObjectiveCard> deck = new ArrayList<>(objectiveCards.size());
+        for (CardDefinition definition : objectiveCards) deck.add(definition.newObjectiveCard());
+        return deck;
+    }
+
+
+    /**
+     * Returns the definition of a card.
+     *
+     * @param id is the id of the card
+     * @return the definition with the given id, null if there is none
+     */
+    public CardDefinition getById(int id) {
+        return byId.get(id);
+    }
+
+
+    /**
+     * Creates a copy of a resource, gold or starter card of a match with the same state, that is the symbols,
+     * the corners, the face and the coordinates, so that the copy can be placed without changing the card.
+     *
+     * @param card is the card to be copied
+     * @return a new card with the same definition and state
+     */
+    public Card copyCard(Card card) {
+        Card copy = getById(card.getId()).newCard();
+        copy.setSymbols(card.getSymbols().clone());
+        copy.setCorners(card.getCorners().clone());
+        copy.setFace(card.isFace());
+        copy.setRow(card.getRow());
+        copy.setColumn(card.getColumn());
+        return copy;
+    }
+
+
+    /**
+     * Returns the definitions of the resource and gold cards of a color.
+     *
+     * @param color is the color of the cards
+     * @return an unmodifiable list of definitions
+     */
+    public List<CardDefinition> getByColor(Colors color) {
+        return byColor.getOrDefault(color, List.of());
+    }
+
+
+    /**
+     * Returns the definitions of the resource, gold and starter cards showing a symbol on the front corners or on the centre.
+     *
+     * @param symbol is the symbol shown by the cards
+     * @return an unmodifiable list of definitions
+     */
+    public List<CardDefinition> getBySymbol(Symbols symbol) {
+        return bySymbol.getOrDefault(symbol, List.of());
+    }
+
+
+    /**
+     * Adds a definition to its list and to the indexes.
+     *
+     * @param list is the list of the definitions of the same type
+     * @param definition is the definition to be added
+     */
+    private void add(List<CardDefinition> list, CardDefinition definition) {
+        list.add(definition);
+        byId.put(definition.getId(), definition);
+        if (definition.getColors() != null) {
+            byColor.computeIfAbsent(definition.getColors(), c -> new ArrayList<>()).add(definition);
+        }
+        for (Symbols symbol : Symbols.values()) {
+            if (symbol != Symbols.EMPTY && symbol != Symbols.NOCORNER && definition.shows(symbol)) {
+                bySymbol.computeIfAbsent(symbol, s -> new ArrayList<>()).add(definition);
+            }
+        }
+    }
+
+
+    /**
+     * Creates the definition of a resource, gold or starter card.
+     *
+     * @param card is the json object describing the card
+     * @param type is the kind of card
+     * @return the definition of the card
+     */
+    private static CardDefinition parsePlayable(JSONObject card, CardDefinition.Type type) {
+        int id = ((Long) card.get("id")).intValue();
+        Symbols[] symbols = {symbol(card.get("fCorner1")), symbol(card.get("fCorner2")),
+                symbol(card.get("fCorner3")), symbol(card.get("fCorner4"))};
+        Colors color = COLORS_BY_VALUE.get((String) card.get("color"));
+        String imageFront = (String) card.get("imageFront");
+        String imageBack = (String) card.get("imageBack");
+        return switch (type) {
+            case RESOURCE -> new CardDefinition(id, type, color, symbols, null, null,
+                    ((Long) card.get("points")).intValue(), Symbols.EMPTY, null, null, null, imageFront, imageBack);
+            case GOLD -> {
+                ResourceLedger requirements = new ResourceLedger();
+                JSONObject quantities = (JSONObject) ((JSONArray) card.get("requirements")).getFirst();
+                for (Object entry : quantities.entrySet()) {
+                    Map.Entry<?, ?> requirement = (Map.Entry<?, ?>) entry;
+                    requirements.put(symbol(requirement.getKey()), ((Long) requirement.getValue()).intValue());
+                }
+                Symbols pointsObject = card.get("pointSymbol") == null ? null : symbol(card.get("pointSymbol"));
+                yield new CardDefinition(id, type, color, symbols, null, null,
+                        ((Long) card.get("points")).intValue(), pointsObject, requirements, null, null, imageFront, imageBack);
+            }
+            default -> {
+                Symbols[] backSymbols = {symbol(card.get("bCorner1")), symbol(card.get("bCorner2")),
+                        symbol(card.get("bCorner3")), symbol(card.get("bCorner4"))};
+                yield new CardDefinition(id, type, color, symbols, backSymbols, symbols((JSONArray) card.get("centralSymbols")),
+                        0, Symbols.EMPTY, null, null, null, imageFront, imageBack);
+            }
+        };
+    }
+
+
+    /**
+     * Creates the definition of an objective card.
+     *
+     * @param card is the json object describing the card
+     * @return the definition of the card
+     */
+    private static CardDefinition parseObjective(JSONObject card) {
+        int id = ((Long) card.get("id")).intValue();
+        int points = ((Long) card.get("points")).intValue();
+        String imageFront = (String) card.get("imageFront");
+        String imageBack = (String) card.get("imageBack");
+        if ("ObCardPosition".equals(card.get("type"))) {
+            JSONArray arrayColors = (JSONArray) card.get("colors");
+            Colors[] colors = new Colors[arrayColors.size()];
+            for (int k = 0; k < colors.length; k++) colors[k] = COLORS_BY_VALUE.get((String) arrayColors.get(k));
+            JSONArray arrayPositions = (JSONArray) card.get("positions");
+            int[] positions = new int[arrayPositions.size()];
+            for (int k = 0; k < positions.length; k++) positions[k] = ((Long) arrayPositions.get(k)).intValue();
+            return new CardDefinition(id, CardDefinition.Type.OBJECTIVE_POSITION, null, null, null, null,
+                    points, null, null, colors, positions, imageFront, imageBack);
+        }
+        return new CardDefinition(id, CardDefinition.Type.OBJECTIVE_SYMBOLS, null, symbols((JSONArray) card.get("symbols")), null, null,
+                points, null, null, null, null, imageFront, imageBack);
+    }
+
+
+    /**
+     * Converts a string of the json file into a symbol.
+     *
+     * @param value is the string
+     * @return the corresponding symbol, null if there is none
+     */
+    private static Symbols symbol(Object value) {
+        return SYMBOLS_BY_VALUE.get((String) value);
+    }
+
+
+    /**
+     * Converts an array of strings of the json file into symbols.
+     *
+     * @param values is the array of strings
+     * @return the corresponding symbols
+     */
+    private static Symbols[] symbols(JSONArray values) {
+        Symbols[] result = new Symbols[values.size()];
+        for (int k = 0; k < result.length; k++) result[k] = symbol(values.get(k));
+        return result;
+    }
+}
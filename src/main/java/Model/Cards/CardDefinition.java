@@ -0,0 +1,325 @@
+package Model.Cards;
+
+import Model.CalculatePoints.CalculatePoints;
+
+import java.util.Arrays;
+
+/**
+ * This class represents the immutable definition of a card, as it is described in the json file.
+ * A single definition is shared by all the matches: the cards used in a match are created from it and reference
+ * its strings and its frozen requirements, keeping as their own state only what can change during the match
+ * (the symbols and the covered corners, the face, the position on the play area).
+ * The arrays which a card of a match exposes are copied, since its getter methods let them be changed;
+ * the arrays returned by the getter methods of the definition are shared and must not be modified.
+ */
+public final class CardDefinition {
+
+    /**
+     * The kinds of card described in the json file.
+     */
+    public enum Type {
+        RESOURCE,
+        GOLD,
+        STARTER,
+        OBJECTIVE_POSITION,
+        OBJECTIVE_SYMBOLS
+    }
+
+    /**
+     * The id of the card, unique in the catalog.
+     */
+    private final int id;
+
+    /**
+     * The kind of card.
+     */
+    private final Type type;
+
+    /**
+     * The color of the card, null for starter and objective cards.
+     */
+    private final Colors colors;
+
+    /**
+     * The symbols on the front corners of the card, or the symbols of an objective card based on symbols.
+     */
+    private final Symbols[] symbols;
+
+    /**
+     * The symbols on the back corners of a starter card.
+     */
+    private final Symbols[] backSymbols;
+
+    /**
+     * The symbols on the centre of a starter card.
+     */
+    private final Symbols[] centre;
+
+    /**
+     * The points given by the card.
+     */
+    private final int points;
+
+    /**
+     * The object which provides the points of a gold card.
+     */
+    private final Symbols pointsObject;
+
+    /**
+     * The minimum quantity per symbol which is needed to place a gold card.
+     */
+    private final ResourceLedger requirements;
+
+    /**
+     * The colors of the pattern of an objective card based on positions.
+     */
+    private final Colors[] obColors;
+
+    /**
+     * The columns of the pattern of an objective card based on positions.
+     */
+    private final int[] obPositions;
+
+    /**
+     * The front image of the card.
+     */
+    private final String imageFront;
+
+    /**
+     * The back image of the card.
+     */
+    private final String imageBack;
+
+    /**
+     * The shared strategy which scores a gold card, null if the points of the card do not depend on the play area.
+     */
+    private final CalculatePoints scoring;
+
+
+    /**
+     * Constructor of a card definition, only the attributes which make sense for the type may be set.
+     *
+     * @param id is the id of the card
+     * @param type is the kind of card
+     * @param colors is the color of the card
+     * @param symbols are the symbols on the front corners, or the symbols of an objective card
+     * @param backSymbols are the symbols on the back corners of a starter card
+     * @param centre are the symbols on the centre of a starter card
+     * @param points are the points given by the card
+     * @param pointsObject is the object which provides the points of a gold card
+     * @param requirements is the minimum quantity per symbol which is needed to place a gold card
+     * @param obColors are the colors of the pattern of an objective card
+     * @param obPositions are the columns of the pattern of an objective card
+     * @param imageFront is the front image of the card
+     * @param imageBack is the back image of the card
+     */
+    public CardDefinition(int id, Type type, Colors colors, Symbols[] symbols, Symbols[] backSymbols, Symbols[] centre,
+                          int points, Symbols pointsObject, ResourceLedger requirements, Colors[] obColors,
+                          int[] obPositions, String imageFront, String imageBack) {
+        this.id = id;
+        this.type = type;
+        this.colors = colors;
+        this.symbols = symbols;
+        this.backSymbols = backSymbols;
+        this.centre = centre;
+        this.points = points;
+        this.pointsObject = pointsObject;
+        this.requirements = requirements == null ? null : requirements.frozen();
+        this.obColors = obColors;
+        this.obPositions = obPositions;
+        this.imageFront = imageFront;
+        this.imageBack = imageBack;
+        this.scoring = type == Type.GOLD ? CalculatePoints.of(points, pointsObject) : null;
+    }
+
+
+    /**
+     * Creates a new card of a match from the definition.
+     * The strings and the requirements, which cannot be changed, are referenced; the arrays of symbols are copied,
+     * so that no match can change the cards of another one.
+     *
+     * @return a new resource, gold or starter card
+     */
+    public Card newCard() {
+        Card card = switch (type) {
+            case RESOURCE -> new ResourceCard(symbols.clone(), colors, null, true, points, Symbols.EMPTY, imageFront, imageBack);
+            case GOLD -> {
+                GoldCard gold = new GoldCard(symbols.clone(), colors, null, true, points, pointsObject, imageFront, imageBack, requirements);
+                gold.setScoring(scoring);
+                yield gold;
+            }
+            case STARTER -> new StarterCard(symbols.clone(), colors, centre.clone(), true, 0, Symbols.EMPTY, imageFront, imageBack, backSymbols.clone());
+            default -> throw new IllegalStateException("Card " + id + " is an objective card");
+        };
+        card.setId(id);
+        return card;
+    }
+
+
+    /**
+     * Creates a new objective card of a match from the definition, referencing the strings and copying the arrays.
+     *
+     * @return a new objective card based on positions or on symbols
+     */
+    public ObjectiveCard newObjectiveCard() {
+        ObjectiveCard card = switch (type) {
+            case OBJECTIVE_POSITION -> new ObCardPosition(points, imageFront, imageBack, obColors.clone(), obPositions.clone());
+            case OBJECTIVE_SYMBOLS -> new ObCardSymbols(points, imageFront, imageBack, symbols.clone());
+            default -> throw new IllegalStateException("Card " + id + " is not an objective card");
+        };
+        card.setId(id);
+        return card;
+    }
+
+
+    /**
+     * Checks if a symbol is shown by the card, on the front corners or on the centre.
+     *
+     * @param symbol is the symbol to be searched
+     * @return true if the card shows the symbol
+     */
+    public boolean shows(Symbols symbol) {
+        if (type == Type.OBJECTIVE_POSITION || type == Type.OBJECTIVE_SYMBOLS) return false;
+        return Arrays.asList(symbols).contains(symbol) || (centre != null && Arrays.asList(centre).contains(symbol));
+    }
+
+
+    /**
+     * Getter method for the attribute 'id'
+     *
+     * @return the id of the card
+     */
+    public int getId() {
+        return id;
+    }
+
+
+    /**
+     * Getter method for the attribute 'type'
+     *
+     * @return the kind of card
+     */
+    public Type getType() {
+        return type;
+    }
+
+
+    /**
+     * Getter method for the attribute 'colors'
+     *
+     * @return the color of the card
+     */
+    public Colors getColors() {
+        return colors;
+    }
+
+
+    /**
+     * Getter method for the attribute 'symbols'
+     *
+     * @return the symbols on the front corners, or the symbols of an objective card
+     */
+    public Symbols[] getSymbols() {
+        return symbols;
+    }
+
+
+    /**
+     * Getter method for the attribute 'backSymbols'
+     *
+     * @return the symbols on the back corners of a starter card
+     */
+    public Symbols[] getBackSymbols() {
+        return backSymbols;
+    }
+
+
+    /**
+     * Getter method for the attribute 'centre'
+     *
+     * @return the symbols on the centre of a starter card
+     */
+    public Symbols[] getCentre() {
+        return centre;
+    }
+
+
+    /**
+     * Getter method for the attribute 'points'
+     *
+     * @return the points given by the card
+     */
+    public int getPoints() {
+        return points;
+    }
+
+
+    /**
+     * Getter method for the attribute 'pointsObject'
+     *
+     * @return the object which provides the points of a gold card
+     */
+    public Symbols getPointsObject() {
+        return pointsObject;
+    }
+
+
+    /**
+     * Getter method for the attribute 'requirements'
+     *
+     * @return the minimum quantity per symbol which is needed to place a gold card
+     */
+    public ResourceLedger getRequirements() {
+        return requirements;
+    }
+
+
+    /**
+     * Getter method for the attribute 'obColors'
+     *
+     * @return the colors of the pattern of an objective card
+     */
+    public Colors[] getObColors() {
+        return obColors;
+    }
+
+
+    /**
+     * Getter method for the attribute 'obPositions'
+     *
+     * @return the columns of the pattern of an objective card
+     */
+    public int[] getObPositions() {
+        return obPositions;
+    }
+
+
+    /**
+     * Getter method for the attribute 'imageFront'
+     *
+     * @return the front image of the card
+     */
+    public String getImageFront() {
+        return imageFront;
+    }
+
+
+    /**
+     * Getter method for the attribute 'imageBack'
+     *
+     * @return the back image of the card
+     */
+    public String getImageBack() {
+        return imageBack;
+    }
+
+
+    /**
+     * Getter method for the attribute 'scoring'
+     *
+     * @return the strategy which scores a gold card, null if the points do not depend on the play area
+     */
+    public CalculatePoints getScoring() {
+        return scoring;
+    }
+}
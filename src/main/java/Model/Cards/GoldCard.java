@@ -1,5 +1,8 @@
 package Model.Cards;
 
+import Model.CalculatePoints.CalculatePoints;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.util.Map;
 
 /**
@@ -8,9 +11,15 @@ import java.util.Map;
 public class GoldCard extends Card{
 
     /**
-     * A map representing the minimum quantity per symbol which is needed to place the card.
+     * A ledger representing the minimum quantity per symbol which is needed to place the card.
+     */
+    private ResourceLedger requirements;
+
+    /**
+     * The shared strategy which scores the card, bound by the definition of the card in the catalog.
      */
-    private Map<Symbols, Integer> requirements;
+    @JsonIgnore
+    private transient CalculatePoints scoring;
 
     /**
      * The gold card constructor.
@@ -24,12 +33,27 @@ public class GoldCard extends Card{
      * @param requirements is the minimum quantity per symbol which is needed to place the card
      */
     public GoldCard(Symbols[] symbols, Colors colors, Symbols[] centre, boolean face, int points, Symbols pointsObject, String imageFront, String imageBack, Map<Symbols, Integer> requirements) {
+        super(symbols, colors, centre, face, points, pointsObject, imageFront, imageBack);
+        //The symbols which are not in the map are not required
+        this.requirements = new ResourceLedger(requirements);
+        setRow(-1);
+        setColumn(-1);
+    }
+
+    /**
+     * The gold card constructor with a ledger of requirements, which is referenced and not copied.
+     *
+     * @param symbols are the symbols on the corners
+     * @param colors is the color of the card
+     * @param centre are the symbols on the centre
+     * @param face indicates if the card needs to be placed on the front or on the back
+     * @param points are the points the card provides to the player who places it on their play area
+     * @param pointsObject is the eventual object which provides the points
+     * @param requirements is the minimum quantity per symbol which is needed to place the card
+     */
+    public GoldCard(Symbols[] symbols, Colors colors, Symbols[] centre, boolean face, int points, Symbols pointsObject, String imageFront, String imageBack, ResourceLedger requirements) {
         super(symbols, colors, centre, face, points, pointsObject, imageFront, imageBack);
         this.requirements = requirements;
-        this.requirements.putIfAbsent(Symbols.PLANT, 0);
-        this.requirements.putIfAbsent(Symbols.ANIMAL, 0);
-        this.requirements.putIfAbsent(Symbols.FUNGI, 0);
-        this.requirements.putIfAbsent(Symbols.INSECT, 0);
         setRow(-1);
         setColumn(-1);
     }
@@ -45,15 +69,35 @@ public class GoldCard extends Card{
      * getter method for the attribute 'requirements'
      * @return the attribute 'requirements'
      */
-    public Map<Symbols, Integer> getRequirements() {
+    public ResourceLedger getRequirements() {
         return requirements;
     }
 
     /**
      * setter method for the attribute 'requirements'
-     * @param requirements is the map to be put
+     * @param requirements is the ledger to be put
      */
-    public void setRequirements(Map<Symbols, Integer> requirements) {
+    public void setRequirements(ResourceLedger requirements) {
         this.requirements = requirements;
     }
+
+    /**
+     * getter method for the attribute 'scoring'
+     * If the card has not been created from the catalog, the strategy is chosen from the points printed on the card.
+     * @return the strategy which scores the card, null if the points do not depend on the play area
+     */
+    @JsonIgnore
+    public CalculatePoints getScoring() {
+        if (scoring == null) scoring = CalculatePoints.of(getPoints(), getPointsObject());
+        return scoring;
+    }
+
+    /**
+     * setter method for the attribute 'scoring'
+     * @param scoring is the shared strategy which scores the card
+     */
+    @JsonIgnore
+    public void setScoring(CalculatePoints scoring) {
+        this.scoring = scoring;
+    }
 }
@@ -1,6 +1,10 @@
 package Model.Cards;
 
 import Model.Player;
+import Model.SparseGrid;
+
+import java.util.Arrays;
+import java.util.BitSet;
 
 /**
  * This class represents an objective card which provides points according to the positioning of certain cards on the play area.
@@ -89,29 +93,40 @@ public class ObCardPosition extends ObjectiveCard {
      * @param current_player is the player who might gain points
      */
     public void calculateObCardPosition(ObCardPosition ob_card, Player current_player) {
-        int go_on = 2;
-        int bonus = 2;
-        for (int i = 0; i < current_player.getPlayArea().getGrid().length; i++) {
-            for (int j = 0; j < current_player.getPlayArea().getGrid().length; j++) {
-                if (current_player.getPlayArea().getGrid()[i][j]!= null){
-                    if(ob_card.getObColors()[0].equals(current_player.getPlayArea().getGrid()[i][j].getColors()) &&
-                        current_player.getPlayArea().getGrid()[i][j].isConsidered() == false) {
-                        go_on = where_to_continue(ob_card, current_player, i, j, 0, 1);
-                        if (go_on != 2) {
-                            bonus = where_to_continue(ob_card, current_player, i + 1, j + go_on, 1, 2);
-                            if (bonus != 2) {
-                                current_player.setPoints(current_player.getPoints() + ob_card.getPoints());
-                                current_player.getPlayArea().getGrid()[i][j].setConsidered(true);
-                                current_player.getPlayArea().getGrid()[i + 1][j + go_on].setConsidered(true);
-                                current_player.getPlayArea().getGrid()[i + 2][j + go_on + bonus].setConsidered(true);
-                                go_on = 2;
-                                bonus = 2;
-                            }
-                        }
-                    }
-                }
-            }
+        int patterns = ob_card.countPatterns(current_player.getPlayArea().getGrid());
+        current_player.setPoints(current_player.getPoints() + ob_card.getPoints() * patterns);
+    }
+
+
+    /**
+     * Counts the patterns of the objective card on a grid without changing it, so the same grid can be evaluated
+     * again, for previews or by many objectives at the same time.
+     * The placed cards are visited in row-major order, from the top-left corner of the grid; the cards used by
+     * a counted pattern are marked in a bitset over the positions of the visited cards, which belongs to this evaluation,
+     * and a pattern cannot start on a marked card.
+     *
+     * @param grid is the grid of the play area
+     * @return the number of times the objective card is satisfied
+     */
+    public int countPatterns(SparseGrid grid) {
+        long[] keys = grid.sortedKeys();
+        BitSet used = new BitSet(keys.length);
+        int patterns = 0;
+        for (int n = 0; n < keys.length; n++) {
+            int i = SparseGrid.rowOf(keys[n]);
+            int j = SparseGrid.columnOf(keys[n]);
+            if (used.get(n) || !getObColors()[0].equals(grid.get(i, j).getColors())) continue;
+            int go_on = where_to_continue(grid, i, j, 0, 1);
+            if (go_on == 2) continue;
+            int bonus = where_to_continue(grid, i + 1, j + go_on, 1, 2);
+            if (bonus == 2) continue;
+            patterns++;
+            used.set(n);
+            //The keys are sorted in row-major order, so the positions of the other two cards are found by binary search
+            used.set(Arrays.binarySearch(keys, SparseGrid.pack(i + 1, j + go_on)));
+            used.set(Arrays.binarySearch(keys, SparseGrid.pack(i + 2, j + go_on + bonus)));
         }
+        return patterns;
     }
 
 
@@ -127,24 +142,39 @@ public class ObCardPosition extends ObjectiveCard {
      * player's grid for checking if the pattern of the objective card can be matched
      */
     public int where_to_continue(ObCardPosition ob_card, Player current_player, int i, int j, int a, int b) {
+        return ob_card.where_to_continue(current_player.getPlayArea().getGrid(), i, j, a, b);
+    }
+
+
+    /**
+     * This method checks where to look in a grid to see if it matches the pattern of the objective card
+     * @param grid is the grid of the play area
+     * @param i is the row in the grid where there is a card that may match the pattern
+     * @param j is the column in the grid where there is a card that may match the pattern
+     * @param a this number and the next one are used for checking the position in the array of positions
+     * @param b this number and the previous one are used for checking the position in the array of positions
+     * @return -1, 0 or 1 if the next card of the pattern is found below on the left, below or below on the right,
+     * 2 if it is not found
+     */
+    private int where_to_continue(SparseGrid grid, int i, int j, int a, int b) {
         int k = 2;
-        if (ob_card.getObPositions()[a] > ob_card.getObPositions()[b]) {
-            if (current_player.getPlayArea().getGrid()[i + 1][j - 1]!= null){
-                if (ob_card.getObColors()[b].equals(current_player.getPlayArea().getGrid()[i + 1][j - 1].getColors())) {
+        if (getObPositions()[a] > getObPositions()[b]) {
+            if (grid.get(i + 1, j - 1)!= null){
+                if (getObColors()[b].equals(grid.get(i + 1, j - 1).getColors())) {
                     k = -1;
                 }
             }
         }
-        if (ob_card.getObPositions()[a] == ob_card.getObPositions()[b]) {
-            if(current_player.getPlayArea().getGrid()[i + 1][j] != null){
-                if (ob_card.getObColors()[b].equals(current_player.getPlayArea().getGrid()[i + 1][j].getColors())) {
+        if (getObPositions()[a] == getObPositions()[b]) {
+            if(grid.get(i + 1, j) != null){
+                if (getObColors()[b].equals(grid.get(i + 1, j).getColors())) {
                     k = 0;
                 }
             }
         }
-        if (ob_card.getObPositions()[a] < ob_card.getObPositions()[b]) {
-            if(current_player.getPlayArea().getGrid()[i + 1][j + 1] != null){
-                if (ob_card.getObColors()[b].equals(current_player.getPlayArea().getGrid()[i + 1][j + 1].getColors())) {
+        if (getObPositions()[a] < getObPositions()[b]) {
+            if(grid.get(i + 1, j + 1) != null){
+                if (getObColors()[b].equals(grid.get(i + 1, j + 1).getColors())) {
                     k = 1;
                 }
             }
@@ -152,5 +182,3 @@ public class ObCardPosition extends ObjectiveCard {
         return k;
     }
 }
-
-
@@ -16,6 +16,11 @@ import java.io.Serializable;
 })
 public abstract class ObjectiveCard implements Serializable {
 
+    /**
+     * the id of the definition of the card in the catalog, 0 if the card has not been created from the catalog
+     */
+    private int id;
+
     /**
      * this boolean indicates if an objective card is common to each player or if it belongs to a specific player
      */
@@ -154,4 +159,20 @@ public abstract class ObjectiveCard implements Serializable {
                 .append("}");
         return sb.toString();
     }
+
+    /**
+     * getter method for the attribute 'id'
+     * @return the id of the definition of the card in the catalog
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * setter method for the attribute 'id'
+     * @param id is the id of the definition of the card in the catalog
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
 }
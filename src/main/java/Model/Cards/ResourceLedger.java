@@ -0,0 +1,207 @@
+package Model.Cards;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * This class represents a quantity for every symbol, stored in an array of integers indexed by the ordinal of the symbol.
+ * It is used for the resources and objects available on a play area and for the requirements of the gold cards.
+ * None of the operations allocates memory or boxes the quantities.
+ */
+public class ResourceLedger implements Serializable {
+
+    /**
+     * The number of different symbols.
+     */
+    private static final int SYMBOLS = Symbols.values().length;
+
+    /**
+     * The quantity of every symbol, at the index of its ordinal.
+     */
+    private int[] counts;
+
+    /**
+     * The number of changes made to the ledger, used by the owners of caches depending on the quantities.
+     */
+    @JsonIgnore
+    private transient int version;
+
+    /**
+     * True if the quantities cannot be changed, as for the requirements shared by all the copies of a gold card.
+     */
+    @JsonIgnore
+    private boolean frozen;
+
+
+    /**
+     * Constructor of a ledger with quantity zero for every symbol.
+     */
+    public ResourceLedger() {
+        counts = new int[SYMBOLS];
+    }
+
+
+    /**
+     * Constructor of a ledger with the quantities of a map, the symbols which are not in the map have quantity zero.
+     *
+     * @param quantities is the map representing the quantity for some symbols
+     */
+    public ResourceLedger(Map<Symbols, Integer> quantities) {
+        this();
+        for (Map.Entry<Symbols, Integer> entry : quantities.entrySet()) {
+            counts[entry.getKey().ordinal()] = entry.getValue();
+        }
+    }
+
+
+    /**
+     * Returns a copy of this ledger whose quantities cannot be changed, so that it can be shared by many cards
+     * and many matches.
+     *
+     * @return a frozen copy of the ledger
+     */
+    public ResourceLedger frozen() {
+        ResourceLedger copy = new ResourceLedger();
+        System.arraycopy(counts, 0, copy.counts, 0, SYMBOLS);
+        copy.frozen = true;
+        return copy;
+    }
+
+
+    /**
+     * Returns the quantity of a symbol.
+     *
+     * @param symbol is the symbol
+     * @return the quantity of the symbol
+     */
+    public int get(Symbols symbol) {
+        return counts[symbol.ordinal()];
+    }
+
+
+    /**
+     * Sets the quantity of a symbol.
+     *
+     * @param symbol is the symbol
+     * @param quantity is the new quantity of the symbol
+     */
+    public void put(Symbols symbol, int quantity) {
+        checkMutable();
+        counts[symbol.ordinal()] = quantity;
+        version++;
+    }
+
+
+    /**
+     * Increases the quantity of a symbol.
+     *
+     * @param symbol is the symbol
+     * @param quantity is the quantity to be added
+     */
+    public void add(Symbols symbol, int quantity) {
+        checkMutable();
+        counts[symbol.ordinal()] += quantity;
+        version++;
+    }
+
+
+    /**
+     * Decreases the quantity of a symbol.
+     *
+     * @param symbol is the symbol
+     * @param quantity is the quantity to be subtracted
+     */
+    public void subtract(Symbols symbol, int quantity) {
+        checkMutable();
+        counts[symbol.ordinal()] -= quantity;
+        version++;
+    }
+
+
+    /**
+     * Checks if this ledger has at least the quantity of the other one for every symbol,
+     * for example if the available resources satisfy the requirements of a gold card.
+     *
+     * @param other is the ledger to be compared
+     * @return true if no quantity of this ledger is lower than the corresponding one of the other ledger
+     */
+    public boolean dominates(ResourceLedger other) {
+        for (int i = 0; i < SYMBOLS; i++) {
+            if (counts[i] < other.counts[i]) return false;
+        }
+        return true;
+    }
+
+
+    /**
+     * Copies all the quantities of another ledger into this one.
+     *
+     * @param other is the ledger to be copied
+     */
+    public void copyFrom(ResourceLedger other) {
+        checkMutable();
+        System.arraycopy(other.counts, 0, counts, 0, SYMBOLS);
+        version++;
+    }
+
+
+    /**
+     * Stores in this ledger the difference, symbol by symbol, between two ledgers.
+     *
+     * @param minuend is the ledger whose quantities are decreased
+     * @param subtrahend is the ledger whose quantities are subtracted
+     */
+    public void difference(ResourceLedger minuend, ResourceLedger subtrahend) {
+        checkMutable();
+        for (int i = 0; i < SYMBOLS; i++) {
+            counts[i] = minuend.counts[i] - subtrahend.counts[i];
+        }
+        version++;
+    }
+
+
+    /**
+     * Getter method for the attribute 'counts', for Jackson serialization.
+     * The quantities of a frozen ledger are copied, so that they cannot be changed through the array.
+     *
+     * @return the quantity of every symbol, indexed by ordinal
+     */
+    public int[] getCounts() {
+        return frozen ? counts.clone() : counts;
+    }
+
+
+    /**
+     * Setter method for the attribute 'counts', for Jackson serialization.
+     *
+     * @param counts is the quantity of every symbol, indexed by ordinal
+     */
+    public void setCounts(int[] counts) {
+        checkMutable();
+        this.counts = counts;
+        version++;
+    }
+
+
+    /**
+     * Returns the number of changes made to the ledger, which grows every time a quantity may have changed.
+     *
+     * @return the version of the ledger
+     */
+    @JsonIgnore
+    public int getVersion() {
+        return version;
+    }
+
+
+    /**
+     * Checks that the quantities of the ledger can be changed.
+     *
+     * @throws UnsupportedOperationException if the ledger is frozen
+     */
+    private void checkMutable() {
+        if (frozen) throw new UnsupportedOperationException("The ledger is shared and cannot be changed");
+    }
+}
@@ -0,0 +1,320 @@
+package Model;
+
+import Model.Cards.Card;
+import Model.Cards.Colors;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+import java.util.RandomAccess;
+
+/**
+ * This class represents a deck of cards.
+ * The cards are stored once in an array, and the deck is an array of indexes into it, read from a cursor which
+ * points to the card on top: drawing only moves the cursor, and shuffling only swaps indexes.
+ * The deck is also a list, whose first element is the card on top, so it can be read and serialized as before.
+ *
+ * @param <T> is the type of the cards of the deck
+ */
+public class Deck<T> extends AbstractList<T> implements RandomAccess, Serializable {
+
+    /**
+     * Attribute used for serialization.
+     */
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * All the cards which have been put in the deck, including the ones already drawn.
+     */
+    private Object[] cards;
+
+    /**
+     * The number of cards stored in the array 'cards'.
+     */
+    private int count;
+
+    /**
+     * The indexes of the cards in the array 'cards', the ones between 'cursor' and 'end' are still in the deck.
+     */
+    private int[] order;
+
+    /**
+     * The position in 'order' of the card on top of the deck.
+     */
+    private int cursor;
+
+    /**
+     * The position in 'order' after the card at the bottom of the deck.
+     */
+    private int end;
+
+    /**
+     * True if the arrays may be shared with a fork of the deck, so they must be copied before being modified.
+     */
+    private transient boolean shared;
+
+
+    /**
+     * Constructor of an empty deck.
+     */
+    public Deck() {
+        cards = new Object[8];
+        order = new int[8];
+    }
+
+
+    /**
+     * Constructor of a deck containing some cards, the first one is on top.
+     *
+     * @param cards are the cards to be put in the deck
+     */
+    public Deck(Collection<? extends T> cards) {
+        this.cards = cards.toArray();
+        count = this.cards.length;
+        order = new int[count];
+        for (int i = 0; i < count; i++) order[i] = i;
+        end = count;
+    }
+
+
+    /**
+     * Constructor of a copy of a deck, used by 'snapshot'.
+     *
+     * @param cards are all the cards of the deck
+     * @param count is the number of cards in the array
+     * @param order are the indexes of the cards still in the deck, starting from the top
+     */
+    private Deck(Object[] cards, int count, int[] order) {
+        this.cards = cards;
+        this.count = count;
+        this.order = order;
+        this.end = order.length;
+    }
+
+
+    /**
+     * Removes the card on top of the deck.
+     *
+     * @return the card on top, null if the deck is empty
+     */
+    public T draw() {
+        if (cursor == end) return null;
+        return card(cursor++);
+    }
+
+
+    /**
+     * Returns the card on top of the deck, without removing it.
+     *
+     * @return the card on top, null if the deck is empty
+     */
+    public T peek() {
+        if (cursor == end) return null;
+        return card(cursor);
+    }
+
+
+    /**
+     * Returns the color of the card on top of the deck, which is the only information visible to the players.
+     *
+     * @return the color of the card on top, null if the deck is empty or if it does not contain cards with a color
+     */
+    public Colors peekTopColor() {
+        T top = peek();
+        return top instanceof Card ? ((Card) top).getColors() : null;
+    }
+
+
+    /**
+     * Returns the number of cards still in the deck.
+     *
+     * @return the number of cards which can be drawn
+     */
+    public int remaining() {
+        return end - cursor;
+    }
+
+
+    /**
+     * Shuffles the cards still in the deck.
+     *
+     * @param random is the source of randomness, so that a shuffle can be reproduced
+     */
+    public void shuffle(Random random) {
+        unshare();
+        for (int i = end - 1; i > cursor; i--) {
+            int j = cursor + random.nextInt(i - cursor + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+    }
+
+
+    /**
+     * Creates an independent copy of the deck.
+     * The copy refers to the same card objects, only the references and the indexes are copied.
+     *
+     * @return a deck containing the same cards in the same order
+     */
+    public Deck<T> snapshot() {
+        return new Deck<>(Arrays.copyOf(cards, count), count, order());
+    }
+
+
+    /**
+     * Creates a fork of the deck in constant time: the fork and the deck share the arrays of cards and indexes
+     * until one of them shuffles, inserts or removes a card other than the top one, then the arrays are copied.
+     * Drawing only moves the cursor, so it never copies them.
+     *
+     * @return a deck containing the same cards in the same order
+     */
+    public Deck<T> fork() {
+        Deck<T> fork = new Deck<>(cards, count, order);
+        fork.cursor = cursor;
+        fork.end = end;
+        fork.shared = true;
+        shared = true;
+        return fork;
+    }
+
+
+    /**
+     * Returns the state of the deck as indexes of the cards, which is enough to restore it later with 'restore'.
+     *
+     * @return the indexes of the cards still in the deck, starting from the top
+     */
+    public int[] order() {
+        return Arrays.copyOfRange(order, cursor, end);
+    }
+
+
+    /**
+     * Puts back in the deck the cards of a state returned by 'order'.
+     *
+     * @param order are the indexes of the cards to be in the deck, starting from the top
+     */
+    public void restore(int[] order) {
+        for (int index : order) {
+            if (index < 0 || index >= count) throw new IllegalArgumentException("Invalid card index " + index);
+        }
+        this.order = order.clone();
+        cursor = 0;
+        end = order.length;
+    }
+
+
+    /**
+     * Returns a card of the deck.
+     *
+     * @param index is the position of the card, 0 is the top of the deck
+     * @return the card in the given position
+     */
+    @Override
+    public T get(int index) {
+        checkIndex(index, end - cursor);
+        return card(cursor + index);
+    }
+
+
+    /**
+     * Returns the number of cards still in the deck.
+     *
+     * @return the size of the list
+     */
+    @Override
+    public int size() {
+        return end - cursor;
+    }
+
+
+    /**
+     * Removes a card from the deck, removing the card on top does not move the other ones.
+     *
+     * @param index is the position of the card, 0 is the top of the deck
+     * @return the removed card
+     */
+    @Override
+    public T remove(int index) {
+        checkIndex(index, end - cursor);
+        T removed = card(cursor + index);
+        if (index == 0) {
+            cursor++;
+        } else {
+            unshare();
+            System.arraycopy(order, cursor + index + 1, order, cursor + index, end - cursor - index - 1);
+            end--;
+        }
+        modCount++;
+        return removed;
+    }
+
+
+    /**
+     * Inserts a card in the deck, it is used when the deck is deserialized.
+     *
+     * @param index is the position of the card, 0 is the top of the deck
+     * @param element is the card to be inserted
+     */
+    @Override
+    public void add(int index, T element) {
+        checkIndex(index, end - cursor + 1);
+        unshare();
+        if (count == cards.length) cards = Arrays.copyOf(cards, Math.max(8, count * 2));
+        if (end == order.length) order = Arrays.copyOf(order, Math.max(8, order.length * 2));
+        cards[count] = element;
+        System.arraycopy(order, cursor + index, order, cursor + index + 1, end - cursor - index);
+        order[cursor + index] = count++;
+        end++;
+        modCount++;
+    }
+
+
+    /**
+     * Removes all the cards from the deck.
+     */
+    @Override
+    public void clear() {
+        cursor = end;
+        modCount++;
+    }
+
+
+    /**
+     * Copies the arrays if they may be shared with a fork, before they are modified.
+     */
+    private void unshare() {
+        if (shared) {
+            cards = cards.clone();
+            order = order.clone();
+            shared = false;
+        }
+    }
+
+
+    /**
+     * Returns the card at a position of the array 'order'.
+     *
+     * @param position is the position in 'order'
+     * @return the card whose index is stored in that position
+     */
+    @SuppressWarnings("unchecked")
+    private T card(int position) {
+        return (T) cards[order[position]];
+    }
+
+
+    /**
+     * Checks if an index of the list is valid.
+     *
+     * @param index is the index to be checked
+     * @param bound is the first invalid index
+     */
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) throw new IndexOutOfBoundsException("Index " + index + ", size " + bound);
+    }
+}
@@ -0,0 +1,185 @@
+package Model;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * This class represents a set of packed positions, stored without boxing in an open-addressing hash table
+ * with the same linear probing of 'SparseGrid'.
+ * The free slots hold the key 0, so the key 0 itself is kept aside in a flag.
+ */
+public class LongSet implements Serializable {
+
+    /**
+     * The initial number of slots of the hash table, it must be a power of two.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The key which marks a free slot.
+     */
+    private static final long FREE = 0L;
+
+    /**
+     * The keys of the set, a slot is free if it holds FREE.
+     */
+    private long[] keys;
+
+    /**
+     * The number of keys in the hash table, without the key FREE.
+     */
+    private int size;
+
+    /**
+     * True if the key FREE is in the set.
+     */
+    private boolean containsFree;
+
+
+    /**
+     * Constructor of an empty set.
+     */
+    public LongSet() {
+        keys = new long[INITIAL_CAPACITY];
+    }
+
+
+    /**
+     * Constructor of a copy of a set.
+     *
+     * @param set is the set to be copied
+     */
+    public LongSet(LongSet set) {
+        keys = set.keys.clone();
+        size = set.size;
+        containsFree = set.containsFree;
+    }
+
+
+    /**
+     * Checks if a key is in the set.
+     *
+     * @param key is the key to look for
+     * @return true if the key is in the set
+     */
+    public boolean contains(long key) {
+        if (key == FREE) return containsFree;
+        int mask = keys.length - 1;
+        for (int i = SparseGrid.slotOf(key, mask); keys[i] != FREE; i = (i + 1) & mask) {
+            if (keys[i] == key) return true;
+        }
+        return false;
+    }
+
+
+    /**
+     * Adds a key to the set.
+     *
+     * @param key is the key to be added
+     * @return true if the key was not in the set
+     */
+    public boolean add(long key) {
+        if (key == FREE) {
+            boolean added = !containsFree;
+            containsFree = true;
+            return added;
+        }
+        if ((size + 1) * 4 > keys.length * 3) rehash(keys.length * 2);
+        int mask = keys.length - 1;
+        int i = SparseGrid.slotOf(key, mask);
+        while (keys[i] != FREE) {
+            if (keys[i] == key) return false;
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        size++;
+        return true;
+    }
+
+
+    /**
+     * Removes a key from the set, if present.
+     * The following keys of the same cluster are shifted back, so that no tombstones are needed.
+     *
+     * @param key is the key to be removed
+     * @return true if the key was in the set
+     */
+    public boolean remove(long key) {
+        if (key == FREE) {
+            boolean removed = containsFree;
+            containsFree = false;
+            return removed;
+        }
+        int mask = keys.length - 1;
+        int i = SparseGrid.slotOf(key, mask);
+        while (keys[i] != FREE && keys[i] != key) i = (i + 1) & mask;
+        if (keys[i] == FREE) return false;
+        keys[i] = FREE;
+        size--;
+        for (int j = (i + 1) & mask; keys[j] != FREE; j = (j + 1) & mask) {
+            int home = SparseGrid.slotOf(keys[j], mask);
+            //The key in j can fill the hole in i only if its home slot is not cyclically between i and j
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                keys[j] = FREE;
+                i = j;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Removes every key from the set, keeping its capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        size = 0;
+        containsFree = false;
+    }
+
+
+    /**
+     * Returns the number of keys in the set.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return containsFree ? size + 1 : size;
+    }
+
+
+    /**
+     * Returns all the keys of the set in ascending order, which is the row-major order of the packed positions.
+     *
+     * @return a new array with the keys of the set, sorted
+     */
+    public long[] sortedKeys() {
+        long[] result = new long[size()];
+        int k = 0;
+        if (containsFree) result[k++] = FREE;
+        for (long key : keys) {
+            if (key != FREE) result[k++] = key;
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+
+    /**
+     * Moves every key in a new table with the specified number of slots.
+     *
+     * @param capacity is the new number of slots, a power of two
+     */
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        keys = new long[capacity];
+        int mask = capacity - 1;
+        for (long key : oldKeys) {
+            if (key == FREE) continue;
+            int i = SparseGrid.slotOf(key, mask);
+            while (keys[i] != FREE) i = (i + 1) & mask;
+            keys[i] = key;
+        }
+    }
+}
@@ -0,0 +1,393 @@
+package Model;
+
+import Model.Cards.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class chooses the actions of a player with a Monte Carlo search: every possible action is tried on many copies
+ * of what the player knows about the match, then the following turns are played at random on the copy, and the action
+ * with the best average final score, objectives included, is chosen.
+ * The copies are forks of the table, which share the decks, the grid and the cards until they change them,
+ * so a copy costs a few small arrays instead of a copy of every card.
+ * The order of the decks is not known to the player, so every copy shuffles its own fork of the decks.
+ * The copies are played in parallel on a fork/join pool until the time budget is over; the live table is only
+ * forked once, before the search starts, so the search never changes the match.
+ * Every worker has its own source of randomness, seeded by the one of the table, so that a seeded match
+ * is searched in the same way given the same number of rollouts.
+ * The other players are not simulated.
+ */
+public class MonteCarloSearch {
+
+    /**
+     * The choice of drawing from the resource deck, the choices from 1 to 4 are the cards on the table
+     * as in 'MatchController.drawTable'.
+     */
+    public static final int RESOURCE_DECK = 5;
+
+    /**
+     * The choice of drawing from the gold deck.
+     */
+    public static final int GOLD_DECK = 6;
+
+    /**
+     * The number of turns played on a copy after the action which is being evaluated.
+     */
+    private static final int HORIZON = 6;
+
+    /**
+     * The pool where the copies are played.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The time given to every search, in nanoseconds.
+     */
+    private final long budget;
+
+    /**
+     * The number of turns played on a copy after the action which is being evaluated.
+     */
+    private final int horizon;
+
+    /**
+     * The evaluator of the placements of the live player.
+     */
+    private final MoveEvaluator evaluator;
+
+
+    /**
+     * Constructor of a search which uses the common fork/join pool, that is all the cores.
+     *
+     * @param budgetMillis is the time given to every search, in milliseconds
+     */
+    public MonteCarloSearch(long budgetMillis) {
+        this(ForkJoinPool.commonPool(), budgetMillis, HORIZON);
+    }
+
+
+    /**
+     * Constructor of a search which uses the given pool.
+     *
+     * @param pool is the pool where the copies are played
+     * @param budgetMillis is the time given to every search, in milliseconds
+     * @param horizon is the number of turns played on a copy after the action which is being evaluated
+     */
+    public MonteCarloSearch(ForkJoinPool pool, long budgetMillis, int horizon) {
+        this.pool = pool;
+        this.budget = budgetMillis * 1_000_000L;
+        this.horizon = horizon;
+        this.evaluator = new MoveEvaluator(pool);
+    }
+
+
+    /**
+     * Chooses the card to place, its face and its position.
+     *
+     * @param player is the live player, which must not be modified during the search
+     * @return the chosen move, null if no card can be placed
+     */
+    public Move chooseMove(Player player) {
+        List<Move> candidates = new ArrayList<>();
+        for (Move move : evaluator.evaluate(player)) {
+            if (move.isRequirementsMet()) candidates.add(move);
+        }
+        if (candidates.size() <= 1) {
+            return candidates.isEmpty() ? null : candidates.getFirst();
+        }
+        Root root = new Root(player);
+        return candidates.get(search(root, candidates.size(), (rollout, i) -> {
+            rollout.place(candidates.get(i));
+            rollout.drawAtRandom();
+        }));
+    }
+
+
+    /**
+     * Chooses where to draw a card from, after the placement.
+     *
+     * @param player is the live player, which must not be modified during the search
+     * @return 'RESOURCE_DECK', 'GOLD_DECK', the position from 1 to 4 of a card on the table,
+     *         or 0 if there is nothing to draw
+     */
+    public int chooseDraw(Player player) {
+        List<Integer> candidates = drawChoices(player.getTable());
+        if (candidates.size() <= 1) {
+            return candidates.isEmpty() ? 0 : candidates.getFirst();
+        }
+        Root root = new Root(player);
+        return candidates.get(search(root, candidates.size(), (rollout, i) -> rollout.draw(candidates.get(i))));
+    }
+
+
+    /**
+     * Chooses the secret objective between the two options of the player.
+     *
+     * @param player is the live player, which must not be modified during the search
+     * @return 1 or 2, as in 'Player.putChoiceObjectives'
+     */
+    public int chooseObjective(Player player) {
+        Root root = new Root(player);
+        ObjectiveCard[] options = {player.getObChoice1(), player.getObChoice2()};
+        return 1 + search(root, 2, (rollout, i) -> rollout.player.setObjective(options[i]));
+    }
+
+
+    /**
+     * Plays the copies in parallel until the time budget is over, every candidate is tried at least once.
+     *
+     * @param root is what the player knows about the match
+     * @param candidates is the number of candidate actions
+     * @param action applies the candidate action with the given index to a copy
+     * @return the index of the candidate with the best average score
+     */
+    private int search(Root root, int candidates, Action action) {
+        long deadline = System.nanoTime() + budget;
+        AtomicInteger next = new AtomicInteger();
+        AtomicLongArray totals = new AtomicLongArray(candidates);
+        AtomicIntegerArray counts = new AtomicIntegerArray(candidates);
+        List<ForkJoinTask<?>> workers = new ArrayList<>();
+        for (int w = 0; w < pool.getParallelism(); w++) {
+            Random random = new Random(root.seeds.nextLong());
+            workers.add(pool.submit(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < candidates || System.nanoTime() < deadline) {
+                    i %= candidates;
+                    Rollout rollout = new Rollout(root, random);
+                    action.apply(rollout, i);
+                    for (int turn = 0; turn < horizon && rollout.playAtRandom(); turn++) {
+                        rollout.drawAtRandom();
+                    }
+                    totals.addAndGet(i, rollout.score());
+                    counts.incrementAndGet(i);
+                }
+            }));
+        }
+        for (ForkJoinTask<?> worker : workers) {
+            worker.join();
+        }
+        int best = 0;
+        for (int i = 1; i < candidates; i++) {
+            //Compares the averages without dividing: totals[i] / counts[i] > totals[best] / counts[best]
+            if (totals.get(i) * counts.get(best) > totals.get(best) * counts.get(i)) best = i;
+        }
+        return best;
+    }
+
+
+    /**
+     * Lists where a card can be drawn from.
+     *
+     * @param table is the table of the match
+     * @return the choices, as returned by 'chooseDraw'
+     */
+    private static List<Integer> drawChoices(Table table) {
+        List<Integer> choices = new ArrayList<>();
+        if (table.getCardsR() != null) {
+            if (table.getCardsR()[0] != null) choices.add(1);
+            if (table.getCardsR()[1] != null) choices.add(2);
+        }
+        if (table.getCardsG() != null) {
+            if (table.getCardsG()[0] != null) choices.add(3);
+            if (table.getCardsG()[1] != null) choices.add(4);
+        }
+        if (!table.getDeckR().isEmpty()) choices.add(RESOURCE_DECK);
+        if (!table.getDeckG().isEmpty()) choices.add(GOLD_DECK);
+        return choices;
+    }
+
+
+    /**
+     * An action applied to a copy at the beginning of a rollout.
+     */
+    private interface Action {
+
+        /**
+         * Applies the candidate action to a copy.
+         *
+         * @param rollout is the copy
+         * @param candidate is the index of the candidate action
+         */
+        void apply(Rollout rollout, int candidate);
+    }
+
+
+    /**
+     * The fork of the table which every copy is forked from, made once from the live table and never modified.
+     */
+    private static class Root {
+
+        /**
+         * The fork of the table, whose only player is the fork of the player.
+         */
+        private final Table table;
+
+        /**
+         * The source of the seeds of the workers, seeded by the source of randomness of the live table.
+         */
+        private final SplittableRandom seeds;
+
+
+        /**
+         * Forks the table of the player with the fork of the player only, since the other players are not simulated.
+         *
+         * @param player is the live player
+         */
+        private Root(Player player) {
+            Random random = player.getTable().getRandom();
+            seeds = new SplittableRandom(random == null ? System.nanoTime() : random.nextLong());
+            table = new Table(player.getTable(), null);
+            table.getPlayers().add(player.fork(table));
+        }
+
+
+        /**
+         * Forks the table for a copy; the forks are made one at a time, since forking marks the shared structures
+         * of the root.
+         *
+         * @param random is the source of randomness of the copy
+         * @return a fork of the table of the root
+         */
+        private synchronized Table fork(Random random) {
+            return table.fork(random);
+        }
+    }
+
+
+    /**
+     * A fork of the player and of the table where the rest of the match is simulated.
+     */
+    private static class Rollout {
+
+        /**
+         * The source of randomness of the worker playing the copy.
+         */
+        private final Random random;
+
+        /**
+         * The fork of the table.
+         */
+        private final Table table;
+
+        /**
+         * The fork of the player.
+         */
+        private final Player player;
+
+
+        /**
+         * Creates a fork of the root, the decks are shuffled since their order is not known.
+         *
+         * @param root is the fork of the live table
+         * @param random is the source of randomness
+         */
+        private Rollout(Root root, Random random) {
+            this.random = random;
+            table = root.fork(random);
+            table.shuffle_resource_deck();
+            table.shuffle_golden_deck();
+            player = table.getPlayers().getFirst();
+        }
+
+
+        /**
+         * Places a card of the hand, with the same rules of the match.
+         *
+         * @param move is the placement
+         */
+        private void place(Move move) {
+            player.placeCard(player.getHand().get(move.getHandIndex()), move.isFace(), move.getRow(), move.getColumn());
+        }
+
+
+        /**
+         * Places a card chosen at random, half of the times among the ones giving the most points.
+         *
+         * @return false if no card can be placed
+         */
+        private boolean playAtRandom() {
+            List<Move> playable = new ArrayList<>();
+            int max = 0;
+            for (Move move : MoveEvaluator.evaluateSequentially(player)) {
+                if (move.isRequirementsMet()) {
+                    playable.add(move);
+                    max = Math.max(max, move.getPoints());
+                }
+            }
+            if (playable.isEmpty()) return false;
+            if (max > 0 && random.nextBoolean()) {
+                List<Move> best = new ArrayList<>();
+                for (Move move : playable) {
+                    if (move.getPoints() == max) best.add(move);
+                }
+                playable = best;
+            }
+            place(playable.get(random.nextInt(playable.size())));
+            return true;
+        }
+
+
+        /**
+         * Draws a card from a place chosen at random.
+         */
+        private void drawAtRandom() {
+            List<Integer> choices = drawChoices(table);
+            if (!choices.isEmpty()) draw(choices.get(random.nextInt(choices.size())));
+        }
+
+
+        /**
+         * Draws a card, which is shared with the live table until the fork of the player places it.
+         *
+         * @param choice is where the card is drawn from, as returned by 'chooseDraw'
+         */
+        private void draw(int choice) {
+            Card card;
+            switch (choice) {
+                case RESOURCE_DECK -> card = table.getDeckR().draw();
+                case GOLD_DECK -> card = table.getDeckG().draw();
+                case 1, 2 -> {
+                    card = table.getCardsR()[choice - 1];
+                    table.getCardsR()[choice - 1] = table.getDeckR().draw();
+                }
+                case 3, 4 -> {
+                    card = table.getCardsG()[choice - 3];
+                    table.getCardsG()[choice - 3] = table.getDeckG().draw();
+                }
+                default -> card = null;
+            }
+            if (card != null) player.getHand().add(card);
+        }
+
+
+        /**
+         * Computes the final score of the copy, adding the points of the secret objective of the fork of the player
+         * and of the common objectives, as in 'MatchController.calculateObjectives'.
+         * The objectives are only read, so they are shared with the live match like the other cards.
+         *
+         * @return the points of the player at the end of the simulation
+         */
+        private int score() {
+            List<ObjectiveCard> objectives = new ArrayList<>();
+            if (player.getObjective() != null) objectives.add(player.getObjective());
+            if (table.getCardsO() != null) objectives.addAll(List.of(table.getCardsO()));
+            for (ObjectiveCard objective : objectives) {
+                if (objective instanceof ObCardSymbols) {
+                    ((ObCardSymbols) objective).calculateObCardSymbols((ObCardSymbols) objective, player);
+                } else if (objective instanceof ObCardPosition) {
+                    player.setPoints(player.getPoints() + objective.getPoints()
+                            * player.getPlayArea().getPatternTracker().getMatches((ObCardPosition) objective, player.getPlayArea().getGrid()));
+                }
+            }
+            return player.getPoints();
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package Model;
+
+import Model.Cards.ResourceLedger;
+import Model.Cards.Symbols;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class represents a possible placement of a card of the hand, with the effects it would have on the play area.
+ */
+public class Move implements Serializable {
+
+    /**
+     * The number of integers used to encode a move in a list of integers.
+     */
+    public static final int ENCODED_SIZE = 6 + Symbols.values().length;
+
+    /**
+     * The index of the card in the hand of the player.
+     */
+    private int handIndex;
+
+    /**
+     * The face of the card, true for the front and false for the back.
+     */
+    private boolean face;
+
+    /**
+     * The first coordinate of the position.
+     */
+    private int row;
+
+    /**
+     * The second coordinate of the position.
+     */
+    private int column;
+
+    /**
+     * The points the player would gain immediately, 0 if the requirements are not met.
+     */
+    private int points;
+
+    /**
+     * True if the card can be placed, that is if it is not a gold card on the front or its requirements are met.
+     */
+    private boolean requirementsMet;
+
+    /**
+     * The change of the available resources and objects after the placement, as computed by 'viewDifferenceOfResources'.
+     */
+    private ResourceLedger resourceDelta;
+
+
+    /**
+     * Constructor of a move.
+     *
+     * @param handIndex is the index of the card in the hand of the player
+     * @param face is the face of the card
+     * @param row is the first coordinate of the position
+     * @param column is the second coordinate of the position
+     * @param points are the points the player would gain immediately
+     * @param requirementsMet indicates if the card can be placed
+     * @param resourceDelta is the change of the available resources and objects
+     */
+    public Move(int handIndex, boolean face, int row, int column, int points, boolean requirementsMet, ResourceLedger resourceDelta) {
+        this.handIndex = handIndex;
+        this.face = face;
+        this.row = row;
+        this.column = column;
+        this.points = points;
+        this.requirementsMet = requirementsMet;
+        this.resourceDelta = resourceDelta;
+    }
+
+
+    /**
+     * Empty constructor for Jackson serialization.
+     */
+    public Move() {}
+
+
+    /**
+     * Encodes some moves in a list of integers, 'ENCODED_SIZE' integers for every move,
+     * so that they can be sent as the legal positions.
+     *
+     * @param moves are the moves to be encoded
+     * @return the list of integers representing the moves
+     */
+    public static List<Integer> encode(List<Move> moves) {
+        List<Integer> result = new ArrayList<>(moves.size() * ENCODED_SIZE);
+        for (Move move : moves) {
+            result.add(move.handIndex);
+            result.add(move.face ? 1 : 0);
+            result.add(move.row);
+            result.add(move.column);
+            result.add(move.points);
+            result.add(move.requirementsMet ? 1 : 0);
+            for (int count : move.resourceDelta.getCounts()) {
+                result.add(count);
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * Decodes the moves encoded by 'encode'.
+     *
+     * @param encoded is the list of integers representing the moves
+     * @return the moves
+     */
+    public static List<Move> decode(List<Integer> encoded) {
+        List<Move> result = new ArrayList<>(encoded.size() / ENCODED_SIZE);
+        for (int k = 0; k + ENCODED_SIZE <= encoded.size(); k += ENCODED_SIZE) {
+            int[] counts = new int[Symbols.values().length];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = encoded.get(k + 6 + i);
+            }
+            ResourceLedger delta = new ResourceLedger();
+            delta.setCounts(counts);
+            result.add(new Move(encoded.get(k), encoded.get(k + 1) == 1, encoded.get(k + 2), encoded.get(k + 3),
+                    encoded.get(k + 4), encoded.get(k + 5) == 1, delta));
+        }
+        return result;
+    }
+
+
+    /**
+     * Getter method for the attribute 'handIndex'
+     *
+     * @return the index of the card in the hand of the player
+     */
+    public int getHandIndex() {
+        return handIndex;
+    }
+
+
+    /**
+     * Setter method for the attribute 'handIndex'
+     *
+     * @param handIndex is the index of the card in the hand of the player
+     */
+    public void setHandIndex(int handIndex) {
+        this.handIndex = handIndex;
+    }
+
+
+    /**
+     * Getter method for the attribute 'face'
+     *
+     * @return true if the card is placed on the front
+     */
+    public boolean isFace() {
+        return face;
+    }
+
+
+    /**
+     * Setter method for the attribute 'face'
+     *
+     * @param face is the face of the card
+     */
+    public void setFace(boolean face) {
+        this.face = face;
+    }
+
+
+    /**
+     * Getter method for the attribute 'row'
+     *
+     * @return the first coordinate of the position
+     */
+    public int getRow() {
+        return row;
+    }
+
+
+    /**
+     * Setter method for the attribute 'row'
+     *
+     * @param row is the first coordinate of the position
+     */
+    public void setRow(int row) {
+        this.row = row;
+    }
+
+
+    /**
+     * Getter method for the attribute 'column'
+     *
+     * @return the second coordinate of the position
+     */
+    public int getColumn() {
+        return column;
+    }
+
+
+    /**
+     * Setter method for the attribute 'column'
+     *
+     * @param column is the second coordinate of the position
+     */
+    public void setColumn(int column) {
+        this.column = column;
+    }
+
+
+    /**
+     * Getter method for the attribute 'points'
+     *
+     * @return the points the player would gain immediately
+     */
+    public int getPoints() {
+        return points;
+    }
+
+
+    /**
+     * Setter method for the attribute 'points'
+     *
+     * @param points are the points the player would gain immediately
+     */
+    public void setPoints(int points) {
+        this.points = points;
+    }
+
+
+    /**
+     * Getter method for the attribute 'requirementsMet'
+     *
+     * @return true if the card can be placed
+     */
+    public boolean isRequirementsMet() {
+        return requirementsMet;
+    }
+
+
+    /**
+     * Setter method for the attribute 'requirementsMet'
+     *
+     * @param requirementsMet indicates if the card can be placed
+     */
+    public void setRequirementsMet(boolean requirementsMet) {
+        this.requirementsMet = requirementsMet;
+    }
+
+
+    /**
+     * Getter method for the attribute 'resourceDelta'
+     *
+     * @return the change of the available resources and objects
+     */
+    public ResourceLedger getResourceDelta() {
+        return resourceDelta;
+    }
+
+
+    /**
+     * Setter method for the attribute 'resourceDelta'
+     *
+     * @param resourceDelta is the change of the available resources and objects
+     */
+    public void setResourceDelta(ResourceLedger resourceDelta) {
+        this.resourceDelta = resourceDelta;
+    }
+}
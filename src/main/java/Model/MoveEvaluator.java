@@ -0,0 +1,271 @@
+package Model;
+
+import Model.CalculatePoints.CalculatePoints;
+import Model.CalculatePoints.Placement;
+import Model.Cards.Card;
+import Model.Cards.GoldCard;
+import Model.Cards.ResourceLedger;
+import Model.Cards.Symbols;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class evaluates every possible placement of the cards in the hand of a player: for every card, face and
+ * legal position it computes the points gained immediately, the change of the available resources and objects
+ * and whether the requirements of a gold card are met.
+ * The play area is read once to build an immutable view of what the placements depend on, then the moves are
+ * evaluated in parallel on a fork/join pool without touching the play area, so the evaluation never changes the game.
+ */
+public class MoveEvaluator {
+
+    /**
+     * The number of moves below which a task evaluates its moves instead of splitting them.
+     */
+    private static final int THRESHOLD = 32;
+
+    /**
+     * The pool where the moves are evaluated.
+     */
+    private final ForkJoinPool pool;
+
+
+    /**
+     * Constructor of an evaluator which uses the common fork/join pool.
+     */
+    public MoveEvaluator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+
+    /**
+     * Constructor of an evaluator which uses the given pool.
+     *
+     * @param pool is the pool where the moves are evaluated
+     */
+    public MoveEvaluator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+
+    /**
+     * Evaluates all the placements of the cards in the hand of a player.
+     * It must be called while the play area of the player is not being modified, as for every other action of the player.
+     * Starter cards are not evaluated, since they can only be placed in the origin.
+     *
+     * @param player is the player whose moves are evaluated
+     * @return the moves ordered by card, face and position in row-major order
+     */
+    public List<Move> evaluate(Player player) {
+        View view = new View(player);
+        Move[] moves = new Move[view.cards.length * 2 * view.positions.length];
+        if (moves.length > 0) {
+            pool.invoke(new Evaluation(view, moves, 0, moves.length));
+        }
+        return collect(moves);
+    }
+
+
+    /**
+     * Evaluates all the placements of the cards in the hand of a player in the calling thread,
+     * for the callers which are already running in parallel, as the rollouts of 'MonteCarloSearch'.
+     *
+     * @param player is the player whose moves are evaluated
+     * @return the moves ordered by card, face and position in row-major order
+     */
+    public static List<Move> evaluateSequentially(Player player) {
+        View view = new View(player);
+        Move[] moves = new Move[view.cards.length * 2 * view.positions.length];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = view.evaluate(i);
+        }
+        return collect(moves);
+    }
+
+
+    /**
+     * Collects the evaluated moves, leaving out the ones of the cards which are not evaluated.
+     *
+     * @param moves are the evaluated moves, null for the cards which are not evaluated
+     * @return the list of the moves
+     */
+    private static List<Move> collect(Move[] moves) {
+        List<Move> result = new ArrayList<>(moves.length);
+        for (Move move : moves) {
+            if (move != null) result.add(move);
+        }
+        return result;
+    }
+
+
+    /**
+     * The immutable view of the hand and of the play area of a player, built before the evaluation starts.
+     */
+    private static class View {
+
+        /**
+         * The cards of the hand which can be placed, null for the ones which are not evaluated.
+         */
+        private final Card[] cards;
+
+        /**
+         * The resources and objects shown by every card of the hand, on the front and on the back.
+         */
+        private final ResourceLedger[][] shown;
+
+        /**
+         * The resources and objects available on the play area.
+         */
+        private final ResourceLedger available = new ResourceLedger();
+
+        /**
+         * The packed coordinates of the legal positions, in row-major order.
+         */
+        private final long[] positions;
+
+        /**
+         * The resources and objects which would be covered in every legal position, as negative quantities.
+         */
+        private final ResourceLedger[] covered;
+
+        /**
+         * The grid of the play area, which is only read by the scoring strategies of the gold cards.
+         */
+        private final SparseGrid grid;
+
+
+        /**
+         * Reads the hand and the play area of a player.
+         *
+         * @param player is the player whose moves are evaluated
+         */
+        private View(Player player) {
+            PlayArea playArea = player.getPlayArea();
+            grid = playArea.getGrid();
+            List<Card> hand = new ArrayList<>(player.getHand());
+            cards = new Card[hand.size()];
+            shown = new ResourceLedger[hand.size()][2];
+            for (int k = 0; k < cards.length; k++) {
+                Card card = hand.get(k);
+                if (card == null || card.getCentre() != null) continue;
+                cards[k] = card;
+                for (int f = 0; f < 2; f++) {
+                    shown[k][f] = new ResourceLedger();
+                    PlayArea.add_card_resources(shown[k][f], card, f == 0);
+                }
+            }
+            available.copyFrom(playArea.getAvailableResources());
+            positions = playArea.sortedLegalPositions();
+            covered = new ResourceLedger[positions.length];
+            for (int p = 0; p < positions.length; p++) {
+                int row = SparseGrid.rowOf(positions[p]);
+                int column = SparseGrid.columnOf(positions[p]);
+                covered[p] = new ResourceLedger();
+                PlayArea.subtract_covered_resources(covered[p], grid, row, column);
+            }
+        }
+
+
+        /**
+         * Evaluates a move, with the same rules of 'Player.placeCard'.
+         * The points of a gold card are calculated by its own scoring strategy, on a placement carrying a frozen copy
+         * of the resources the play area would have after the move; the grid does not contain the card, but the
+         * strategies only read the resources and the corners around the position.
+         *
+         * @param index is the index of the move, which identifies the card, the face and the position
+         * @return the move, null if the card of the hand is not evaluated
+         */
+        private Move evaluate(int index) {
+            int p = index % positions.length;
+            int f = index / positions.length % 2;
+            int k = index / positions.length / 2;
+            Card card = cards[k];
+            if (card == null) return null;
+            boolean face = f == 0;
+            ResourceLedger delta = new ResourceLedger();
+            delta.copyFrom(shown[k][f]);
+            for (Symbols symbol : Symbols.values()) {
+                delta.add(symbol, covered[p].get(symbol));
+            }
+            boolean requirementsMet = !face || !(card instanceof GoldCard) || available.dominates(((GoldCard) card).getRequirements());
+            int row = SparseGrid.rowOf(positions[p]);
+            int column = SparseGrid.columnOf(positions[p]);
+            int points = 0;
+            if (face && requirementsMet) {
+                CalculatePoints scoring = card instanceof GoldCard ? ((GoldCard) card).getScoring() : null;
+                if (scoring != null) {
+                    ResourceLedger resources = new ResourceLedger();
+                    resources.copyFrom(available);
+                    for (Symbols symbol : Symbols.values()) {
+                        resources.add(symbol, delta.get(symbol));
+                    }
+                    points = scoring.calculatePoints(new Placement(card, row, column, grid, resources.frozen()));
+                } else {
+                    points = card.getPoints();
+                }
+            }
+            return new Move(k, face, row, column, points, requirementsMet, delta);
+        }
+    }
+
+
+    /**
+     * The task evaluating a range of moves, split in halves until it is small enough.
+     */
+    private static class Evaluation extends RecursiveAction {
+
+        /**
+         * The view of the hand and of the play area.
+         */
+        private final View view;
+
+        /**
+         * The array where the moves are stored.
+         */
+        private final Move[] moves;
+
+        /**
+         * The first index of the range.
+         */
+        private final int from;
+
+        /**
+         * The index after the last one of the range.
+         */
+        private final int to;
+
+
+        /**
+         * Constructor of the task.
+         *
+         * @param view is the view of the hand and of the play area
+         * @param moves is the array where the moves are stored
+         * @param from is the first index of the range
+         * @param to is the index after the last one of the range
+         */
+        private Evaluation(View view, Move[] moves, int from, int to) {
+            this.view = view;
+            this.moves = moves;
+            this.from = from;
+            this.to = to;
+        }
+
+
+        /**
+         * Evaluates the moves of the range, or splits it.
+         */
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    moves[i] = view.evaluate(i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Evaluation(view, moves, from, middle), new Evaluation(view, moves, middle, to));
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package Model;
+
+import Model.Cards.Card;
+import Model.Cards.Colors;
+import Model.Cards.ObCardPosition;
+import Model.Cards.ObjectiveCard;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class keeps, for every objective card based on a pattern, the number of patterns matched on a play area.
+ * The counts are updated every time a card is placed, looking only at the positions which may complete a pattern
+ * with the new card, so that the points of the objective can be read at the end of the game without scanning the grid.
+ * The result is the same of 'calculateObCardPosition': the patterns are chosen from the top-left corner of the grid,
+ * and a pattern cannot start on a card which is already part of a chosen pattern of the same objective.
+ */
+public class PatternTracker implements Serializable {
+
+    /**
+     * The state of every tracked objective card.
+     */
+    private final Map<ObCardPosition, Pattern> patterns = new HashMap<>();
+
+
+    /**
+     * Starts tracking an objective card, if it is based on a pattern and it is not already tracked.
+     * The cards already on the grid are examined once, the following ones are handled by 'cardPlaced'.
+     *
+     * @param objective is the objective card to be tracked
+     * @param grid is the grid of the play area
+     */
+    public void track(ObjectiveCard objective, SparseGrid grid) {
+        if (objective instanceof ObCardPosition && !patterns.containsKey(objective)) {
+            Pattern pattern = new Pattern((ObCardPosition) objective);
+            pattern.build(grid);
+            patterns.put((ObCardPosition) objective, pattern);
+        }
+    }
+
+
+    /**
+     * Updates the counts of all the tracked objective cards after a card has been placed.
+     *
+     * @param grid is the grid of the play area, already containing the new card
+     * @param row is the first coordinate of the new card
+     * @param column is the second coordinate of the new card
+     */
+    public void cardPlaced(SparseGrid grid, int row, int column) {
+        for (Pattern pattern : patterns.values()) {
+            pattern.cardPlaced(grid, row, column);
+        }
+    }
+
+
+    /**
+     * Returns the number of patterns of an objective card matched on the grid.
+     * If the objective card was not tracked yet, it starts being tracked.
+     *
+     * @param objective is the objective card based on a pattern
+     * @param grid is the grid of the play area
+     * @return the number of times the objective card is satisfied
+     */
+    public int getMatches(ObCardPosition objective, SparseGrid grid) {
+        track(objective, grid);
+        return patterns.get(objective).matches;
+    }
+
+
+    /**
+     * Creates a copy of the tracker for a fork of the play area, the two trackers are then updated independently.
+     *
+     * @return a tracker with the same state for every tracked objective card
+     */
+    public PatternTracker fork() {
+        PatternTracker fork = new PatternTracker();
+        for (Map.Entry<ObCardPosition, Pattern> entry : patterns.entrySet()) {
+            fork.patterns.put(entry.getKey(), new Pattern(entry.getValue()));
+        }
+        return fork;
+    }
+
+
+    /**
+     * Forgets every tracked objective card, it must be called when the grid is replaced.
+     */
+    public void clear() {
+        patterns.clear();
+    }
+
+
+    /**
+     * The state of a single objective card.
+     * Each pattern is identified by the position of its top card, called anchor.
+     * An anchor is chosen if the anchors which would use its top card are not chosen,
+     * so a new anchor may only change the choices of the anchors below it.
+     */
+    private static class Pattern implements Serializable {
+
+        /**
+         * The colors of the cards composing the pattern, from top to bottom.
+         */
+        private final Colors[] colors;
+
+        /**
+         * The column of every card of the pattern, relative to the top card.
+         */
+        private final int[] columns = new int[3];
+
+        /**
+         * The positions of the top cards of all the patterns present on the grid.
+         */
+        private final LongSet anchors;
+
+        /**
+         * The anchors of the patterns which are counted.
+         */
+        private final LongSet chosen;
+
+        /**
+         * The number of patterns which are counted.
+         */
+        private int matches;
+
+
+        /**
+         * Constructor of the state of an objective card, with no matched patterns.
+         *
+         * @param objective is the objective card based on a pattern
+         */
+        private Pattern(ObCardPosition objective) {
+            colors = objective.getObColors();
+            int[] positions = objective.getObPositions();
+            columns[1] = Integer.signum(positions[1] - positions[0]);
+            columns[2] = columns[1] + Integer.signum(positions[2] - positions[1]);
+            anchors = new LongSet();
+            chosen = new LongSet();
+        }
+
+
+        /**
+         * Constructor of a copy of the state of an objective card.
+         *
+         * @param pattern is the state to be copied
+         */
+        private Pattern(Pattern pattern) {
+            colors = pattern.colors;
+            System.arraycopy(pattern.columns, 0, columns, 0, columns.length);
+            anchors = new LongSet(pattern.anchors);
+            chosen = new LongSet(pattern.chosen);
+            matches = pattern.matches;
+        }
+
+
+        /**
+         * Examines all the cards of the grid in row-major order.
+         *
+         * @param grid is the grid of the play area
+         */
+        private void build(SparseGrid grid) {
+            for (long key : grid.sortedKeys()) {
+                int row = SparseGrid.rowOf(key);
+                int column = SparseGrid.columnOf(key);
+                if (isAnchor(grid, row, column)) {
+                    anchors.add(key);
+                    if (!isBlocked(row, column)) {
+                        chosen.add(key);
+                        matches++;
+                    }
+                }
+            }
+        }
+
+
+        /**
+         * Looks for new patterns containing the new card and updates the choices of the anchors below them.
+         * The anchors are processed in row-major order, so every anchor is decided after the ones it depends on.
+         *
+         * @param grid is the grid of the play area, already containing the new card
+         * @param row is the first coordinate of the new card
+         * @param column is the second coordinate of the new card
+         */
+        private void cardPlaced(SparseGrid grid, int row, int column) {
+            Pending pending = new Pending();
+            for (int k = 0; k < 3; k++) {
+                long key = SparseGrid.pack(row - k, column - columns[k]);
+                if (!anchors.contains(key) && isAnchor(grid, row - k, column - columns[k])) {
+                    anchors.add(key);
+                    pending.add(key);
+                }
+            }
+            while (pending.hasNext()) {
+                long key = pending.pollFirst();
+                int i = SparseGrid.rowOf(key);
+                int j = SparseGrid.columnOf(key);
+                boolean choose = anchors.contains(key) && !isBlocked(i, j);
+                if (choose != chosen.contains(key)) {
+                    if (choose) {
+                        chosen.add(key);
+                        matches++;
+                    } else {
+                        chosen.remove(key);
+                        matches--;
+                    }
+                    pending.add(SparseGrid.pack(i + 1, j + columns[1]));
+                    pending.add(SparseGrid.pack(i + 2, j + columns[2]));
+                }
+            }
+        }
+
+
+        /**
+         * Checks if the cards starting from a position match the colors of the pattern.
+         *
+         * @param grid is the grid of the play area
+         * @param row is the first coordinate of the top card
+         * @param column is the second coordinate of the top card
+         * @return true if the position is the anchor of a pattern
+         */
+        private boolean isAnchor(SparseGrid grid, int row, int column) {
+            for (int k = 0; k < 3; k++) {
+                Card card = grid.get(row + k, column + columns[k]);
+                if (card == null || card.getColors() != colors[k]) return false;
+            }
+            return true;
+        }
+
+
+        /**
+         * Checks if the top card in a position is already used by a chosen pattern starting above it.
+         *
+         * @param row is the first coordinate of the anchor
+         * @param column is the second coordinate of the anchor
+         * @return true if the anchor cannot be chosen
+         */
+        private boolean isBlocked(int row, int column) {
+            return chosen.contains(SparseGrid.pack(row - 1, column - columns[1]))
+                    || chosen.contains(SparseGrid.pack(row - 2, column - columns[2]));
+        }
+    }
+
+
+    /**
+     * The anchors whose choice has to be decided again after a placement, kept sorted in row-major order.
+     * The anchors added while one is being decided are always below it, so the queue only grows at its end
+     * and a polled anchor is never added again.
+     */
+    private static class Pending {
+
+        /**
+         * The anchors, the ones still to be decided are from 'head' to 'tail' and they are sorted.
+         */
+        private long[] keys = new long[8];
+
+        /**
+         * The index of the next anchor to be decided.
+         */
+        private int head;
+
+        /**
+         * The index after the last anchor.
+         */
+        private int tail;
+
+
+        /**
+         * Adds an anchor in its sorted place, if it is not already waiting.
+         *
+         * @param key is the packed position of the anchor
+         */
+        private void add(long key) {
+            int index = Arrays.binarySearch(keys, head, tail, key);
+            if (index >= 0) return;
+            index = -index - 1;
+            if (tail == keys.length) keys = Arrays.copyOf(keys, keys.length * 2);
+            System.arraycopy(keys, index, keys, index + 1, tail - index);
+            keys[index] = key;
+            tail++;
+        }
+
+
+        /**
+         * Checks if there are anchors still to be decided.
+         *
+         * @return true if the queue is not empty
+         */
+        private boolean hasNext() {
+            return head < tail;
+        }
+
+
+        /**
+         * Removes the first anchor in row-major order.
+         *
+         * @return the packed position of the anchor
+         */
+        private long pollFirst() {
+            return keys[head++];
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package Model;
 
 import Model.Cards.Card;
+import Model.Cards.CardCatalog;
 import Model.Cards.Colors;
+import Model.Cards.ResourceLedger;
 import Model.Cards.Symbols;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import java.io.IOException;
 import java.io.Serializable;
-import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
+import org.json.simple.parser.ParseException;
+
 /**
  * This class represents a player's play area.
  */
@@ -30,19 +36,46 @@ public class PlayArea implements Serializable {
     final static double translateX = -50, translateY = -55;
 
     /**
-     * The matrix representing the cards which have been placed onto the play area.
+     * The sparse grid representing the cards which have been placed onto the play area,
+     * in a system where the starter card is in position (0, 0).
+     */
+    private SparseGrid grid;
+
+    /**
+     * The number of patterns matched on the grid for every objective card based on positions, updated at every placement.
      */
-    private Card[][] grid;
+    @JsonIgnore
+    private PatternTracker patternTracker = new PatternTracker();
 
     /**
-     * The map representing the corresponding quantity on the play area for every symbol.
+     * The packed coordinates of the empty positions where a card can be placed, updated at every placement.
      */
-    private Map<Symbols, Integer> available_resources;
+    @JsonIgnore
+    private LongSet legalPositions = new LongSet();
 
     /**
-     * The map that may represent the corresponding quantity on the play area for every symbol if a player place a card
+     * The number of cards on the grid when the legal positions were last updated.
+     * If the grid has been modified in another way, the legal positions are computed again from scratch.
      */
-    private Map<Symbols, Integer> possibleFutureAvailableResources;
+    @JsonIgnore
+    private int legalPositionsCards;
+
+    /**
+     * The bitboards of the grid, created when they are first needed and updated at every placement.
+     * They are not serialized, since they can be computed again from the grid.
+     */
+    @JsonIgnore
+    private transient Bitboard bitboard;
+
+    /**
+     * The ledger representing the corresponding quantity on the play area for every symbol.
+     */
+    private ResourceLedger available_resources;
+
+    /**
+     * The ledger that may represent the corresponding quantity on the play area for every symbol if a player place a card
+     */
+    private ResourceLedger possibleFutureAvailableResources;
 
     /**
      * This attribute is used by the Gui to know the order of the cards placed and the coordinates,
@@ -61,24 +94,30 @@ public class PlayArea implements Serializable {
     @JsonBackReference
     private Player player;
 
+    /**
+     * The cards copied by this play area, each with the generation in which it was copied.
+     * It is null until the play area is forked, then every card which has not been copied in the current generation
+     * may be shared with a fork and it is copied before being changed.
+     */
+    @JsonIgnore
+    private transient Map<Card, Integer> ownedCards;
+
+    /**
+     * The number of times the play area has been forked: the cards copied in an earlier generation
+     * are shared with the forks made since then.
+     */
+    @JsonIgnore
+    private transient int generation;
+
 
     /**
      * The play area constructor.
      *
-     * @param dim1 is the number of rows of the matrix
-     * @param dim2 is the number of columns of the matrix
      * @param player is the play area's player
      */
-    public PlayArea(int dim1, int dim2, Player player) {
-        grid = new Card[dim1][dim2];
-        available_resources = new HashMap<>();
-        available_resources.put(Symbols.PLANT, 0);
-        available_resources.put(Symbols.ANIMAL, 0);
-        available_resources.put(Symbols.FUNGI, 0);
-        available_resources.put(Symbols.INSECT, 0);
-        available_resources.put(Symbols.QUILL, 0);
-        available_resources.put(Symbols.INKWELL, 0);
-        available_resources.put(Symbols.MANUSCRIPT, 0);
+    public PlayArea(Player player) {
+        grid = new SparseGrid();
+        available_resources = new ResourceLedger();
         this.player = player;
         this.cardsIndex = 0;
     }
@@ -90,12 +129,75 @@ public class PlayArea implements Serializable {
     public PlayArea() {}
 
 
+    /**
+     * Creates a fork of the play area for a fork of its player: the grid, the bitboards and the cards
+     * are shared until one of the two play areas changes them, the other structures are copied.
+     *
+     * @param player is the fork of the player owning the play area
+     * @return a play area with the same cards, resources and legal positions
+     */
+    public PlayArea fork(Player player) {
+        PlayArea fork = new PlayArea();
+        fork.grid = grid.fork();
+        fork.patternTracker = patternTracker.fork();
+        fork.legalPositions = new LongSet(legalPositions);
+        fork.legalPositionsCards = legalPositionsCards;
+        if(bitboard != null){
+            fork.bitboard = bitboard.fork();
+        }
+        fork.available_resources = new ResourceLedger();
+        fork.available_resources.copyFrom(available_resources);
+        if(possibleFutureAvailableResources != null){
+            fork.possibleFutureAvailableResources = new ResourceLedger();
+            fork.possibleFutureAvailableResources.copyFrom(possibleFutureAvailableResources);
+        }
+        fork.orderedCardList = orderedCardList.clone();
+        fork.cardsIndex = cardsIndex;
+        fork.player = player;
+        fork.ownedCards = new IdentityHashMap<>();
+        if(ownedCards == null){
+            ownedCards = new IdentityHashMap<>();
+        }
+        generation++;
+        return fork;
+    }
+
+
+    /**
+     * Returns a card which can be changed in place by this play area: the card itself if the play area has never been
+     * forked or the card has been copied since the last fork, otherwise a copy of the card, which is owned from now on.
+     *
+     * @param card is a card of the hand, of the table or of the grid
+     * @return the card or a copy of it with the same state
+     */
+    public Card own(Card card) {
+        if(ownedCards == null){
+            return card;
+        }
+        Integer owned = ownedCards.get(card);
+        if(owned != null && owned == generation){
+            return card;
+        }
+        Card copy;
+        try {
+            copy = CardCatalog.getInstance().copyCard(card);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException(e);
+        }
+        if(owned != null){
+            ownedCards.remove(card);
+        }
+        ownedCards.put(copy, generation);
+        return copy;
+    }
+
+
     /**
      * Grid's getter method.
      *
      * @return the play area's grid.
      */
-    public Card[][] getGrid() {
+    public SparseGrid getGrid() {
         return grid;
     }
 
@@ -105,27 +207,57 @@ public class PlayArea implements Serializable {
      *
      * @param grid is the play area's grid
      */
-    public void setGrid(Card[][] grid) {
+    public void setGrid(SparseGrid grid) {
         this.grid = grid;
+        patternTracker.clear();
+        legalPositionsCards = -1;
+        bitboard = null;
     }
 
 
     /**
-     * Getter method for the symbols' map.
+     * Getter method for the attribute 'bitboard', if the grid has been modified without updating the bitboards
+     * they are computed again from scratch.
      *
-     * @return the map representing the quantity for each symbol on the play area
+     * @return the bitboards of the grid
      */
-    public Map<Symbols, Integer> getAvailableResources() {
+    public Bitboard getBitboard() {
+        if(bitboard == null){
+            bitboard = new Bitboard();
+            bitboard.build(getGrid());
+        }else if(bitboard.getCards() != getGrid().getSize()){
+            bitboard.build(getGrid());
+        }
+        return bitboard;
+    }
+
+
+    /**
+     * Getter method for the attribute 'patternTracker'
+     *
+     * @return the tracker of the patterns matched on the grid
+     */
+    public PatternTracker getPatternTracker() {
+        return patternTracker;
+    }
+
+
+    /**
+     * Getter method for the symbols' ledger.
+     *
+     * @return the ledger representing the quantity for each symbol on the play area
+     */
+    public ResourceLedger getAvailableResources() {
         return available_resources;
     }
 
 
     /**
-     * Setter methods for the symbols' map.
+     * Setter methods for the symbols' ledger.
      *
-     * @param available_resources is the map representing the available quantity for each symbol on the play area
+     * @param available_resources is the ledger representing the available quantity for each symbol on the play area
      */
-    public void setAvailableResources(Map<Symbols, Integer> available_resources) {
+    public void setAvailableResources(ResourceLedger available_resources) {
         this.available_resources = available_resources;
     }
 
@@ -134,7 +266,7 @@ public class PlayArea implements Serializable {
      * getter method for the attribute 'possibleFutureAvailableResources'
      * @return the attribute 'possibleFutureAvailableResources'
      */
-    public Map<Symbols, Integer> getPossibleFutureAvailableResources() {
+    public ResourceLedger getPossibleFutureAvailableResources() {
         return possibleFutureAvailableResources;
 
     }
@@ -142,9 +274,9 @@ public class PlayArea implements Serializable {
 
     /**
      * setter method for the attribute 'possibleFutureAvailableResources'
-     * @param possibleFutureAvailableResources is the map of symbols to be put
+     * @param possibleFutureAvailableResources is the ledger of symbols to be put
      */
-    public void setPossibleFutureAvailableResources(Map<Symbols, Integer> possibleFutureAvailableResources) {
+    public void setPossibleFutureAvailableResources(ResourceLedger possibleFutureAvailableResources) {
         this.possibleFutureAvailableResources = possibleFutureAvailableResources;
     }
 
@@ -210,8 +342,9 @@ public class PlayArea implements Serializable {
 
 
     /**
-     * The method places the card in the grid if there is at least one corner around the card which is not covered (true)
-     * and, if this is the case, if there are not covered corners (belonging to other cards) in that position.
+     * The method places the card in the grid if the position is one of the legal positions, that is if there is
+     * at least one corner around the card which is not covered (true) and there are not covered or non-existent corners
+     * (belonging to other cards) in that position.
      * The card is then placed on the chosen position and turned on the chosen face.
      *
      * @param card_to_place is a reference to the card the player is lacing in their play area.
@@ -220,61 +353,152 @@ public class PlayArea implements Serializable {
      * @param pos2 is a number indicating the second coordinate where the card will be placed.
      */
     public boolean check_and_insert(Card card_to_place, boolean face, int pos1, int pos2){
-        boolean can_I_continue;
-        if( (getGrid()[pos1 + 1][pos2 + 1] != null &&
-                getGrid()[pos1 + 1][pos2 + 1].getCorners()[0] == true)
-                || (getGrid()[pos1+1][pos2-1] != null &&
-                getGrid()[pos1+1][pos2-1].getCorners()[1] == true)
-                || (getGrid()[pos1-1][pos2+1] != null &&
-                getGrid()[pos1-1][pos2+1].getCorners()[2] == true)
-                || (getGrid()[pos1-1][pos2-1] != null &&
-                getGrid()[pos1-1][pos2-1].getCorners()[3] == true)){
-            can_I_continue = true;
+        if(!isLegalPosition(pos1, pos2)){
+            //We are trying to place a card without covering the corner of another card,
+            //or near an already covered corner or on a non-existent corner
+            return false;
+        }
+        card_to_place.setFace(face);
+        getGrid().put(pos1, pos2, card_to_place);
+        double x = pos2 * (CARD_WIDTH + translateX);
+        double y = pos1 * (CARD_HEIGHT + translateY);
+        card_to_place.setColumn(x);
+        card_to_place.setRow(y);
+        //The card was placed correctly
+        //If a card was placed on the back, its corners are set to EMPTY
+        if(card_to_place.isFace() == false){
+            for(int i=0; i<4; i++){
+                card_to_place.getSymbols()[i] = Symbols.EMPTY;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Checks if a card can be placed in the specified position, looking it up in the set of legal positions.
+     *
+     * @param pos1 is a number indicating the first coordinate of the position.
+     * @param pos2 is a number indicating the second coordinate of the position.
+     * @return true if the position is empty and all the cards around it have a free corner towards it
+     */
+    public boolean isLegalPosition(int pos1, int pos2) {
+        if(legalPositionsCards != getGrid().getSize()){
+            build_legal_positions();
+        }
+        return legalPositions.contains(SparseGrid.pack(pos1, pos2));
+    }
+
+
+    /**
+     * Returns all the positions where a card can be placed.
+     *
+     * @return the packed coordinates of the legal positions, in row-major order
+     */
+    public long[] sortedLegalPositions() {
+        if(legalPositionsCards != getGrid().getSize()){
+            build_legal_positions();
+        }
+        return legalPositions.sortedKeys();
+    }
+
+
+    /**
+     * This method updates the legal positions and the bitboards after a card has been placed, the corners of the cards
+     * around it must have already been covered. Only the placed position and the four positions around it can change.
+     *
+     * @param pos1 is a number indicating the first coordinate where the card has been placed.
+     * @param pos2 is a number indicating the second coordinate where the card has been placed.
+     */
+    public void update_legal_positions(int pos1, int pos2) {
+        if(bitboard != null && bitboard.getCards() == getGrid().getSize() - 1){
+            bitboard.cardPlaced(getGrid(), pos1, pos2);
+        }
+        if(legalPositionsCards != getGrid().getSize() - 1){
+            build_legal_positions();
+            return;
+        }
+        legalPositions.remove(SparseGrid.pack(pos1, pos2));
+        update_legal_position(pos1 + 1, pos2 + 1);
+        update_legal_position(pos1 + 1, pos2 - 1);
+        update_legal_position(pos1 - 1, pos2 + 1);
+        update_legal_position(pos1 - 1, pos2 - 1);
+        legalPositionsCards = getGrid().getSize();
+    }
+
+
+    /**
+     * Computes the legal positions from scratch, a row at a time on the bitboards, or looking at the positions
+     * around every card of the grid if some card is outside the bitboards.
+     */
+    private void build_legal_positions() {
+        legalPositions.clear();
+        Bitboard board = getBitboard();
+        if(!board.isOverflowed()){
+            for(long key : board.legalPositions()){
+                legalPositions.add(key);
+            }
+            legalPositionsCards = getGrid().getSize();
+            return;
+        }
+        for(long key : getGrid().sortedKeys()){
+            int i = SparseGrid.rowOf(key);
+            int j = SparseGrid.columnOf(key);
+            update_legal_position(i + 1, j + 1);
+            update_legal_position(i + 1, j - 1);
+            update_legal_position(i - 1, j + 1);
+            update_legal_position(i - 1, j - 1);
+        }
+        legalPositionsCards = getGrid().getSize();
+    }
 
+
+    /**
+     * Adds a position to the legal ones or removes it, according to the corners of the cards around it.
+     *
+     * @param pos1 is a number indicating the first coordinate of the position.
+     * @param pos2 is a number indicating the second coordinate of the position.
+     */
+    private void update_legal_position(int pos1, int pos2) {
+        if(check_position(getGrid(), pos1, pos2)){
+            legalPositions.add(SparseGrid.pack(pos1, pos2));
         }else{
-            //We are trying to place a card without covering the corner of another card
+            legalPositions.remove(SparseGrid.pack(pos1, pos2));
+        }
+    }
+
+
+    /**
+     * Checks if a card can be placed in a position of a grid: the position must be empty, there must be at least
+     * one card around it and every card around it must have an existing, not covered (true) corner towards it.
+     *
+     * @param grid is the grid of cards present on the play area
+     * @param pos1 is a number indicating the first coordinate of the position.
+     * @param pos2 is a number indicating the second coordinate of the position.
+     * @return true if a card can be placed in the position
+     */
+    public static boolean check_position(SparseGrid grid, int pos1, int pos2) {
+        if(grid.get(pos1, pos2) != null){
             return false;
         }
-        if(can_I_continue){
-            if(  (getGrid()[pos1 + 1][pos2 + 1] != null &&
-                    (getGrid()[pos1 + 1][pos2 + 1].getCorners()[0] == false ||
-                            getGrid()[pos1+1][pos2+1].getSymbols()[0] == Symbols.NOCORNER))
-                    || (getGrid()[pos1+1][pos2-1] != null &&
-                    (getGrid()[pos1+1][pos2-1].getCorners()[1] == false ||
-                            getGrid()[pos1+1][pos2-1].getSymbols()[1] == Symbols.NOCORNER))
-                    || (getGrid()[pos1-1][pos2+1] != null &&
-                    (getGrid()[pos1-1][pos2+1].getCorners()[2] == false ||
-                            getGrid()[pos1-1][pos2+1].getSymbols()[2] == Symbols.NOCORNER))
-                    || (getGrid()[pos1-1][pos2-1] != null &&
-                    (getGrid()[pos1-1][pos2-1].getCorners()[3] == false ||
-                            getGrid()[pos1-1][pos2-1].getSymbols()[3] == Symbols.NOCORNER)) ){
-                //We are trying to place the card near an already covered corner or on a non-existent corner
-                return false;
-            }else{
-                card_to_place.setFace(face);
-                getGrid()[pos1][pos2] = card_to_place;
-                double x = ((pos2 - ((double) getGrid().length / 2)) + 0.5) * (CARD_WIDTH + translateX);
-                double y = ((pos1 - ((double) getGrid().length / 2)) + 0.5) * (CARD_HEIGHT + translateY);
-                card_to_place.setColumn(x);
-                card_to_place.setRow(y);
-                //The card was placed correctly
-                //If a card was placed on the back, its corners are set to EMPTY
-                if(can_I_continue){
-                    if(card_to_place.isFace() == false){
-                        for(int i=0; i<4; i++){
-                            card_to_place.getSymbols()[i] = Symbols.EMPTY;
-                        }
-                    }
+        Card[] around = {grid.get(pos1 + 1, pos2 + 1), grid.get(pos1 + 1, pos2 - 1),
+                grid.get(pos1 - 1, pos2 + 1), grid.get(pos1 - 1, pos2 - 1)};
+        boolean can_I_continue = false;
+        //The card around in direction i is reached through its corner i
+        for(int i=0; i<4; i++){
+            if(around[i] != null){
+                if(around[i].getCorners()[i] == false || around[i].getSymbols()[i] == Symbols.NOCORNER){
+                    return false;
                 }
-                return true;
+                can_I_continue = true;
             }
         }
-        return true;
+        return can_I_continue;
     }
 
 
     /**
-     * This method updates the map on the play area which stores information about the available quantity
+     * This method updates the ledger on the play area which stores information about the available quantity
      * of all objects and resources present on the current player's play area.
      *
      * @param card_to_place is a reference to the placed card.
@@ -283,21 +507,47 @@ public class PlayArea implements Serializable {
      * @param pos2 is a number indicating the second coordinate where the card has been placed.
      */
     public void update_resources(Card card_to_place, boolean face, int pos1, int pos2){
-        Map<Symbols, Integer> a = getAvailableResources();
+        add_resources(getAvailableResources(), card_to_place, face, pos1, pos2);
+    }
+
+
+    /**
+     * Adds to a ledger the resources and objects of a placed card and subtracts the ones on the corners it covers.
+     *
+     * @param resources is the ledger to be updated.
+     * @param card_to_place is a reference to the placed card.
+     * @param face indicates if the card is going to be placed by the front (true) or by the back (false).
+     * @param pos1 is a number indicating the first coordinate where the card has been placed.
+     * @param pos2 is a number indicating the second coordinate where the card has been placed.
+     */
+    private void add_resources(ResourceLedger resources, Card card_to_place, boolean face, int pos1, int pos2){
+        add_card_resources(resources, card_to_place, face);
+        subtract_covered_resources(resources, getGrid(), pos1, pos2);
+    }
+
+
+    /**
+     * Adds to a ledger the resources and objects shown by a card placed on a face.
+     *
+     * @param resources is the ledger to be updated.
+     * @param card_to_place is a reference to the placed card.
+     * @param face indicates if the card is going to be placed by the front (true) or by the back (false).
+     */
+    static void add_card_resources(ResourceLedger resources, Card card_to_place, boolean face){
         //If the card is placed on the back, and it is not a starter card, there is only a resource in the center;
         //so only one resource (the same color/kingdom) of the card is added
         if(face == false && card_to_place.getCentre()==null){
             if(card_to_place.getColors() == Colors.BLUE){
-                getAvailableResources().put(Symbols.ANIMAL, getAvailableResources().get(Symbols.ANIMAL) + 1);
+                resources.add(Symbols.ANIMAL, 1);
             }
             if(card_to_place.getColors() == Colors.RED){
-                getAvailableResources().put(Symbols.FUNGI, getAvailableResources().get(Symbols.FUNGI) + 1);
+                resources.add(Symbols.FUNGI, 1);
             }
             if(card_to_place.getColors() == Colors.PURPLE){
-                getAvailableResources().put(Symbols.INSECT, getAvailableResources().get(Symbols.INSECT) + 1);
+                resources.add(Symbols.INSECT, 1);
             }
             if(card_to_place.getColors() == Colors.GREEN){
-                getAvailableResources().put(Symbols.PLANT, getAvailableResources().get(Symbols.PLANT) + 1);
+                resources.add(Symbols.PLANT, 1);
             }
         }
         else{
@@ -305,38 +555,37 @@ public class PlayArea implements Serializable {
             if(card_to_place.getCentre() != null && face == true){
                 for(int i=0; i<card_to_place.getCentre().length; i++){
                     if (card_to_place.getCentre()[i] != Symbols.NOCORNER && card_to_place.getCentre()[i] != Symbols.EMPTY) {
-                        getAvailableResources().put(card_to_place.getCentre()[i], getAvailableResources().get(card_to_place.getCentre()[i]) + 1);
+                        resources.add(card_to_place.getCentre()[i], 1);
                     }
                 }
             }
             //If the card has no resources in the center, then the ones on corners are added
             for (int i = 0; i < 4; i++) {
                 if (card_to_place.getSymbols()[i] != Symbols.NOCORNER && card_to_place.getSymbols()[i] != Symbols.EMPTY) {
-                    getAvailableResources().put(card_to_place.getSymbols()[i], getAvailableResources().get(card_to_place.getSymbols()[i]) + 1);
+                    resources.add(card_to_place.getSymbols()[i], 1);
                 }
             }
         }
-        //Resources/objects on covered corners are subtracted
-        if(getGrid()[pos1+1][pos2+1] != null &&
-                getGrid()[pos1+1][pos2+1].getCorners()[0] == true &&
-                getGrid()[pos1+1][pos2+1].getSymbols()[0] != Symbols.EMPTY){
-            getAvailableResources().put(getGrid()[pos1+1][pos2+1].getSymbols()[0], getAvailableResources().get(getGrid()[pos1+1][pos2+1].getSymbols()[0]) - 1);
-        }
-        if(getGrid()[pos1+1][pos2-1] != null &&
-                getGrid()[pos1+1][pos2-1].getCorners()[1] == true &&
-                getGrid()[pos1+1][pos2-1].getSymbols()[1] != Symbols.EMPTY){
-            getAvailableResources().put(getGrid()[pos1+1][pos2-1].getSymbols()[1], getAvailableResources().get(getGrid()[pos1+1][pos2-1].getSymbols()[1]) - 1);
-        }
-        if(getGrid()[pos1-1][pos2+1] != null &&
-                getGrid()[pos1-1][pos2+1].getCorners()[2] == true &&
-                getGrid()[pos1-1][pos2+1].getSymbols()[2] != Symbols.EMPTY){
-            getAvailableResources().put(getGrid()[pos1-1][pos2+1].getSymbols()[2], getAvailableResources().get(getGrid()[pos1-1][pos2+1].getSymbols()[2]) - 1);
-        }
-        if(getGrid()[pos1-1][pos2-1] != null &&
-                getGrid()[pos1-1][pos2-1].getCorners()[3] == true &&
-                getGrid()[pos1-1][pos2-1].getSymbols()[3] != Symbols.EMPTY){
-            getAvailableResources().put(getGrid()[pos1-1][pos2-1].getSymbols()[3],
-                    getAvailableResources().get(getGrid()[pos1-1][pos2-1].getSymbols()[3]) - 1);
+    }
+
+
+    /**
+     * Subtracts from a ledger the resources and objects on the corners which would be covered by a card placed in a position.
+     *
+     * @param resources is the ledger to be updated.
+     * @param grid is the grid of cards present on the play area
+     * @param pos1 is a number indicating the first coordinate where the card has been placed.
+     * @param pos2 is a number indicating the second coordinate where the card has been placed.
+     */
+    static void subtract_covered_resources(ResourceLedger resources, SparseGrid grid, int pos1, int pos2){
+        //Resources/objects on covered corners are subtracted, the card around in direction i is covered on its corner i
+        Card[] around = {grid.get(pos1 + 1, pos2 + 1), grid.get(pos1 + 1, pos2 - 1),
+                grid.get(pos1 - 1, pos2 + 1), grid.get(pos1 - 1, pos2 - 1)};
+        for(int i=0; i<4; i++){
+            if(around[i] != null && around[i].getCorners()[i] == true &&
+                    around[i].getSymbols()[i] != Symbols.EMPTY && around[i].getSymbols()[i] != Symbols.NOCORNER){
+                resources.subtract(around[i].getSymbols()[i], 1);
+            }
         }
     }
 
@@ -348,31 +597,42 @@ public class PlayArea implements Serializable {
      * @param pos2 is a number indicating the second coordinate where the card has been placed.
      */
     public void make_covered_corners_false(int pos1, int pos2) {
-        if(getGrid()[pos1+1][pos2+1] != null){
-            if(getGrid()[pos1+1][pos2+1].getCorners()[0] == true){
-                getGrid()[pos1+1][pos2+1].getCorners()[0] = false;
-            }
-        }
-        if(getGrid()[pos1+1][pos2-1] != null){
-            if(getGrid()[pos1+1][pos2-1].getCorners()[1] == true){
-                getGrid()[pos1+1][pos2-1].getCorners()[1] = false;
-            }
-        }
-        if(getGrid()[pos1-1][pos2+1] != null){
-            if(getGrid()[pos1-1][pos2+1].getCorners()[2] == true){
-                getGrid()[pos1-1][pos2+1].getCorners()[2] = false;
-            }
+        make_covered_corner_false(pos1+1, pos2+1, 0);
+        make_covered_corner_false(pos1+1, pos2-1, 1);
+        make_covered_corner_false(pos1-1, pos2+1, 2);
+        make_covered_corner_false(pos1-1, pos2-1, 3);
+    }
+
+
+    /**
+     * Sets a corner of a card of the grid as covered (false), if the card exists and the corner is not covered yet.
+     * A card shared with a fork is replaced by a copy first, both in the grid and in the ordered list.
+     *
+     * @param pos1 is a number indicating the first coordinate of the card.
+     * @param pos2 is a number indicating the second coordinate of the card.
+     * @param corner is the index of the corner to be covered.
+     */
+    private void make_covered_corner_false(int pos1, int pos2, int corner) {
+        Card card = getGrid().get(pos1, pos2);
+        if(card == null || card.getCorners()[corner] == false){
+            return;
         }
-        if(getGrid()[pos1-1][pos2-1] != null){
-            if(getGrid()[pos1-1][pos2-1].getCorners()[3] == true){
-                getGrid()[pos1-1][pos2-1].getCorners()[3] = false;
+        Card owned = own(card);
+        if(owned != card){
+            getGrid().put(pos1, pos2, owned);
+            for(int i=0; i<cardsIndex; i++){
+                if(orderedCardList[i] == card){
+                    orderedCardList[i] = owned;
+                }
             }
         }
+        owned.getCorners()[corner] = false;
     }
 
 
     /**
-     * This method is similar to 'update_resources' but it updates the attribute 'possibleFutureAvailableResources' instead
+     * This method is similar to 'update_resources' but it updates the attribute 'possibleFutureAvailableResources' instead.
+     * The same ledger is reused by every preview.
      * @param card_to_place is a reference to the placed card.
      * @param faceSelected indicates if the card is going to be placed by the front (true) or by the back (false).
      * @param pos1 is a number indicating the first coordinate where the card has been placed.
@@ -380,61 +640,11 @@ public class PlayArea implements Serializable {
      */
     public void viewDifferenceOfResources(Card card_to_place, String faceSelected, int pos1, int pos2){
         boolean face = faceSelected.equalsIgnoreCase("front");
-        possibleFutureAvailableResources = new HashMap<>();
-        getPossibleFutureAvailableResources().put(Symbols.ANIMAL, getAvailableResources().get(Symbols.ANIMAL));
-        getPossibleFutureAvailableResources().put(Symbols.INSECT, getAvailableResources().get(Symbols.INSECT));
-        getPossibleFutureAvailableResources().put(Symbols.PLANT, getAvailableResources().get(Symbols.PLANT));
-        getPossibleFutureAvailableResources().put(Symbols.FUNGI, getAvailableResources().get(Symbols.FUNGI));
-        getPossibleFutureAvailableResources().put(Symbols.INKWELL, getAvailableResources().get(Symbols.INKWELL));
-        getPossibleFutureAvailableResources().put(Symbols.MANUSCRIPT, getAvailableResources().get(Symbols.MANUSCRIPT));
-        getPossibleFutureAvailableResources().put(Symbols.QUILL, getAvailableResources().get(Symbols.QUILL));
-        if(!face && card_to_place.getCentre()==null){
-            if(card_to_place.getColors() == Colors.BLUE){
-                getPossibleFutureAvailableResources().put(Symbols.ANIMAL, getPossibleFutureAvailableResources().get(Symbols.ANIMAL) + 1);
-            }
-            if(card_to_place.getColors() == Colors.RED){
-                getPossibleFutureAvailableResources().put(Symbols.FUNGI, getPossibleFutureAvailableResources().get(Symbols.FUNGI) + 1);
-            }
-            if(card_to_place.getColors() == Colors.PURPLE){
-                getPossibleFutureAvailableResources().put(Symbols.INSECT, getPossibleFutureAvailableResources().get(Symbols.INSECT) + 1);
-            }
-            if(card_to_place.getColors() == Colors.GREEN){
-                getPossibleFutureAvailableResources().put(Symbols.PLANT, getPossibleFutureAvailableResources().get(Symbols.PLANT) + 1);
-            }
-        }else{
-            if(card_to_place.getCentre() != null && face){
-                for(int i=0; i<card_to_place.getCentre().length; i++){
-                    if (card_to_place.getCentre()[i] != Symbols.NOCORNER && card_to_place.getCentre()[i] != Symbols.EMPTY) {
-                        getPossibleFutureAvailableResources().put(card_to_place.getCentre()[i], getPossibleFutureAvailableResources().get(card_to_place.getCentre()[i]) + 1);
-                    }
-                }
-            }
-            for (int i = 0; i < 4; i++) {
-                if (card_to_place.getSymbols()[i] != Symbols.NOCORNER && card_to_place.getSymbols()[i] != Symbols.EMPTY) {
-                    getPossibleFutureAvailableResources().put(card_to_place.getSymbols()[i], getPossibleFutureAvailableResources().get(card_to_place.getSymbols()[i]) + 1);
-                }
-            }
-        }
-        if(getGrid()[pos1+1][pos2+1] != null &&
-                getGrid()[pos1 + 1][pos2 + 1].getCorners()[0] &&
-                getGrid()[pos1+1][pos2+1].getSymbols()[0] != Symbols.EMPTY){
-            getPossibleFutureAvailableResources().put(getGrid()[pos1+1][pos2+1].getSymbols()[0], getPossibleFutureAvailableResources().get(getGrid()[pos1+1][pos2+1].getSymbols()[0]) - 1);
-        }
-        if(getGrid()[pos1+1][pos2-1] != null &&
-                getGrid()[pos1 + 1][pos2 - 1].getCorners()[1] &&
-                getGrid()[pos1+1][pos2-1].getSymbols()[1] != Symbols.EMPTY){
-            getPossibleFutureAvailableResources().put(getGrid()[pos1+1][pos2-1].getSymbols()[1], getPossibleFutureAvailableResources().get(getGrid()[pos1+1][pos2-1].getSymbols()[1]) - 1);
-        }
-        if(getGrid()[pos1-1][pos2+1] != null &&
-                getGrid()[pos1 - 1][pos2 + 1].getCorners()[2] &&
-                getGrid()[pos1-1][pos2+1].getSymbols()[2] != Symbols.EMPTY){
-            getPossibleFutureAvailableResources().put(getGrid()[pos1-1][pos2+1].getSymbols()[2], getPossibleFutureAvailableResources().get(getGrid()[pos1-1][pos2+1].getSymbols()[2]) - 1);
-        }
-        if(getGrid()[pos1-1][pos2-1] != null &&
-                getGrid()[pos1 - 1][pos2 - 1].getCorners()[3] &&
-                getGrid()[pos1-1][pos2-1].getSymbols()[3] != Symbols.EMPTY){
-            getPossibleFutureAvailableResources().put(getGrid()[pos1-1][pos2-1].getSymbols()[3], getPossibleFutureAvailableResources().get(getGrid()[pos1-1][pos2-1].getSymbols()[3]) - 1);
+        if(possibleFutureAvailableResources == null){
+            possibleFutureAvailableResources = new ResourceLedger();
         }
+        getPossibleFutureAvailableResources().copyFrom(getAvailableResources());
+        add_resources(getPossibleFutureAvailableResources(), card_to_place, face, pos1, pos2);
     }
 }
 
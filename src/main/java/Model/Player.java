@@ -1,15 +1,16 @@
 package Model;
 
+import Listeners.BotListener;
 import Listeners.GameStatus;
 import Listeners.Listened;
 import Listeners.Listener;
 import Controller.MatchController;
 import Model.CalculatePoints.CalculatePoints;
 import Model.Cards.*;
-import Model.CalculatePoints.PointsByPosition;
-import Model.CalculatePoints.PointsPerObject;
+import Model.CalculatePoints.Placement;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 
@@ -102,6 +103,31 @@ public class Player extends Listened implements Serializable {
      */
     private CalculatePoints calculate;
 
+    /**
+     * The cards of the hand which can be placed on the front, one bit per position in the hand.
+     * It is a cache, recomputed only when the hand or the available resources have changed.
+     */
+    @JsonIgnore
+    private transient int playableMask;
+
+    /**
+     * The cards of the hand when the playable mask has been computed.
+     */
+    @JsonIgnore
+    private transient Card[] maskHand;
+
+    /**
+     * The ledger of the available resources when the playable mask has been computed.
+     */
+    @JsonIgnore
+    private transient ResourceLedger maskResources;
+
+    /**
+     * The version of the ledger of the available resources when the playable mask has been computed.
+     */
+    @JsonIgnore
+    private transient int maskVersion;
+
 
     /**
      * Constructor for the class Player.
@@ -116,7 +142,7 @@ public class Player extends Listened implements Serializable {
         this.objective = null;
         idMatch=currentMatch;
         this.points = 0; //A player has initially 0 points
-        this.playArea = new PlayArea(5, 5, this);
+        this.playArea = new PlayArea(this);
         this.table = table;
     }
 
@@ -403,13 +429,65 @@ public class Player extends Listened implements Serializable {
     public void setCalculate(CalculatePoints calculate) { this.calculate = calculate; }
 
 
+    /**
+     * Returns which cards of the hand can be placed on the front: the bit i is set if the card in position i
+     * is a resource or starter card, or a gold card whose requirements are met by the available resources.
+     * The mask is recomputed only if the hand or the available resources have changed since the last call.
+     *
+     * @return the playable mask of the hand
+     */
+    @JsonIgnore
+    public int getPlayableMask() {
+        ResourceLedger resources = getPlayArea().getAvailableResources();
+        if (!isPlayableMaskValid(resources)) {
+            int mask = 0;
+            for (int i = 0; i < hand.size(); i++) {
+                if (!(hand.get(i) instanceof GoldCard gold) || resources.dominates(gold.getRequirements())) mask |= 1 << i;
+            }
+            playableMask = mask;
+            maskHand = hand.toArray(new Card[0]);
+            maskResources = resources;
+            maskVersion = resources.getVersion();
+        }
+        return playableMask;
+    }
+
+
+    /**
+     * Checks if a card of the hand can be placed on the front.
+     *
+     * @param handIndex is the position of the card in the hand, starting from 0
+     * @return true if the card is playable on the front
+     */
+    public boolean isPlayable(int handIndex) {
+        return (getPlayableMask() & (1 << handIndex)) != 0;
+    }
+
+
+    /**
+     * Checks if the playable mask has been computed with the current hand and available resources.
+     *
+     * @param resources is the ledger of the available resources
+     * @return true if the mask does not need to be recomputed
+     */
+    private boolean isPlayableMaskValid(ResourceLedger resources) {
+        if (maskHand == null || resources != maskResources || resources.getVersion() != maskVersion || hand.size() != maskHand.length) return false;
+        for (int i = 0; i < maskHand.length; i++) {
+            if (hand.get(i) != maskHand[i]) return false;
+        }
+        return true;
+    }
+
+
     /**
      * The method we use to place the card in the play area.
-     * If the card is a resource card or if it is positioned by the back, and it is not a starter card, we place it and, eventually, extend the grid.
+     * If the card is a resource card or if it is positioned by the back, and it is not a starter card, we place it.
      * If the card is a gold card, we do the same, but only if the card's requirements are satisfied.
-     * If the card is a started card, it will be placed in the centre of a 5x5 initial matrix.
-     * In the last scenario, there is no need to extend the grid, nor to call make_covered_corners_false.
+     * If the card is a started card, it will be placed in the origin (0, 0) of the grid.
+     * In the last scenario, there is no need to call make_covered_corners_false.
+     * After every placement, the legal positions and the patterns of the tracked objective cards are updated.
      * Finally, we also run the method calculatePoints to update the score of the current player.
+     * If the card is shared with a fork of the player, a copy is placed instead.
      *
      * @param card_to_place is the card (chosen in chooseCard) which needs to be placed.
      * @param face indicated if the card needs to be placed by the front (true) or the back (false).
@@ -417,6 +495,7 @@ public class Player extends Listened implements Serializable {
      * @param pos2 is a number indicating the second coordinate where the card will be placed.
      */
     public void placeCard(Card card_to_place, boolean face, int pos1, int pos2) {
+        card_to_place = own(card_to_place);
         //Preliminary action only for starter cards
         if(card_to_place.getCentre() != null && face == false){
             for(int i=0; i<card_to_place.getSymbols().length; i++){
@@ -425,12 +504,13 @@ public class Player extends Listened implements Serializable {
             }
         }
         //If the card to be placed is a resource card or is turned upside down, but it is not a starting card,
-        //then I place it normally, then see if I need to extend the matrix
+        //then I place it normally
         if((face == false || card_to_place.getPoints()<=1 && card_to_place.getPointsObject()==Symbols.EMPTY) && (card_to_place.getCentre()==null) ){
             getPlayArea().check_and_insert(card_to_place, face, pos1, pos2);
             getPlayArea().update_resources(card_to_place, face, pos1, pos2);
             getPlayArea().make_covered_corners_false(pos1, pos2);
-            extend_matrix(pos1, pos2);
+            getPlayArea().update_legal_positions(pos1, pos2);
+            getPlayArea().getPatternTracker().cardPlaced(getPlayArea().getGrid(), pos1, pos2);
             getHand().remove(card_to_place);
             if(face == true){
                 setPoints(getPoints() + card_to_place.getPoints());
@@ -439,41 +519,37 @@ public class Player extends Listened implements Serializable {
         }
         //Same for the gold card if the requirements are met
         if(card_to_place.isFace() == true && (card_to_place.getPoints()>1 || (card_to_place.getPointsObject()!=Symbols.EMPTY))){
-            if(getPlayArea().getAvailableResources().get(Symbols.ANIMAL) >= ((GoldCard) card_to_place).getRequirements().get(Symbols.ANIMAL) &&
-                    getPlayArea().getAvailableResources().get(Symbols.FUNGI) >= ((GoldCard) card_to_place).getRequirements().get(Symbols.FUNGI) &&
-                    getPlayArea().getAvailableResources().get(Symbols.INSECT) >= ((GoldCard) card_to_place).getRequirements().get(Symbols.INSECT) &&
-                    getPlayArea().getAvailableResources().get(Symbols.PLANT) >= ((GoldCard) card_to_place).getRequirements().get(Symbols.PLANT)){
+            if(getPlayArea().getAvailableResources().dominates(((GoldCard) card_to_place).getRequirements())){
                 getPlayArea().check_and_insert(card_to_place, face, pos1, pos2);
                 getPlayArea().update_resources(card_to_place, face, pos1, pos2);
                 getPlayArea().make_covered_corners_false(pos1, pos2);
-                extend_matrix(pos1, pos2);
+                getPlayArea().update_legal_positions(pos1, pos2);
+                getPlayArea().getPatternTracker().cardPlaced(getPlayArea().getGrid(), pos1, pos2);
                 getHand().remove(card_to_place);
                 //Case if the gold card is not turned
                 if(face == true && (card_to_place.getPoints() == 5 || card_to_place.getPoints() == 3)){
 					setPoints(getPoints() + card_to_place.getPoints()); //Updates player's points
                     getTable().getScore().put(nickname, this.getPoints());
                 }
-                if(face == true && card_to_place.getPointsObject()!=Symbols.EMPTY){
-                    setCalculate(new PointsPerObject());
-                    calculate.calculatePoints(card_to_place, this); //Updates player's points
-                    getTable().getScore().put(nickname, this.getPoints());
-                }
-                if(face == true && card_to_place.getPointsObject()==Symbols.EMPTY && card_to_place.getPoints() == 2){
-                    setCalculate(new PointsByPosition());
-                    calculate.calculatePoints(card_to_place, this); //Updates player's points
+                //Case of the points depending on the play area, scored by the strategy bound to the card
+                if(face == true && ((GoldCard) card_to_place).getScoring() != null){
+                    setCalculate(((GoldCard) card_to_place).getScoring());
+                    setPoints(getPoints() + calculate.calculatePoints(Placement.of(card_to_place, getPlayArea(), pos1, pos2))); //Updates player's points
                     getTable().getScore().put(nickname, this.getPoints());
                 }
             }
         }
-        //If the card to be inserted is the initial one then the player's PlayArea matrix is still empty,
-        //so it will be a 5x5 matrix; then I place the starting card in the center of the matrix;
-        //obviously there is no need to extend the matrix and there is no need to make the surrounding angles false
+        //If the card to be inserted is the initial one then the player's PlayArea grid is still empty,
+        //so I place the starting card in the origin of the grid;
+        //obviously there is no need to make the surrounding angles false
         if(card_to_place.getCentre() != null){
-            getPlayArea().getGrid()[2][2] = card_to_place;
+            getPlayArea().getGrid().put(0, 0, card_to_place);
             card_to_place.setRow(0);
             card_to_place.setColumn(0);
             card_to_place.setFace(face);
-            getPlayArea().update_resources(card_to_place, face, 2, 2);
+            getPlayArea().update_resources(card_to_place, face, 0, 0);
+            getPlayArea().update_legal_positions(0, 0);
+            getPlayArea().getPatternTracker().cardPlaced(getPlayArea().getGrid(), 0, 0);
             getHand().remove(card_to_place);
         }
         //Adds the card to the array indicating cards placed on the area
@@ -483,32 +559,6 @@ public class Player extends Listened implements Serializable {
     }
 
 
-    /**
-     * This method creates a new matrix (grid) if a card has been placed on a border of the current grid.
-     * The old matrix is then strategically copied on the new one.
-     *
-     * @param pos1 is a number indicating the first coordinate where the card has been placed.
-     * @param pos2 is a number indicating the second coordinate where the card has been placed.
-     */
-    public void extend_matrix(int pos1, int pos2){
-        if(pos1 == playArea.getGrid().length - 2 ||
-                pos1 == 1 ||
-                pos2 == playArea.getGrid().length - 2 ||
-                pos2 == 1){
-            PlayArea new_matrix = new PlayArea(playArea.getGrid().length + 2, playArea.getGrid().length + 2, this);
-            for(int i=0; i < playArea.getGrid().length; i++){
-                for(int j=0; j < playArea.getGrid().length; j++){
-                    new_matrix.getGrid()[i+1][j+1] = playArea.getGrid()[i][j];
-                }
-            }
-            new_matrix.setOrderedCardList(playArea.getOrderedCardList());
-            new_matrix.setCardsIndex(playArea.getCardsIndex());
-            new_matrix.setAvailableResources(playArea.getAvailableResources());
-            playArea = new_matrix;
-        }
-    }
-
-
     /**
      * The method we use to draw a card from the resource deck.
      * After the action, using passTurn, the yourTurn of the currently playing player is set to false,
@@ -517,8 +567,7 @@ public class Player extends Listened implements Serializable {
      */
     public void drawFromDeckR() {
         if (!table.getDeckR().isEmpty()) {
-            ResourceCard drawnCard = getTable().getDeckR().getFirst();
-            table.getDeckR().removeFirst(); //If the deck is not empty, remove the card on top
+            ResourceCard drawnCard = getTable().getDeckR().draw();
             hand.add(drawnCard); //Add the card to the player's hand
             notifyListener(GameStatus.VIEW_HAND);
             passTurn();
@@ -534,8 +583,7 @@ public class Player extends Listened implements Serializable {
      */
     public void drawFromDeckG() {
         if (!table.getDeckG().isEmpty()) {
-            GoldCard drawnCard = table.getDeckG().getFirst();
-            table.getDeckG().removeFirst(); //If the deck is not empty, remove the card on top
+            GoldCard drawnCard = table.getDeckG().draw();
             hand.add(drawnCard); //Add the card to the player's hand
             notifyListener(GameStatus.VIEW_HAND);
             passTurn();
@@ -562,8 +610,7 @@ public class Player extends Listened implements Serializable {
                     drawnCard = table.getCardsR()[0];
                     table.getCardsR()[0] = null;
                     if (!table.getDeckR().isEmpty()) { //If there are still cards in the deck...
-                        table.getCardsR()[0] = table.getDeckR().getFirst(); //... replaces the card on the table
-                        table.getDeckR().removeFirst();
+                        table.getCardsR()[0] = table.getDeckR().draw(); //... replaces the card on the table
                     }
                     hand.add(drawnCard); //Adds the card to the player's hand
                     notifyListener(GameStatus.VIEW_HAND);
@@ -577,8 +624,7 @@ public class Player extends Listened implements Serializable {
                     drawnCard = table.getCardsR()[1];
                     table.getCardsR()[1] = null;
                     if (!table.getDeckR().isEmpty()) { //If there are still cards in the deck...
-                        table.getCardsR()[1] = table.getDeckR().getFirst(); //... replaces the card on the table
-                        table.getDeckR().removeFirst();
+                        table.getCardsR()[1] = table.getDeckR().draw(); //... replaces the card on the table
                     }
                     hand.add(drawnCard); //Adds the card to the player's hand
                     notifyListener(GameStatus.VIEW_HAND);
@@ -592,8 +638,7 @@ public class Player extends Listened implements Serializable {
                     drawnCard = table.getCardsG()[0];
                     table.getCardsG()[0] = null;
                     if (!table.getDeckG().isEmpty()) { //If there are still cards in the deck...
-                        table.getCardsG()[0] = table.getDeckG().getFirst(); //... replaces the card on the table
-                        table.getDeckG().removeFirst();
+                        table.getCardsG()[0] = table.getDeckG().draw(); //... replaces the card on the table
                     }
                     hand.add(drawnCard); //Adds the card to the player's hand
                     notifyListener(GameStatus.VIEW_HAND);
@@ -607,8 +652,7 @@ public class Player extends Listened implements Serializable {
                     drawnCard = table.getCardsG()[1];
                     table.getCardsG()[1] = null;
                     if (!table.getDeckG().isEmpty()) { //If there are still cards in the deck...
-                        table.getCardsG()[1] = table.getDeckG().getFirst(); //... replaces the card on the table
-                        table.getDeckG().removeFirst();
+                        table.getCardsG()[1] = table.getDeckG().draw(); //... replaces the card on the table
                     }
                     hand.add(drawnCard); //Adds the card to the player's hand
                     notifyListener(GameStatus.VIEW_HAND);
@@ -624,8 +668,7 @@ public class Player extends Listened implements Serializable {
                     drawnCard = table.getCardsR()[0];
                     table.getCardsR()[0] = null;
                     if (!table.getDeckR().isEmpty()) { //If there are still cards in the deck...
-                        table.getCardsR()[0] = table.getDeckR().getFirst(); //... replaces the card on the table
-                        table.getDeckR().removeFirst();
+                        table.getCardsR()[0] = table.getDeckR().draw(); //... replaces the card on the table
                     }
                     hand.add(drawnCard); //Adds the card to the player's hand
                     notifyListener(GameStatus.VIEW_HAND);
@@ -739,6 +782,7 @@ public class Player extends Listened implements Serializable {
         if(obSelected == 2){
             this.setObjective(this.getObChoice2());
         }
+        playArea.getPatternTracker().track(getObjective(), playArea.getGrid());
     }
 
 
@@ -748,14 +792,64 @@ public class Player extends Listened implements Serializable {
      * @param face is the face (front or back) of the card that will be placed
      */
     public void placeStarterCard(StarterCard card, boolean face) {
-        playArea.getGrid()[2][2] = card;
+        card = (StarterCard) own(card);
+        playArea.getGrid().put(0, 0, card);
         card.setFace(face);
-        playArea.update_resources(card, face, 2, 2);
+        playArea.update_resources(card, face, 0, 0);
+        playArea.update_legal_positions(0, 0);
+        playArea.getPatternTracker().cardPlaced(playArea.getGrid(), 0, 0);
         hand.removeFirst();
         notifyListener(GameStatus.VIEW_AREA, nickname, playArea, points);
     }
 
 
+    /**
+     * Returns a card of the hand which can be changed in place by the placement, if the card is shared with a fork
+     * of the player it is replaced in the hand by a copy.
+     *
+     * @param card is the card to be placed
+     * @return the card or its copy
+     */
+    private Card own(Card card) {
+        Card owned = playArea.own(card);
+        if (owned != card) {
+            int index = hand.indexOf(card);
+            if (index >= 0) hand.set(index, owned);
+        }
+        return owned;
+    }
+
+
+    /**
+     * Creates a fork of the player for a fork of the match: the hand and the play area are copied cheaply,
+     * sharing the cards until they are placed or covered, so the fork can play without changing the player.
+     * The fork has a listener which does not send anything to the client.
+     *
+     * @param table is the fork of the table of the match
+     * @return a player with the same state
+     */
+    public Player fork(Table table) {
+        Player fork = new Player();
+        fork.nickname = nickname;
+        fork.hand = new ArrayList<>(hand);
+        fork.objective = objective;
+        fork.obChoice1 = obChoice1;
+        fork.obChoice2 = obChoice2;
+        fork.points = points;
+        fork.idMatch = idMatch;
+        fork.blackPawn = blackPawn;
+        fork.playArea = playArea.fork(fork);
+        fork.table = table;
+        fork.match = table.getMatch();
+        fork.chosenCard = chosenCard;
+        fork.yourTurn = yourTurn;
+        fork.ObCardUsed = ObCardUsed;
+        fork.calculate = calculate;
+        fork.addListener(new BotListener());
+        return fork;
+    }
+
+
     /**
      * the method that notify the listener only with the GameStatus
      * @param status indicates what to notify
@@ -0,0 +1,440 @@
+package Model;
+
+import Model.Cards.Card;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * This class represents the sparse storage of the cards placed on a play area.
+ * Every card is stored under its (row, column) coordinates, packed into a single long key, in an open-addressing
+ * hash table with linear probing. Coordinates are stable: the starter card is always in position (0, 0)
+ * and the other cards keep their coordinates for the whole match, since the storage never needs to be shifted or copied
+ * when the play area grows.
+ */
+public class SparseGrid implements Serializable {
+
+    /**
+     * The initial number of slots of the hash table, it must be a power of two.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The packed coordinates of the cards, a slot is free if the corresponding card is null.
+     */
+    private long[] keys;
+
+    /**
+     * The cards stored in the table, at the same index of their packed coordinates.
+     */
+    private Card[] cards;
+
+    /**
+     * The number of cards stored in the grid.
+     */
+    private int size;
+
+    /**
+     * The smallest row which has ever been occupied.
+     */
+    private int minRow;
+
+    /**
+     * The biggest row which has ever been occupied.
+     */
+    private int maxRow;
+
+    /**
+     * The smallest column which has ever been occupied.
+     */
+    private int minColumn;
+
+    /**
+     * The biggest column which has ever been occupied.
+     */
+    private int maxColumn;
+
+    /**
+     * True if the arrays may be shared with a fork of the grid, so they must be copied before being modified.
+     */
+    private transient boolean shared;
+
+
+    /**
+     * Constructor of an empty grid.
+     */
+    public SparseGrid() {
+        keys = new long[INITIAL_CAPACITY];
+        cards = new Card[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+
+    /**
+     * Constructor of a fork of a grid, sharing its hash table.
+     *
+     * @param keys are the keys of the hash table
+     * @param cards are the cards of the hash table
+     * @param size is the number of cards
+     */
+    private SparseGrid(long[] keys, Card[] cards, int size) {
+        this.keys = keys;
+        this.cards = cards;
+        this.size = size;
+    }
+
+
+    /**
+     * Packs two coordinates in a single key.
+     * The sign bit of the column is flipped, so that the natural order of the keys is the row-major order of the positions.
+     *
+     * @param row is the first coordinate
+     * @param column is the second coordinate
+     * @return the key representing the position
+     */
+    public static long pack(int row, int column) {
+        return ((long) row << 32) | Integer.toUnsignedLong(column ^ Integer.MIN_VALUE);
+    }
+
+
+    /**
+     * Extracts the row from a packed key.
+     *
+     * @param key is the packed position
+     * @return the first coordinate of the position
+     */
+    public static int rowOf(long key) {
+        return (int) (key >> 32);
+    }
+
+
+    /**
+     * Extracts the column from a packed key.
+     *
+     * @param key is the packed position
+     * @return the second coordinate of the position
+     */
+    public static int columnOf(long key) {
+        return ((int) key) ^ Integer.MIN_VALUE;
+    }
+
+
+    /**
+     * Returns the card placed in the specified position.
+     *
+     * @param row is the first coordinate of the position
+     * @param column is the second coordinate of the position
+     * @return the card in the position, null if the position is empty
+     */
+    public Card get(int row, int column) {
+        long key = pack(row, column);
+        int mask = keys.length - 1;
+        for (int i = slotOf(key, mask); cards[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) return cards[i];
+        }
+        return null;
+    }
+
+
+    /**
+     * Checks if a position is occupied.
+     *
+     * @param row is the first coordinate of the position
+     * @param column is the second coordinate of the position
+     * @return true if there is a card in the position
+     */
+    public boolean contains(int row, int column) {
+        return get(row, column) != null;
+    }
+
+
+    /**
+     * Places a card in the specified position, replacing the previous one.
+     * Putting a null card is equivalent to removing the card in that position.
+     *
+     * @param row is the first coordinate of the position
+     * @param column is the second coordinate of the position
+     * @param card is the card to be put
+     */
+    public void put(int row, int column, Card card) {
+        if (card == null) {
+            remove(row, column);
+            return;
+        }
+        if ((size + 1) * 4 > keys.length * 3) rehash(keys.length * 2);
+        else unshare();
+        long key = pack(row, column);
+        int mask = keys.length - 1;
+        int i = slotOf(key, mask);
+        while (cards[i] != null) {
+            if (keys[i] == key) {
+                cards[i] = card;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        cards[i] = card;
+        if (size == 0) {
+            minRow = maxRow = row;
+            minColumn = maxColumn = column;
+        } else {
+            minRow = Math.min(minRow, row);
+            maxRow = Math.max(maxRow, row);
+            minColumn = Math.min(minColumn, column);
+            maxColumn = Math.max(maxColumn, column);
+        }
+        size++;
+    }
+
+
+    /**
+     * Removes the card in the specified position, if present.
+     * The following entries of the same cluster are shifted back, so that no tombstones are needed.
+     *
+     * @param row is the first coordinate of the position
+     * @param column is the second coordinate of the position
+     */
+    public void remove(int row, int column) {
+        long key = pack(row, column);
+        int mask = keys.length - 1;
+        int i = slotOf(key, mask);
+        while (cards[i] != null && keys[i] != key) i = (i + 1) & mask;
+        if (cards[i] == null) return;
+        unshare();
+        cards[i] = null;
+        size--;
+        for (int j = (i + 1) & mask; cards[j] != null; j = (j + 1) & mask) {
+            int home = slotOf(keys[j], mask);
+            //The entry in j can fill the hole in i only if its home slot is not cyclically between i and j
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                cards[i] = cards[j];
+                cards[j] = null;
+                i = j;
+            }
+        }
+    }
+
+
+    /**
+     * Returns the packed positions of all the placed cards in row-major order.
+     *
+     * @return a new array with the keys of the occupied positions, sorted by row and then by column
+     */
+    public long[] sortedKeys() {
+        long[] result = new long[size];
+        int k = 0;
+        for (int i = 0; i < cards.length; i++) {
+            if (cards[i] != null) result[k++] = keys[i];
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+
+    /**
+     * Computes the home slot of a key.
+     *
+     * @param key is the packed position
+     * @param mask is the length of the table minus one
+     * @return the index where the search for the key starts
+     */
+    static int slotOf(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+
+    /**
+     * Moves every entry in a new table with the specified number of slots.
+     *
+     * @param capacity is the new number of slots, a power of two
+     */
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Card[] oldCards = cards;
+        keys = new long[capacity];
+        cards = new Card[capacity];
+        int mask = capacity - 1;
+        for (int j = 0; j < oldCards.length; j++) {
+            if (oldCards[j] == null) continue;
+            int i = slotOf(oldKeys[j], mask);
+            while (cards[i] != null) i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            cards[i] = oldCards[j];
+        }
+        shared = false;
+    }
+
+
+    /**
+     * Creates a fork of the grid in constant time: the fork and the grid share the hash table until one of them
+     * puts or removes a card, then the table is copied.
+     * The cards are shared too, the play area copies them before changing them.
+     *
+     * @return a grid containing the same cards in the same positions
+     */
+    public SparseGrid fork() {
+        SparseGrid fork = new SparseGrid(keys, cards, size);
+        fork.minRow = minRow;
+        fork.maxRow = maxRow;
+        fork.minColumn = minColumn;
+        fork.maxColumn = maxColumn;
+        fork.shared = true;
+        shared = true;
+        return fork;
+    }
+
+
+    /**
+     * Copies the hash table if it may be shared with a fork, before it is modified.
+     */
+    private void unshare() {
+        if (shared) {
+            keys = keys.clone();
+            cards = cards.clone();
+            shared = false;
+        }
+    }
+
+
+    /**
+     * Getter method for the attribute 'keys'
+     *
+     * @return the packed positions of the table
+     */
+    public long[] getKeys() {
+        return keys;
+    }
+
+
+    /**
+     * Setter method for the attribute 'keys', for Jackson serialization.
+     *
+     * @param keys are the packed positions of the table
+     */
+    public void setKeys(long[] keys) {
+        this.keys = keys;
+    }
+
+
+    /**
+     * Getter method for the attribute 'cards'
+     *
+     * @return the slots of the table
+     */
+    public Card[] getCards() {
+        return cards;
+    }
+
+
+    /**
+     * Setter method for the attribute 'cards', for Jackson serialization.
+     *
+     * @param cards are the slots of the table
+     */
+    public void setCards(Card[] cards) {
+        this.cards = cards;
+    }
+
+
+    /**
+     * Getter method for the attribute 'size'
+     *
+     * @return the number of cards on the grid
+     */
+    public int getSize() {
+        return size;
+    }
+
+
+    /**
+     * Setter method for the attribute 'size', for Jackson serialization.
+     *
+     * @param size is the number of cards on the grid
+     */
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+
+    /**
+     * Getter method for the attribute 'minRow'
+     *
+     * @return the smallest occupied row
+     */
+    public int getMinRow() {
+        return minRow;
+    }
+
+
+    /**
+     * Setter method for the attribute 'minRow', for Jackson serialization.
+     *
+     * @param minRow is the smallest occupied row
+     */
+    public void setMinRow(int minRow) {
+        this.minRow = minRow;
+    }
+
+
+    /**
+     * Getter method for the attribute 'maxRow'
+     *
+     * @return the biggest occupied row
+     */
+    public int getMaxRow() {
+        return maxRow;
+    }
+
+
+    /**
+     * Setter method for the attribute 'maxRow', for Jackson serialization.
+     *
+     * @param maxRow is the biggest occupied row
+     */
+    public void setMaxRow(int maxRow) {
+        this.maxRow = maxRow;
+    }
+
+
+    /**
+     * Getter method for the attribute 'minColumn'
+     *
+     * @return the smallest occupied column
+     */
+    public int getMinColumn() {
+        return minColumn;
+    }
+
+
+    /**
+     * Setter method for the attribute 'minColumn', for Jackson serialization.
+     *
+     * @param minColumn is the smallest occupied column
+     */
+    public void setMinColumn(int minColumn) {
+        this.minColumn = minColumn;
+    }
+
+
+    /**
+     * Getter method for the attribute 'maxColumn'
+     *
+     * @return the biggest occupied column
+     */
+    public int getMaxColumn() {
+        return maxColumn;
+    }
+
+
+    /**
+     * Setter method for the attribute 'maxColumn', for Jackson serialization.
+     *
+     * @param maxColumn is the biggest occupied column
+     */
+    public void setMaxColumn(int maxColumn) {
+        this.maxColumn = maxColumn;
+    }
+}
@@ -3,16 +3,12 @@ package Model;
 import Controller.MatchController;
 import Model.Cards.*;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.*;
 
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 
 import java.util.*;
@@ -37,22 +33,22 @@ public class Table implements Serializable{
     /**
      * the deck of resource card
      */
-    private List<ResourceCard> deckR;
+    private Deck<ResourceCard> deckR;
 
     /**
      * the deck of gold card
      */
-    private List<GoldCard> deckG;
+    private Deck<GoldCard> deckG;
 
     /**
      * the deck of starter card
      */
-    private List<StarterCard> deckS;
+    private Deck<StarterCard> deckS;
 
     /**
      * the deck of objective card
      */
-    private List<ObjectiveCard> deckO;
+    private Deck<ObjectiveCard> deckO;
 
     /**
      * this array represents the 2 face up resource card on the table
@@ -90,20 +86,78 @@ public class Table implements Serializable{
      */
     private boolean isEndPhase;
 
+    /**
+     * the source of randomness used to shuffle the decks
+     */
+    @JsonIgnore
+    private Random random;
+
 
     /**
-     * constructor of the class
+     * constructor of the class, the cards are created from the definitions of the catalog, which parses the json file only once
      * @throws IOException if there is an input/output problem
      * @throws ParseException if there is an error during the parsing of text input
      */
     public Table() throws IOException, ParseException {
-        this.deckR = deckRInit("Cards.json");
-        this.deckG = deckGInit("Cards.json");
-        this.deckS = deckSInit("Cards.json");
-        this.deckO = deckOInit("Cards.json");
+        CardCatalog catalog = CardCatalog.getInstance();
+        this.deckR = new Deck<>(catalog.newResourceDeck());
+        this.deckG = new Deck<>(catalog.newGoldDeck());
+        this.deckS = new Deck<>(catalog.newStarterDeck());
+        this.deckO = new Deck<>(catalog.newObjectiveDeck());
         this.players = new ArrayList<>();
         this. score = new HashMap<>();
         this.isEndPhase = false;
+        this.random = new Random();
+    }
+
+
+    /**
+     * constructor of a copy of the table used to simulate the rest of a match without changing it,
+     * the decks are forks and the cards on the table are referenced, so the cards taken from the copy
+     * must be copied before being placed; the copy has no match and no players
+     * @param table is the table to be copied
+     * @param random is the source of randomness of the copy
+     */
+    public Table(Table table, Random random) {
+        this.deckR = table.deckR.fork();
+        this.deckG = table.deckG.fork();
+        this.deckS = table.deckS.fork();
+        this.deckO = table.deckO.fork();
+        this.cardsR = table.cardsR == null ? null : table.cardsR.clone();
+        this.cardsG = table.cardsG == null ? null : table.cardsG.clone();
+        this.cardsS = table.cardsS == null ? null : table.cardsS.clone();
+        this.cardsO = table.cardsO == null ? null : table.cardsO.clone();
+        this.players = new ArrayList<>();
+        this.score = new HashMap<>();
+        this.isEndPhase = table.isEndPhase;
+        this.random = random;
+    }
+
+
+    /**
+     * creates a fork of the table for a fork of the match, with forks of the players and of the decks and a new
+     * source of randomness seeded by the one of the table, so that the forks shuffle independently but reproducibly;
+     * the cards are shared, the players copy them before placing them; the fork has no match, so it never reaches
+     * the live match, and the fork of a match sets itself as the match of the fork
+     * @return a table with the same decks, cards, players and score
+     */
+    public Table fork() {
+        return fork(random == null ? null : new Random(random.nextLong()));
+    }
+
+
+    /**
+     * creates a fork of the table with the given source of randomness, as 'fork()' does
+     * @param random is the source of randomness of the fork, it may be shared with other forks of the same thread
+     * @return a table with the same decks, cards, players and score
+     */
+    public Table fork(Random random) {
+        Table fork = new Table(this, random);
+        for (Player player : players) {
+            fork.players.add(player.fork(fork));
+        }
+        fork.score.putAll(score);
+        return fork;
     }
 
 
@@ -129,16 +183,16 @@ public class Table implements Serializable{
      * getter method for the attribute 'deckR'
      * @return the attribute 'deckR'
      */
-    public List<ResourceCard> getDeckR() {
+    public Deck<ResourceCard> getDeckR() {
         return deckR;
     }
 
 
     /**
      * setter method for the attribute 'deckR'
-     * @param deckR is the list of resource cards to be put
+     * @param deckR is the deck of resource cards to be put
      */
-    public void setDeckR(List<ResourceCard> deckR) {
+    public void setDeckR(Deck<ResourceCard> deckR) {
         this.deckR = deckR;
     }
 
@@ -147,16 +201,16 @@ public class Table implements Serializable{
      * getter method for the attribute 'deckG'
      * @return the attribute 'deckG'
      */
-    public List<GoldCard> getDeckG() {
+    public Deck<GoldCard> getDeckG() {
         return deckG;
     }
 
 
     /**
      * setter method for the attribute 'deckG'
-     * @param deckG is the list of gold cards to be put
+     * @param deckG is the deck of gold cards to be put
      */
-    public void setDeckG(List<GoldCard> deckG) {
+    public void setDeckG(Deck<GoldCard> deckG) {
         this.deckG = deckG;
     }
 
@@ -165,16 +219,16 @@ public class Table implements Serializable{
      * getter method for the attribute 'deckS'
      * @return the attribute 'deckS'
      */
-    public List<StarterCard> getDeckS() {
+    public Deck<StarterCard> getDeckS() {
         return deckS;
     }
 
 
     /**
      * setter method for the attribute 'deckS'
-     * @param deckS is the list of starter cards to be put
+     * @param deckS is the deck of starter cards to be put
      */
-    public void setDeckS(List<StarterCard> deckS) {
+    public void setDeckS(Deck<StarterCard> deckS) {
         this.deckS = deckS;
     }
 
@@ -183,16 +237,16 @@ public class Table implements Serializable{
      * getter method for the attribute 'deckO'
      * @return the attribute 'deckO'
      */
-    public List<ObjectiveCard> getDeckO() {
+    public Deck<ObjectiveCard> getDeckO() {
         return deckO;
     }
 
 
     /**
      * setter method for the attribute 'deckO'
-     * @param deckO is the list of objective cards to be put
+     * @param deckO is the deck of objective cards to be put
      */
-    public void setDeckO(List<ObjectiveCard> deckO) {
+    public void setDeckO(Deck<ObjectiveCard> deckO) {
         this.deckO = deckO;
     }
 
@@ -324,291 +378,50 @@ public class Table implements Serializable{
 
 
     /**
-     * with this method the deck of resource cards is shuffled
+     * getter method for the attribute 'random'
+     * @return the attribute 'random'
      */
-    public void shuffle_resource_deck(){
-        Collections.shuffle(deckR);
-    }
-
-    /**
-     * with this method the deck of gold cards is shuffled
-     */
-    public void shuffle_golden_deck(){
-        Collections.shuffle(deckG);
+    public Random getRandom() {
+        return random;
     }
 
 
     /**
-     * with this method the deck of starter cards is shuffled
+     * setter method for the attribute 'random', a seeded source makes the shuffles reproducible
+     * @param random is the source of randomness to be put
      */
-    public void shuffle_starter_deck(){
-        Collections.shuffle(deckS);
+    public void setRandom(Random random) {
+        this.random = random;
     }
 
 
     /**
-     * with this method the deck of objective cards is shuffled
-     */
-    public void shuffle_objective_deck(){
-        Collections.shuffle(deckO);
-    }
-
-
-    /**
-     * method for creating the deck of resource cards using the json file
-     * @param jsonFileName is the reference to the json file
-     * @return the deck of resource cards
-     * @throws ParseException if there is an error during the parsing of text input
-     * @throws IOException if there is an input/output problem
+     * with this method the deck of resource cards is shuffled
      */
-    public List<ResourceCard> deckRInit(String jsonFileName) throws ParseException, IOException {
-
-        ResourceCard [] cardsR = new ResourceCard[40];
-        JSONParser parser = new JSONParser();
-        ClassLoader classloader = Thread.currentThread().getContextClassLoader();
-        InputStream is = classloader.getResourceAsStream(jsonFileName);
-        assert is != null;
-        InputStreamReader readerCard = new InputStreamReader(is);
-        Object objCard = parser.parse(readerCard);
-        JSONObject cardjsonobject = (JSONObject) objCard;
-        JSONArray arrayResources = (JSONArray) cardjsonobject.get("ResourceCard");
-
-        for(int i=0;i<arrayResources.size();i++) {
-            Symbols[] symbols = new Symbols[4];
-            Colors color = null;
-            Symbols[] centre;
-            JSONObject resourceCards = (JSONObject) arrayResources.get(i);
-            for (Symbols t : Symbols.values()) {
-                if (t.getValue().equals(resourceCards.get("fCorner1")))
-                    symbols[0] = t;
-                if (t.getValue().equals(resourceCards.get("fCorner2")))
-                    symbols[1] = t;
-                if (t.getValue().equals(resourceCards.get("fCorner3")))
-                    symbols[2] = t;
-                if (t.getValue().equals(resourceCards.get("fCorner4")))
-                    symbols[3] = t;
-            }
-            for (Colors t : Colors.values()) {
-                if (t.getValue().equals(resourceCards.get("color")))
-                    color = t;
-            }
-
-            JSONArray centralSymbols = (JSONArray) resourceCards.get("centralSymbols");
-            centre = new Symbols[centralSymbols.size()];
-            for (int k = 0; k < centralSymbols.size(); k++) {
-                for (Symbols t : Symbols.values()) {
-                    if (t.getValue().equals(centralSymbols.get(k)))
-                        centre[k] = t;
-                }
-            }
-
-            Long points = (Long) resourceCards.get("points");
-            String imageFront = (String) resourceCards.get("imageFront");
-            String imageBack = (String) resourceCards.get("imageBack");
-
-            cardsR[i] = new ResourceCard(symbols, color, null, true, points.intValue(), Symbols.EMPTY, imageFront, imageBack);
-        }
-        return new ArrayList<>(Arrays.asList(cardsR));
+    public void shuffle_resource_deck(){
+        deckR.shuffle(random);
     }
 
-
     /**
-     * method for creating the deck of gold cards using the json file
-     * @param jsonFileName is the reference to the json file
-     * @return the deck of gold cards
-     * @throws ParseException if there is an error during the parsing of text input
-     * @throws IOException if there is an input/output problem
+     * with this method the deck of gold cards is shuffled
      */
-    public List<GoldCard> deckGInit(String jsonFileName) throws IOException, ParseException {
-        GoldCard [] cardsG = new GoldCard[40];
-        JSONParser parser = new JSONParser();
-        ClassLoader classloader = Thread.currentThread().getContextClassLoader();
-        InputStream is = classloader.getResourceAsStream(jsonFileName);
-        assert is != null;
-        InputStreamReader readerCard = new InputStreamReader(is);
-        Object objCard = parser.parse(readerCard);
-        JSONObject cardjsonobject = (JSONObject) objCard;
-        ObjectMapper mapper = new ObjectMapper();
-
-        JSONArray arrayGold = (JSONArray) cardjsonobject.get("GoldCard");
-
-        for(int i=0;i<arrayGold.size();i++) {
-            JSONObject goldCards = (JSONObject) arrayGold.get(i);
-            Symbols[] symbols = new Symbols[4];
-            Colors color = null;
-            Symbols[] centre;
-            Symbols pointSymbol = null;
-
-            for (Symbols t : Symbols.values()) {
-                if (t.getValue().equals(goldCards.get("fCorner1")))
-                    symbols[0] = t;
-                if (t.getValue().equals(goldCards.get("fCorner2")))
-                    symbols[1] = t;
-                if (t.getValue().equals(goldCards.get("fCorner3")))
-                    symbols[2] = t;
-                if (t.getValue().equals(goldCards.get("fCorner4")))
-                    symbols[3] = t;
-            }
-            for (Colors t : Colors.values()) {
-                if (t.getValue().equals(goldCards.get("color")))
-                    color = t;
-            }
-
-            JSONArray centralSymbols = (JSONArray) goldCards.get("centralSymbols");
-            centre = new Symbols[centralSymbols.size()];
-            for (int k = 0; k < centralSymbols.size(); k++) {
-                for (Symbols t : Symbols.values()) {
-                    if (t.getValue().equals(centralSymbols.get(k)))
-                        centre[k] = t;
-                }
-            }
-
-            Long points = (Long) goldCards.get("points");
-
-            for (Symbols prova : Symbols.values()) {
-                if (prova.getValue().equals(goldCards.get("pointSymbol")))
-                    pointSymbol = prova;
-            }
-
-            String imageFront = (String) goldCards.get("imageFront");
-            String imageBack = (String) goldCards.get("imageBack");
-            Map<Symbols, Integer> requirements;
-            JSONArray arrayRequirements = (JSONArray) goldCards.get("requirements");
-            requirements = mapper.readValue(arrayRequirements.getFirst().toString(), new TypeReference<HashMap<Symbols, Integer>>() {});
-
-            cardsG[i] = new GoldCard(symbols, color, null, true, points.intValue(), pointSymbol, imageFront, imageBack, requirements);
-
-        }
-        return new ArrayList<>(Arrays.asList(cardsG));
+    public void shuffle_golden_deck(){
+        deckG.shuffle(random);
     }
 
 
     /**
-     * method for creating the deck of starter cards using the json file
-     * @param jsonFileName is the reference to the json file
-     * @return the deck of starter cards
-     * @throws ParseException if there is an error during the parsing of text input
-     * @throws IOException if there is an input/output problem
+     * with this method the deck of starter cards is shuffled
      */
-    public List<StarterCard> deckSInit(String jsonFileName) throws ParseException, IOException {
-        StarterCard [] cardsS = new StarterCard[6];
-        JSONParser parser = new JSONParser();
-        ClassLoader classloader = Thread.currentThread().getContextClassLoader();
-        InputStream is = classloader.getResourceAsStream(jsonFileName);
-        assert is != null;
-        InputStreamReader readerCard = new InputStreamReader(is);
-        Object objCard = parser.parse(readerCard);
-        JSONObject cardjsonobject = (JSONObject) objCard;
-
-        JSONArray arrayStarter = (JSONArray) cardjsonobject.get("StarterCard");
-
-        for(int i=0;i<arrayStarter.size();i++) {
-            Symbols[] symbolsFront = new Symbols[4];
-            Symbols[] symbolsBack = new Symbols[4];
-            Colors color = null;
-            Symbols[] centre;
-            JSONObject starterCards = (JSONObject) arrayStarter.get(i);
-
-            for (Symbols t : Symbols.values()) {
-                if (t.getValue().equals(starterCards.get("fCorner1")))
-                    symbolsFront[0] = t;
-                if (t.getValue().equals(starterCards.get("fCorner2")))
-                    symbolsFront[1] = t;
-                if (t.getValue().equals(starterCards.get("fCorner3")))
-                    symbolsFront[2] = t;
-                if (t.getValue().equals(starterCards.get("fCorner4")))
-                    symbolsFront[3] = t;
-                if (t.getValue().equals(starterCards.get("bCorner1")))
-                    symbolsBack[0] = t;
-                if (t.getValue().equals(starterCards.get("bCorner2")))
-                    symbolsBack[1] = t;
-                if (t.getValue().equals(starterCards.get("bCorner3")))
-                    symbolsBack[2] = t;
-                if (t.getValue().equals(starterCards.get("bCorner4")))
-                    symbolsBack[3] = t;
-            }
-            for (Colors t : Colors.values()) {
-                if (t.getValue().equals(starterCards.get("color")))
-                    color = t;
-            }
-
-            String imageFront = (String) starterCards.get("imageFront");
-            String imageBack = (String) starterCards.get("imageBack");
-
-            JSONArray centralSymbols = (JSONArray) starterCards.get("centralSymbols");
-            centre = new Symbols[centralSymbols.size()];
-            for (int k = 0; k < centralSymbols.size(); k++) {
-                for (Symbols t : Symbols.values()) {
-                    if (t.getValue().equals(centralSymbols.get(k)))
-                        centre[k] = t;
-                }
-            }
-
-            cardsS[i] = new StarterCard(symbolsFront, color, centre, true, 0, Symbols.EMPTY, imageFront, imageBack, symbolsBack);
-        }
-        return new ArrayList<>(Arrays.asList(cardsS));
+    public void shuffle_starter_deck(){
+        deckS.shuffle(random);
     }
 
 
     /**
-     * method for creating the deck of objective cards using the json file
-     * @param jsonFileName is the reference to the json file
-     * @return the deck of objective cards
-     * @throws ParseException if there is an error during the parsing of text input
-     * @throws IOException if there is an input/output problem
+     * with this method the deck of objective cards is shuffled
      */
-    public List<ObjectiveCard> deckOInit(String jsonFileName) throws ParseException, IOException {
-        ObjectiveCard [] cardsO = new ObjectiveCard[16];
-        JSONParser parser = new JSONParser();
-        ClassLoader classloader = Thread.currentThread().getContextClassLoader();
-        InputStream is = classloader.getResourceAsStream(jsonFileName);
-        assert is != null;
-        InputStreamReader readerCard = new InputStreamReader(is);
-        Object objCard = parser.parse(readerCard);
-        JSONObject cardjsonobject = (JSONObject) objCard;
-
-        JSONArray arrayObjective = (JSONArray) cardjsonobject.get("ObjectiveCard");
-
-        for(int i=0;i<arrayObjective.size();i++) {
-            JSONObject objectiveCards = (JSONObject) arrayObjective.get(i);
-            Colors[] colors;
-            int[] positions;
-            Symbols[] symbols;
-            Long points = (Long) objectiveCards.get("points");
-            String type = (String) objectiveCards.get("type");
-            String imageFront = (String) objectiveCards.get("imageFront");
-            String imageBack = (String) objectiveCards.get("imageBack");
-
-            switch (type) {
-                case "ObCardPosition":
-                    JSONArray arrayColors = (JSONArray) objectiveCards.get("colors");
-                    colors = new Colors[arrayColors.size()];
-                    for (int k = 0; k < arrayColors.size(); k++) {
-                        for (Colors t : Colors.values()) {
-                            if (t.getValue().equals(arrayColors.get(k)))
-                                colors[k] = t;
-                        }
-                    }
-                    JSONArray arrayPositions = (JSONArray) objectiveCards.get("positions");
-                    positions = new int[arrayPositions.size()];
-                    for (int k = 0; k < arrayPositions.size(); k++) {
-                        positions[k] = ((Long) arrayPositions.get(k)).intValue();
-                    }
-                    cardsO[i] = new ObCardPosition(points.intValue(), imageFront, imageBack, colors, positions);
-                    break;
-                    case "ObCardSymbols":
-                    JSONArray arraySymbols = (JSONArray) objectiveCards.get("symbols");
-                    symbols = new Symbols[arraySymbols.size()];
-                    for (int k = 0; k < arraySymbols.size(); k++) {
-                        for (Symbols t : Symbols.values()) {
-                            if (t.getValue().equals(arraySymbols.get(k)))
-                                symbols[k] = t;
-                        }
-                    }
-                    cardsO[i] = new ObCardSymbols(points.intValue(), imageFront, imageBack, symbols);
-                    break;
-            }
-        }
-        return new ArrayList<>(Arrays.asList(cardsO));
+    public void shuffle_objective_deck(){
+        deckO.shuffle(random);
     }
 }
\ No newline at end of file
@@ -23,6 +23,11 @@ public class ClientData implements Serializable {
      */
     private int idMatch;
 
+    /**
+     * True if the client wants to be told about every change of the turn.
+     */
+    private volatile boolean turnsSubscribed;
+
 
     /**
      * Constructor for the ClientData class.
@@ -86,4 +91,24 @@ public class ClientData implements Serializable {
     public void setIdMatch(int idMatch) {
         this.idMatch = idMatch;
     }
+
+
+    /**
+     * Getter method for the turnsSubscribed attribute.
+     *
+     * @return true if the client wants to be told about every change of the turn
+     */
+    public boolean isTurnsSubscribed() {
+        return turnsSubscribed;
+    }
+
+
+    /**
+     * Setter method for the turnsSubscribed attribute.
+     *
+     * @param turnsSubscribed is true if the client wants to be told about every change of the turn
+     */
+    public void setTurnsSubscribed(boolean turnsSubscribed) {
+        this.turnsSubscribed = turnsSubscribed;
+    }
 }
@@ -0,0 +1,91 @@
+package Network;
+
+import Controller.Barrier;
+import Controller.MatchObserver;
+
+import java.rmi.RemoteException;
+import java.util.List;
+
+/**
+ * The observer of the matches which tells the clients about the barriers reached and the turns changed,
+ * whatever protocol they are connected with.
+ * The servers sharing the same list of clients are given equal notifiers, so the controller keeps only one of them
+ * and every client is told once.
+ */
+public class ClientNotifier implements MatchObserver {
+
+    /**
+     * The data of every client connected, with RMI or with TCP.
+     */
+    private final List<ClientData> clients;
+
+
+    /**
+     * Constructor for the ClientNotifier class.
+     *
+     * @param clients is the list with data for all the registered clients
+     */
+    public ClientNotifier(List<ClientData> clients) {
+        this.clients = clients;
+    }
+
+
+    /**
+     * Tells every client of a match that all its players have reached a barrier.
+     * The clients which do not answer are left to the ping, which aborts their match.
+     *
+     * @param idMatch is the ID of the match
+     * @param barrier is the barrier reached
+     */
+    @Override
+    public void barrierReached(int idMatch, Barrier barrier) {
+        for (ClientData c : clients) {
+            if (c.getIdMatch() == idMatch) {
+                try { c.getClient().barrierReached(barrier); }
+                catch (RemoteException e) { System.err.println("\nError notifying client " + c.getNickname() + ": " + e.getMessage()); }
+            }
+        }
+    }
+
+
+    /**
+     * Tells the clients of a match which have subscribed to the turns who plays and in which phase.
+     * The clients which do not answer are left to the ping, which aborts their match.
+     *
+     * @param idMatch is the ID of the match
+     * @param turnOwner is the nickname of the player whose turn it is, null if it is nobody's turn
+     * @param phase is the name of the phase of the turn
+     */
+    @Override
+    public void turnChanged(int idMatch, String turnOwner, String phase) {
+        for (ClientData c : clients) {
+            if (c.getIdMatch() == idMatch && c.isTurnsSubscribed()) {
+                try { c.getClient().turnChanged(turnOwner, phase); }
+                catch (RemoteException e) { System.err.println("\nError notifying client " + c.getNickname() + ": " + e.getMessage()); }
+            }
+        }
+    }
+
+
+    /**
+     * Two notifiers are equal if they tell the same list of clients.
+     *
+     * @param o is the object to be compared
+     * @return true if o is a notifier of the same list of clients
+     */
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ClientNotifier other && other.clients == clients;
+    }
+
+
+    /**
+     * Hash code consistent with equals, based on the identity of the list of clients.
+     *
+     * @return the hash code of the notifier
+     */
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(clients);
+    }
+}
@@ -2,7 +2,6 @@ package Network;
 
 import Network.RMI.ClientRMI;
 import Network.TCP.ClientTCP;
-import Network.TCP.ServerProxy;
 
 import java.net.*;
 import java.io.*;
@@ -81,12 +80,8 @@ public class ConnectionClient {
                 host = in.nextLine();
                 socket = new Socket(host, 1235);
                 System.out.println("\nYou have chosen to play using the TCP connection protocol.");
-                InputStreamReader socketRx = new InputStreamReader(socket.getInputStream());
-                OutputStreamWriter socketTx = new OutputStreamWriter(socket.getOutputStream());
                 ClientTCP clientTCP = new ClientTCP(viewType);
-                clientTCP.setSocket(socket);
-                clientTCP.setInput(new BufferedReader(socketRx));
-                clientTCP.setServer(new ServerProxy(new BufferedWriter(socketTx)));
+                clientTCP.attach(socket);
                 clientTCP.run();
             }
             catch (IOException e) {
@@ -2,11 +2,13 @@ package Network;
 
 import Controller.GameController;
 import Network.RMI.ServerRMI;
+import Network.TCP.SelectorServer;
 import Network.TCP.ServerTCP;
 
 import java.net.*;
 import java.io.*;
 import java.io.IOException;
+import java.nio.channels.ServerSocketChannel;
 import java.rmi.RemoteException;
 import java.rmi.server.UnicastRemoteObject;
 import java.util.Enumeration;
@@ -71,12 +73,29 @@ public class ConnectionServer {
         // Bind the remote object's stub in the registry
         System.out.println("\nServer ready");
 
+        // With -Dtcp.selector=true the connections are served by a few event loops instead of a thread each
+        boolean selector = Boolean.getBoolean("tcp.selector");
+        ServerSocketChannel listenChannel = null;
         try {
-            listenSocket = new ServerSocket(1235);
+            if (selector) {
+                listenChannel = ServerSocketChannel.open().bind(new InetSocketAddress(1235));
+                listenSocket = listenChannel.socket();
+            } else {
+                listenSocket = new ServerSocket(1235);
+            }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
         System.out.println("\nWaiting for a client ...");
-        new ServerTCP(listenSocket, controller, clients).runServer();
+        if (selector) {
+            ServerTCP server = new ServerTCP(listenSocket, controller, clients);
+            new SelectorServer(server, listenChannel).runServer();
+            return;
+        }
+        // Connections run on virtual threads, unless platform threads are requested with -Dtcp.platformThreads=true
+        ExecutorService connections = Boolean.getBoolean("tcp.platformThreads")
+                ? Executors.newCachedThreadPool()
+                : Executors.newVirtualThreadPerTaskExecutor();
+        new ServerTCP(listenSocket, controller, clients, connections).runServer();
     }
 }
\ No newline at end of file
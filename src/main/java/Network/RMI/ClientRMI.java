@@ -1,8 +1,11 @@
 package Network.RMI;
 
+import Controller.Barrier;
 import Controller.GameController;
+import Controller.TurnResult;
 import Listeners.Message;
 import Model.Cards.*;
+import Model.SparseGrid;
 import Model.Table;
 import Network.*;
 import View.Gui.Gui;
@@ -15,6 +18,7 @@ import java.rmi.registry.Registry;
 import java.rmi.server.UnicastRemoteObject;
 import java.util.*;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
 
 /**
  * This class runs a client in case their choose the RMI connection protocol.
@@ -107,6 +111,32 @@ public class ClientRMI extends UnicastRemoteObject implements VirtualView, Seria
      */
     private boolean finishedToPlay = false;
 
+    /**
+     * True if the player has placed a card during this turn and has still to draw.
+     */
+    private boolean cardPlaced = false;
+
+    /**
+     * The cards of the hand which can be placed on the front, one bit per position, as last received with the hand.
+     * It is -1 when it is unknown, that is before the first hand is received and after every placement.
+     */
+    private volatile int playableMask = -1;
+
+    /**
+     * The barriers of the match which this client knows have been reached.
+     */
+    private final transient ReachedBarriers barriers = new ReachedBarriers();
+
+    /**
+     * Counted down when the "you won" or "you lost" message arrives, which the server sends after the final score.
+     */
+    private final transient CountDownLatch matchEnded = new CountDownLatch(1);
+
+    /**
+     * The state of the turn as announced by the server, with the listeners of the GUI.
+     */
+    private final transient TurnNotifier turns = new TurnNotifier();
+
     /**
      * The type of view the client has chosen.
      */
@@ -426,15 +456,16 @@ public class ClientRMI extends UnicastRemoteObject implements VirtualView, Seria
 
     /**
      * Calls the respective method on VirtualServer.
-     * Adds a new match to the game.
+     * Adds a new match to the game, unless another match is waiting for players or being created.
      *
      * @param name is the name of the player who created the new match
-     * @return the ID of the newly created match
+     * @param numOfPlayers is the number of players declared by the client
+     * @return the ID of the newly created match, or -1 if the client has to join the open match instead
      * @throws RemoteException in case of network errors
      */
     @Override
-    public int addMatch(String name) throws RemoteException {
-        return server.addMatch(name);
+    public int openMatch(String name, int numOfPlayers) throws RemoteException {
+        return server.openMatch(name, numOfPlayers);
     }
 
 
@@ -482,20 +513,19 @@ public class ClientRMI extends UnicastRemoteObject implements VirtualView, Seria
     private void runCli() {
         Scanner in = new Scanner(System.in);
         try {
-            if (firstPlayer()) {
-                this.first = true;
-                chooseNumOfPlayers();
-                nickname = chooseName(server);
-                idMatch = addMatch(nickname);
-            } else {
-                boolean mustWait = true;
-                while (mustWait) {
+            idMatch = -1;
+            while (idMatch < 0) { //Repeats until the client has opened a match or joined the open one
+                if (firstPlayer()) {
+                    int n = chooseNumOfPlayers();
+                    nickname = chooseName(server);
+                    idMatch = openMatch(nickname, n);
+                    this.first = idMatch >= 0;
+                } else {
                     nickname = chooseName(server);
                     try {
                         idMatch = addPlayer(nickname);
-                        mustWait = false;
                     } catch (NoSuchElementException e) {
-                        System.out.println(RED + "\nAnother user is creating the first match, please retry." + RESET);
+                        //The open match has been filled in the meantime, so the client can open a new one
                     }
                 }
             }
@@ -505,9 +535,7 @@ public class ClientRMI extends UnicastRemoteObject implements VirtualView, Seria
             if (!allConnected(idMatch)) {
                 System.out.println(BLUE + "\nWait for all other clients to connect" + RESET);
             }
-            while (true) {
-                if (allConnected(idMatch)) break;
-            }
+            awaitBarrier(Barrier.CONNECTED);
         } catch (RemoteException e) {
             forceExit("\nConnection failed");
         }
@@ -550,7 +578,10 @@ public class ClientRMI extends UnicastRemoteObject implements VirtualView, Seria
                 System.out.println(RED + "\nWait for your turn." + RESET);
             } else {
                 try {
-                    isValid = checkCommand(idMatch, nickname, command);
+                    //Placements and draws are checked by the server together with the move, here only their order is checked
+                    if (command.equalsIgnoreCase("place")) isValid = !cardPlaced;
+                    else if (command.equalsIgnoreCase("draw")) isValid = cardPlaced;
+                    else isValid = checkCommand(idMatch, nickname, command);
                 } catch (RemoteException e) {
                     isValid = false;
                     System.out.println(RED + "\nConnection failed, retry" + RESET);
@@ -644,8 +675,7 @@ public class ClientRMI extends UnicastRemoteObject implements VirtualView, Seria
                         place();
 
                     } else if (command.equalsIgnoreCase("draw") && !finishedToPlay) {
-                        draw();
-                        checkEndPhase(); //If this was the player's last turn, they are now only allowed use the chat
+                        if (draw()) checkEndPhase(); //If this was the player's last turn, they are now only allowed use the chat
 
                     } else if (command.equalsIgnoreCase("chat")) {
                         useChat();
@@ -661,9 +691,9 @@ public class ClientRMI extends UnicastRemoteObject implements VirtualView, Seria
     /**
      * Lets the client choose how many players there will be in the match.
      *
-     * @throws RemoteException in case of network errors
+     * @return the number of players chosen by the client
      */
-    public void chooseNumOfPlayers() throws RemoteException {
+    public int chooseNumOfPlayers() {
         int n;
         Scanner in = new Scanner(System.in);
         System.out.print(CYAN + "\nEnter the number of players for the new match: " + RESET);
@@ -678,7 +708,7 @@ public class ClientRMI extends UnicastRemoteObject implements VirtualView, Seria
             if (n < 2 || n > 4)
                 System.out.print(RED + "\nSorry, you need to type a number between 2 and 4: " + RESET);
         } while (n < 2 || n > 4);
-        server.setNumbOfPlayers(n);
+        return n;
     }
 
 
@@ -755,6 +785,7 @@ public class ClientRMI extends UnicastRemoteObject implements VirtualView, Seria
     @Override
     public void placeGui(int cardSelected, String faceSelected, int x, int y) throws RemoteException {
         if(checkCommand(idMatch, nickname, "place")){
+            playableMask = -1;
             server.place(idMatch, nickname, cardSelected, faceSelected, x, y);
         }
     }
@@ -990,14 +1021,13 @@ public class ClientRMI extends UnicastRemoteObject implements VirtualView, Seria
                     System.out.print(RED + "\nSorry, the selection is not valid, type again: " + RESET);
                 }
             } while (!starterFace.equalsIgnoreCase("front") && !starterFace.equalsIgnoreCase("back"));
-            server.place(idMatch, nickname, 1, starterFace, 2, 2);
+            playableMask = -1;
+            server.place(idMatch, nickname, 1, starterFace, 0, 0);
             server.increaseNumOfStarterCardsPlaced(idMatch);
 
             //The user waits until every other player has placed their starter card
             if(!allStarterCardsPlaced(idMatch))  System.out.println(BLUE + "\nWait for all other clients to place their starter card" + RESET );
-            while(true) {
-                if (allStarterCardsPlaced(idMatch)) break;
-            }
+            awaitBarrier(Barrier.STARTER_CARDS_PLACED);
         } catch (RemoteException e) { forceExit("\nConnection failed"); }
     }
 
@@ -1090,9 +1120,7 @@ public class ClientRMI extends UnicastRemoteObject implements VirtualView, Seria
             System.out.println(PURPLE + "\nYou have chosen the objective card number " + obSelected + RESET);
             if(!allObjectiveCardsChosen(idMatch))
                 System.out.println(BLUE + "\nWait for all other clients to choose their objective card" + RESET);
-            while (true) { //Every player waits that every other player chooses their secret objective
-                if (allObjectiveCardsChosen(idMatch)) break;
-            }
+            awaitBarrier(Barrier.OBJECTIVE_CARDS_CHOSEN); //Every player waits that every other player chooses their secret objective
         } catch (RemoteException e) { forceExit("\nConnection failed"); }
     }
 
@@ -1107,7 +1135,7 @@ public class ClientRMI extends UnicastRemoteObject implements VirtualView, Seria
                 server.chooseTheBlackPawn(idMatch);
                 server.setBlackPawnChosen(idMatch, true);
             }
-            while (!isBlackPawnChosen());
+            awaitBarrier(Barrier.BLACK_PAWN_CHOSEN);
             //The blackPawn attribute of the client bound to the player with the black pawn is set to true
             //and that client is going to start the match
             String playerWithBlackPawn = getNameOfThePlayerWithTheBlackPawn();
@@ -1130,6 +1158,7 @@ public class ClientRMI extends UnicastRemoteObject implements VirtualView, Seria
 
     /**
      * The client requests the server to place a card they choose.
+     * The server checks the choice and places the card in a single request, which is repeated until it is accepted.
      */
     public void place() {
         Scanner in = new Scanner(System.in);
@@ -1138,14 +1167,11 @@ public class ClientRMI extends UnicastRemoteObject implements VirtualView, Seria
             server.viewHand(idMatch, nickname);
             server.viewPlayArea(idMatch, nickname, nickname);
             int cardSelected;
-            int x = 0, y = 0;
-            boolean areCoordinatesValid;
-            String faceSelected = null;
-            String areYouSureToPlace;
-            boolean requirementsRespected;
-            boolean canIPlace;
+            int x, y;
+            String faceSelected;
+            TurnResult result;
             do {
-                canIPlace = true;
+                result = null;
                 System.out.print(CYAN + "\nEnter 1, 2 or 3 to choose the respective card from your hand: " + RESET);
                 try {
                     cardSelected = in.nextInt();
@@ -1153,72 +1179,54 @@ public class ClientRMI extends UnicastRemoteObject implements VirtualView, Seria
                 } catch (InputMismatchException e) { cardSelected = -1; in.nextLine(); }
                 if (cardSelected < 1 || cardSelected > 3) {
                     System.out.println(RED + "\nSorry, the selection is not valid, try again." + RESET);
-                    canIPlace = false;
-                }
-                if (canIPlace) {
-                    try {
-                        System.out.println(CYAN + "\nChoose where to place your card by typing the coordinates." + RESET);
-                        System.out.print(PURPLE + "\nEnter the first coordinate (row): " + RESET);
-                        x = in.nextInt();
-                        in.nextLine();
-                        System.out.print(YELLOW + "\nEnter the second coordinate (column): " + RESET);
-                        y = in.nextInt();
-                        in.nextLine();
-                    } catch (InputMismatchException e) { x = -1; in.nextLine(); }
-                    areCoordinatesValid = areCoordinatesValid(idMatch, nickname, x, y);
-                    if (!areCoordinatesValid) {
-                        System.out.println(RED + "\nSorry, you can not place a card here, try again." + RESET);
-                        canIPlace = false;
-                    }
-                    if (canIPlace) {
-                        System.out.print(CYAN + "\nType 'front' or 'back' to place the card respectively by the front or the back: " + RESET);
-                        faceSelected = in.nextLine().trim();
-                        if (!faceSelected.equalsIgnoreCase("front") && !faceSelected.equalsIgnoreCase("back")) {
-                            System.out.println(RED + "\nSorry, the selection is not valid, try again. " + RESET);
-                            canIPlace = false;
-                        }
-                        if (canIPlace) {
-                            //If the player intends to place a gold card, checks if the requirements are met
-                            if (faceSelected.equalsIgnoreCase("front")) {
-                                requirementsRespected = canIPlaceTheGoldCard(idMatch, nickname, cardSelected);
-                                if (!requirementsRespected) {
-                                    System.out.println(RED + "\nSorry, you do not have enough resources to place the card, retry" + RESET);
-                                    canIPlace = false;
-                                }
-                            }
-                        }
-                        if(canIPlace) {
-                            //The player sees the impact their card positioning would have on their resources and objects
-                            boolean acceptableAnswer = false;
-                            server.viewDifferenceOfResources(idMatch, nickname, cardSelected, faceSelected, x, y);
-                            System.out.print(PURPLE + "\nType 'yes' if you are decided to place this card, otherwise type 'no': " + RESET);
-                            do {
-                                areYouSureToPlace = in.nextLine().trim();
-                                if(areYouSureToPlace.equalsIgnoreCase("yes") || areYouSureToPlace.equalsIgnoreCase("y")) {
-                                    acceptableAnswer = true;
-                                }
-                                if(areYouSureToPlace.equalsIgnoreCase("no") || areYouSureToPlace.equalsIgnoreCase("n")) {
-                                    System.err.println("\nOk, choose another card, another position or another face");
-                                    acceptableAnswer = true;
-                                    canIPlace = false;
-                                }
-                                if(!acceptableAnswer) {
-                                    System.err.print("\nSorry, you have not entered yes or no, try again: ");
-                                }
-                            } while(!acceptableAnswer);
-                        }
-                    }
+                    continue;
                 }
-            } while (!canIPlace);
-            server.place(idMatch, nickname, cardSelected, faceSelected, x, y);
+                try {
+                    System.out.println(CYAN + "\nChoose where to place your card by typing the coordinates." + RESET);
+                    System.out.print(PURPLE + "\nEnter the first coordinate (row): " + RESET);
+                    x = in.nextInt();
+                    in.nextLine();
+                    System.out.print(YELLOW + "\nEnter the second coordinate (column): " + RESET);
+                    y = in.nextInt();
+                    in.nextLine();
+                } catch (InputMismatchException e) { x = y = Integer.MIN_VALUE; in.nextLine(); } //Coordinates can be negative, this position is never valid
+                System.out.print(CYAN + "\nType 'front' or 'back' to place the card respectively by the front or the back: " + RESET);
+                faceSelected = in.nextLine().trim();
+                playableMask = -1;
+                result = server.tryPlace(idMatch, nickname, cardSelected, faceSelected, x, y);
+                if (!result.isAccepted()) System.out.println(RED + "\n" + result.getRejection().getMessage() + RESET);
+            } while (result == null || (!result.isAccepted() && result.getRejection().canRetry()));
+            if (result.isAccepted()) {
+                cardPlaced = true;
+                showPlacement(result);
+            }
         } catch (RemoteException e) { System.out.println(RED + "\nConnection failed, retry" + RESET); }
     }
 
 
+    /**
+     * Shows to the player how the placement has changed their resources and objects and their points.
+     *
+     * @param result is the result of the placement sent by the server
+     */
+    private void showPlacement(TurnResult result) {
+        StringBuilder changes = new StringBuilder();
+        for (Symbols symbol : Symbols.values()) {
+            int change = result.getResourceDelta().get(symbol);
+            if (change != 0) changes.append("\n  ").append(symbol).append(": ").append(change > 0 ? "+" : "").append(change);
+        }
+        if (!changes.isEmpty()) System.out.println(CYAN + "\nYour resources and objects have changed:" + RESET + changes);
+        System.out.println(GREEN + "\nYou now have " + result.getPoints() + " points" + RESET);
+    }
+
+
     /**
      * The client requests the server to draw the card they choose.
+     * The server checks the choice and draws the card in a single request, which is repeated until it is accepted.
+     *
+     * @return true if the draw has been accepted and the turn is over
      */
-    public void draw() {
+    public boolean draw() {
         Scanner in = new Scanner(System.in);
         try {
             server.viewTable(idMatch, nickname);
@@ -1228,68 +1236,35 @@ public class ClientRMI extends UnicastRemoteObject implements VirtualView, Seria
                       - "resource" to draw a card from the resource deck
                       - "gold" to draw a card from the gold deck
                       - "table" to take a card present on the table""");
-            String drawChoice;
-            int whereCanIDraw = whereCanIDraw();
-            /*
-            * 0 if everything is fine
-            * 1 if the Resource deck is empty
-            * 2 if the Gold deck is empty
-            * 3 if both decks are empty
-            * 4 if everything is empty*/
-            boolean drawnFromTheRightPlace;
-            if(whereCanIDraw != 4) {
-                do {
-                    drawnFromTheRightPlace = true;
-                    drawChoice = in.nextLine();
-                    if (!drawChoice.equalsIgnoreCase("resource")
-                            && !drawChoice.equalsIgnoreCase("gold")
-                            && !drawChoice.equalsIgnoreCase("table")) {
-                        System.out.print(RED + "\nSorry, the command is not valid, type again: " + RESET);
-                    }
-                    if (drawChoice.equalsIgnoreCase("resource") && (whereCanIDraw == 1)) {
-                        System.out.print(RED + "\nSorry, this deck is empty, type 'gold' or 'table': " + RESET);
-                        drawnFromTheRightPlace = false;
-                    }
-                    if (drawChoice.equalsIgnoreCase("gold") && (whereCanIDraw == 2)) {
-                        System.out.print(RED + "\nSorry, this deck is empty, type 'resource' or 'table': " + RESET);
-                        drawnFromTheRightPlace = false;
-                    }
-                    if ((drawChoice.equalsIgnoreCase("gold") || drawChoice.equalsIgnoreCase("resource")) && (whereCanIDraw == 3)) {
-                        System.out.print(RED + "\nSorry, this deck is empty, type 'table': " + RESET);
-                        drawnFromTheRightPlace = false;
-                    }
-                } while ((!drawChoice.equalsIgnoreCase("resource")
-                        && !drawChoice.equalsIgnoreCase("gold")
-                        && !drawChoice.equalsIgnoreCase("table"))
-                        || !drawnFromTheRightPlace);
-                if (drawChoice.equalsIgnoreCase("resource")) server.drawResource(idMatch, nickname);
-                else if (drawChoice.equalsIgnoreCase("gold")) server.drawGold(idMatch, nickname);
-                else if (drawChoice.equalsIgnoreCase("table")) {
+            TurnResult result;
+            do {
+                String drawChoice = in.nextLine().trim();
+                int cardSelected = 0;
+                if (drawChoice.equalsIgnoreCase("table")) {
                     System.out.print("\nType 1, 2, 3 or 4 to choose the respective card from the table: ");
-                    int cardSelected;
-                    List<Integer> availablePositions = availablePositionsForDrawing();
-                    do {
-                        try {
-                            cardSelected = in.nextInt();
-                            in.nextLine();
-                        } catch (InputMismatchException e) {
-                            cardSelected = -1;
-                            in.nextLine();
-                        }
-                        if (cardSelected < 1 || cardSelected > 4) {
-                            System.out.print(RED + "\nSorry, the selection is not valid, type again: " + RESET);
-                        } else if (!availablePositions.contains(cardSelected)) {
-                            System.out.print(RED + "\nSorry, there is not a card here, type again: " + RESET);
-                        }
-                    } while (cardSelected < 1 || cardSelected > 4 || !availablePositions.contains(cardSelected));
-                    server.drawTable(idMatch, nickname, cardSelected);
+                    try {
+                        cardSelected = in.nextInt();
+                        in.nextLine();
+                    } catch (InputMismatchException e) {
+                        cardSelected = -1;
+                        in.nextLine();
+                    }
                 }
-            }else{
-                System.out.println(RED + "\nSorry, there is nothing to draw" + RESET);
-                server.drawTable(idMatch, nickname, 5);
-            }
+                result = server.tryDraw(idMatch, nickname, drawChoice, cardSelected);
+                if (!result.isAccepted()) {
+                    System.out.println(RED + "\n" + result.getRejection().getMessage() + RESET);
+                    if (result.getRejection().canRetry()) System.out.print("\nType 'resource', 'gold' or 'table': ");
+                }
+            } while (!result.isAccepted() && result.getRejection().canRetry());
+            if (!result.isAccepted()) return false;
+            cardPlaced = false;
+            if (result.isNothingToDraw()) System.out.println(RED + "\nSorry, there is nothing to draw" + RESET);
             System.out.println(YELLOW + "\n---------------------------------- END OF YOUR TURN ----------------------------------\n" + RESET);
-        } catch (RemoteException e) { System.out.println(RED + "\nConnection failed, retry" + RESET); }
+            return true;
+        } catch (RemoteException e) {
+            System.out.println(RED + "\nConnection failed, retry" + RESET);
+            return false;
+        }
     }
 
 
@@ -1394,17 +1369,14 @@ public class ClientRMI extends UnicastRemoteObject implements VirtualView, Seria
 
 
     /**
-     * Calculates the final score of the player and shows a "you won" or "you lost" message.
+     * Waits for the final score of the player and the "you won" or "you lost" message, which are sent by the server
+     * when the last player finishes to play.
      * Finally, the connection for this client closes and the process terminates.
      */
     public void manageEndgame() {
         try {
             if (getNumOfPlayersThatHaveFinishedToPlay(idMatch) == getNumOfPlayers(idMatch)) {
-                server.calculateObjectives(idMatch, nickname); //Calculates the points gained from the objectives
-                server.increaseNumOfObjectiveCardCalculated(idMatch);
-                while (!allObjectiveCardsCalculated(idMatch)); //Waits until every player has updated their score
-                if (first) server.calculateWinner(idMatch); //Chooses the winner
-                server.showEndGameMessage(idMatch, nickname); //Displays the match final results
+                awaitEndOfMatch(); //Waits for the final score and the result the server pushes to this client
                 server.removeClient(nickname);
                 closeConnection();
             }
@@ -1549,7 +1521,36 @@ public class ClientRMI extends UnicastRemoteObject implements VirtualView, Seria
 
     /**
      * Calls the respective method on VirtualServer.
-     * Checks if the requirements to place a gold card are met.
+     * Shows all the coordinates where the player can place a card.
+     *
+     * @param idMatch  is the ID relative to the specified match
+     * @param nickname is the nickname of the player who is requesting the positions
+     * @return a list with the row and the column of every legal position, one position after the other
+     * @throws RemoteException in case of network errors
+     */
+    @Override
+    public List<Integer> legalPositions(int idMatch, String nickname) throws RemoteException {
+        return server.legalPositions(idMatch, nickname);
+    }
+
+
+    /**
+     * Evaluates every placement of the cards in the hand of the player, without changing the play area.
+     *
+     * @param idMatch  is the ID relative to the specified match
+     * @param nickname is the nickname of the player who is requesting the evaluation
+     * @return the moves encoded by 'Move.encode', 'Move.ENCODED_SIZE' integers for every move
+     * @throws RemoteException in case of network errors
+     */
+    @Override
+    public List<Integer> evaluateMoves(int idMatch, String nickname) throws RemoteException {
+        return server.evaluateMoves(idMatch, nickname);
+    }
+
+
+    /**
+     * Checks if the requirements to place a gold card are met, using the playable mask received with the hand
+     * if it is known, otherwise calling the respective method on VirtualServer.
      *
      * @param idMatch      is the ID relative to the specified match
      * @param nickname     is the nickname of the layer who is requesting to place the gold card
@@ -1559,6 +1560,8 @@ public class ClientRMI extends UnicastRemoteObject implements VirtualView, Seria
      */
     @Override
     public boolean canIPlaceTheGoldCard(int idMatch, String nickname, int cardSelected) throws RemoteException {
+        int mask = playableMask;
+        if (mask >= 0) return (mask & (1 << (cardSelected - 1))) != 0;
         return server.canIPlaceTheGoldCard(idMatch, nickname, cardSelected);
     }
 
@@ -1761,6 +1764,7 @@ public class ClientRMI extends UnicastRemoteObject implements VirtualView, Seria
      */
     @Override
     public void showUpdate(Message message) {
+        if (message.getPlayableMask() >= 0) playableMask = message.getPlayableMask();
         switch (message.getStatus()) {
             case VIEW_STARTER_CARD, STARTER_CARD_PLACED -> {
                 System.out.println("\nYour starter card:");
@@ -2001,42 +2005,58 @@ public class ClientRMI extends UnicastRemoteObject implements VirtualView, Seria
                 System.out.print("\nInput command: ");
             }
             case SHOW_POINTS -> System.out.println("\nYour final score is " + message.getPoints() + " points.");
-            case I_HAVE_LOST -> System.out.println(RED + "\n---------------------------------- SORRY, YOU LOST ----------------------------------" + RESET);
-            case I_HAVE_WON -> System.out.println(GREEN + "\n---------------------------------- YOU WON, CONGRATULATIONS! ----------------------------------" + RESET);
+            case I_HAVE_LOST -> {
+                System.out.println(RED + "\n---------------------------------- SORRY, YOU LOST ----------------------------------" + RESET);
+                matchEnded.countDown();
+            }
+            case I_HAVE_WON -> {
+                System.out.println(GREEN + "\n---------------------------------- YOU WON, CONGRATULATIONS! ----------------------------------" + RESET);
+                matchEnded.countDown();
+            }
             case VIEW_AREA -> {
                 System.out.println("\nPoints: " + message.getPoints());
                 System.out.println("\n" + GREEN + message.getAreaOwner() + RESET + " play area:");
-                for (int k = 1; k < message.getPlayArea().getGrid().length - 1; k++) {
-                    System.out.print("  ");
-                    System.out.print("    " + YELLOW + k + RESET + "  ");
+                //Coordinates are relative to the starter card, the grid is shown with a border of one empty position
+                SparseGrid grid = message.getPlayArea().getGrid();
+                //The legal positions are requested once, instead of checking every empty position
+                Set<Long> legalPositions = new HashSet<>();
+                boolean legalPositionsReceived = true;
+                try {
+                    List<Integer> positions = legalPositions(idMatch, message.getAreaOwner());
+                    for (int k = 0; k + 1 < positions.size(); k += 2) {
+                        legalPositions.add(SparseGrid.pack(positions.get(k), positions.get(k + 1)));
+                    }
+                } catch (RemoteException e) { legalPositionsReceived = false; }
+                System.out.print("    ");
+                for (int k = grid.getMinColumn() - 1; k <= grid.getMaxColumn() + 1; k++) {
+                    System.out.print(YELLOW + String.format("%5d", k) + RESET + "    ");
                 }
                 System.out.println();
-                for (int i = 1; i < message.getPlayArea().getGrid().length - 1; i++) {
-                    System.out.print(YELLOW + i + RESET + " ");
-                    for (int j = 1; j < message.getPlayArea().getGrid().length - 1; j++) {
-                        if (message.getPlayArea().getGrid()[i][j] != null && message.getPlayArea().getGrid()[i][j].getCentre() == null) {
-                            if (message.getPlayArea().getGrid()[i][j].getColors().equals(Colors.RED)) {
+                for (int i = grid.getMinRow() - 1; i <= grid.getMaxRow() + 1; i++) {
+                    System.out.print(YELLOW + String.format("%3d", i) + RESET + " ");
+                    for (int j = grid.getMinColumn() - 1; j <= grid.getMaxColumn() + 1; j++) {
+                        if (grid.get(i, j) != null && grid.get(i, j).getCentre() == null) {
+                            if (grid.get(i, j).getColors().equals(Colors.RED)) {
                                 System.out.print(RED + "   RED   " + RESET);
                             }
-                            if (message.getPlayArea().getGrid()[i][j].getColors().equals(Colors.BLUE)) {
+                            if (grid.get(i, j).getColors().equals(Colors.BLUE)) {
                                 System.out.print(BLUE + "  BLUE   " + RESET);
                             }
-                            if (message.getPlayArea().getGrid()[i][j].getColors().equals(Colors.GREEN)) {
+                            if (grid.get(i, j).getColors().equals(Colors.GREEN)) {
                                 System.out.print(GREEN + "  GREEN  " + RESET);
                             }
-                            if (message.getPlayArea().getGrid()[i][j].getColors().equals(Colors.PURPLE)) {
+                            if (grid.get(i, j).getColors().equals(Colors.PURPLE)) {
                                 System.out.print(PURPLE + " PURPLE  " + RESET);
                             }
                         }
-                        if (message.getPlayArea().getGrid()[i][j] != null && message.getPlayArea().getGrid()[i][j].getCentre() != null) {
+                        if (grid.get(i, j) != null && grid.get(i, j).getCentre() != null) {
                             System.out.print(YELLOW + " STARTER " + RESET);
                         }
-                        if (message.getPlayArea().getGrid()[i][j] == null) {
-                            try {
-                                if (areCoordinatesValid(idMatch, message.getAreaOwner(), i, j))
-                                    System.out.print(CYAN + "    1    " + RESET);
-                                else System.out.print(WHITE + "    0    " + RESET);
-                            } catch (RemoteException e) { System.out.print(RED + "    X    " + RESET); }
+                        if (grid.get(i, j) == null) {
+                            if (!legalPositionsReceived) System.out.print(RED + "    X    " + RESET);
+                            else if (legalPositions.contains(SparseGrid.pack(i, j)))
+                                System.out.print(CYAN + "    1    " + RESET);
+                            else System.out.print(WHITE + "    0    " + RESET);
                         }
                     }
                     System.out.println();
@@ -2184,4 +2204,84 @@ public class ClientRMI extends UnicastRemoteObject implements VirtualView, Seria
         }
         return result;
     }
+
+
+    /**
+     * Records that every player of the match has reached a barrier and wakes up the threads waiting for it.
+     *
+     * @param barrier is the barrier reached
+     */
+    @Override
+    public void barrierReached(Barrier barrier) {
+        barriers.reach(barrier);
+    }
+
+
+    /**
+     * Waits until every player of the match has reached a barrier, without asking the server again and again.
+     *
+     * @param barrier is the barrier to wait for
+     * @throws RemoteException in case of network errors
+     */
+    @Override
+    public void awaitBarrier(Barrier barrier) throws RemoteException {
+        barriers.await(barrier, () -> switch (barrier) {
+            case CONNECTED -> allConnected(idMatch);
+            case STARTER_CARDS_PLACED -> allStarterCardsPlaced(idMatch);
+            case OBJECTIVE_CARDS_CHOSEN -> allObjectiveCardsChosen(idMatch);
+            case BLACK_PAWN_CHOSEN -> isBlackPawnChosen();
+            case OBJECTIVE_CARDS_CALCULATED -> allObjectiveCardsCalculated(idMatch);
+        });
+    }
+
+
+    /**
+     * Waits until the final score and the "you won" or "you lost" message have been shown,
+     * without asking the server again and again.
+     */
+    @Override
+    public void awaitEndOfMatch() {
+        try {
+            matchEnded.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    /**
+     * Tells the listeners of the turn that the player whose turn it is or the phase of the turn have changed.
+     *
+     * @param turnOwner is the nickname of the player whose turn it is, null if it is nobody's turn
+     * @param phase is the name of the phase of the turn
+     */
+    @Override
+    public void turnChanged(String turnOwner, String phase) {
+        turns.update(nickname.equals(turnOwner), phase);
+    }
+
+
+    /**
+     * Adds a listener told about every change of the turn and tells it the current state of the turn.
+     * The first time, the client subscribes to the announcements and asks the server the current state.
+     *
+     * @param listener is the listener to be added
+     * @throws RemoteException in case of network errors
+     */
+    @Override
+    public void subscribeToTurns(TurnListener listener) throws RemoteException {
+        if (turns.add(listener)) server.subscribeToTurns(idMatch, nickname);
+        if (!turns.isKnown()) turns.init(checkTurn(), getPhaseGui());
+    }
+
+
+    /**
+     * Removes a listener of the turn, which is not told about the next changes.
+     *
+     * @param listener is the listener to be removed
+     */
+    @Override
+    public void unsubscribeFromTurns(TurnListener listener) {
+        turns.remove(listener);
+    }
 }
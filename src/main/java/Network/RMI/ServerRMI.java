@@ -1,14 +1,16 @@
 package Network.RMI;
 
 import Controller.GameController;
-import Controller.MatchController;
+import Controller.TurnResult;
 import Listeners.EndPoint;
 import Listeners.Message;
 import Model.Cards.Card;
 import Model.Cards.Colors;
-import Model.Player;
+import Model.Move;
 import Model.Table;
 import Network.ClientData;
+import Network.ClientNotifier;
+import Network.Snapshot;
 import Network.VirtualServer;
 import javafx.util.Pair;
 
@@ -65,6 +67,7 @@ public class ServerRMI implements VirtualServer {
         this.serverSocket = serverSocket;
         this.controller = controller;
         this.clients = clients;
+        controller.addObserver(new ClientNotifier(clients));
         scheduler = Executors.newScheduledThreadPool(1);
         scheduledPing();
     }
@@ -104,13 +107,16 @@ public class ServerRMI implements VirtualServer {
 
     /**
      * Gets the table of a specified match.
+     * The table is copied inside the mailbox of the match, so the copy sent to the client is never changed
+     * by the commands run while it is being serialized.
      *
      * @param idMatch is the ID related to the match
-     * @return the table related to the specified match
+     * @return a copy of the table related to the specified match
      */
     @Override
     public Table getTable(int idMatch) {
-        return controller.getMatch(idMatch).getTable();
+        Snapshot table = controller.call(idMatch, match -> new Snapshot(match.getTable()));
+        return table.read();
     }
 
 
@@ -138,9 +144,7 @@ public class ServerRMI implements VirtualServer {
     @Override
     public void connect(ClientData client) {
         System.err.println("\nNew client connected: " + client.getNickname());
-        synchronized (this.clients) {
-            this.clients.add(client);
-        }
+        this.clients.add(client);
     }
 
 
@@ -155,9 +159,7 @@ public class ServerRMI implements VirtualServer {
         boolean alreadyInUse = false;
         if (!clients.isEmpty()) {
             for (ClientData c : clients) {
-                synchronized (this.clients) {
-                    if (c.getNickname().equals(nameToCheck))    alreadyInUse = true;
-                }
+                if (c.getNickname().equals(nameToCheck))    alreadyInUse = true;
             }
         }
         return alreadyInUse;
@@ -174,8 +176,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public boolean checkCommand(int idMatch, String nickname, String command) {
-        boolean isLegal = controller.getMatch(idMatch).getPhase().processCommand(command);
-        return isLegal;
+        return controller.call(idMatch, match -> match.getPhase().processCommand(command));
     }
 
 
@@ -188,9 +189,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public boolean checkPlayer(int idMatch, String nickname) {
-        Player player = controller.getMatch(idMatch).getPlayerByName(nickname);
-        if (player == null) return false;
-        return true;
+        return controller.call(idMatch, match -> match.getPlayerByName(nickname) != null);
     }
 
 
@@ -206,11 +205,9 @@ public class ServerRMI implements VirtualServer {
     public boolean checkRecipient(int idMatch, String sender, String recipient) {
         boolean isValid = false;
         for (ClientData c : clients) {
-            synchronized (this.clients) {
-                if ((c.getIdMatch() == idMatch && c.getNickname().equals(recipient) && !c.getNickname().equals(sender))
-                        || recipient.equalsIgnoreCase("all") || recipient.equalsIgnoreCase("everybody"))
-                    isValid = true;
-            }
+            if ((c.getIdMatch() == idMatch && c.getNickname().equals(recipient) && !c.getNickname().equals(sender))
+                    || recipient.equalsIgnoreCase("all") || recipient.equalsIgnoreCase("everybody"))
+                isValid = true;
         }
         return isValid;
     }
@@ -229,12 +226,12 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void place(int idMatch, String nickname, int cardSelected, String faceSelected, int x, int y) {
-        controller.getMatch(idMatch).place(nickname, cardSelected, faceSelected, x, y);
+        controller.run(idMatch, match -> match.place(nickname, cardSelected, faceSelected, x, y));
     }
 
     @Override
     public String getPhaseGui(int idMatch){
-        return controller.getMatch(idMatch).getPhase().communicatePhaseToGui();
+        return controller.call(idMatch, match -> match.getPhase().communicatePhaseToGui());
     }
 
     /**
@@ -246,7 +243,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void drawResource(int idMatch, String nickname) {
-        controller.getMatch(idMatch).drawResource(nickname);
+        controller.run(idMatch, match -> match.drawResource(nickname));
     }
 
 
@@ -259,7 +256,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void drawGold(int idMatch, String nickname) {
-        controller.getMatch(idMatch).drawGold(nickname);
+        controller.run(idMatch, match -> match.drawGold(nickname));
     }
 
 
@@ -273,7 +270,41 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void drawTable(int idMatch, String nickname, int cardSelected) {
-        controller.getMatch(idMatch).drawTable(nickname, cardSelected);
+        controller.run(idMatch, match -> match.drawTable(nickname, cardSelected));
+    }
+
+
+    /**
+     * Calls the respective tryPlace method present on the controller.
+     * Checks the turn, the phase, the coordinates and the requirements and places the card in a single request.
+     *
+     * @param idMatch is the ID related to the match the player is currently playing
+     * @param nickname is the name of the player who launched the command
+     * @param cardSelected references to the index of the card which has been selected
+     * @param faceSelected indicates of the card needs to be placed by the front or by the back
+     * @param x is the first coordinate of the position where the player wants to place the card
+     * @param y is the second coordinate of the position where the player wants to place the card
+     * @return the new hand, the change of resources and the points if the card has been placed, the rejection otherwise
+     */
+    @Override
+    public TurnResult tryPlace(int idMatch, String nickname, int cardSelected, String faceSelected, int x, int y) {
+        return controller.call(idMatch, match -> match.tryPlace(nickname, cardSelected, faceSelected, x, y));
+    }
+
+
+    /**
+     * Calls the respective tryDraw method present on the controller.
+     * Checks the turn, the phase and the chosen deck or card on the table and draws the card in a single request.
+     *
+     * @param idMatch is the ID of the match the player is currently playing
+     * @param nickname is the name of the player who wants to play the action
+     * @param source is "resource", "gold" or "table"
+     * @param cardSelected references to the index of the card which has been selected from the table, ignored for the decks
+     * @return the new hand and the points if the card has been drawn, the rejection otherwise
+     */
+    @Override
+    public TurnResult tryDraw(int idMatch, String nickname, String source, int cardSelected) {
+        return controller.call(idMatch, match -> match.tryDraw(nickname, source, cardSelected));
     }
 
 
@@ -289,7 +320,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public Card[] getOrderedCardsList(int idMatch, String nickname) {
-        return controller.getMatch(idMatch).getPlayerByName(nickname).getPlayArea().getOrderedCardList();
+        return controller.call(idMatch, match -> match.getPlayerByName(nickname).getPlayArea().getOrderedCardList());
     }
 
 
@@ -302,7 +333,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public int getPlayerPoints(int idMatch, String nickname) {
-        return controller.getMatch(idMatch).getPlayerByName(nickname).getPoints();
+        return controller.call(idMatch, match -> match.getPlayerByName(nickname).getPoints());
     }
 
 
@@ -319,7 +350,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public int whereCanIDraw(int idMatch){
-        return controller.getMatch(idMatch).whereCanIDraw();
+        return controller.call(idMatch, match -> match.whereCanIDraw());
     }
 
 
@@ -332,7 +363,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public List<Integer> availablePositionsForDrawing(int idMatch) {
-        return controller.getMatch(idMatch).availablePositionsForDrawing();
+        return controller.call(idMatch, match -> match.availablePositionsForDrawing());
     }
 
 
@@ -348,18 +379,14 @@ public class ServerRMI implements VirtualServer {
     public void chat(int idMatch, String sender, String recipient, String chatMessage) {
         if (recipient.equalsIgnoreCase("all") || recipient.equalsIgnoreCase("everybody")) {
             for (ClientData c : clients) {
-                synchronized (this.clients) {
-                    try {if (c.getIdMatch() == idMatch && !c.getNickname().equals(sender)) c.getClient().onChatMessage(sender, chatMessage);}
-                    catch (RemoteException e) {System.err.println("Not able to send message to client, network error");}
-                }
+                try {if (c.getIdMatch() == idMatch && !c.getNickname().equals(sender)) c.getClient().onChatMessage(sender, chatMessage);}
+                catch (RemoteException e) {System.err.println("Not able to send message to client, network error");}
             }
         }
         else {
             for (ClientData c : clients) {
-                synchronized (this.clients) {
-                    try {if (c.getIdMatch() == idMatch && c.getNickname().equals(recipient)) c.getClient().onPrivateChatMessage(sender, chatMessage);}
-                    catch (RemoteException e) {System.err.println("Not able to send message to client, network error");}
-                }
+                try {if (c.getIdMatch() == idMatch && c.getNickname().equals(recipient)) c.getClient().onPrivateChatMessage(sender, chatMessage);}
+                catch (RemoteException e) {System.err.println("Not able to send message to client, network error");}
             }
         }
     }
@@ -377,18 +404,6 @@ public class ServerRMI implements VirtualServer {
     }
 
 
-    /**
-     * Calls the respective method present in MatchController.
-     * Initializes the number of players in the game.
-     *
-     * @param n is the number of players declared by the client
-     */
-    @Override
-    public void setNumbOfPlayers(int n) {
-        controller.setPlayersQueue(n);
-    }
-
-
     /**
      * Calls the respective getter method present in MatchController.
      *
@@ -397,22 +412,23 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public int getNumOfPlayers(int idMatch) {
-        return controller.getMatch(idMatch).getNumOfPlayers();
+        return controller.call(idMatch, match -> match.getNumOfPlayers());
     }
 
 
     /**
      * Calls the respective method present in GameController.
-     * Adds a new match to the game.
+     * Adds a new match to the game, unless another match is waiting for players or being created.
      *
      * @param name is the name of the player who created the new match
-     * @return the ID of the newly created match
+     * @param numOfPlayers is the number of players declared by the client
+     * @return the ID of the newly created match, or -1 if the client has to join the open match instead
      */
     @Override
-    public int addMatch(String name) {
+    public int openMatch(String name, int numOfPlayers) {
         EndPoint playerListener = new EndPoint();
-        int idMatch = controller.addMatch(name, playerListener);
-        playerListener.setServer(this);
+        int idMatch = controller.openMatch(name, numOfPlayers, playerListener);
+        if (idMatch >= 0) playerListener.setServer(this);
         return idMatch;
     }
 
@@ -443,27 +459,32 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public List<String> getPlayersNames(int idMatch) throws RemoteException {
-        return controller.getMatch(idMatch).getPlayersNames();
+        return controller.call(idMatch, match -> match.getPlayersNames());
     }
 
 
     /**
      * Sends the update contained in a message to the respective client, by calling their method showUpdate.
+     * An update made by a command of a match is sent once the command has ended, outside the mailbox of the match,
+     * since the client may ask the server for more details while showing it. The message is copied at once,
+     * inside the mailbox, so the copy sent does not hold the live play area, table or hand of the match.
+     * The clients which do not answer are left to the ping, which aborts their match.
      *
      * @param message is the message containing the necessary information to display
      */
     @Override
     public void sendUpdate(Message message) {
-        for (ClientData c : clients) {
-            synchronized (this.clients) {
-                try {
-                    if (message.getNickname().equals(c.getNickname()))
-                        c.getClient().showUpdate(message);
-                } catch (RemoteException e) {
-                    throw new RuntimeException(e);
+        Snapshot snapshot = new Snapshot(message);
+        Runnable send = () -> {
+            Message copy = snapshot.read();
+            for (ClientData c : clients) {
+                if (copy.getNickname().equals(c.getNickname())) {
+                    try { c.getClient().showUpdate(copy); }
+                    catch (RemoteException e) { System.err.println("\nError notifying client " + c.getNickname() + ": " + e.getMessage()); }
                 }
             }
-        }
+        };
+        if (!controller.afterCommand(send)) send.run();
     }
 
 
@@ -475,11 +496,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public boolean allConnected(int idMatch){
-        boolean allConnected = false;
-        if (controller.getMatch(idMatch).getNumOfPlayers() == controller.getMatch(idMatch).getTable().getPlayers().size()){
-            allConnected = true;
-        }
-        return allConnected;
+        return controller.call(idMatch, match -> match.getNumOfPlayers() == match.getTable().getPlayers().size());
     }
 
 
@@ -491,11 +508,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public boolean allStarterCardsPlaced(int idMatch){
-        boolean allPlaced = false;
-        if(controller.getMatch(idMatch).getNumOfStarterCardsPlaced() == controller.getMatch(idMatch).getTable().getPlayers().size()){
-            allPlaced = true;
-        }
-        return allPlaced;
+        return controller.call(idMatch, match -> match.getNumOfStarterCardsPlaced() == match.getTable().getPlayers().size());
     }
 
 
@@ -506,8 +519,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void increaseNumOfStarterCardsPlaced(int idMatch){
-        MatchController currentMatch = controller.getMatch(idMatch);
-        currentMatch.setNumOfStarterCardsPlaced(currentMatch.getNumOfStarterCardsPlaced() + 1);
+        controller.run(idMatch, match -> match.setNumOfStarterCardsPlaced(match.getNumOfStarterCardsPlaced() + 1));
     }
 
 
@@ -519,7 +531,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void shuffleDecksAndGiveStarterCards(int idMatch){
-        controller.getMatch(idMatch).shuffleDecksAndGiveStarterCards();
+        controller.run(idMatch, match -> match.shuffleDecksAndGiveStarterCards());
     }
 
 
@@ -530,7 +542,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void drawCardsAndPlaceCommonObjectives(int idMatch){
-        controller.getMatch(idMatch).drawCardsAndPlaceCommonObjectives();
+        controller.run(idMatch, match -> match.drawCardsAndPlaceCommonObjectives());
     }
 
 
@@ -543,7 +555,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void viewHand(int idMatch, String nickname) {
-        controller.getMatch(idMatch).viewHand(nickname);
+        controller.run(idMatch, match -> match.viewHand(nickname));
     }
 
 
@@ -556,7 +568,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void viewStartingTable(int idMatch, String nickname) {
-        controller.getMatch(idMatch).viewStartingTable(nickname);
+        controller.run(idMatch, match -> match.viewStartingTable(nickname));
     }
 
 
@@ -569,7 +581,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void viewTable(int idMatch, String nickname){
-        controller.getMatch(idMatch).viewTable(nickname);
+        controller.run(idMatch, match -> match.viewTable(nickname));
     }
 
 
@@ -581,7 +593,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void giveObjectives(int idMatch){
-        controller.getMatch(idMatch).giveObjectives();
+        controller.run(idMatch, match -> match.giveObjectives());
     }
 
 
@@ -594,7 +606,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void viewChoiceObjectives(int idMatch, String nickname){
-        controller.getMatch(idMatch).viewChoiceObjectives(nickname);
+        controller.run(idMatch, match -> match.viewChoiceObjectives(nickname));
     }
 
 
@@ -608,7 +620,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void putChoiceObjectives(int idMatch, String nickname, int obSelected) {
-        controller.getMatch(idMatch).putChoiceObjectives(nickname, obSelected);
+        controller.run(idMatch, match -> match.putChoiceObjectives(nickname, obSelected));
     }
 
 
@@ -620,7 +632,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public Colors[] showAvailableColors(int idMatch){
-        return controller.getMatch(idMatch).getAvailableColors();
+        return controller.call(idMatch, match -> match.getAvailableColors());
     }
 
 
@@ -632,7 +644,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void itIsMyTurn(int idMatch, String nickname){
-        controller.getMatch(idMatch).itIsMyTurn(nickname);
+        controller.run(idMatch, match -> match.itIsMyTurn(nickname));
     }
 
 
@@ -646,7 +658,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public boolean canIChooseTheColor(int idMatch, String nickname) {
-        return controller.getMatch(idMatch).canIChooseTheColor(nickname);
+        return controller.call(idMatch, match -> match.canIChooseTheColor(nickname));
     }
 
 
@@ -660,7 +672,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public boolean checkColor(int idMatch, Colors colorChosen) {
-        return controller.getMatch(idMatch).checkColor(colorChosen);
+        return controller.call(idMatch, match -> match.checkColor(colorChosen));
     }
 
 
@@ -674,7 +686,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void removeColorAndPassTurn(int idMatch, String nickname, Colors colorChosen) {
-        controller.getMatch(idMatch).removeColorAndPassTurn(nickname, colorChosen);
+        controller.run(idMatch, match -> match.removeColorAndPassTurn(nickname, colorChosen));
     }
 
 
@@ -685,7 +697,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public boolean isBlackPawnChosen(int idMatch){
-        return controller.getMatch(idMatch).isBlackPawnChosen();
+        return controller.call(idMatch, match -> match.isBlackPawnChosen());
     }
 
 
@@ -697,7 +709,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void setBlackPawnChosen(int idMatch, boolean value) {
-        controller.getMatch(idMatch).setBlackPawnChosen(value);
+        controller.run(idMatch, match -> match.setBlackPawnChosen(value));
     }
 
 
@@ -709,7 +721,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void chooseTheBlackPawn(int idMatch){
-        controller.getMatch(idMatch).chooseTheBlackPawn();
+        controller.run(idMatch, match -> match.chooseTheBlackPawn());
     }
 
 
@@ -721,7 +733,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public String getNameOfThePlayerWithTheBlackPawn(int idMatch) {
-        return controller.getMatch(idMatch).getNameOfThePlayerWithTheBlackPawn();
+        return controller.call(idMatch, match -> match.getNameOfThePlayerWithTheBlackPawn());
     }
 
 
@@ -734,7 +746,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void setYourTurn(int idMatch, String nickname, boolean value) {
-        controller.getMatch(idMatch).setYourTurn(nickname, value);
+        controller.run(idMatch, match -> match.setYourTurn(nickname, value));
     }
 
 
@@ -747,7 +759,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public boolean checkTurn(int idMatch, String nickname) {
-        return controller.getMatch(idMatch).isYourTurn(nickname);
+        return controller.call(idMatch, match -> match.isYourTurn(nickname));
     }
 
 
@@ -761,7 +773,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void viewPlayArea(int idMatch, String  nickname, String areaOwner) {
-        controller.getMatch(idMatch).viewPlayArea(nickname, areaOwner);
+        controller.run(idMatch, match -> match.viewPlayArea(nickname, areaOwner));
     }
 
 
@@ -774,7 +786,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void viewSecretObjective(int idMatch, String nickname) {
-        controller.getMatch(idMatch).viewSecretObjective(nickname);
+        controller.run(idMatch, match -> match.viewSecretObjective(nickname));
     }
 
 
@@ -790,7 +802,35 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public boolean areCoordinatesValid(int idMatch, String  nickname, int x, int y) {
-        return controller.getMatch(idMatch).areCoordinatesValid(nickname, x, y);
+        return controller.call(idMatch, match -> match.areCoordinatesValid(nickname, x, y));
+    }
+
+
+    /**
+     * Calls the respective method present in MatchController.
+     * Shows all the coordinates where the player can place a card.
+     *
+     * @param idMatch is the ID relative to the specified match
+     * @param nickname is the nickname of the player who is requesting the positions
+     * @return a list with the row and the column of every legal position, one position after the other
+     */
+    @Override
+    public List<Integer> legalPositions(int idMatch, String  nickname) {
+        return controller.call(idMatch, match -> match.legalPositions(nickname));
+    }
+
+
+    /**
+     * Calls the respective method present in MatchController.
+     * Evaluates every placement of the cards in the hand of the player, without changing the play area.
+     *
+     * @param idMatch is the ID relative to the specified match
+     * @param nickname is the nickname of the player who is requesting the evaluation
+     * @return the moves encoded by 'Move.encode', 'Move.ENCODED_SIZE' integers for every move
+     */
+    @Override
+    public List<Integer> evaluateMoves(int idMatch, String  nickname) {
+        return Move.encode(controller.call(idMatch, match -> match.evaluateMoves(nickname)));
     }
 
 
@@ -805,7 +845,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public boolean canIPlaceTheGoldCard(int idMatch, String nickname, int cardSelected) {
-        return controller.getMatch(idMatch).canIPlaceTheGoldCard(nickname, cardSelected);
+        return controller.call(idMatch, match -> match.canIPlaceTheGoldCard(nickname, cardSelected));
     }
 
 
@@ -822,7 +862,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void viewDifferenceOfResources(int idMatch, String nickname, int cardSelected, String faceSelected, int pos1, int pos2) {
-        controller.getMatch(idMatch).viewDifferenceOfResources(nickname, cardSelected, faceSelected, pos1, pos2);
+        controller.run(idMatch, match -> match.viewDifferenceOfResources(nickname, cardSelected, faceSelected, pos1, pos2));
     }
 
 
@@ -833,8 +873,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void increaseNumOfObjectiveCardChosen(int idMatch) {
-        MatchController currentMatch = controller.getMatch(idMatch);
-        currentMatch.setNumOfObjectiveCardChosen(currentMatch.getNumOfObjectiveCardChosen()+1);
+        controller.run(idMatch, match -> match.setNumOfObjectiveCardChosen(match.getNumOfObjectiveCardChosen() + 1));
     }
 
 
@@ -846,11 +885,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public boolean allObjectiveCardsChosen(int idMatch) {
-        boolean allChosen = false;
-        if (controller.getMatch(idMatch).getNumOfObjectiveCardChosen() == controller.getMatch(idMatch).getNumOfPlayers()) {
-            allChosen = true;
-        }
-        return allChosen;
+        return controller.call(idMatch, match -> match.getNumOfObjectiveCardChosen() == match.getNumOfPlayers());
     }
 
 
@@ -866,7 +901,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public int checkSecondToLastTurn(int idMatch, String nickname) {
-        return controller.getMatch(idMatch).checkSecondToLastTurn(nickname);
+        return controller.call(idMatch, match -> match.checkSecondToLastTurn(nickname));
     }
 
 
@@ -878,7 +913,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void setLastRound(int idMatch, boolean value){
-        controller.getMatch(idMatch).setLastRound(value);
+        controller.run(idMatch, match -> match.setLastRound(value));
     }
 
 
@@ -890,7 +925,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public boolean isLastRound(int idMatch){
-        return controller.getMatch(idMatch).isLastRound();
+        return controller.call(idMatch, match -> match.isLastRound());
     }
 
 
@@ -902,7 +937,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public boolean isSecondToLastRound(int idMatch){
-        return controller.getMatch(idMatch).isSecondToLastRound();
+        return controller.call(idMatch, match -> match.isSecondToLastRound());
     }
 
 
@@ -914,7 +949,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void setSecondToLastRound(int idMatch, boolean b){
-        controller.getMatch(idMatch).setSecondToLastRound(b);
+        controller.run(idMatch, match -> match.setSecondToLastRound(b));
     }
 
 
@@ -928,19 +963,19 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public boolean isNextPlayerTheBlackPawn(int idMatch, String nickname) {
-        return controller.getMatch(idMatch).isNextPlayerTheBlackPawn(nickname);
+        return controller.call(idMatch, match -> match.isNextPlayerTheBlackPawn(nickname));
     }
 
 
     /**
      * Increase the number of players who have finished to play the match.
+     * When the last player finishes, the server scores the whole match and sends the results to every player.
      *
      * @param idMatch is the ID related to the current match
      */
     @Override
     public void increaseNumOfPlayersThatHaveFinishedToPlay(int idMatch) {
-        MatchController currentMatch = controller.getMatch(idMatch);
-        currentMatch.setNumOfPlayersThatHaveFinishedToPlay(currentMatch.getNumOfPlayersThatHaveFinishedToPlay() +1);
+        controller.run(idMatch, match -> match.increaseNumOfPlayersThatHaveFinishedToPlay());
     }
 
 
@@ -953,7 +988,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public int getNumOfPlayersThatHaveFinishedToPlay(int idMatch) {
-        return controller.getMatch(idMatch).getNumOfPlayersThatHaveFinishedToPlay();
+        return controller.call(idMatch, match -> match.getNumOfPlayersThatHaveFinishedToPlay());
     }
 
 
@@ -966,7 +1001,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void calculateObjectives(int idMatch, String nickname) {
-        controller.getMatch(idMatch).calculateObjectives(nickname);
+        controller.run(idMatch, match -> match.calculateObjectives(nickname));
     }
 
 
@@ -977,8 +1012,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void increaseNumOfObjectiveCardCalculated(int idMatch) {
-        MatchController currentMatch = controller.getMatch(idMatch);
-        currentMatch.setNumOfObjectiveCardCalculated(currentMatch.getNumOfObjectiveCardCalculated() +1);
+        controller.run(idMatch, match -> match.setNumOfObjectiveCardCalculated(match.getNumOfObjectiveCardCalculated() + 1));
     }
 
 
@@ -990,10 +1024,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public boolean allObjectiveCardsCalculated(int idMatch) {
-        boolean allCalculated = false;
-        MatchController currentMatch = controller.getMatch(idMatch);
-        if (currentMatch.getNumOfObjectiveCardCalculated() == currentMatch.getNumOfPlayers()) allCalculated = true;
-        return allCalculated;
+        return controller.call(idMatch, match -> match.getNumOfObjectiveCardCalculated() == match.getNumOfPlayers());
     }
 
 
@@ -1005,7 +1036,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void calculateWinner(int idMatch){
-        controller.getMatch(idMatch).calculateWinner();
+        controller.run(idMatch, match -> match.calculateWinner());
     }
 
 
@@ -1018,7 +1049,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void showEndGameMessage(int idMatch, String nickname) {
-        controller.getMatch(idMatch).showEndGameMessage(nickname);
+        controller.run(idMatch, match -> match.showEndGameMessage(nickname));
     }
 
 
@@ -1032,7 +1063,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public boolean endGameMessageGui(int idMatch, String nickname) {
-        return controller.getMatch(idMatch).endGameMessageGui(nickname);
+        return controller.call(idMatch, match -> match.endGameMessageGui(nickname));
     }
 
 
@@ -1045,7 +1076,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void cheat1(int idMatch, String nickname) {
-        controller.getMatch(idMatch).cheat1(nickname);
+        controller.run(idMatch, match -> match.cheat1(nickname));
     }
 
 
@@ -1058,7 +1089,7 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void cheat2(int idMatch, String nickname){
-        controller.getMatch(idMatch).cheat2(nickname);
+        controller.run(idMatch, match -> match.cheat2(nickname));
     }
 
 
@@ -1070,7 +1101,21 @@ public class ServerRMI implements VirtualServer {
      */
     @Override
     public void cheat3(int idMatch) {
-        controller.getMatch(idMatch).cheat3();
+        controller.run(idMatch, match -> match.cheat3());
+    }
+
+
+    /**
+     * Subscribes a client to the announcements of the changes of the turn of its match.
+     *
+     * @param idMatch is the ID of the match of the client
+     * @param nickname is the nickname of the client
+     */
+    @Override
+    public void subscribeToTurns(int idMatch, String nickname) {
+        for (ClientData c : clients) {
+            if (c.getIdMatch() == idMatch && c.getNickname().equals(nickname)) c.setTurnsSubscribed(true);
+        }
     }
 
 
@@ -1083,17 +1128,31 @@ public class ServerRMI implements VirtualServer {
     public void removeClient(String nickname) {
         System.err.println("\nClient " + nickname + " disconnected");
         for (ClientData c : clients) {
-            synchronized (this.clients) {
-                if (c.getNickname().equals(nickname)) clients.remove(c);
+            if (c.getNickname().equals(nickname)) {
+                clients.remove(c);
+                evictIfEnded(c.getIdMatch());
             }
         }
     }
 
 
+    /**
+     * Moves a match to the archive of the controller once it has ended and its last client has left.
+     *
+     * @param idMatch is the ID of the match
+     */
+    private void evictIfEnded(int idMatch) {
+        for (ClientData c : clients) {
+            if (c.getIdMatch() == idMatch) return;
+        }
+        if (controller.evictIfEnded(idMatch)) System.err.println("\nMatch " + idMatch + " ended and archived");
+    }
+
+
     /**
      * Sends a ping request to the client every 30 seconds.
      * If a pong answer from the client is not received because of a thrown RemoteException, the client
-     * is removed from the clients list and forced to quit.
+     * is removed from the clients list and forced to quit, and its match is aborted and moved to the archive.
      */
     public void scheduledPing() {
         scheduler.scheduleAtFixedRate(() -> {
@@ -1104,6 +1163,7 @@ public class ServerRMI implements VirtualServer {
                     System.err.println("\nClient " + c.getNickname() + " not responding, match " + c.getIdMatch() + " aborted");
                     int idMatch = c.getIdMatch();
                     clients.remove(c);
+                    controller.evict(idMatch, true);
                     for (ClientData c1 : clients) {
                         if (c1.getIdMatch() == idMatch) {
                             String details = "\n\nA client in your match left, match aborted";
@@ -0,0 +1,89 @@
+package Network;
+
+import Controller.Barrier;
+
+import java.rmi.RemoteException;
+import java.util.EnumSet;
+
+/**
+ * The barriers of the match which a client knows have been reached, either because the server has announced them
+ * or because the client has asked the server.
+ * A client waiting for a barrier sleeps until the server announces it, instead of asking the server again and again.
+ */
+public class ReachedBarriers {
+
+    /**
+     * The time after which a waiting client asks the server again, in case an announcement has been missed.
+     */
+    private static final long RECHECK = 5000;
+
+    /**
+     * The barriers known to be reached.
+     */
+    private final EnumSet<Barrier> reached = EnumSet.noneOf(Barrier.class);
+
+
+    /**
+     * Records that a barrier has been reached and wakes up the threads waiting for it.
+     *
+     * @param barrier is the barrier reached
+     */
+    public synchronized void reach(Barrier barrier) {
+        reached.add(barrier);
+        notifyAll();
+    }
+
+
+    /**
+     * Checks if a barrier is known to be reached, without asking the server.
+     *
+     * @param barrier is the barrier to be checked
+     * @return true if the barrier has been reached
+     */
+    public synchronized boolean isReached(Barrier barrier) {
+        return reached.contains(barrier);
+    }
+
+
+    /**
+     * Waits until a barrier is reached.
+     * The server is asked once at the beginning, since the barrier may have been reached before the client
+     * started listening, and then again only if no announcement arrives for a long time.
+     *
+     * @param barrier is the barrier to wait for
+     * @param check asks the server if the barrier has been reached
+     * @throws RemoteException in case of network errors
+     */
+    public void await(Barrier barrier, Check check) throws RemoteException {
+        while (!isReached(barrier)) {
+            if (check.isReached()) {
+                reach(barrier);
+                return;
+            }
+            synchronized (this) {
+                try {
+                    if (!reached.contains(barrier)) wait(RECHECK);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+
+    /**
+     * A request to the server which checks if a barrier has been reached.
+     */
+    @FunctionalInterface
+    public interface Check {
+
+        /**
+         * Asks the server if the barrier has been reached.
+         *
+         * @return true if the barrier has been reached
+         * @throws RemoteException in case of network errors
+         */
+        boolean isReached() throws RemoteException;
+    }
+}
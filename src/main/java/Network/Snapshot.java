@@ -0,0 +1,53 @@
+package Network;
+
+import java.io.*;
+
+/**
+ * The serialized form of an object of a match, taken inside the mailbox of the match.
+ * The bytes never change, so the snapshot can be sent to a client or read back outside the mailbox,
+ * while the live objects it was taken from keep being changed by the commands of the match.
+ */
+public final class Snapshot {
+
+    /**
+     * The serialized object.
+     */
+    private final byte[] bytes;
+
+
+    /**
+     * Constructor for the Snapshot class.
+     * It has to be called inside the mailbox of the match the object belongs to.
+     *
+     * @param object is the object to be serialized
+     * @throws UncheckedIOException if the object cannot be serialized
+     */
+    public Snapshot(Serializable object) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream objects = new ObjectOutputStream(out)) {
+            objects.writeObject(object);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        bytes = out.toByteArray();
+    }
+
+
+    /**
+     * Reads a new copy of the object, which is shared with nobody.
+     *
+     * @param <T> is the type of the object
+     * @return a copy of the object as it was when the snapshot was taken
+     * @throws UncheckedIOException if the object cannot be deserialized
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T read() {
+        try (ObjectInputStream objects = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (T) objects.readObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package Network.TCP;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The reader of the ClientTCP when the connection uses the binary protocol.
+ * It decodes every frame sent by a BinaryClientProxy into the lines the ClientProxy would have written
+ * for the same message, so the ClientTCP reads both protocols in the same way.
+ */
+public class BinaryAnswerReader extends Reader {
+
+    /**
+     * The types of message, indexed by ordinal.
+     */
+    private static final MessageType[] TYPES = MessageType.values();
+
+    /**
+     * The input of the connection.
+     */
+    private final InputStream in;
+
+    /**
+     * The lines of the last frame which have not been read yet.
+     */
+    private final StringBuilder lines = new StringBuilder();
+
+    /**
+     * The index of the first character of the lines which has not been read yet.
+     */
+    private int next;
+
+
+    /**
+     * Constructor for the BinaryAnswerReader class.
+     *
+     * @param in is the input of the connection, after the handshake
+     */
+    public BinaryAnswerReader(InputStream in) {
+        this.in = in;
+    }
+
+
+    /**
+     * Reads the lines of the messages, decoding a new frame when all the lines of the last one have been read.
+     *
+     * @param chars is where to put the characters
+     * @param offset is the index of the first character to put
+     * @param length is the maximum number of characters to put
+     * @return the number of characters read, -1 if the connection has been closed
+     * @throws IOException if the connection fails or a frame is malformed
+     */
+    @Override
+    public int read(char[] chars, int offset, int length) throws IOException {
+        if (length == 0) return 0;
+        if (next == lines.length()) {
+            lines.setLength(0);
+            next = 0;
+            ByteBuffer frame = BinaryCodec.readFrame(in);
+            if (frame == null) return -1;
+            try {
+                decode(frame);
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | BufferUnderflowException e) {
+                throw new IOException("Malformed frame", e);
+            }
+        }
+        int count = Math.min(length, lines.length() - next);
+        lines.getChars(next, next + count, chars, offset);
+        next += count;
+        return count;
+    }
+
+
+    /**
+     * Decodes a frame into the header and the value lines of its message.
+     *
+     * @param frame is the body of the frame
+     */
+    private void decode(ByteBuffer frame) {
+        MessageType type = TYPES[frame.get()];
+        int requestID = BinaryCodec.readVarint(frame);
+        line(requestID == 0 ? type.getValue() : PendingRequests.tag(requestID, type.getValue()));
+        switch (type) {
+            case BOOLEAN -> line(Boolean.toString(frame.get() != 0));
+            case INTEGER -> line(Integer.toString(BinaryCodec.readSigned(frame)));
+            case POSITIONS -> {
+                int size = BinaryCodec.readVarint(frame) - 1;
+                List<Integer> positions = size < 0 ? null : new ArrayList<>(size);
+                for (int i = 0; i < size; i++) positions.add(BinaryCodec.readSigned(frame));
+                line(String.valueOf(positions));
+            }
+            case NAMES -> {
+                int size = BinaryCodec.readVarint(frame) - 1;
+                List<String> names = size < 0 ? null : new ArrayList<>(size);
+                for (int i = 0; i < size; i++) names.add(BinaryCodec.readText(frame));
+                line(String.valueOf(names));
+            }
+            case CHAT, PRIVATE_CHAT, TURN_CHANGED -> {
+                line(BinaryCodec.readText(frame));
+                line(BinaryCodec.readText(frame));
+            }
+            case TURN, PING -> {}
+            default -> line(BinaryCodec.readText(frame));
+        }
+    }
+
+
+    /**
+     * Adds a line of the message, as the PrintWriter of the ClientProxy would write it.
+     *
+     * @param line is the line, possibly null
+     */
+    private void line(String line) {
+        lines.append(line).append('\n');
+    }
+
+
+    /**
+     * Closes the input of the connection.
+     *
+     * @throws IOException if the input cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,266 @@
+package Network.TCP;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * A ClientProxy which writes the messages for the client as frames of the binary protocol.
+ * Booleans, integers, lists and strings are written with their own encoding, while the objects of the model
+ * are written as JSON strings, as in the text protocol.
+ */
+public class BinaryClientProxy extends ClientProxy {
+
+    /**
+     * The output of the connection.
+     */
+    private final OutputStream out;
+
+    /**
+     * Mapper which serializes the objects of the model as strings for the client.
+     */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+
+    /**
+     * Constructor for the BinaryClientProxy class.
+     *
+     * @param out is the output of the connection, after the handshake
+     */
+    public BinaryClientProxy(OutputStream out) {
+        this.out = out;
+    }
+
+
+    /**
+     * Starts the body of the frame of a message, with the type and the correlation ID of the message.
+     *
+     * @param message is the message to be written
+     * @return the body of the frame, to which the payload is added
+     */
+    private ByteArrayOutputStream header(MessageTCP message) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(32);
+        body.write(message.getHeader().ordinal());
+        BinaryCodec.writeVarint(body, message.getRequestID());
+        return body;
+    }
+
+
+    /**
+     * Writes the frame of a message.
+     * As with the PrintWriter of the text protocol, a failed write is not reported: a client which cannot be reached
+     * is found by the pings.
+     *
+     * @param body is the body of the frame
+     */
+    private void send(ByteArrayOutputStream body) {
+        try {
+            BinaryCodec.writeFrame(out, body);
+        } catch (IOException ignored) {
+            // The client has been disconnected
+        }
+    }
+
+
+    /**
+     * Writes a message whose payload is a single string.
+     *
+     * @param message is the message to be written
+     * @param text is the payload
+     */
+    private void sendText(MessageTCP message, String text) {
+        ByteArrayOutputStream body = header(message);
+        BinaryCodec.writeText(body, text);
+        send(body);
+    }
+
+
+    /**
+     * Writes a message whose payload is an object serialized as JSON.
+     *
+     * @param message is the message to be written
+     * @param value is the payload
+     */
+    private void sendJson(MessageTCP message, Object value) {
+        try {
+            sendText(message, objectMapper.writeValueAsString(value));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+
+    /**
+     * Notifies the client about an update from the model.
+     *
+     * @param message containing the update information from the model
+     */
+    @Override
+    public void notifyUpdate(MessageTCP message) {
+        sendJson(message, message.getUpdate());
+    }
+
+
+    /**
+     * Notifies the client about the answer (in boolean form) to a request.
+     *
+     * @param message containing the boolean
+     */
+    @Override
+    public void notifyOutcome(MessageTCP message) {
+        ByteArrayOutputStream body = header(message);
+        body.write(message.isOutcome() ? 1 : 0);
+        send(body);
+    }
+
+
+    /**
+     * Notifies the client about the answer (in integer form) to a request.
+     *
+     * @param message containing the integer
+     */
+    @Override
+    public void notifyValue(MessageTCP message) {
+        ByteArrayOutputStream body = header(message);
+        BinaryCodec.writeSigned(body, message.getValue());
+        send(body);
+    }
+
+
+    /**
+     * Notifies the client with a list of integers, written as their number plus one followed by the integers;
+     * a null list is written as 0.
+     *
+     * @param message containing the list showing the positions on the table where there are cards
+     */
+    @Override
+    public void notifyPositionList(MessageTCP message) {
+        ByteArrayOutputStream body = header(message);
+        List<Integer> positions = message.getPositions();
+        BinaryCodec.writeVarint(body, positions == null ? 0 : positions.size() + 1);
+        if (positions != null) for (int position : positions) BinaryCodec.writeSigned(body, position);
+        send(body);
+    }
+
+
+    /**
+     * Notifies the client with a list of strings, written as their number plus one followed by the strings;
+     * a null list is written as 0.
+     *
+     * @param message containing the list showing the names of the players
+     */
+    @Override
+    public void notifyNamesList(MessageTCP message) {
+        ByteArrayOutputStream body = header(message);
+        List<String> names = message.getNames();
+        BinaryCodec.writeVarint(body, names == null ? 0 : names.size() + 1);
+        if (names != null) for (String name : names) BinaryCodec.writeText(body, name);
+        send(body);
+    }
+
+
+    /**
+     * Notifies the client with an array of cards and their positions.
+     *
+     * @param message containing the array showing the cards and their coordinates on the play area
+     */
+    @Override
+    public void notifyCardsList(MessageTCP message) {
+        sendJson(message, message.getCards());
+    }
+
+
+    /**
+     * Notifies the client with an array of colors.
+     *
+     * @param message containing the array showing the available colors for the client
+     */
+    @Override
+    public void notifyColors(MessageTCP message) {
+        sendJson(message, message.getColors());
+    }
+
+
+    /**
+     * Notifies the client with a serialized Table.
+     *
+     * @param message contains a reference to a table
+     */
+    @Override
+    public void notifyTable(MessageTCP message) {
+        sendJson(message, message.getTable());
+    }
+
+
+    /**
+     * Notifies the client with a reference to the GameController.
+     *
+     * @param message contains a reference to the GameController
+     */
+    @Override
+    public void notifyController(MessageTCP message) {
+        sendJson(message, message.getController());
+    }
+
+
+    /**
+     * Notifies the client with the result of a placement or of a draw.
+     *
+     * @param message contains the result of the placement or of the draw
+     */
+    @Override
+    public void notifyTurnResult(MessageTCP message) {
+        sendJson(message, message.getTurnResult());
+    }
+
+
+    /**
+     * Notifies the client with a string.
+     *
+     * @param message containing the string for the client
+     */
+    @Override
+    public void notifyString(MessageTCP message) {
+        sendText(message, message.getString());
+    }
+
+
+    /**
+     * Notifies the client, informing them that it is their turn.
+     *
+     * @param message to inform the client
+     */
+    @Override
+    public void notifyTurn(MessageTCP message) {
+        send(header(message));
+    }
+
+
+    /**
+     * Notifies the client that they received a chat message, or that the turn has changed.
+     *
+     * @param message containing the sender and the chat message, or the player whose turn it is and the phase
+     */
+    @Override
+    public void notifyChat(MessageTCP message) {
+        ByteArrayOutputStream body = header(message);
+        BinaryCodec.writeText(body, message.getSender());
+        BinaryCodec.writeText(body, message.getChatMessage());
+        send(body);
+    }
+
+
+    /**
+     * Notifies the client to call a specific method, for example the pong method.
+     *
+     * @param message to inform the client
+     */
+    @Override
+    public void notifyMethodCall(MessageTCP message) {
+        send(header(message));
+    }
+}
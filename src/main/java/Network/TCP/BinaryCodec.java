@@ -0,0 +1,220 @@
+package Network.TCP;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The encoding of the binary TCP protocol, which a client can ask for instead of the text protocol.
+ * A client asks for it by sending MAGIC and VERSION as the first two bytes of the connection, and the server
+ * answers with the same two bytes; a connection starting with any other byte keeps using the text protocol.
+ * After the handshake, every request and every message is a frame: the length of its body as a varint,
+ * followed by the body.
+ * The body of a request is its opcode, its correlation ID and its arguments; the body of a message is the ordinal
+ * of its MessageType, its correlation ID and its payload. Integers are written as varints, zigzag-encoded
+ * when they can be negative, and strings as their length in bytes followed by their UTF-8 bytes.
+ */
+public final class BinaryCodec {
+
+    /**
+     * The first byte of the handshake, which can never start a line of the text protocol.
+     */
+    public static final int MAGIC = 0xC0;
+
+    /**
+     * The version of the binary protocol.
+     */
+    public static final int VERSION = 2;
+
+    /**
+     * The maximum length, in bytes, of the body of a frame.
+     */
+    public static final int MAX_FRAME = 1 << 24;
+
+
+    /**
+     * The class only has static methods.
+     */
+    private BinaryCodec() {}
+
+
+    /**
+     * Starts the binary protocol on the client side: sends the handshake and checks the answer of the server.
+     *
+     * @param in is the input of the connection
+     * @param out is the output of the connection
+     * @throws IOException if the server does not speak the same version of the binary protocol
+     */
+    public static void request(InputStream in, OutputStream out) throws IOException {
+        out.write(MAGIC);
+        out.write(VERSION);
+        out.flush();
+        int magic = in.read();
+        int version = in.read();
+        if (magic != MAGIC || version != VERSION)
+            throw new IOException("The server does not speak version " + VERSION + " of the binary protocol");
+    }
+
+
+    /**
+     * Checks, on the server side, whether the client asked for the binary protocol, and answers the handshake if so.
+     * Nothing is consumed from the input if the client speaks the text protocol.
+     *
+     * @param in is the input of the connection
+     * @param out is the output of the connection
+     * @return true if the connection uses the binary protocol
+     * @throws IOException if the connection cannot be read or written
+     */
+    public static boolean accept(BufferedInputStream in, OutputStream out) throws IOException {
+        in.mark(1);
+        if (in.read() != MAGIC) {
+            in.reset();
+            return false;
+        }
+        if (in.read() < 0) throw new EOFException();
+        out.write(MAGIC);
+        out.write(VERSION);
+        out.flush();
+        return true;
+    }
+
+
+    /**
+     * Writes an unsigned integer as a varint: seven bits per byte, the lowest first,
+     * with the highest bit set on every byte but the last.
+     *
+     * @param out is where to write the varint
+     * @param value is the integer, read as unsigned
+     */
+    public static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+
+    /**
+     * Writes an integer which can be negative, zigzag-encoded so that small negative numbers stay short.
+     *
+     * @param out is where to write the integer
+     * @param value is the integer
+     */
+    public static void writeSigned(ByteArrayOutputStream out, int value) {
+        writeVarint(out, (value << 1) ^ (value >> 31));
+    }
+
+
+    /**
+     * Writes a string as its length in bytes plus one, followed by its UTF-8 bytes; a null string is written as 0.
+     *
+     * @param out is where to write the string
+     * @param text is the string, possibly null
+     */
+    public static void writeText(ByteArrayOutputStream out, String text) {
+        if (text == null) {
+            writeVarint(out, 0);
+            return;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length + 1);
+        out.write(bytes, 0, bytes.length);
+    }
+
+
+    /**
+     * Reads a varint.
+     *
+     * @param in is the body of a frame
+     * @return the integer, read as unsigned
+     * @throws IllegalArgumentException if the varint is longer than five bytes
+     * @throws BufferUnderflowException if the frame ends before the varint
+     */
+    public static int readVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+
+    /**
+     * Reads a zigzag-encoded integer.
+     *
+     * @param in is the body of a frame
+     * @return the integer
+     */
+    public static int readSigned(ByteBuffer in) {
+        int value = readVarint(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+
+    /**
+     * Reads a string.
+     *
+     * @param in is the body of a frame
+     * @return the string, possibly null
+     * @throws BufferUnderflowException if the frame ends before the string
+     */
+    public static String readText(ByteBuffer in) {
+        int length = readVarint(in) - 1;
+        if (length < 0) return null;
+        if (length > in.remaining()) throw new BufferUnderflowException();
+        String text = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return text;
+    }
+
+
+    /**
+     * Writes a frame and flushes the output.
+     *
+     * @param out is the output of the connection
+     * @param body is the body of the frame
+     * @throws IOException if the output cannot be written
+     */
+    public static void writeFrame(OutputStream out, ByteArrayOutputStream body) throws IOException {
+        ByteArrayOutputStream length = new ByteArrayOutputStream(5);
+        writeVarint(length, body.size());
+        length.writeTo(out);
+        body.writeTo(out);
+        out.flush();
+    }
+
+
+    /**
+     * Reads a frame.
+     *
+     * @param in is the input of the connection
+     * @return the body of the frame, ready to be read, or null if the connection has been closed between two frames
+     * @throws IOException if the connection is closed in the middle of a frame or the frame is too long
+     */
+    public static ByteBuffer readFrame(InputStream in) throws IOException {
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                if (shift == 0) return null;
+                throw new EOFException();
+            }
+            length |= (b & 0x7F) << shift;
+            if (b < 0x80) break;
+            if (shift >= 28) throw new IOException("Malformed frame length");
+        }
+        if (length > MAX_FRAME) throw new IOException("Frame longer than " + MAX_FRAME + " bytes");
+        byte[] body = in.readNBytes(length);
+        if (body.length < length) throw new EOFException();
+        return ByteBuffer.wrap(body);
+    }
+}
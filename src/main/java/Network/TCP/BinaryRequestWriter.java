@@ -0,0 +1,105 @@
+package Network.TCP;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * The writer of the ServerProxy when the connection uses the binary protocol.
+ * It gathers the lines written by the ServerProxy into requests and, when it is flushed, encodes every complete
+ * request into a frame with the opcode of its command, so the ServerProxy writes both protocols in the same way.
+ * The ServerProxy writes one request at a time, so the writer is never used by two threads at once.
+ */
+public class BinaryRequestWriter extends Writer {
+
+    /**
+     * The output of the connection.
+     */
+    private final OutputStream out;
+
+    /**
+     * The characters written which have not been encoded yet.
+     */
+    private final StringBuilder text = new StringBuilder();
+
+
+    /**
+     * Constructor for the BinaryRequestWriter class.
+     *
+     * @param out is the output of the connection, after the handshake
+     */
+    public BinaryRequestWriter(OutputStream out) {
+        this.out = out;
+    }
+
+
+    /**
+     * Keeps the characters until the next flush.
+     *
+     * @param chars is the array of characters
+     * @param offset is the index of the first character to write
+     * @param length is the number of characters to write
+     */
+    @Override
+    public void write(char[] chars, int offset, int length) {
+        text.append(chars, offset, length);
+    }
+
+
+    /**
+     * Encodes and sends the complete requests written since the last flush.
+     * The lines of a request whose arguments have not all been written yet are kept for the next flush.
+     *
+     * @throws IOException if a command is unknown or the output cannot be written
+     */
+    @Override
+    public void flush() throws IOException {
+        int start = 0;
+        while (start < text.length()) {
+            int end = text.indexOf("\n", start);
+            if (end < 0) break;
+            String command = line(start, end);
+            Opcode opcode = Opcode.of(PendingRequests.untag(command));
+            if (opcode == null) throw new IOException("Unknown command " + command);
+            String[] arguments = new String[opcode.countArguments()];
+            int next = end + 1;
+            for (int i = 0; i < arguments.length && next >= 0; i++) {
+                end = text.indexOf("\n", next);
+                arguments[i] = end < 0 ? null : line(next, end);
+                next = end < 0 ? -1 : end + 1;
+            }
+            if (next < 0) break;
+            try {
+                BinaryCodec.writeFrame(out, opcode.encode(PendingRequests.idOf(command), arguments));
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid argument for " + command, e);
+            }
+            start = next;
+        }
+        text.delete(0, start);
+        out.flush();
+    }
+
+
+    /**
+     * Gets a line of the text written, without the line terminator.
+     *
+     * @param start is the index of the first character of the line
+     * @param end is the index of the line feed ending the line
+     * @return the line
+     */
+    private String line(int start, int end) {
+        return text.substring(start, end > start && text.charAt(end - 1) == '\r' ? end - 1 : end);
+    }
+
+
+    /**
+     * Closes the output of the connection.
+     *
+     * @throws IOException if the output cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
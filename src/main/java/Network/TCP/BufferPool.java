@@ -0,0 +1,93 @@
+package Network.TCP;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of direct buffers of the same size, shared by the connections of a SelectorServer.
+ * The buffers are reused instead of being allocated for every message, and at most a fixed number of them
+ * is kept when they are not in use.
+ */
+public class BufferPool {
+
+    /**
+     * The size, in bytes, of every buffer.
+     */
+    private final int bufferSize;
+
+    /**
+     * The maximum number of free buffers kept in the pool.
+     */
+    private final int capacity;
+
+    /**
+     * The buffers which are not in use.
+     */
+    private final Queue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The number of buffers which are not in use.
+     */
+    private final AtomicInteger size = new AtomicInteger();
+
+
+    /**
+     * Constructor for the BufferPool class.
+     *
+     * @param bufferSize is the size, in bytes, of every buffer
+     * @param capacity is the maximum number of free buffers kept in the pool
+     */
+    public BufferPool(int bufferSize, int capacity) {
+        this.bufferSize = bufferSize;
+        this.capacity = capacity;
+    }
+
+
+    /**
+     * Takes a buffer from the pool, or allocates a new one if the pool is empty.
+     *
+     * @return an empty buffer, ready to be written
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = free.poll();
+        if (buffer == null) return ByteBuffer.allocateDirect(bufferSize);
+        size.decrementAndGet();
+        return buffer;
+    }
+
+
+    /**
+     * Gives a buffer back to the pool, which keeps it unless it is already full.
+     *
+     * @param buffer is the buffer no longer in use
+     */
+    public void release(ByteBuffer buffer) {
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            return;
+        }
+        free.add(buffer.clear());
+    }
+
+
+    /**
+     * Getter method for the bufferSize attribute.
+     *
+     * @return the size, in bytes, of every buffer
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+
+    /**
+     * Getter method for the number of free buffers.
+     *
+     * @return the number of buffers kept in the pool
+     */
+    public int size() {
+        return size.get();
+    }
+}
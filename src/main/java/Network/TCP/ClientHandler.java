@@ -1,18 +1,24 @@
 package Network.TCP;
 
+import Controller.Barrier;
 import Controller.GameController;
+import Controller.TurnResult;
 import Listeners.Message;
 import Model.Cards.Card;
 import Model.Cards.Colors;
 import Network.Chat;
+import Network.TurnListener;
 import Model.Table;
 import Network.VirtualServer;
 import Network.VirtualView;
 
 import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.rmi.RemoteException;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * This class firstly reads the output of the ServerProxy and calls the respective method on ServerTCP.
@@ -36,7 +42,7 @@ public class ClientHandler implements VirtualView {
     private final ServerTCP server;
 
     /**
-     * Reader where to read the incoming strings from the ServerProxy.
+     * Reader where to read the incoming strings from the ServerProxy, null if a SelectorServer reads them.
      */
     private final BufferedReader input;
 
@@ -45,6 +51,113 @@ public class ClientHandler implements VirtualView {
      */
     private final ClientProxy clientProxy;
 
+    /**
+     * The lock held while a message is written, so the lines of messages sent by different threads are not mixed up.
+     * It is not a monitor, so a virtual thread blocked on the socket while holding it does not pin its carrier thread.
+     */
+    private final ReentrantLock sendLock = new ReentrantLock();
+
+    /**
+     * The correlation ID of the request being answered, 0 if the client has not tagged it.
+     * The requests of a client are executed one at a time, by the thread which also sends their answers.
+     */
+    private int requestID;
+
+
+    /**
+     * The source of the arguments of a request.
+     * The arguments of the text protocol are lines, which are parsed by the typed getters.
+     */
+    @FunctionalInterface
+    interface Arguments {
+
+        /**
+         * Gets the next argument of the request.
+         *
+         * @return the next argument, null if there are no more
+         * @throws IOException in case of input/output errors
+         */
+        String next() throws IOException;
+
+
+        /**
+         * Gets the next argument of the request, which is an integer.
+         *
+         * @return the next argument
+         * @throws IOException in case of input/output errors
+         * @throws NumberFormatException if the argument is not a number
+         */
+        default int nextInt() throws IOException {
+            return Integer.parseInt(next().trim());
+        }
+
+
+        /**
+         * Gets the next argument of the request, which is a boolean.
+         *
+         * @return the next argument
+         * @throws IOException in case of input/output errors
+         */
+        default boolean nextBoolean() throws IOException {
+            return Boolean.parseBoolean(next().trim());
+        }
+    }
+
+
+    /**
+     * The arguments of a request of the binary protocol, decoded from the frame according to their types.
+     */
+    private static class FrameArguments implements Arguments {
+
+        /**
+         * The body of the frame, positioned at the next argument.
+         */
+        private final ByteBuffer frame;
+
+
+        /**
+         * Constructor for the FrameArguments class.
+         *
+         * @param frame is the body of the frame, positioned at the first argument
+         */
+        private FrameArguments(ByteBuffer frame) {
+            this.frame = frame;
+        }
+
+
+        /**
+         * Gets the next argument of the request, which is a string.
+         *
+         * @return the next argument
+         */
+        @Override
+        public String next() {
+            return BinaryCodec.readText(frame);
+        }
+
+
+        /**
+         * Gets the next argument of the request, which is a zigzag-encoded integer.
+         *
+         * @return the next argument
+         */
+        @Override
+        public int nextInt() {
+            return BinaryCodec.readSigned(frame);
+        }
+
+
+        /**
+         * Gets the next argument of the request, which is a single byte.
+         *
+         * @return the next argument
+         */
+        @Override
+        public boolean nextBoolean() {
+            return frame.get() != 0;
+        }
+    }
+
 
     /**
      * Constructor for the ClientHandler class.
@@ -54,11 +167,46 @@ public class ClientHandler implements VirtualView {
      * @param output wrapped in ClientProxy, to send updates back to the client
      */
     public ClientHandler(ServerTCP server, BufferedReader input, BufferedWriter output) {
+        this(server, input, new ClientProxy(output));
+    }
+
+
+    /**
+     * Constructor for a ClientHandler whose requests are read by a SelectorServer, which passes them to execute.
+     *
+     * @param server is a reference to the ServerTCP
+     * @param output wrapped in ClientProxy, to send updates back to the client
+     */
+    ClientHandler(ServerTCP server, BufferedWriter output) {
+        this(server, null, new ClientProxy(output));
+    }
+
+
+    /**
+     * Constructor for a ClientHandler which speaks the binary protocol, whose requests are passed to execute.
+     *
+     * @param server is a reference to the ServerTCP
+     * @param clientProxy sends the messages back to the client
+     */
+    ClientHandler(ServerTCP server, BinaryClientProxy clientProxy) {
+        this(server, null, clientProxy);
+    }
+
+
+    /**
+     * Constructor for the ClientHandler class.
+     *
+     * @param server is a reference to the ServerTCP
+     * @param input where to read the incoming strings from the ServerProxy, null if the requests are read elsewhere
+     * @param clientProxy sends the messages back to the client
+     */
+    private ClientHandler(ServerTCP server, BufferedReader input, ClientProxy clientProxy) {
         this.server = server;
         this.input = input;
-        this.clientProxy = new ClientProxy(output);
+        this.clientProxy = clientProxy;
     }
 
+
     /**
      * check is a player has the blackPawn
      * @return always false
@@ -426,236 +574,324 @@ public class ClientHandler implements VirtualView {
         String line;
         // Read message type
         while ((line = input.readLine()) != null) {
-            // Read message and perform action
-            try {
-                switch (line) {
-                    case "first" -> {
-                        boolean isFirstPlayer = firstPlayer();
-                        notifyOutcome(MessageType.BOOLEAN, isFirstPlayer);
-                    }
-                    case "set number of players" -> server.setNumbOfPlayers(Integer.parseInt(input.readLine()));
-                    case "get number of players" -> {
-                        int numOfPlayers = getNumOfPlayers(idMatch);
-                        notifyValue(MessageType.INTEGER, numOfPlayers);
-                    }
-                    case "check name" -> {
-                        boolean alreadyInUse = checkName(input.readLine());
-                        notifyOutcome(MessageType.BOOLEAN, alreadyInUse);
-                    }
-                    case "add match" -> {
-                        nickname = input.readLine();
-                        idMatch = addMatch(nickname);
-                        notifyValue(MessageType.INTEGER, idMatch);
-                    }
-                    case "add player" -> {
-                        nickname = input.readLine();
-                        idMatch = addPlayer(nickname);
-                        notifyValue(MessageType.INTEGER, idMatch);
-                    }
-                    case "get names" -> {
-                        List<String> names = getPlayersNames();
-                        notifyNamesList(MessageType.NAMES, names);
-                    }
-                    case "get points" -> {
-                        int points = getPlayerPoints(input.readLine());
-                        notifyValue(MessageType.INTEGER, points);
-                    }
-                    case "get card list" -> {
-                        Card[] cardList = getOrderedCardsList(input.readLine());
-                        notifyCardsList(MessageType.CARDS, cardList);
-                    }
-                    case "all connected" -> {
-                        boolean allConnected = allConnected(idMatch);
-                        notifyOutcome(MessageType.BOOLEAN, allConnected);
-                    }
-                    case "my turn" -> server.itIsMyTurn(idMatch, nickname);
-                    case "set turn" -> {
-                        boolean yourTurn = Boolean.parseBoolean(input.readLine());
-                        server.setYourTurn(idMatch, nickname, yourTurn);
-                    }
-                    case "check turn" -> {
-                        boolean isMyTurn = checkTurn();
-                        notifyOutcome(MessageType.BOOLEAN, isMyTurn);
-                    }
-                    case "can I choose the color" -> {
-                        boolean canChoose = canIChooseTheColor(idMatch, nickname);
-                        notifyOutcome(MessageType.BOOLEAN, canChoose);
-                    }
-                    case "show colors" -> {
-                        Colors[] availableColors = showAvailableColors(idMatch);
-                        notifyColors(MessageType.COLORS, availableColors);
-                    }
-                    case "check color" -> {
-                        Colors colorToCheck = Colors.valueOf(input.readLine());
-                        boolean colorValid = checkColor(idMatch, colorToCheck);
-                        notifyOutcome(MessageType.BOOLEAN, colorValid);
-                    }
-                    case "remove color" -> {
-                        Colors color = Colors.valueOf(input.readLine());
-                        server.removeColorAndPassTurn(idMatch, nickname, color);
-                    }
-                    case "draw cards and place objectives" -> server.drawCardsAndPlaceCommonObjectives(idMatch);
-                    case "give objectives" -> server.giveObjectives(idMatch);
-                    case "shuffle" -> server.shuffleDecksAndGiveStarterCards(idMatch);
-                    case "choose black pawn" -> server.chooseTheBlackPawn(idMatch);
-                    case "set black pawn" -> {
-                        boolean value = Boolean.parseBoolean(input.readLine());
-                        server.setBlackPawnChosen(idMatch, value);
-                    }
-                    case "is black pawn chosen" -> {
-                        boolean blackPawnAssigned = isBlackPawnChosen();
-                        notifyOutcome(MessageType.BOOLEAN, blackPawnAssigned);
-                    }
-                    case "player with black pawn" -> {
-                        String playerWithBlackPawn = getNameOfThePlayerWithTheBlackPawn();
-                        notifyString(MessageType.STRING, playerWithBlackPawn);
-                    }
-                    case "get phase" -> {
-                        String phase = getPhaseGui();
-                        notifyString(MessageType.STRING, phase);
-                    }
-                    case "view starting table" -> server.viewStartingTable(idMatch, nickname);
-                    case "view table" -> server.viewTable(idMatch, nickname);
-                    case "view hand" -> server.viewHand(idMatch, nickname);
-                    case "view hand and area" -> server.viewHandAndArea(idMatch, nickname);
-                    case "view play area" -> {
-                        String areaOwner = input.readLine();
-                        server.viewPlayArea(idMatch, nickname, areaOwner);
-                    }
-                    case "view difference" -> {
-                        int cardSelected = Integer.parseInt(input.readLine());
-                        String faceSelected = input.readLine();
-                        int pos1 = Integer.parseInt(input.readLine());
-                        int pos2 = Integer.parseInt(input.readLine());
-                        server.viewDifferenceOfResources(idMatch, nickname, cardSelected, faceSelected, pos1, pos2);
-                    }
-                    case "view secret" -> server.viewSecretObjective(idMatch, nickname);
-                    case "view choice objectives" -> server.viewChoiceObjectives(idMatch, nickname);
-                    case "put choice objectives" -> {
-                        int obSelected = Integer.parseInt(input.readLine());
-                        server.putChoiceObjectives(idMatch, nickname, obSelected);
-                    }
-                    case "increase objective cards" -> server.increaseNumOfObjectiveCardChosen(idMatch);
-                    case "increase starter cards" -> server.increaseNumOfStarterCardsPlaced(idMatch);
-                    case "all objectives chosen" -> {
-                        boolean allChosen = allObjectiveCardsChosen(idMatch);
-                        notifyOutcome(MessageType.BOOLEAN, allChosen);
-                    }
-                    case "all starter cards placed" -> {
-                        boolean allPlaced = allStarterCardsPlaced(idMatch);
-                        notifyOutcome(MessageType.BOOLEAN, allPlaced);
-                    }
-                    case "check command" -> {
-                        String command = input.readLine();
-                        boolean isValid = checkCommand(idMatch, nickname, command);
-                        notifyOutcome(MessageType.BOOLEAN, isValid);
-                    }
-                    case "check player" -> {
-                        boolean isPresent = checkPlayer(idMatch, input.readLine());
-                        notifyOutcome(MessageType.BOOLEAN, isPresent);
-                    }
-                    case "get table" -> {
-                        Table table = getTable(idMatch);
-                        notifyTable(MessageType.TABLE, table);
-                    }
-                    case "get controller" -> {
-                        GameController controller = getController();
-                        notifyController(MessageType.CONTROLLER, controller);
-                    }
-                    case "place" -> {
-                        int cardSelected = Integer.parseInt(input.readLine());
-                        String faceSelected = input.readLine();
-                        int x = Integer.parseInt(input.readLine());
-                        int y = Integer.parseInt(input.readLine());
-                        server.place(idMatch, nickname, cardSelected, faceSelected, x, y);
-                    }
-                    case "are coordinates valid" -> {
-                        int x = Integer.parseInt(input.readLine());
-                        int y = Integer.parseInt(input.readLine());
-                        boolean valid = areCoordinatesValid(idMatch, nickname, x, y);
-                        notifyOutcome(MessageType.BOOLEAN, valid);
-                    }
-                    case "can place gold card" -> {
-                        int cardSelected = Integer.parseInt(input.readLine());
-                        boolean requirementsOK = canIPlaceTheGoldCard(idMatch, nickname, cardSelected);
-                        notifyOutcome(MessageType.BOOLEAN, requirementsOK);
-                    }
-                    case "draw resource" -> server.drawResource(idMatch, nickname);
-                    case "draw gold" -> server.drawGold(idMatch, nickname);
-                    case "draw table" -> {
-                        int cardSelected = Integer.parseInt(input.readLine());
-                        server.drawTable(idMatch, nickname, cardSelected);
-                    }
-                    case "where can draw" -> {
-                        int result = whereCanIDraw();
-                        notifyValue(MessageType.INTEGER, result);
-                    }
-                    case "available for drawing" -> {
-                        List<Integer> positions = availablePositionsForDrawing();
-                        notifyPositionList(MessageType.POSITIONS, positions);
-                    }
-                    case "chat" -> {
-                        String sender = input.readLine();
-                        String recipient = input.readLine();
-                        String chatMessage = input.readLine();
-                        server.chat(idMatch, sender, recipient, chatMessage);
-                    }
-                    case "check recipient" -> {
-                        String recipient = input.readLine();
-                        boolean recipientValid = checkRecipient(idMatch, recipient);
-                        notifyOutcome(MessageType.BOOLEAN, recipientValid);
-                    }
-                    case "cheat 1" -> server.cheat1(idMatch, nickname);
-                    case "cheat 2" -> server.cheat2(idMatch, nickname);
-                    case "cheat 3" -> server.cheat3(idMatch);
-                    case "is second to last round" -> {
-                        boolean isSecondToLastRound = isSecondToLastRound(idMatch);
-                        notifyOutcome(MessageType.BOOLEAN, isSecondToLastRound);
-                    }
-                    case "set second to last round" -> {
-                        boolean value = Boolean.parseBoolean(input.readLine());
-                        server.setSecondToLastRound(idMatch, value);
-                    }
-                    case "is last round" -> {
-                        boolean isLastRound = isLastRound(idMatch);
-                        notifyOutcome(MessageType.BOOLEAN, isLastRound);
-                    }
-                    case "set last round" -> {
-                        boolean value = Boolean.parseBoolean(input.readLine());
-                        server.setLastRound(idMatch, value);
-                    }
-                    case "check round" -> {
-                        int roundIndicator = checkSecondToLastTurn(idMatch, nickname);
-                        notifyValue(MessageType.INTEGER, roundIndicator);
-                    }
-                    case "is next player black pawn" -> {
-                        boolean isBlackPawnNext = isNextPlayerTheBlackPawn(idMatch, nickname);
-                        notifyOutcome(MessageType.BOOLEAN, isBlackPawnNext);
-                    }
-                    case "increase players that have finished" -> server.increaseNumOfPlayersThatHaveFinishedToPlay(idMatch);
-                    case "get players that have finished" -> {
-                        int players = getNumOfPlayersThatHaveFinishedToPlay(idMatch);
-                        notifyValue(MessageType.INTEGER, players);
-                    }
-                    case "calculate objectives" -> server.calculateObjectives(idMatch, nickname);
-                    case "increase calculated objectives" -> server.increaseNumOfObjectiveCardCalculated(idMatch);
-                    case "all objectives calculated" -> {
-                        boolean allCalculated = allObjectiveCardsCalculated(idMatch);
-                        notifyOutcome(MessageType.BOOLEAN, allCalculated);
+            execute(line, input::readLine);
+        }
+    }
+
+
+    /**
+     * Runs a loop which reads the frames of the binary protocol from the input and executes them.
+     *
+     * @param input is the input of the connection, after the handshake
+     * @throws IOException in case of input/output errors
+     */
+    public void runBinaryView(InputStream input) throws IOException {
+        ByteBuffer frame;
+        while ((frame = BinaryCodec.readFrame(input)) != null) {
+            execute(frame);
+        }
+    }
+
+
+    /**
+     * Executes a request of the binary protocol, dispatching it on its opcode.
+     * The arguments are read from the frame with their own types, without going through their text.
+     *
+     * @param frame is the body of the frame of the request
+     */
+    void execute(ByteBuffer frame) {
+        try {
+            Opcode opcode = Opcode.of(BinaryCodec.readVarint(frame));
+            int id = BinaryCodec.readVarint(frame);
+            execute(id, opcode, new FrameArguments(frame));
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            System.err.println("[INVALID MESSAGE]: " + e.getMessage());
+        }
+    }
+
+
+    /**
+     * Executes a request of the text protocol.
+     *
+     * @param line is the command of the request, tagged with its correlation ID if an answer is expected
+     * @param arguments gives the arguments of the request, in the order they were sent
+     */
+    void execute(String line, Arguments arguments) {
+        Opcode opcode = Opcode.of(PendingRequests.untag(line));
+        if (opcode == null) System.err.println("[INVALID MESSAGE]: " + line);
+        else execute(PendingRequests.idOf(line), opcode, arguments);
+    }
+
+
+    /**
+     * Executes a request of the client, calling the respective method on ServerTCP and sending back the answer, if any.
+     * The request is dispatched on its opcode, whatever the protocol it has been read from.
+     *
+     * @param id is the correlation ID of the request, 0 if no answer is expected
+     * @param opcode is the opcode of the request, null if the command is unknown
+     * @param arguments gives the arguments of the request, in the order they were sent
+     */
+    void execute(int id, Opcode opcode, Arguments arguments) {
+        if (opcode == null) {
+            System.err.println("[INVALID MESSAGE]: unknown request");
+            return;
+        }
+        requestID = id;
+        try {
+            switch (opcode) {
+                case FIRST -> {
+                    boolean isFirstPlayer = firstPlayer();
+                    notifyOutcome(MessageType.BOOLEAN, isFirstPlayer);
+                }
+                case GET_NUMBER_OF_PLAYERS -> {
+                    int numOfPlayers = getNumOfPlayers(idMatch);
+                    notifyValue(MessageType.INTEGER, numOfPlayers);
+                }
+                case CHECK_NAME -> {
+                    boolean alreadyInUse = checkName(arguments.next());
+                    notifyOutcome(MessageType.BOOLEAN, alreadyInUse);
+                }
+                case OPEN_MATCH -> {
+                    String name = arguments.next();
+                    int opened = openMatch(name, arguments.nextInt());
+                    if (opened >= 0) {
+                        nickname = name;
+                        idMatch = opened;
                     }
-                    case "calculate winner" -> server.calculateWinner(idMatch);
-                    case "endgame message" -> server.showEndGameMessage(idMatch, nickname);
-                    case "endgame message gui" -> {
-                        boolean isWinner = endGameMessageGui();
-                        notifyOutcome(MessageType.BOOLEAN, isWinner);
+                    notifyValue(MessageType.INTEGER, opened);
+                }
+                case ADD_PLAYER -> {
+                    String name = arguments.next();
+                    int joined = addPlayer(name);
+                    if (joined >= 0) {
+                        nickname = name;
+                        idMatch = joined;
                     }
-                    case "receive pong" -> server.receivePong(input.readLine());
-                    case "remove client" -> server.removeClient(nickname);
-                    default -> System.err.println("[INVALID MESSAGE]: " + line);
+                    notifyValue(MessageType.INTEGER, joined);
+                }
+                case GET_NAMES -> {
+                    List<String> names = getPlayersNames();
+                    notifyNamesList(MessageType.NAMES, names);
+                }
+                case GET_POINTS -> {
+                    int points = getPlayerPoints(arguments.next());
+                    notifyValue(MessageType.INTEGER, points);
+                }
+                case GET_CARD_LIST -> {
+                    Card[] cardList = getOrderedCardsList(arguments.next());
+                    notifyCardsList(MessageType.CARDS, cardList);
+                }
+                case ALL_CONNECTED -> {
+                    boolean allConnected = allConnected(idMatch);
+                    notifyOutcome(MessageType.BOOLEAN, allConnected);
+                }
+                case MY_TURN -> server.itIsMyTurn(idMatch, nickname);
+                case SET_TURN -> {
+                    boolean yourTurn = arguments.nextBoolean();
+                    server.setYourTurn(idMatch, nickname, yourTurn);
+                }
+                case CHECK_TURN -> {
+                    boolean isMyTurn = checkTurn();
+                    notifyOutcome(MessageType.BOOLEAN, isMyTurn);
+                }
+                case CAN_I_CHOOSE_THE_COLOR -> {
+                    boolean canChoose = canIChooseTheColor(idMatch, nickname);
+                    notifyOutcome(MessageType.BOOLEAN, canChoose);
+                }
+                case SHOW_COLORS -> {
+                    Colors[] availableColors = showAvailableColors(idMatch);
+                    notifyColors(MessageType.COLORS, availableColors);
+                }
+                case CHECK_COLOR -> {
+                    Colors colorToCheck = Colors.valueOf(arguments.next());
+                    boolean colorValid = checkColor(idMatch, colorToCheck);
+                    notifyOutcome(MessageType.BOOLEAN, colorValid);
+                }
+                case REMOVE_COLOR -> {
+                    Colors color = Colors.valueOf(arguments.next());
+                    server.removeColorAndPassTurn(idMatch, nickname, color);
+                }
+                case DRAW_CARDS_AND_PLACE_OBJECTIVES -> server.drawCardsAndPlaceCommonObjectives(idMatch);
+                case GIVE_OBJECTIVES -> server.giveObjectives(idMatch);
+                case SHUFFLE -> server.shuffleDecksAndGiveStarterCards(idMatch);
+                case CHOOSE_BLACK_PAWN -> server.chooseTheBlackPawn(idMatch);
+                case SET_BLACK_PAWN -> {
+                    boolean value = arguments.nextBoolean();
+                    server.setBlackPawnChosen(idMatch, value);
+                }
+                case IS_BLACK_PAWN_CHOSEN -> {
+                    boolean blackPawnAssigned = isBlackPawnChosen();
+                    notifyOutcome(MessageType.BOOLEAN, blackPawnAssigned);
+                }
+                case PLAYER_WITH_BLACK_PAWN -> {
+                    String playerWithBlackPawn = getNameOfThePlayerWithTheBlackPawn();
+                    notifyString(MessageType.STRING, playerWithBlackPawn);
+                }
+                case GET_PHASE -> {
+                    String phase = getPhaseGui();
+                    notifyString(MessageType.STRING, phase);
+                }
+                case VIEW_STARTING_TABLE -> server.viewStartingTable(idMatch, nickname);
+                case VIEW_TABLE -> server.viewTable(idMatch, nickname);
+                case VIEW_HAND -> server.viewHand(idMatch, nickname);
+                case VIEW_HAND_AND_AREA -> server.viewHandAndArea(idMatch, nickname);
+                case VIEW_PLAY_AREA -> {
+                    String areaOwner = arguments.next();
+                    server.viewPlayArea(idMatch, nickname, areaOwner);
+                }
+                case VIEW_DIFFERENCE -> {
+                    int cardSelected = arguments.nextInt();
+                    String faceSelected = arguments.next();
+                    int pos1 = arguments.nextInt();
+                    int pos2 = arguments.nextInt();
+                    server.viewDifferenceOfResources(idMatch, nickname, cardSelected, faceSelected, pos1, pos2);
+                }
+                case VIEW_SECRET -> server.viewSecretObjective(idMatch, nickname);
+                case VIEW_CHOICE_OBJECTIVES -> server.viewChoiceObjectives(idMatch, nickname);
+                case PUT_CHOICE_OBJECTIVES -> {
+                    int obSelected = arguments.nextInt();
+                    server.putChoiceObjectives(idMatch, nickname, obSelected);
+                }
+                case INCREASE_OBJECTIVE_CARDS -> server.increaseNumOfObjectiveCardChosen(idMatch);
+                case INCREASE_STARTER_CARDS -> server.increaseNumOfStarterCardsPlaced(idMatch);
+                case ALL_OBJECTIVES_CHOSEN -> {
+                    boolean allChosen = allObjectiveCardsChosen(idMatch);
+                    notifyOutcome(MessageType.BOOLEAN, allChosen);
                 }
-            } catch (IOException | IllegalArgumentException e) {
-                System.err.println("\nError while reading from input: " + e.getMessage());
+                case ALL_STARTER_CARDS_PLACED -> {
+                    boolean allPlaced = allStarterCardsPlaced(idMatch);
+                    notifyOutcome(MessageType.BOOLEAN, allPlaced);
+                }
+                case CHECK_COMMAND -> {
+                    String command = arguments.next();
+                    boolean isValid = checkCommand(idMatch, nickname, command);
+                    notifyOutcome(MessageType.BOOLEAN, isValid);
+                }
+                case CHECK_PLAYER -> {
+                    boolean isPresent = checkPlayer(idMatch, arguments.next());
+                    notifyOutcome(MessageType.BOOLEAN, isPresent);
+                }
+                case GET_TABLE -> {
+                    Table table = getTable(idMatch);
+                    notifyTable(MessageType.TABLE, table);
+                }
+                case GET_CONTROLLER -> {
+                    GameController controller = getController();
+                    notifyController(MessageType.CONTROLLER, controller);
+                }
+                case PLACE -> {
+                    int cardSelected = arguments.nextInt();
+                    String faceSelected = arguments.next();
+                    int x = arguments.nextInt();
+                    int y = arguments.nextInt();
+                    server.place(idMatch, nickname, cardSelected, faceSelected, x, y);
+                }
+                case ARE_COORDINATES_VALID -> {
+                    int x = arguments.nextInt();
+                    int y = arguments.nextInt();
+                    boolean valid = areCoordinatesValid(idMatch, nickname, x, y);
+                    notifyOutcome(MessageType.BOOLEAN, valid);
+                }
+                case LEGAL_POSITIONS -> {
+                    List<Integer> positions = legalPositions(idMatch, nickname);
+                    notifyPositionList(MessageType.POSITIONS, positions);
+                }
+                case EVALUATE_MOVES -> {
+                    List<Integer> moves = evaluateMoves(idMatch, nickname);
+                    notifyPositionList(MessageType.POSITIONS, moves);
+                }
+                case CAN_PLACE_GOLD_CARD -> {
+                    int cardSelected = arguments.nextInt();
+                    boolean requirementsOK = canIPlaceTheGoldCard(idMatch, nickname, cardSelected);
+                    notifyOutcome(MessageType.BOOLEAN, requirementsOK);
+                }
+                case DRAW_RESOURCE -> server.drawResource(idMatch, nickname);
+                case DRAW_GOLD -> server.drawGold(idMatch, nickname);
+                case DRAW_TABLE -> {
+                    int cardSelected = arguments.nextInt();
+                    server.drawTable(idMatch, nickname, cardSelected);
+                }
+                case TRY_PLACE -> {
+                    int cardSelected = arguments.nextInt();
+                    String faceSelected = arguments.next();
+                    int x = arguments.nextInt();
+                    int y = arguments.nextInt();
+                    notifyTurnResult(MessageType.TURN_RESULT, server.tryPlace(idMatch, nickname, cardSelected, faceSelected, x, y));
+                }
+                case TRY_DRAW -> {
+                    String source = arguments.next();
+                    int cardSelected = arguments.nextInt();
+                    notifyTurnResult(MessageType.TURN_RESULT, server.tryDraw(idMatch, nickname, source, cardSelected));
+                }
+                case WHERE_CAN_DRAW -> {
+                    int result = whereCanIDraw();
+                    notifyValue(MessageType.INTEGER, result);
+                }
+                case AVAILABLE_FOR_DRAWING -> {
+                    List<Integer> positions = availablePositionsForDrawing();
+                    notifyPositionList(MessageType.POSITIONS, positions);
+                }
+                case CHAT -> {
+                    String sender = arguments.next();
+                    String recipient = arguments.next();
+                    String chatMessage = arguments.next();
+                    server.chat(idMatch, sender, recipient, chatMessage);
+                }
+                case CHECK_RECIPIENT -> {
+                    String recipient = arguments.next();
+                    boolean recipientValid = checkRecipient(idMatch, recipient);
+                    notifyOutcome(MessageType.BOOLEAN, recipientValid);
+                }
+                case CHEAT_1 -> server.cheat1(idMatch, nickname);
+                case CHEAT_2 -> server.cheat2(idMatch, nickname);
+                case CHEAT_3 -> server.cheat3(idMatch);
+                case IS_SECOND_TO_LAST_ROUND -> {
+                    boolean isSecondToLastRound = isSecondToLastRound(idMatch);
+                    notifyOutcome(MessageType.BOOLEAN, isSecondToLastRound);
+                }
+                case SET_SECOND_TO_LAST_ROUND -> {
+                    boolean value = arguments.nextBoolean();
+                    server.setSecondToLastRound(idMatch, value);
+                }
+                case IS_LAST_ROUND -> {
+                    boolean isLastRound = isLastRound(idMatch);
+                    notifyOutcome(MessageType.BOOLEAN, isLastRound);
+                }
+                case SET_LAST_ROUND -> {
+                    boolean value = arguments.nextBoolean();
+                    server.setLastRound(idMatch, value);
+                }
+                case CHECK_ROUND -> {
+                    int roundIndicator = checkSecondToLastTurn(idMatch, nickname);
+                    notifyValue(MessageType.INTEGER, roundIndicator);
+                }
+                case IS_NEXT_PLAYER_BLACK_PAWN -> {
+                    boolean isBlackPawnNext = isNextPlayerTheBlackPawn(idMatch, nickname);
+                    notifyOutcome(MessageType.BOOLEAN, isBlackPawnNext);
+                }
+                case INCREASE_PLAYERS_THAT_HAVE_FINISHED -> server.increaseNumOfPlayersThatHaveFinishedToPlay(idMatch);
+                case GET_PLAYERS_THAT_HAVE_FINISHED -> {
+                    int players = getNumOfPlayersThatHaveFinishedToPlay(idMatch);
+                    notifyValue(MessageType.INTEGER, players);
+                }
+                case CALCULATE_OBJECTIVES -> server.calculateObjectives(idMatch, nickname);
+                case INCREASE_CALCULATED_OBJECTIVES -> server.increaseNumOfObjectiveCardCalculated(idMatch);
+                case ALL_OBJECTIVES_CALCULATED -> {
+                    boolean allCalculated = allObjectiveCardsCalculated(idMatch);
+                    notifyOutcome(MessageType.BOOLEAN, allCalculated);
+                }
+                case CALCULATE_WINNER -> server.calculateWinner(idMatch);
+                case ENDGAME_MESSAGE -> server.showEndGameMessage(idMatch, nickname);
+                case ENDGAME_MESSAGE_GUI -> {
+                    boolean isWinner = endGameMessageGui();
+                    notifyOutcome(MessageType.BOOLEAN, isWinner);
+                }
+                case RECEIVE_PONG -> server.receivePong(arguments.next());
+                case REMOVE_CLIENT -> server.removeClient(nickname);
+                case SUBSCRIBE_TO_TURNS -> server.subscribeToTurns(idMatch, nickname);
             }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("\nError while reading from input: " + e.getMessage());
         }
     }
 
@@ -742,14 +978,15 @@ public class ClientHandler implements VirtualView {
 
     /**
      * Calls the respective method on VirtualServer.
-     * Adds a new match to the game.
+     * Adds a new match to the game, unless another match is waiting for players or being created.
      *
      * @param name is the name of the player who created the new match
-     * @return the ID of the newly created match
+     * @param numOfPlayers is the number of players declared by the client
+     * @return the ID of the newly created match, or -1 if the client has to join the open match instead
      */
     @Override
-    public int addMatch(String name) {
-        return server.addMatch(name);
+    public int openMatch(String name, int numOfPlayers) {
+        return server.openMatch(name, numOfPlayers);
     }
 
 
@@ -889,6 +1126,34 @@ public class ClientHandler implements VirtualView {
     }
 
 
+    /**
+     * Calls the respective method on VirtualServer.
+     * Shows all the coordinates where the player can place a card.
+     *
+     * @param idMatch  is the ID relative to the specified match
+     * @param nickname is the nickname of the player who is requesting the positions
+     * @return a list with the row and the column of every legal position, one position after the other
+     */
+    @Override
+    public List<Integer> legalPositions(int idMatch, String nickname) {
+        return server.legalPositions(idMatch, nickname);
+    }
+
+
+    /**
+     * Calls the respective method on VirtualServer.
+     * Evaluates every placement of the cards in the hand of the player, without changing the play area.
+     *
+     * @param idMatch  is the ID relative to the specified match
+     * @param nickname is the nickname of the player who is requesting the evaluation
+     * @return the moves encoded by 'Move.encode', 'Move.ENCODED_SIZE' integers for every move
+     */
+    @Override
+    public List<Integer> evaluateMoves(int idMatch, String nickname) {
+        return server.evaluateMoves(idMatch, nickname);
+    }
+
+
     /**
      * Calls the respective method on VirtualServer.
      * Checks if the requirements to place a gold card are met.
@@ -1030,8 +1295,11 @@ public class ClientHandler implements VirtualView {
     @Override
     public void showUpdate(Message update) {
         MessageTCP message = new MessageTCP(MessageType.UPDATE, update);
-        synchronized (this.clientProxy) {
+        sendLock.lock();
+        try {
             this.clientProxy.notifyUpdate(message);
+        } finally {
+            sendLock.unlock();
         }
     }
 
@@ -1044,8 +1312,12 @@ public class ClientHandler implements VirtualView {
      */
     public void notifyOutcome(MessageType header, boolean outcome) {
         MessageTCP message = new MessageTCP(header, outcome);
-        synchronized (this.clientProxy) {
+        message.setRequestID(requestID);
+        sendLock.lock();
+        try {
             this.clientProxy.notifyOutcome(message);
+        } finally {
+            sendLock.unlock();
         }
     }
 
@@ -1058,8 +1330,12 @@ public class ClientHandler implements VirtualView {
      */
     public void notifyValue(MessageType header, int value) {
         MessageTCP message = new MessageTCP(header, value);
-        synchronized (this.clientProxy) {
+        message.setRequestID(requestID);
+        sendLock.lock();
+        try {
             this.clientProxy.notifyValue(message);
+        } finally {
+            sendLock.unlock();
         }
     }
 
@@ -1072,8 +1348,12 @@ public class ClientHandler implements VirtualView {
      */
     public void notifyPositionList(MessageType header, List<Integer> positions) {
         MessageTCP message = createWithIntegerList(header, positions);
-        synchronized (this.clientProxy) {
+        message.setRequestID(requestID);
+        sendLock.lock();
+        try {
             this.clientProxy.notifyPositionList(message);
+        } finally {
+            sendLock.unlock();
         }
     }
 
@@ -1099,8 +1379,12 @@ public class ClientHandler implements VirtualView {
      */
     public void notifyNamesList(MessageType header, List<String> names) {
         MessageTCP message = createWithStringList(header, names);
-        synchronized (this.clientProxy) {
+        message.setRequestID(requestID);
+        sendLock.lock();
+        try {
             this.clientProxy.notifyNamesList(message);
+        } finally {
+            sendLock.unlock();
         }
     }
 
@@ -1126,8 +1410,12 @@ public class ClientHandler implements VirtualView {
      */
     public void notifyCardsList(MessageType header, Card[] cards) {
         MessageTCP message = createWithCardList(header, cards);
-        synchronized (this.clientProxy) {
+        message.setRequestID(requestID);
+        sendLock.lock();
+        try {
             this.clientProxy.notifyCardsList(message);
+        } finally {
+            sendLock.unlock();
         }
     }
 
@@ -1145,6 +1433,24 @@ public class ClientHandler implements VirtualView {
     }
 
 
+    /**
+     * Generates a message containing the result of a placement or of a draw and notifies the client through the client proxy.
+     *
+     * @param header represent the message specific type
+     * @param turnResult is the result of the placement or of the draw
+     */
+    public void notifyTurnResult(MessageType header, TurnResult turnResult) {
+        MessageTCP message = new MessageTCP(header, turnResult);
+        message.setRequestID(requestID);
+        sendLock.lock();
+        try {
+            this.clientProxy.notifyTurnResult(message);
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+
     /**
      * Generates a message containing an array of colors and notifies the client through the client proxy.
      *
@@ -1153,8 +1459,12 @@ public class ClientHandler implements VirtualView {
      */
     public void notifyColors(MessageType header, Colors[] colors) {
         MessageTCP message = new MessageTCP(header, colors);
-        synchronized (this.clientProxy) {
+        message.setRequestID(requestID);
+        sendLock.lock();
+        try {
             this.clientProxy.notifyColors(message);
+        } finally {
+            sendLock.unlock();
         }
     }
 
@@ -1167,8 +1477,12 @@ public class ClientHandler implements VirtualView {
      */
     public void notifyString(MessageType header, String string) {
         MessageTCP message = new MessageTCP(header, string);
-        synchronized (this.clientProxy) {
+        message.setRequestID(requestID);
+        sendLock.lock();
+        try {
             this.clientProxy.notifyString(message);
+        } finally {
+            sendLock.unlock();
         }
     }
 
@@ -1181,8 +1495,12 @@ public class ClientHandler implements VirtualView {
      */
     public void notifyTable(MessageType header, Table table) {
         MessageTCP message = new MessageTCP(header, table);
-        synchronized (this.clientProxy) {
+        message.setRequestID(requestID);
+        sendLock.lock();
+        try {
             this.clientProxy.notifyTable(message);
+        } finally {
+            sendLock.unlock();
         }
     }
 
@@ -1195,8 +1513,12 @@ public class ClientHandler implements VirtualView {
      */
     public void notifyController(MessageType header, GameController controller) {
         MessageTCP message = new MessageTCP(header, controller);
-        synchronized (this.clientProxy) {
+        message.setRequestID(requestID);
+        sendLock.lock();
+        try {
             this.clientProxy.notifyController(message);
+        } finally {
+            sendLock.unlock();
         }
     }
 
@@ -1209,8 +1531,11 @@ public class ClientHandler implements VirtualView {
     @Override
     public void notifyTurn(Message turnUpdate) {
         MessageTCP message = new MessageTCP(MessageType.TURN);
-        synchronized (this.clientProxy) {
+        sendLock.lock();
+        try {
             this.clientProxy.notifyTurn(message);
+        } finally {
+            sendLock.unlock();
         }
     }
 
@@ -1225,8 +1550,11 @@ public class ClientHandler implements VirtualView {
     @Override
     public void onChatMessage(String sender, String chatMessage) {
         MessageTCP message = new MessageTCP(MessageType.CHAT, sender, chatMessage);
-        synchronized (this.clientProxy) {
+        sendLock.lock();
+        try {
             this.clientProxy.notifyChat(message);
+        } finally {
+            sendLock.unlock();
         }
     }
 
@@ -1241,8 +1569,11 @@ public class ClientHandler implements VirtualView {
     @Override
     public void onPrivateChatMessage(String sender, String chatMessage) {
         MessageTCP message = new MessageTCP(MessageType.PRIVATE_CHAT, sender, chatMessage);
-        synchronized (this.clientProxy) {
+        sendLock.lock();
+        try {
             this.clientProxy.notifyChat(message);
+        } finally {
+            sendLock.unlock();
         }
     }
 
@@ -1265,8 +1596,11 @@ public class ClientHandler implements VirtualView {
     @Override
     public void pong() {
         MessageTCP message = new MessageTCP(MessageType.PING);
-        synchronized (this.clientProxy) {
+        sendLock.lock();
+        try {
             this.clientProxy.notifyMethodCall(message);
+        } finally {
+            sendLock.unlock();
         }
     }
 
@@ -1286,8 +1620,80 @@ public class ClientHandler implements VirtualView {
     @Override
     public void forceExit(String details) {
         MessageTCP message = new MessageTCP(MessageType.EXIT, details);
-        synchronized (this.clientProxy) {
+        sendLock.lock();
+        try {
             this.clientProxy.notifyString(message);
+        } finally {
+            sendLock.unlock();
         }
     }
+
+
+    /**
+     * Tells the client that every player of its match has reached a barrier.
+     *
+     * @param barrier is the barrier reached
+     */
+    @Override
+    public void barrierReached(Barrier barrier) {
+        MessageTCP message = new MessageTCP(MessageType.BARRIER, barrier.name());
+        sendLock.lock();
+        try {
+            this.clientProxy.notifyString(message);
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+
+    /**
+     * Waits until every player of the match has reached a barrier, only the client waits for the barriers.
+     *
+     * @param barrier is the barrier to wait for
+     */
+    @Override
+    public void awaitBarrier(Barrier barrier) {}
+
+
+    /**
+     * Waits until the end of the match has been sent, only the client waits for it.
+     */
+    @Override
+    public void awaitEndOfMatch() {}
+
+
+    /**
+     * Tells the client that the player whose turn it is or the phase of the turn have changed.
+     *
+     * @param turnOwner is the nickname of the player whose turn it is, null if it is nobody's turn
+     * @param phase is the name of the phase of the turn
+     */
+    @Override
+    public void turnChanged(String turnOwner, String phase) {
+        MessageTCP message = new MessageTCP(MessageType.TURN_CHANGED, turnOwner == null ? "" : turnOwner, phase);
+        sendLock.lock();
+        try {
+            this.clientProxy.notifyChat(message);
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+
+    /**
+     * Adds a listener of the turn, only the client listens to the turns.
+     *
+     * @param listener is the listener to be added
+     */
+    @Override
+    public void subscribeToTurns(TurnListener listener) {}
+
+
+    /**
+     * Removes a listener of the turn, only the client listens to the turns.
+     *
+     * @param listener is the listener to be removed
+     */
+    @Override
+    public void unsubscribeFromTurns(TurnListener listener) {}
 }
@@ -34,6 +34,26 @@ public class ClientProxy {
     }
 
 
+    /**
+     * Constructor for a ClientProxy which does not write text, since it overrides all the notify methods.
+     */
+    ClientProxy() {
+        this.output = null;
+        this.objectMapper = null;
+    }
+
+
+    /**
+     * Writes the header of a message, tagged with the correlation ID of the request it answers, if any.
+     *
+     * @param message is the message whose header is written
+     */
+    private void writeHeader(MessageTCP message) {
+        String header = message.getHeader().getValue();
+        output.println(message.getRequestID() == 0 ? header : PendingRequests.tag(message.getRequestID(), header));
+    }
+
+
     /**
      * Notifies the client about an update from the model.
      *
@@ -41,7 +61,7 @@ public class ClientProxy {
      */
     public void notifyUpdate(MessageTCP message) {
         try {
-            output.println(message.getHeader().getValue());
+            writeHeader(message);
             output.println(objectMapper.writeValueAsString(message.getUpdate()));
             output.flush();
         } catch (JsonProcessingException e) {
@@ -56,7 +76,7 @@ public class ClientProxy {
      * @param message containing the boolean
      */
     public void notifyOutcome(MessageTCP message) {
-        output.println(message.getHeader().getValue());
+        writeHeader(message);
         output.println(message.isOutcome());
         output.flush();
     }
@@ -68,7 +88,7 @@ public class ClientProxy {
      * @param message containing the integer
      */
     public void notifyValue(MessageTCP message) {
-        output.println(message.getHeader().getValue());
+        writeHeader(message);
         output.println(message.getValue());
         output.flush();
     }
@@ -80,7 +100,7 @@ public class ClientProxy {
      * @param message containing the list showing the positions on the table where there are cards
      */
     public void notifyPositionList(MessageTCP message) {
-        output.println(message.getHeader().getValue());
+        writeHeader(message);
         output.println(message.getPositions());
         output.flush();
     }
@@ -92,7 +112,7 @@ public class ClientProxy {
      * @param message containing the list showing the names of the players
      */
     public void notifyNamesList(MessageTCP message) {
-        output.println(message.getHeader().getValue());
+        writeHeader(message);
         output.println(message.getNames());
         output.flush();
     }
@@ -105,7 +125,7 @@ public class ClientProxy {
      */
     public void notifyCardsList(MessageTCP message) {
         try {
-            output.println(message.getHeader().getValue());
+            writeHeader(message);
             output.println(objectMapper.writeValueAsString(message.getCards()));
             output.flush();
         } catch (JsonProcessingException e) {
@@ -121,7 +141,7 @@ public class ClientProxy {
      */
     public void notifyColors(MessageTCP message) {
         try {
-            output.println(message.getHeader().getValue());
+            writeHeader(message);
             output.println(objectMapper.writeValueAsString(message.getColors()));
             output.flush();
         } catch (JsonProcessingException e) {
@@ -137,7 +157,7 @@ public class ClientProxy {
      */
     public void notifyTable(MessageTCP message) {
         try {
-            output.println(message.getHeader().getValue());
+            writeHeader(message);
             output.println(objectMapper.writeValueAsString(message.getTable()));
             output.flush();
         } catch (JsonProcessingException e) {
@@ -153,7 +173,7 @@ public class ClientProxy {
      */
     public void notifyController(MessageTCP message) {
         try {
-            output.println(message.getHeader().getValue());
+            writeHeader(message);
             output.println(objectMapper.writeValueAsString(message.getController()));
             output.flush();
         } catch (JsonProcessingException e) {
@@ -162,13 +182,29 @@ public class ClientProxy {
     }
 
 
+    /**
+     * Notifies the client with the result of a placement or of a draw.
+     *
+     * @param message contains the result of the placement or of the draw
+     */
+    public void notifyTurnResult(MessageTCP message) {
+        try {
+            writeHeader(message);
+            output.println(objectMapper.writeValueAsString(message.getTurnResult()));
+            output.flush();
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+
     /**
      * Notifies the client with a string.
      *
      * @param message containing the string for the client
      */
     public void notifyString(MessageTCP message) {
-        output.println(message.getHeader().getValue());
+        writeHeader(message);
         output.println(message.getString());
         output.flush();
     }
@@ -180,18 +216,18 @@ public class ClientProxy {
      * @param message to inform the client
      */
     public void notifyTurn(MessageTCP message) {
-        output.println(message.getHeader().getValue());
+        writeHeader(message);
         output.flush();
     }
 
 
     /**
-     * Notifies the client that they received a chat message.
+     * Notifies the client that they received a chat message, or that the turn has changed.
      *
-     * @param message containing the sender and the chat message
+     * @param message containing the sender and the chat message, or the player whose turn it is and the phase
      */
     public void notifyChat(MessageTCP message) {
-        output.println(message.getHeader().getValue());
+        writeHeader(message);
         output.println(message.getSender());
         output.println(message.getChatMessage());
         output.flush();
@@ -204,7 +240,7 @@ public class ClientProxy {
      * @param message to inform the client
      */
     public void notifyMethodCall(MessageTCP message) {
-        output.println(message.getHeader().getValue());
+        writeHeader(message);
         output.flush();
     }
 }
@@ -1,9 +1,15 @@
 package Network.TCP;
+import Controller.Barrier;
 import Controller.GameController;
+import Controller.TurnResult;
 import Listeners.Message;
 import Model.Cards.*;
+import Model.SparseGrid;
 import Model.Table;
 import Network.Chat;
+import Network.ReachedBarriers;
+import Network.TurnListener;
+import Network.TurnNotifier;
 import Network.VirtualServer;
 import Network.VirtualView;
 import View.Gui.Gui;
@@ -17,6 +23,7 @@ import java.net.Socket;
 import java.rmi.RemoteException;
 import java.util.*;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.LinkedBlockingQueue;
 
 /**
@@ -122,79 +129,57 @@ public class ClientTCP implements VirtualView {
     private boolean finishedToPlay = false;
 
     /**
-     * The type of view the client has chosen.
+     * True if the player has placed a card during this turn and has still to draw.
      */
-    private Gui view;
-
-    /**
-     * True if the user chose to play via Gui, false otherwise
-     */
-    private final boolean viewChoice;
+    private boolean cardPlaced = false;
 
     /**
-     * Signals if the match ended.
+     * The cards of the hand which can be placed on the front, one bit per position, as last received with the hand.
+     * It is -1 when it is unknown, that is before the first hand is received and after every placement.
      */
-    private boolean matchEnded = false;
+    private volatile int playableMask = -1;
 
     /**
-     * The color of the player's color.
+     * The barriers of the match which this client knows have been reached.
      */
-    private Colors color;
-
-    /**
-     * A blocking queue for incoming messages, serialized as strings.
-     */
-    private final BlockingQueue<String> messageQueue = new LinkedBlockingQueue<>();
-
-    /**
-     * A blocking queue for incoming booleans, serialized as strings.
-     */
-    private final BlockingQueue<String> booleanQueue = new LinkedBlockingQueue<>();
-
-    /**
-     * A blocking queue for incoming integers, serialized as strings.
-     */
-    private final BlockingQueue<String> integerQueue = new LinkedBlockingQueue<>();
-
-    /**
-     * A blocking queue for incoming integer arrays, serialized as strings.
-     */
-    private final BlockingQueue<String> integersQueue = new LinkedBlockingQueue<>();
+    @JsonIgnore
+    private final ReachedBarriers barriers = new ReachedBarriers();
 
     /**
-     * A blocking queue for incoming update messages, serialized as strings.
+     * The state of the turn as announced by the server, with the listeners of the GUI.
      */
-    private final BlockingQueue<String> updateQueue = new LinkedBlockingQueue<>();
+    @JsonIgnore
+    private final TurnNotifier turns = new TurnNotifier();
 
     /**
-     * A blocking queue for incoming Colors type objects, serialized as strings.
+     * The type of view the client has chosen.
      */
-    private final BlockingQueue<String> colorsQueue = new LinkedBlockingQueue<>();
+    private Gui view;
 
     /**
-     * A blocking queue for incoming strings.
+     * True if the user chose to play via Gui, false otherwise
      */
-    private final BlockingQueue<String> stringQueue = new LinkedBlockingQueue<>();
+    private final boolean viewChoice;
 
     /**
-     * A blocking queue for incoming string arrays.
+     * Signals if the match ended.
      */
-    private final BlockingQueue<String> stringsQueue = new LinkedBlockingQueue<>();
+    private boolean matchEnded = false;
 
     /**
-     * A blocking queue for incoming Table type objects, serialized as strings.
+     * The color of the player's color.
      */
-    private final BlockingQueue<String> tableQueue = new LinkedBlockingQueue<>();
+    private Colors color;
 
     /**
-     * A blocking queue for incoming GameController type objects, serialized as strings.
+     * A blocking queue for incoming messages, serialized as strings.
      */
-    private final BlockingQueue<String> controllerQueue = new LinkedBlockingQueue<>();
+    private final BlockingQueue<String> messageQueue = new LinkedBlockingQueue<>();
 
     /**
-     * A blocking queue for incoming GameController type objects, serialized as strings.
+     * A blocking queue for incoming update messages, serialized as strings.
      */
-    private final BlockingQueue<String> cardsQueue = new LinkedBlockingQueue<>();
+    private final BlockingQueue<String> updateQueue = new LinkedBlockingQueue<>();
 
     /**
      * Mapper used to deserialize incoming messages from the client proxy.
@@ -249,6 +234,27 @@ public class ClientTCP implements VirtualView {
     }
 
 
+    /**
+     * Sets the socket of the connection, with its reader and its server proxy.
+     * With -Dtcp.binary=true the client asks the server for the binary protocol, otherwise it speaks the text protocol.
+     *
+     * @param socket is the socket connected to the server
+     * @throws IOException if the connection fails or the server does not speak the binary protocol
+     */
+    public void attach(Socket socket) throws IOException {
+        this.socket = socket;
+        if (Boolean.getBoolean("tcp.binary")) {
+            OutputStream socketTx = new BufferedOutputStream(socket.getOutputStream());
+            BinaryCodec.request(socket.getInputStream(), socketTx);
+            input = new BufferedReader(new BinaryAnswerReader(new BufferedInputStream(socket.getInputStream())));
+            server = new ServerProxy(new BufferedWriter(new BinaryRequestWriter(socketTx)));
+        } else {
+            input = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+            server = new ServerProxy(new BufferedWriter(new OutputStreamWriter(socket.getOutputStream())));
+        }
+    }
+
+
     /**
      * Getter method for the blackPawn attribute
      *
@@ -415,9 +421,11 @@ public class ClientTCP implements VirtualView {
                 while (!matchEnded && (messageValue = input.readLine()) != null) {
                     messageQueue.put(messageValue); // Add the message to the queue
                 }
+                server.getRequests().failAll(new EOFException("Connection closed"));
             } catch (IOException | InterruptedException e) {
+                server.getRequests().failAll(e);
                 if (!matchEnded) {
-                    Thread.currentThread().interrupt();
+                    if (e instanceof InterruptedException) Thread.currentThread().interrupt();
                     throw new RuntimeException(e);
                 }
             }
@@ -431,24 +439,22 @@ public class ClientTCP implements VirtualView {
 
 
     /**
-     * Runs a thread which takes strings from the messageQueue and puts values in the right queue.
+     * Runs a thread which takes strings from the messageQueue, completes the requests with the answers
+     * tagged with their correlation ID and handles the notifications.
      */
     public void runReceiver() {
         String messageValue;
         while (!matchEnded) {
             try {
                 messageValue = messageQueue.take();
+                int requestID = PendingRequests.idOf(messageValue);
+                if (requestID != 0) {
+                    //Every answer has a single line of value, which completes the request with the same ID
+                    server.getRequests().complete(requestID, messageQueue.take());
+                    continue;
+                }
                 switch (messageValue) {
-                    case "BOOLEAN" -> booleanQueue.put(messageQueue.take());
-                    case "INTEGER" -> integerQueue.put(messageQueue.take());
-                    case "POSITIONS" -> integersQueue.put(messageQueue.take());
                     case "UPDATE" -> updateQueue.put(messageQueue.take());
-                    case "COLORS" -> colorsQueue.put(messageQueue.take());
-                    case "STRING" -> stringQueue.put(messageQueue.take());
-                    case "NAMES" -> stringsQueue.put(messageQueue.take());
-                    case "TABLE" -> tableQueue.put(messageQueue.take());
-                    case "CONTROLLER" -> controllerQueue.put(messageQueue.take());
-                    case "CARDS" -> cardsQueue.put(messageQueue.take());
                     case "CHAT" -> {
                         String sender = messageQueue.take();
                         String chatMessage = messageQueue.take();
@@ -464,6 +470,12 @@ public class ClientTCP implements VirtualView {
                         System.out.print("\nInput command: ");
                     }
                     case "PING" -> pong();
+                    case "BARRIER" -> barrierReached(Barrier.valueOf(messageQueue.take()));
+                    case "TURN CHANGED" -> {
+                        String turnOwner = messageQueue.take();
+                        String phase = messageQueue.take();
+                        turnChanged(turnOwner.isEmpty() ? null : turnOwner, phase);
+                    }
                     case "EXIT" -> forceExit(messageQueue.take());
                 }
             } catch (InterruptedException e) {
@@ -478,28 +490,23 @@ public class ClientTCP implements VirtualView {
      */
     private void runCli() {
         Scanner in = new Scanner(System.in);
-        first = firstPlayer(); //Checks if this client is the first to join the game
-        if (first) {
-            chooseNumOfPlayers();
-            nickname = chooseName();
-            idMatch = addMatch(nickname);
-        }
-        else {
-            boolean mustWait = true;
-            while (mustWait) {
+        idMatch = -1;
+        while (idMatch < 0) { //Repeats until the client has opened a match or joined the open one
+            if (firstPlayer()) { //Checks if this client is the first to join the game
+                int n = chooseNumOfPlayers();
+                nickname = chooseName();
+                idMatch = openMatch(nickname, n);
+                first = idMatch >= 0;
+            }
+            else {
                 nickname = chooseName();
                 idMatch = addPlayer(nickname);
-                if (idMatch >= 0)
-                    mustWait = false;
-                else System.out.println(RED + "\nAnother user is creating the first match, please retry." + RESET);
             }
         }
 
         boolean allConnected = allConnected(idMatch);
         if(!allConnected) System.out.println(BLUE + "\nWait for all other clients to connect" + RESET);
-        while (!allConnected) {
-            allConnected = allConnected(idMatch);
-        }
+        awaitBarrier(Barrier.CONNECTED);
         System.out.println(YELLOW + "\n\n---------------------------------- OK, LET'S START THE GAME! ----------------------------------\n" + RESET);
 
         placeStarterCard();
@@ -532,7 +539,10 @@ public class ClientTCP implements VirtualView {
             }
             else {
 
-                isValid = checkCommand(idMatch, nickname, command);
+                //Placements and draws are checked by the server together with the move, here only their order is checked
+                if (command.equalsIgnoreCase("place")) isValid = !cardPlaced;
+                else if (command.equalsIgnoreCase("draw")) isValid = cardPlaced;
+                else isValid = checkCommand(idMatch, nickname, command);
 
                 if (!isValid) {
                     System.out.println(RED + "\nSorry, this command is not valid." + RESET);
@@ -599,8 +609,7 @@ public class ClientTCP implements VirtualView {
                     if (command.equalsIgnoreCase("place") && !finishedToPlay) place();
 
                     else if (command.equalsIgnoreCase("draw") && !finishedToPlay) {
-                        draw();
-                        checkEndPhase();
+                        if (draw()) checkEndPhase();
                     }
 
                     else if (command.equalsIgnoreCase("chat")) {
@@ -616,8 +625,10 @@ public class ClientTCP implements VirtualView {
 
     /**
      * Lets the client choose how many players there will be in the match.
+     *
+     * @return the number of players chosen by the client
      */
-    public void chooseNumOfPlayers() {
+    public int chooseNumOfPlayers() {
         int n;
         Scanner in = new Scanner(System.in);
         System.out.print(CYAN + "\nEnter the number of players for the new match: " + RESET);
@@ -629,7 +640,7 @@ public class ClientTCP implements VirtualView {
             if (n < 2 || n > 4)
                 System.out.print(RED + "\nSorry, you need to type a number between 2 and 4: " + RESET);
         } while (n < 2 || n > 4);
-        server.setNumbOfPlayers(n);
+        return n;
     }
 
 
@@ -693,11 +704,7 @@ public class ClientTCP implements VirtualView {
     @Override
     public void connectGui(String ipAddress, int port) {
         try {
-            socket = new Socket(ipAddress, port);
-            InputStreamReader socketRx = new InputStreamReader(socket.getInputStream());
-            OutputStreamWriter socketTx = new OutputStreamWriter(socket.getOutputStream());
-            input = new BufferedReader(socketRx);
-            server = new ServerProxy(new BufferedWriter(socketTx));
+            attach(new Socket(ipAddress, port));
         } catch (IOException e) { forceExit("\nConnection failed"); }
     }
 
@@ -790,14 +797,15 @@ public class ClientTCP implements VirtualView {
 
     /**
      * Calls the respective method on VirtualServer.
-     * Adds a new match to the game.
+     * Adds a new match to the game, unless another match is waiting for players or being created.
      *
      * @param name is the name of the player who created the new match
-     * @return the ID of the newly created match
+     * @param numOfPlayers is the number of players declared by the client
+     * @return the ID of the newly created match, or -1 if the client has to join the open match instead
      */
     @Override
-    public int addMatch(String name) {
-        server.addMatch(name);
+    public int openMatch(String name, int numOfPlayers) {
+        server.openMatch(name, numOfPlayers);
         return waitForInteger();
     }
 
@@ -879,6 +887,7 @@ public class ClientTCP implements VirtualView {
     @Override
     public void placeGui(int cardSelected, String faceSelected, int x, int y) {
         if(checkCommand(idMatch, nickname, "place")){
+            playableMask = -1;
             server.place(idMatch, nickname, cardSelected, faceSelected, x, y);
         }
     }
@@ -1090,16 +1099,15 @@ public class ClientTCP implements VirtualView {
                 System.out.print(RED + "\nSorry, the selection is not valid, type again: " + RESET);
             }
         } while (!starterFace.equalsIgnoreCase("front") && !starterFace.equalsIgnoreCase("back"));
-        server.place(idMatch, nickname, 1, starterFace, 2, 2);
+        playableMask = -1;
+        server.place(idMatch, nickname, 1, starterFace, 0, 0);
         server.increaseNumOfStarterCardsPlaced(idMatch);
         waitForUpdate();
 
         //the user waits until every other player has placed their starter card
         boolean allPlaced = allStarterCardsPlaced(idMatch);
         if(!allPlaced)  System.out.println(BLUE + "\nWait for all other clients to place their starter card" + RESET );
-        while(!allPlaced) {
-            allPlaced = allStarterCardsPlaced(idMatch);
-        }
+        awaitBarrier(Barrier.STARTER_CARDS_PLACED);
     }
 
 
@@ -1186,10 +1194,7 @@ public class ClientTCP implements VirtualView {
         boolean allChosen = allObjectiveCardsChosen(idMatch);
         if(!allChosen)
             System.out.println(BLUE + "\nWait for all other clients to choose their objective card" + RESET);
-        while(true) { //Every player waits that every other player chooses their secret objective
-            allChosen = allObjectiveCardsChosen(idMatch);
-            if (allChosen) break;
-        }
+        awaitBarrier(Barrier.OBJECTIVE_CARDS_CHOSEN); //Every player waits that every other player chooses their secret objective
     }
 
 
@@ -1202,10 +1207,7 @@ public class ClientTCP implements VirtualView {
             server.chooseTheBlackPawn(idMatch);
             server.setBlackPawnChosen(idMatch, true);
         }
-        boolean blackPawnAssigned = isBlackPawnChosen();
-        while (!blackPawnAssigned) {
-            blackPawnAssigned = isBlackPawnChosen();
-        }
+        awaitBarrier(Barrier.BLACK_PAWN_CHOSEN);
         //The blackPawn attribute of the client bound to the player with the black pawn is set to true
         //and that client is going to start the match
         String playerWithBlackPawn = getNameOfThePlayerWithTheBlackPawn();
@@ -1226,6 +1228,7 @@ public class ClientTCP implements VirtualView {
 
     /**
      * The client requests the server to place a card they choose.
+     * The server checks the choice and places the card in a single request, which is repeated until it is accepted.
      */
     public void place() {
         Scanner in = new Scanner(System.in);
@@ -1233,14 +1236,11 @@ public class ClientTCP implements VirtualView {
         server.viewHandAndArea(idMatch, nickname);
         waitForUpdate();
         int cardSelected;
-        int x = 0, y = 0;
-        boolean areCoordinatesValid;
-        String faceSelected = null;
-        String areYouSureToPlace;
-        boolean requirementsRespected;
-        boolean canIPlace;
+        int x, y;
+        String faceSelected;
+        TurnResult result;
         do {
-            canIPlace = true;
+            result = null;
             System.out.print(CYAN + "\nEnter 1, 2 or 3 to choose the respective card from your hand: " + RESET);
             try {
                 cardSelected = in.nextInt();
@@ -1248,73 +1248,55 @@ public class ClientTCP implements VirtualView {
             } catch (InputMismatchException e) { cardSelected = -1; in.nextLine(); }
             if (cardSelected < 1 || cardSelected > 3) {
                 System.out.println(RED + "\nSorry, the selection is not valid, try again." + RESET);
-                canIPlace = false;
+                continue;
             }
-            if (canIPlace) {
-                try {
-                    System.out.println(CYAN + "\nChoose where to place your card by typing the coordinates." + RESET);
-                    System.out.print(PURPLE + "\nEnter the first coordinate (row): " + RESET);
-                    x = in.nextInt();
-                    in.nextLine();
-                    System.out.print(YELLOW + "\nEnter the second coordinate (column): " + RESET);
-                    y = in.nextInt();
-                    in.nextLine();
-                } catch (InputMismatchException e) { x = -1; in.nextLine(); }
-                areCoordinatesValid = areCoordinatesValid(idMatch, nickname, x, y);
-                if (!areCoordinatesValid) {
-                    System.out.println(RED + "\nSorry, you can not place a card here, try again." + RESET);
-                    canIPlace = false;
-                }
-                if (canIPlace) {
-                    System.out.print(CYAN + "\nType 'front' or 'back' to place the card respectively by the front or the back: " + RESET);
-                    faceSelected = in.nextLine().trim();
-                    if (!faceSelected.equalsIgnoreCase("front") && !faceSelected.equalsIgnoreCase("back")) {
-                        System.out.println(RED + "\nSorry, the selection is not valid, try again." + RESET);
-                        canIPlace = false;
-                    }
-                    if (canIPlace) {
-                        //If the player intends to place a gold card, checks if the requirements are met
-                        if (faceSelected.equalsIgnoreCase("front")) {
-                            requirementsRespected = canIPlaceTheGoldCard(idMatch, nickname, cardSelected);
-                            if (!requirementsRespected) {
-                                System.out.println(RED + "\nSorry, you do not have enough resources to place the card, retry" + RESET);
-                                canIPlace = false;
-                            }
-                        }
-                    }
-                    if(canIPlace) {
-                        //The player sees the impact their card positioning would have on their resources and objects
-                        boolean acceptableAnswer = false;
-                        server.viewDifferenceOfResources(idMatch, nickname, cardSelected, faceSelected, x, y);
-                        waitForUpdate();
-                        System.out.print(PURPLE + "\nType 'yes' if you are decided to place this card, otherwise type 'no': " + RESET);
-                        do {
-                            areYouSureToPlace = in.nextLine().trim();
-                            if(areYouSureToPlace.equalsIgnoreCase("yes") || areYouSureToPlace.equalsIgnoreCase("y")) {
-                                acceptableAnswer = true;
-                            }
-                            if(areYouSureToPlace.equalsIgnoreCase("no") || areYouSureToPlace.equalsIgnoreCase("n")) {
-                                System.err.println("\nOk, choose another card, another position or another face");
-                                acceptableAnswer = true;
-                                canIPlace = false;
-                            }
-                            if(!acceptableAnswer) {
-                                System.err.print("\nSorry, you have not entered yes or no, try again: ");
-                            }
-                        } while(!acceptableAnswer);
-                    }
-                }
-            }
-        } while (!canIPlace);
-        server.place(idMatch, nickname, cardSelected, faceSelected, x, y);
-        waitForUpdate();
+            try {
+                System.out.println(CYAN + "\nChoose where to place your card by typing the coordinates." + RESET);
+                System.out.print(PURPLE + "\nEnter the first coordinate (row): " + RESET);
+                x = in.nextInt();
+                in.nextLine();
+                System.out.print(YELLOW + "\nEnter the second coordinate (column): " + RESET);
+                y = in.nextInt();
+                in.nextLine();
+            } catch (InputMismatchException e) { x = y = Integer.MIN_VALUE; in.nextLine(); } //Coordinates can be negative, this position is never valid
+            System.out.print(CYAN + "\nType 'front' or 'back' to place the card respectively by the front or the back: " + RESET);
+            faceSelected = in.nextLine().trim();
+            playableMask = -1;
+            server.tryPlace(idMatch, nickname, cardSelected, faceSelected, x, y);
+            result = waitForTurnResult();
+            if (!result.isAccepted()) System.out.println(RED + "\n" + result.getRejection().getMessage() + RESET);
+        } while (result == null || (!result.isAccepted() && result.getRejection().canRetry()));
+        if (result.isAccepted()) {
+            cardPlaced = true;
+            waitForUpdate();
+            showPlacement(result);
+        }
+    }
+
+
+    /**
+     * Shows to the player how the placement has changed their resources and objects and their points.
+     *
+     * @param result is the result of the placement sent by the server
+     */
+    private void showPlacement(TurnResult result) {
+        StringBuilder changes = new StringBuilder();
+        for (Symbols symbol : Symbols.values()) {
+            int change = result.getResourceDelta().get(symbol);
+            if (change != 0) changes.append("\n  ").append(symbol).append(": ").append(change > 0 ? "+" : "").append(change);
+        }
+        if (!changes.isEmpty()) System.out.println(CYAN + "\nYour resources and objects have changed:" + RESET + changes);
+        System.out.println(GREEN + "\nYou now have " + result.getPoints() + " points" + RESET);
     }
 
 
     /**
      * The client requests the server to draw the card they choose.
+     * The server checks the choice and draws the card in a single request, which is repeated until it is accepted.
+     *
+     * @return true if the draw has been accepted and the turn is over
      */
-    public void draw() {
+    public boolean draw() {
         Scanner in = new Scanner(System.in);
         server.viewTable(idMatch, nickname);
         waitForUpdate();
@@ -1324,75 +1306,34 @@ public class ClientTCP implements VirtualView {
                       - "resource" to draw a card from the resource deck
                       - "gold" to draw a card from the gold deck
                       - "table" to take a card present on the table""");
-        String drawChoice;
-        int whereCanIDraw = whereCanIDraw();
-        /*
-         * 0 if everything is fine
-         * 1 if the Resource deck is empty
-         * 2 if the Gold deck is empty
-         * 3 if both decks are empty
-         * 4 if everything is empty*/
-        boolean drawnFromTheRightPlace;
-        if (whereCanIDraw != 4) {
-            do {
-                drawnFromTheRightPlace = true;
-                drawChoice = in.nextLine();
-                if (!drawChoice.equalsIgnoreCase("resource")
-                        && !drawChoice.equalsIgnoreCase("gold")
-                        && !drawChoice.equalsIgnoreCase("table")) {
-                    System.out.print(RED + "\nSorry, the command is not valid, type again: " + RESET);
-                }
-                if (drawChoice.equalsIgnoreCase("resource") && (whereCanIDraw == 1)) {
-                    System.out.print(RED + "\nSorry, this deck is empty, type 'gold' or 'table': " + RESET);
-                    drawnFromTheRightPlace = false;
-                }
-                if (drawChoice.equalsIgnoreCase("gold") && (whereCanIDraw == 2)) {
-                    System.out.print(RED + "\nSorry, this deck is empty, type 'resource' or 'table': " + RESET);
-                    drawnFromTheRightPlace = false;
-                }
-                if ((drawChoice.equalsIgnoreCase("gold") || drawChoice.equalsIgnoreCase("resource")) && (whereCanIDraw == 3)) {
-                    System.out.print(RED + "\nSorry, this deck is empty, type 'table': " + RESET);
-                    drawnFromTheRightPlace = false;
+        TurnResult result;
+        do {
+            String drawChoice = in.nextLine().trim();
+            int cardSelected = 0;
+            if (drawChoice.equalsIgnoreCase("table")) {
+                System.out.print("\nType 1, 2, 3 or 4 to choose the respective card from the table: ");
+                try {
+                    cardSelected = in.nextInt();
+                    in.nextLine();
+                } catch (InputMismatchException e) {
+                    cardSelected = -1;
+                    in.nextLine();
                 }
-            } while ((!drawChoice.equalsIgnoreCase("resource")
-                    && !drawChoice.equalsIgnoreCase("gold")
-                    && !drawChoice.equalsIgnoreCase("table"))
-                    || !drawnFromTheRightPlace);
-            if (drawChoice.equalsIgnoreCase("resource")) {
-                server.drawResource(idMatch, nickname);
-                waitForUpdate();
-            }
-            else if (drawChoice.equalsIgnoreCase("gold")) {
-                server.drawGold(idMatch, nickname);
-                waitForUpdate();
             }
-            else if (drawChoice.equalsIgnoreCase("table")) {
-                System.out.print("\nType 1, 2, 3 or 4 to choose the respective card from the table: ");
-                int cardSelected;
-                List<Integer> availablePositions = availablePositionsForDrawing();
-                do {
-                    try {
-                        cardSelected = in.nextInt();
-                        in.nextLine();
-                    } catch (InputMismatchException e) {
-                        cardSelected = -1;
-                        in.nextLine();
-                    }
-                    if (cardSelected < 1 || cardSelected > 4) {
-                        System.out.print(RED + "\nSorry, the selection is not valid, type again: " + RESET);
-                    } else if (!availablePositions.contains(cardSelected)) {
-                        System.out.print(RED + "\nSorry, there is not a card here, type again: " + RESET);
-                    }
-                } while (cardSelected < 1 || cardSelected > 4 || !availablePositions.contains(cardSelected));
-                server.drawTable(idMatch, nickname, cardSelected);
-                waitForUpdate();
+            server.tryDraw(idMatch, nickname, drawChoice, cardSelected);
+            result = waitForTurnResult();
+            if (!result.isAccepted()) {
+                System.out.println(RED + "\n" + result.getRejection().getMessage() + RESET);
+                if (result.getRejection().canRetry()) System.out.print("\nType 'resource', 'gold' or 'table': ");
             }
-        }else{
-            System.out.println(RED + "\nSorry, there is nothing to draw" + RESET);
-            server.drawTable(idMatch, nickname, 5);
-            waitForUpdate();
-        }
+        } while (!result.isAccepted() && result.getRejection().canRetry());
+        if (!result.isAccepted()) return false;
+        cardPlaced = false;
+        //If there was nothing left to draw no update is sent
+        if (result.isNothingToDraw()) System.out.println(RED + "\nSorry, there is nothing to draw" + RESET);
+        else waitForUpdate();
         System.out.println(YELLOW + "\n---------------------------------- END OF YOUR TURN ----------------------------------\n" + RESET);
+        return true;
     }
 
 
@@ -1486,24 +1427,14 @@ public class ClientTCP implements VirtualView {
 
 
     /**
-     * Calculates the final score of the player and shows a "you won" or "you lost" message.
+     * Shows the final score of the player and the "you won" or "you lost" message, which are sent by the server
+     * when the last player finishes to play.
      * Finally, the connection for this client closes and the process terminates.
      */
     public void manageEndgame() {
         int playersThatHaveFinished = getNumOfPlayersThatHaveFinishedToPlay(idMatch);
         int numPlayers = getNumOfPlayers(idMatch);
-        if (playersThatHaveFinished == numPlayers) {
-            server.calculateObjectives(idMatch, nickname); //Calculates the points gained from the objectives
-            waitForUpdate();
-            server.increaseNumOfObjectiveCardCalculated(idMatch);
-            boolean allCalculated = allObjectiveCardsCalculated(idMatch);
-            while (!allCalculated) { //Waits until every player has updated their score
-                allCalculated = allObjectiveCardsCalculated(idMatch);
-            }
-            if (first) server.calculateWinner(idMatch); //Chooses the winner
-            server.showEndGameMessage(idMatch, nickname); //Displays the match final results
-            waitForUpdate();
-        }
+        if (playersThatHaveFinished == numPlayers) awaitEndOfMatch();
     }
 
 
@@ -1632,7 +1563,37 @@ public class ClientTCP implements VirtualView {
 
     /**
      * Calls the respective method on VirtualServer.
-     * Checks if the requirements to place a gold card are met.
+     * Shows all the coordinates where the player can place a card.
+     *
+     * @param idMatch  is the ID relative to the specified match
+     * @param nickname is the nickname of the player who is requesting the positions
+     * @return a list with the row and the column of every legal position, one position after the other
+     */
+    @Override
+    public List<Integer> legalPositions(int idMatch, String nickname) {
+        server.legalPositions(idMatch, nickname);
+        return waitForIntegers();
+    }
+
+
+    /**
+     * Calls the respective method on VirtualServer.
+     * Evaluates every placement of the cards in the hand of the player, without changing the play area.
+     *
+     * @param idMatch  is the ID relative to the specified match
+     * @param nickname is the nickname of the player who is requesting the evaluation
+     * @return the moves encoded by 'Move.encode', 'Move.ENCODED_SIZE' integers for every move
+     */
+    @Override
+    public List<Integer> evaluateMoves(int idMatch, String nickname) {
+        server.evaluateMoves(idMatch, nickname);
+        return waitForIntegers();
+    }
+
+
+    /**
+     * Checks if the requirements to place a gold card are met, using the playable mask received with the hand
+     * if it is known, otherwise calling the respective method on VirtualServer.
      *
      * @param idMatch      is the ID relative to the specified match
      * @param nickname     is the nickname of the layer who is requesting to place the gold card
@@ -1641,6 +1602,8 @@ public class ClientTCP implements VirtualView {
      */
     @Override
     public boolean canIPlaceTheGoldCard(int idMatch, String nickname, int cardSelected) {
+        int mask = playableMask;
+        if (mask >= 0) return (mask & (1 << (cardSelected - 1))) != 0;
         server.canIPlaceTheGoldCard(idMatch, nickname, cardSelected);
         return waitForBoolean();
     }
@@ -1848,6 +1811,21 @@ public class ClientTCP implements VirtualView {
     }
 
 
+    /**
+     * Waits until the answer to the last request sent by the calling thread is received from the client proxy.
+     *
+     * @return the value of the answer
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    private String awaitAnswer() throws InterruptedException {
+        try {
+            return server.getRequests().lastOpened().get();
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+
     /**
      * Waits until a boolean is received from the client proxy.
      *
@@ -1855,7 +1833,7 @@ public class ClientTCP implements VirtualView {
      */
     private boolean waitForBoolean() {
         try {
-            String messageValue = booleanQueue.take();
+            String messageValue = awaitAnswer();
             return Boolean.parseBoolean(messageValue);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -1871,7 +1849,7 @@ public class ClientTCP implements VirtualView {
      */
     private int waitForInteger() {
         try {
-            String messageValue = integerQueue.take();
+            String messageValue = awaitAnswer();
             return Integer.parseInt(messageValue);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -1887,9 +1865,11 @@ public class ClientTCP implements VirtualView {
      */
     private List<Integer> waitForIntegers() {
         try {
-            String messageValue = integersQueue.take();
+            String messageValue = awaitAnswer();
             return objectMapper.readValue(messageValue, new TypeReference<>() {});
-        } catch (IOException | InterruptedException e) {
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new RuntimeException(e);
         }
@@ -1902,7 +1882,9 @@ public class ClientTCP implements VirtualView {
     private void waitForUpdate() {
         try {
             showUpdate(objectMapper.readValue(updateQueue.take(), Message.class));
-        } catch (JsonProcessingException | InterruptedException e) {
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new RuntimeException(e);
         }
@@ -1916,8 +1898,10 @@ public class ClientTCP implements VirtualView {
      */
     private Colors[] waitForColors() {
         try {
-            return (objectMapper.readValue(colorsQueue.take(), Colors[].class));
-        } catch (JsonProcessingException | InterruptedException e) {
+            return (objectMapper.readValue(awaitAnswer(), Colors[].class));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new RuntimeException(e);
         }
@@ -1931,7 +1915,7 @@ public class ClientTCP implements VirtualView {
      */
     private String waitForString() {
         try {
-            return stringQueue.take();
+            return awaitAnswer();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new RuntimeException(e);
@@ -1946,12 +1930,14 @@ public class ClientTCP implements VirtualView {
      */
     private List<String> waitForStrings() {
         try {
-            String messageValue = stringsQueue.take();
+            String messageValue = awaitAnswer();
             if (!messageValue.matches("\\[\".*\"\\]")) {
                 messageValue = messageValue.replaceAll("(\\w+)", "\"$1\"");
             }
             return objectMapper.readValue(messageValue, new TypeReference<>() {});
-        } catch (IOException | InterruptedException e) {
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new RuntimeException(e);
         }
@@ -1965,10 +1951,29 @@ public class ClientTCP implements VirtualView {
      */
     public Card[] waitForCards() {
         try {
-            String messageValue = cardsQueue.take();
+            String messageValue = awaitAnswer();
             return objectMapper.readValue(messageValue, new TypeReference<>() {
             });
-        } catch (IOException | InterruptedException e) {
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+
+    /**
+     * Waits until the result of a placement or of a draw is received from the client proxy.
+     *
+     * @return the received result
+     */
+    private TurnResult waitForTurnResult() {
+        try {
+            return objectMapper.readValue(awaitAnswer(), TurnResult.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new RuntimeException(e);
         }
@@ -1980,8 +1985,10 @@ public class ClientTCP implements VirtualView {
      */
     private Table waitForTable() {
         try {
-            return (objectMapper.readValue(tableQueue.take(), Table.class));
-        } catch (JsonProcessingException | InterruptedException e) {
+            return (objectMapper.readValue(awaitAnswer(), Table.class));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new RuntimeException(e);
         }
@@ -1993,8 +2000,10 @@ public class ClientTCP implements VirtualView {
      */
     private GameController waitForController() {
         try {
-            return (objectMapper.readValue(controllerQueue.take(), GameController.class));
-        } catch (JsonProcessingException | InterruptedException e) {
+            return (objectMapper.readValue(awaitAnswer(), GameController.class));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new RuntimeException(e);
         }
@@ -2032,6 +2041,7 @@ public class ClientTCP implements VirtualView {
      */
     @Override
     public void showUpdate(Message message) {
+        if (message.getPlayableMask() >= 0) playableMask = message.getPlayableMask();
         switch (message.getStatus()) {
             case VIEW_STARTER_CARD, STARTER_CARD_PLACED -> {
                 System.out.println("\nYour starter card:");
@@ -2280,33 +2290,41 @@ public class ClientTCP implements VirtualView {
             case VIEW_AREA -> {
                 System.out.println("\nPoints: " + message.getPoints());
                 System.out.println("\n" + GREEN + message.getAreaOwner() + RESET + " play area:");
-                for (int k = 1; k < message.getPlayArea().getGrid().length - 1; k++) {
-                    System.out.print("  ");
-                    System.out.print("    " + YELLOW + k + RESET + "  ");
+                //Coordinates are relative to the starter card, the grid is shown with a border of one empty position
+                SparseGrid grid = message.getPlayArea().getGrid();
+                //The legal positions are requested once, instead of checking every empty position
+                Set<Long> legalPositions = new HashSet<>();
+                List<Integer> positions = legalPositions(idMatch, message.getAreaOwner());
+                for (int k = 0; k + 1 < positions.size(); k += 2) {
+                    legalPositions.add(SparseGrid.pack(positions.get(k), positions.get(k + 1)));
+                }
+                System.out.print("    ");
+                for (int k = grid.getMinColumn() - 1; k <= grid.getMaxColumn() + 1; k++) {
+                    System.out.print(YELLOW + String.format("%5d", k) + RESET + "    ");
                 }
                 System.out.println();
-                for (int i = 1; i < message.getPlayArea().getGrid().length - 1; i++) {
-                    System.out.print(YELLOW + i + RESET + " ");
-                    for (int j = 1; j < message.getPlayArea().getGrid().length - 1; j++) {
-                        if (message.getPlayArea().getGrid()[i][j] != null && message.getPlayArea().getGrid()[i][j].getCentre() == null) {
-                            if (message.getPlayArea().getGrid()[i][j].getColors().equals(Colors.RED)) {
+                for (int i = grid.getMinRow() - 1; i <= grid.getMaxRow() + 1; i++) {
+                    System.out.print(YELLOW + String.format("%3d", i) + RESET + " ");
+                    for (int j = grid.getMinColumn() - 1; j <= grid.getMaxColumn() + 1; j++) {
+                        if (grid.get(i, j) != null && grid.get(i, j).getCentre() == null) {
+                            if (grid.get(i, j).getColors().equals(Colors.RED)) {
                                 System.out.print(RED + "   RED   " + RESET);
                             }
-                            if (message.getPlayArea().getGrid()[i][j].getColors().equals(Colors.BLUE)) {
+                            if (grid.get(i, j).getColors().equals(Colors.BLUE)) {
                                 System.out.print(BLUE + "  BLUE   " + RESET);
                             }
-                            if (message.getPlayArea().getGrid()[i][j].getColors().equals(Colors.GREEN)) {
+                            if (grid.get(i, j).getColors().equals(Colors.GREEN)) {
                                 System.out.print(GREEN + "  GREEN  " + RESET);
                             }
-                            if (message.getPlayArea().getGrid()[i][j].getColors().equals(Colors.PURPLE)) {
+                            if (grid.get(i, j).getColors().equals(Colors.PURPLE)) {
                                 System.out.print(PURPLE + " PURPLE  " + RESET);
                             }
                         }
-                        if (message.getPlayArea().getGrid()[i][j] != null && message.getPlayArea().getGrid()[i][j].getCentre() != null) {
+                        if (grid.get(i, j) != null && grid.get(i, j).getCentre() != null) {
                             System.out.print(YELLOW + " STARTER " + RESET);
                         }
-                        if (message.getPlayArea().getGrid()[i][j] == null) {
-                            boolean valid = areCoordinatesValid(idMatch, message.getAreaOwner(), i, j);
+                        if (grid.get(i, j) == null) {
+                            boolean valid = legalPositions.contains(SparseGrid.pack(i, j));
                             if (valid) System.out.print(CYAN + "    1    " + RESET);
                             else System.out.print(WHITE + "    0    " + RESET);
                         }
@@ -2399,33 +2417,41 @@ public class ClientTCP implements VirtualView {
                 }
                 System.out.println("\nPoints: " + message.getPoints());
                 System.out.println("\n" + GREEN + message.getNickname() + RESET + " play area:");
-                for (int k = 1; k < message.getPlayArea().getGrid().length - 1; k++) {
-                    System.out.print("  ");
-                    System.out.print("    " + YELLOW + k + RESET + "  ");
+                //Coordinates are relative to the starter card, the grid is shown with a border of one empty position
+                SparseGrid grid = message.getPlayArea().getGrid();
+                //The legal positions are requested once, instead of checking every empty position
+                Set<Long> legalPositions = new HashSet<>();
+                List<Integer> positions = legalPositions(idMatch, message.getAreaOwner());
+                for (int k = 0; k + 1 < positions.size(); k += 2) {
+                    legalPositions.add(SparseGrid.pack(positions.get(k), positions.get(k + 1)));
+                }
+                System.out.print("    ");
+                for (int k = grid.getMinColumn() - 1; k <= grid.getMaxColumn() + 1; k++) {
+                    System.out.print(YELLOW + String.format("%5d", k) + RESET + "    ");
                 }
                 System.out.println();
-                for (int i = 1; i < message.getPlayArea().getGrid().length - 1; i++) {
-                    System.out.print(i + " ");
-                    for (int j = 1; j < message.getPlayArea().getGrid().length - 1; j++) {
-                        if (message.getPlayArea().getGrid()[i][j] != null && message.getPlayArea().getGrid()[i][j].getCentre() == null) {
-                            if (message.getPlayArea().getGrid()[i][j].getColors().equals(Colors.RED)) {
+                for (int i = grid.getMinRow() - 1; i <= grid.getMaxRow() + 1; i++) {
+                    System.out.print(YELLOW + String.format("%3d", i) + RESET + " ");
+                    for (int j = grid.getMinColumn() - 1; j <= grid.getMaxColumn() + 1; j++) {
+                        if (grid.get(i, j) != null && grid.get(i, j).getCentre() == null) {
+                            if (grid.get(i, j).getColors().equals(Colors.RED)) {
                                 System.out.print(RED + "   RED   " + RESET);
                             }
-                            if (message.getPlayArea().getGrid()[i][j].getColors().equals(Colors.BLUE)) {
+                            if (grid.get(i, j).getColors().equals(Colors.BLUE)) {
                                 System.out.print(BLUE + "  BLUE   " + RESET);
                             }
-                            if (message.getPlayArea().getGrid()[i][j].getColors().equals(Colors.GREEN)) {
+                            if (grid.get(i, j).getColors().equals(Colors.GREEN)) {
                                 System.out.print(GREEN + "  GREEN  " + RESET);
                             }
-                            if (message.getPlayArea().getGrid()[i][j].getColors().equals(Colors.PURPLE)) {
+                            if (grid.get(i, j).getColors().equals(Colors.PURPLE)) {
                                 System.out.print(PURPLE + " PURPLE  " + RESET);
                             }
                         }
-                        if (message.getPlayArea().getGrid()[i][j] != null && message.getPlayArea().getGrid()[i][j].getCentre() != null) {
+                        if (grid.get(i, j) != null && grid.get(i, j).getCentre() != null) {
                             System.out.print(YELLOW + " STARTER " + RESET);
                         }
-                        if (message.getPlayArea().getGrid()[i][j] == null) {
-                            boolean valid = areCoordinatesValid(idMatch, message.getAreaOwner(), i, j);
+                        if (grid.get(i, j) == null) {
+                            boolean valid = legalPositions.contains(SparseGrid.pack(i, j));
                             if (valid) System.out.print(CYAN + "    1    " + RESET);
                             else System.out.print(WHITE + "    0    " + RESET);
                         }
@@ -2533,4 +2559,82 @@ public class ClientTCP implements VirtualView {
         }
         return result;
     }
-}
\ No newline at end of file
+
+
+    /**
+     * Records that every player of the match has reached a barrier and wakes up the threads waiting for it.
+     *
+     * @param barrier is the barrier reached
+     */
+    @Override
+    public void barrierReached(Barrier barrier) {
+        barriers.reach(barrier);
+    }
+
+
+    /**
+     * Waits until every player of the match has reached a barrier, without asking the server again and again.
+     *
+     * @param barrier is the barrier to wait for
+     */
+    @Override
+    public void awaitBarrier(Barrier barrier) {
+        try {
+            barriers.await(barrier, () -> switch (barrier) {
+                case CONNECTED -> allConnected(idMatch);
+                case STARTER_CARDS_PLACED -> allStarterCardsPlaced(idMatch);
+                case OBJECTIVE_CARDS_CHOSEN -> allObjectiveCardsChosen(idMatch);
+                case BLACK_PAWN_CHOSEN -> isBlackPawnChosen();
+                case OBJECTIVE_CARDS_CALCULATED -> allObjectiveCardsCalculated(idMatch);
+            });
+        } catch (RemoteException e) { forceExit("\nConnection failed"); }
+    }
+
+
+    /**
+     * Shows the updates received until the final score and the "you won" or "you lost" message,
+     * which end the match.
+     */
+    @Override
+    public void awaitEndOfMatch() {
+        while (!matchEnded) { //The "you won" or "you lost" message ends the match
+            waitForUpdate();
+        }
+    }
+
+
+    /**
+     * Tells the listeners of the turn that the player whose turn it is or the phase of the turn have changed.
+     *
+     * @param turnOwner is the nickname of the player whose turn it is, null if it is nobody's turn
+     * @param phase is the name of the phase of the turn
+     */
+    @Override
+    public void turnChanged(String turnOwner, String phase) {
+        turns.update(nickname.equals(turnOwner), phase);
+    }
+
+
+    /**
+     * Adds a listener told about every change of the turn and tells it the current state of the turn.
+     * The first time, the client subscribes to the announcements and asks the server the current state.
+     *
+     * @param listener is the listener to be added
+     */
+    @Override
+    public void subscribeToTurns(TurnListener listener) {
+        if (turns.add(listener)) server.subscribeToTurns(idMatch, nickname);
+        if (!turns.isKnown()) turns.init(checkTurn(), getPhaseGui());
+    }
+
+
+    /**
+     * Removes a listener of the turn, which is not told about the next changes.
+     *
+     * @param listener is the listener to be removed
+     */
+    @Override
+    public void unsubscribeFromTurns(TurnListener listener) {
+        turns.remove(listener);
+    }
+}
@@ -0,0 +1,166 @@
+package Network.TCP;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A thread of a SelectorServer, which reads and writes the channels of many connections through a selector.
+ * Other threads never touch the selector: they leave tasks to the event loop and wake it up.
+ */
+class EventLoop implements Runnable {
+
+    /**
+     * The selector of the channels of the connections.
+     */
+    private final Selector selector;
+
+    /**
+     * The buffer where the bytes of every connection are read, before being passed to the connection.
+     */
+    private final ByteBuffer readBuffer;
+
+    /**
+     * The tasks left by other threads, run by the event loop after every selection.
+     */
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    /**
+     * False once the event loop has been asked to stop.
+     */
+    private volatile boolean running = true;
+
+
+    /**
+     * Constructor for the EventLoop class.
+     *
+     * @param pool is the pool from which the event loop takes its read buffer
+     * @throws IOException if the selector cannot be opened
+     */
+    EventLoop(BufferPool pool) throws IOException {
+        this.selector = Selector.open();
+        this.readBuffer = pool.acquire();
+    }
+
+
+    /**
+     * Makes the event loop read and write the channel of a new connection.
+     *
+     * @param connection is the new connection
+     */
+    void register(SelectorConnection connection) {
+        submit(() -> {
+            try {
+                connection.getChannel().register(selector, SelectionKey.OP_READ, connection);
+            } catch (ClosedChannelException e) {
+                connection.close();
+            }
+        });
+    }
+
+
+    /**
+     * Makes the event loop send the outbound buffers of a connection,
+     * or give them back to the pool if the channel has been closed by another thread.
+     *
+     * @param connection is the connection with buffers to send
+     */
+    void requestWrite(SelectorConnection connection) {
+        submit(() -> {
+            if (!connection.getChannel().isOpen()) {
+                connection.close();
+                return;
+            }
+            SelectionKey key = connection.getChannel().keyFor(selector);
+            if (key == null || !key.isValid()) return;
+            try {
+                if (!connection.write()) key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            } catch (IOException | CancelledKeyException e) {
+                connection.close();
+            }
+        });
+    }
+
+
+    /**
+     * Stops the event loop, which closes all its connections.
+     */
+    void stop() {
+        running = false;
+        selector.wakeup();
+    }
+
+
+    /**
+     * Leaves a task to the event loop and wakes it up.
+     *
+     * @param task is the task to be run by the event loop
+     */
+    private void submit(Runnable task) {
+        tasks.add(task);
+        selector.wakeup();
+    }
+
+
+    /**
+     * Waits for the channels which can be read or written and serves them, until the event loop is stopped.
+     */
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                Runnable task;
+                while ((task = tasks.poll()) != null) task.run();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    serve(key);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("\nError in the event loop: " + e.getMessage());
+        } finally {
+            for (SelectionKey key : selector.keys()) ((SelectorConnection) key.attachment()).close();
+            try {
+                selector.close();
+            } catch (IOException e) {
+                System.err.println("\nError while closing the selector: " + e.getMessage());
+            }
+        }
+    }
+
+
+    /**
+     * Reads the bytes received by a connection and sends its outbound buffers, if its channel is ready.
+     * The connection is closed if the client has closed it or if its channel fails.
+     *
+     * @param key is the selection key of the connection
+     */
+    private void serve(SelectionKey key) {
+        SelectorConnection connection = (SelectorConnection) key.attachment();
+        try {
+            if (key.isReadable()) {
+                int read;
+                do {
+                    read = connection.getChannel().read(readBuffer.clear());
+                    if (read < 0) {
+                        connection.close();
+                        return;
+                    }
+                    connection.received(readBuffer.flip());
+                } while (read == readBuffer.capacity());
+            }
+            if (key.isValid() && key.isWritable() && connection.write()) key.interestOps(SelectionKey.OP_READ);
+        } catch (IOException | CancelledKeyException e) {
+            connection.close();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package Network.TCP;
 
 import Controller.GameController;
+import Controller.TurnResult;
 import Listeners.Message;
 import Model.Cards.Card;
 import Model.Cards.Colors;
@@ -19,6 +20,11 @@ public class MessageTCP {
      */
     private MessageType header;
 
+    /**
+     * The correlation ID of the request the message answers, 0 if the message is a notification.
+     */
+    private int requestID;
+
     /**
      * A boolean the message may contain, representing the answer to the client's request.
      */
@@ -70,6 +76,11 @@ public class MessageTCP {
      */
     private GameController controller;
 
+    /**
+     * The result of a placement or a draw the message may contain, representing the answer to the client's request.
+     */
+    private TurnResult turnResult;
+
     /**
      * The name of a chat message sender the message may contain.
      */
@@ -130,7 +141,7 @@ public class MessageTCP {
 
 
     /**
-     * Constructor for the MessageTCP class for the STRING and the EXIT types of message.
+     * Constructor for the MessageTCP class for the STRING, the EXIT and the BARRIER types of message.
      *
      * @param header represents the message type
      * @param string is the string representing the answer to the request
@@ -143,6 +154,7 @@ public class MessageTCP {
 
     /**
      * Constructor for the MessageTCP class for the CHAT and the PRIVATE CHAT types of message.
+     * It is used also for the TURN CHANGED type, with the player whose turn it is as sender and the phase as message.
      *
      * @param header represents the message type
      * @param sender of the chat message
@@ -179,6 +191,18 @@ public class MessageTCP {
     }
 
 
+    /**
+     * Constructor for the MessageTCP class for the TURN RESULT type of message.
+     *
+     * @param header represents the message type
+     * @param turnResult is the result of the placement or of the draw
+     */
+    public MessageTCP(MessageType header, TurnResult turnResult) {
+        this.header = header;
+        this.turnResult = turnResult;
+    }
+
+
     /**
      * Constructor for the MessageTCP class for the TURN and the PING types of message.
      *
@@ -199,6 +223,26 @@ public class MessageTCP {
     }
 
 
+    /**
+     * Getter method for the requestID attribute.
+     *
+     * @return the correlation ID of the request the message answers, 0 if the message is a notification
+     */
+    public int getRequestID() {
+        return requestID;
+    }
+
+
+    /**
+     * Setter method for the requestID attribute.
+     *
+     * @param requestID is the correlation ID of the request the message answers
+     */
+    public void setRequestID(int requestID) {
+        this.requestID = requestID;
+    }
+
+
     /**
      * Getter method for the outcome attribute.
      *
@@ -329,6 +373,16 @@ public class MessageTCP {
     }
 
 
+    /**
+     * Getter method for the turnResult attribute.
+     *
+     * @return the result of the placement or of the draw
+     */
+    public TurnResult getTurnResult() {
+        return turnResult;
+    }
+
+
     /**
      * Getter method for the sender attribute.
      *
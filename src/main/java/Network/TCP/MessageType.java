@@ -2,6 +2,7 @@ package Network.TCP;
 
 /**
  * Enumerations indicating the type of MessageTCP the ClientProxy sends to the ClientTCP.
+ * In the binary protocol a type is written as its ordinal, so new types must be added at the end.
  */
 public enum MessageType {
 
@@ -19,6 +20,9 @@ public enum MessageType {
     CHAT("CHAT"),
     PRIVATE_CHAT("PRIVATE CHAT"),
     PING("PING"),
+    BARRIER("BARRIER"),
+    TURN_CHANGED("TURN CHANGED"),
+    TURN_RESULT("TURN RESULT"),
     EXIT("EXIT");
 
 
@@ -0,0 +1,230 @@
+package Network.TCP;
+
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The requests of the TCP protocol, one for every command the ClientHandler executes.
+ * In the binary protocol a request is identified by the ordinal of its opcode, so new opcodes must be added
+ * at the end; in the text protocol it is identified by its command.
+ */
+public enum Opcode {
+    FIRST("first"),
+    GET_NUMBER_OF_PLAYERS("get number of players"),
+    CHECK_NAME("check name", Argument.TEXT),
+    OPEN_MATCH("open match", Argument.TEXT, Argument.INT),
+    ADD_PLAYER("add player", Argument.TEXT),
+    GET_NAMES("get names"),
+    GET_POINTS("get points", Argument.TEXT),
+    GET_CARD_LIST("get card list", Argument.TEXT),
+    ALL_CONNECTED("all connected"),
+    MY_TURN("my turn"),
+    SET_TURN("set turn", Argument.BOOL),
+    CHECK_TURN("check turn"),
+    CAN_I_CHOOSE_THE_COLOR("can I choose the color"),
+    SHOW_COLORS("show colors"),
+    CHECK_COLOR("check color", Argument.TEXT),
+    REMOVE_COLOR("remove color", Argument.TEXT),
+    DRAW_CARDS_AND_PLACE_OBJECTIVES("draw cards and place objectives"),
+    GIVE_OBJECTIVES("give objectives"),
+    SHUFFLE("shuffle"),
+    CHOOSE_BLACK_PAWN("choose black pawn"),
+    SET_BLACK_PAWN("set black pawn", Argument.BOOL),
+    IS_BLACK_PAWN_CHOSEN("is black pawn chosen"),
+    PLAYER_WITH_BLACK_PAWN("player with black pawn"),
+    GET_PHASE("get phase"),
+    VIEW_STARTING_TABLE("view starting table"),
+    VIEW_TABLE("view table"),
+    VIEW_HAND("view hand"),
+    VIEW_HAND_AND_AREA("view hand and area"),
+    VIEW_PLAY_AREA("view play area", Argument.TEXT),
+    VIEW_DIFFERENCE("view difference", Argument.INT, Argument.TEXT, Argument.INT, Argument.INT),
+    VIEW_SECRET("view secret"),
+    VIEW_CHOICE_OBJECTIVES("view choice objectives"),
+    PUT_CHOICE_OBJECTIVES("put choice objectives", Argument.INT),
+    INCREASE_OBJECTIVE_CARDS("increase objective cards"),
+    INCREASE_STARTER_CARDS("increase starter cards"),
+    ALL_OBJECTIVES_CHOSEN("all objectives chosen"),
+    ALL_STARTER_CARDS_PLACED("all starter cards placed"),
+    CHECK_COMMAND("check command", Argument.TEXT),
+    CHECK_PLAYER("check player", Argument.TEXT),
+    GET_TABLE("get table"),
+    GET_CONTROLLER("get controller"),
+    PLACE("place", Argument.INT, Argument.TEXT, Argument.INT, Argument.INT),
+    ARE_COORDINATES_VALID("are coordinates valid", Argument.INT, Argument.INT),
+    LEGAL_POSITIONS("legal positions"),
+    EVALUATE_MOVES("evaluate moves"),
+    CAN_PLACE_GOLD_CARD("can place gold card", Argument.INT),
+    DRAW_RESOURCE("draw resource"),
+    DRAW_GOLD("draw gold"),
+    DRAW_TABLE("draw table", Argument.INT),
+    TRY_PLACE("try place", Argument.INT, Argument.TEXT, Argument.INT, Argument.INT),
+    TRY_DRAW("try draw", Argument.TEXT, Argument.INT),
+    WHERE_CAN_DRAW("where can draw"),
+    AVAILABLE_FOR_DRAWING("available for drawing"),
+    CHAT("chat", Argument.TEXT, Argument.TEXT, Argument.TEXT),
+    CHECK_RECIPIENT("check recipient", Argument.TEXT),
+    CHEAT_1("cheat 1"),
+    CHEAT_2("cheat 2"),
+    CHEAT_3("cheat 3"),
+    IS_SECOND_TO_LAST_ROUND("is second to last round"),
+    SET_SECOND_TO_LAST_ROUND("set second to last round", Argument.BOOL),
+    IS_LAST_ROUND("is last round"),
+    SET_LAST_ROUND("set last round", Argument.BOOL),
+    CHECK_ROUND("check round"),
+    IS_NEXT_PLAYER_BLACK_PAWN("is next player black pawn"),
+    INCREASE_PLAYERS_THAT_HAVE_FINISHED("increase players that have finished"),
+    GET_PLAYERS_THAT_HAVE_FINISHED("get players that have finished"),
+    CALCULATE_OBJECTIVES("calculate objectives"),
+    INCREASE_CALCULATED_OBJECTIVES("increase calculated objectives"),
+    ALL_OBJECTIVES_CALCULATED("all objectives calculated"),
+    CALCULATE_WINNER("calculate winner"),
+    ENDGAME_MESSAGE("endgame message"),
+    ENDGAME_MESSAGE_GUI("endgame message gui"),
+    RECEIVE_PONG("receive pong", Argument.TEXT),
+    REMOVE_CLIENT("remove client"),
+    SUBSCRIBE_TO_TURNS("subscribe to turns");
+
+    /**
+     * The types of the arguments of the requests.
+     * In the text protocol every argument is a line; in the binary protocol it is encoded according to its type.
+     */
+    public enum Argument {
+        /**
+         * An integer, written as a zigzag-encoded varint.
+         */
+        INT,
+        /**
+         * A boolean, written as a single byte.
+         */
+        BOOL,
+        /**
+         * A string, written as its length followed by its UTF-8 bytes.
+         */
+        TEXT;
+
+
+        /**
+         * Encodes an argument.
+         *
+         * @param out is the body of the frame
+         * @param line is the argument, as written in the text protocol
+         * @throws NumberFormatException if an integer argument is not a number
+         */
+        void write(ByteArrayOutputStream out, String line) {
+            switch (this) {
+                case INT -> BinaryCodec.writeSigned(out, Integer.parseInt(line.trim()));
+                case BOOL -> out.write(Boolean.parseBoolean(line.trim()) ? 1 : 0);
+                case TEXT -> BinaryCodec.writeText(out, line);
+            }
+        }
+    }
+
+
+    /**
+     * All the opcodes, indexed by ordinal.
+     */
+    private static final Opcode[] OPCODES = values();
+
+    /**
+     * All the opcodes, indexed by command.
+     */
+    private static final Map<String, Opcode> COMMANDS = new HashMap<>();
+
+    static {
+        for (Opcode opcode : OPCODES) COMMANDS.put(opcode.command, opcode);
+    }
+
+    /**
+     * The command of the request in the text protocol.
+     */
+    private final String command;
+
+    /**
+     * The types of the arguments of the request, in the order they are sent.
+     */
+    private final Argument[] arguments;
+
+
+    /**
+     * Constructor for the Opcode enumeration.
+     *
+     * @param command is the command of the request in the text protocol
+     * @param arguments are the types of the arguments of the request
+     */
+    Opcode(String command, Argument... arguments) {
+        this.command = command;
+        this.arguments = arguments;
+    }
+
+
+    /**
+     * Getter method for the command attribute.
+     *
+     * @return the command of the request in the text protocol
+     */
+    public String getCommand() {
+        return command;
+    }
+
+
+    /**
+     * Getter method for the arguments attribute.
+     *
+     * @return the types of the arguments of the request
+     */
+    public Argument[] getArguments() {
+        return arguments.clone();
+    }
+
+
+    /**
+     * Getter method for the number of arguments.
+     *
+     * @return the number of arguments of the request
+     */
+    public int countArguments() {
+        return arguments.length;
+    }
+
+
+    /**
+     * Finds the opcode of a binary request.
+     *
+     * @param code is the ordinal of the opcode
+     * @return the opcode
+     * @throws IllegalArgumentException if there is no such opcode
+     */
+    public static Opcode of(int code) {
+        if (code < 0 || code >= OPCODES.length) throw new IllegalArgumentException("Unknown opcode " + code);
+        return OPCODES[code];
+    }
+
+
+    /**
+     * Finds the opcode of a text request.
+     *
+     * @param command is the command of the request, without the correlation ID
+     * @return the opcode, null if there is no such command
+     */
+    public static Opcode of(String command) {
+        return COMMANDS.get(command);
+    }
+
+
+    /**
+     * Encodes a request into the body of a binary frame.
+     *
+     * @param requestID is the correlation ID of the request, 0 if no answer is expected
+     * @param lines are the arguments of the request, as written in the text protocol
+     * @return the body of the frame
+     */
+    ByteArrayOutputStream encode(int requestID, String... lines) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16);
+        BinaryCodec.writeVarint(out, ordinal());
+        BinaryCodec.writeVarint(out, requestID);
+        for (int i = 0; i < arguments.length; i++) arguments[i].write(out, lines[i]);
+        return out;
+    }
+}
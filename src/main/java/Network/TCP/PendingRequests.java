@@ -0,0 +1,138 @@
+package Network.TCP;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The requests a ClientTCP has sent to the server and whose answer has not arrived yet.
+ * Every request expecting an answer is tagged with a correlation ID, which the server copies on the answer,
+ * so many requests can be in flight at the same time and every answer completes its own request,
+ * in whatever order the answers arrive and whatever notifications arrive in between.
+ */
+public class PendingRequests {
+
+    /**
+     * The character which separates the correlation ID from the command or the header on the same line.
+     */
+    public static final char SEPARATOR = '#';
+
+    /**
+     * The last correlation ID given to a request.
+     */
+    private final AtomicInteger lastID = new AtomicInteger();
+
+    /**
+     * The requests waiting for an answer, indexed by correlation ID.
+     */
+    private final ConcurrentHashMap<Integer, CompletableFuture<String>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * The last request opened by each thread, so that the thread can wait for the answer after sending it.
+     */
+    private final ThreadLocal<CompletableFuture<String>> lastOpened = new ThreadLocal<>();
+
+
+    /**
+     * Opens a new request, which waits for its answer until it is completed.
+     *
+     * @return the correlation ID of the request, never 0 since 0 means that a line has no ID
+     */
+    public int open() {
+        int id;
+        do {
+            id = lastID.incrementAndGet();
+        } while (id == 0);
+        CompletableFuture<String> answer = new CompletableFuture<>();
+        pending.put(id, answer);
+        lastOpened.set(answer);
+        return id;
+    }
+
+
+    /**
+     * Gets the answer of the last request opened by the calling thread.
+     * A thread can keep the answers of many requests and wait for them later, so that the requests are pipelined.
+     *
+     * @return the answer of the last request opened by the calling thread
+     */
+    public CompletableFuture<String> lastOpened() {
+        return lastOpened.get();
+    }
+
+
+    /**
+     * Completes a request with its answer.
+     *
+     * @param id is the correlation ID copied on the answer
+     * @param answer is the value of the answer
+     * @return false if there was no request with this ID
+     */
+    public boolean complete(int id, String answer) {
+        CompletableFuture<String> request = pending.remove(id);
+        return request != null && request.complete(answer);
+    }
+
+
+    /**
+     * Fails all the requests still waiting, for example because the connection has been closed.
+     *
+     * @param cause is the reason why no answer will arrive
+     */
+    public void failAll(Throwable cause) {
+        for (Integer id : pending.keySet()) {
+            CompletableFuture<String> request = pending.remove(id);
+            if (request != null) request.completeExceptionally(cause);
+        }
+    }
+
+
+    /**
+     * Getter method for the number of requests waiting for an answer.
+     *
+     * @return the number of requests waiting for an answer
+     */
+    public int size() {
+        return pending.size();
+    }
+
+
+    /**
+     * Tags a line with a correlation ID.
+     *
+     * @param id is the correlation ID
+     * @param line is the command or the header
+     * @return the tagged line
+     */
+    public static String tag(int id, String line) {
+        return id + "" + SEPARATOR + line;
+    }
+
+
+    /**
+     * Reads the correlation ID of a line.
+     *
+     * @param line is a command or a header, tagged or not
+     * @return the correlation ID, 0 if the line is not tagged
+     */
+    public static int idOf(String line) {
+        int separator = line.indexOf(SEPARATOR);
+        if (separator <= 0) return 0;
+        try {
+            return Integer.parseInt(line.substring(0, separator));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+
+    /**
+     * Removes the correlation ID from a line.
+     *
+     * @param line is a command or a header, tagged or not
+     * @return the command or the header without the correlation ID
+     */
+    public static String untag(String line) {
+        return idOf(line) == 0 ? line : line.substring(line.indexOf(SEPARATOR) + 1);
+    }
+}
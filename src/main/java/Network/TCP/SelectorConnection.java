@@ -0,0 +1,562 @@
+package Network.TCP;
+
+import Controller.Mailbox;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A connection of a SelectorServer, whose bytes are read and written by an event loop.
+ * The first byte tells whether the client speaks the binary protocol or the text protocol.
+ * The bytes read are split into frames, or into lines gathered into requests; every complete request is executed
+ * by the ClientHandler of the connection through a mailbox, so the requests of a client are executed in order
+ * and the event loop never waits for the matches.
+ * The mailbox belongs to the connection rather than to a match: a client sends requests before joining a match
+ * and about different matches, and they have to be answered in order, while every command on a match
+ * is still run by the mailbox of that match.
+ * The answers written by the ClientHandler are encoded into pooled buffers, which the event loop sends
+ * as soon as the socket can take them. A client which does not read its answers is disconnected once too many
+ * bytes are waiting to be sent to it, so it cannot fill the memory of the server.
+ */
+class SelectorConnection {
+
+    /**
+     * The maximum length, in bytes, of a line sent by the client.
+     */
+    static final int MAX_LINE = 1 << 16;
+
+    /**
+     * The maximum number of bytes waiting to be sent to a client before it is disconnected.
+     */
+    static final int MAX_OUTBOUND = 1 << 22;
+
+    /**
+     * The server executing the requests.
+     */
+    private final ServerTCP server;
+
+    /**
+     * The channel of the connection.
+     */
+    private final SocketChannel channel;
+
+    /**
+     * The event loop reading and writing the channel.
+     */
+    private final EventLoop loop;
+
+    /**
+     * The pool of the buffers used to send the answers.
+     */
+    private final BufferPool pool;
+
+    /**
+     * The handler executing the requests of the client, null until the first byte is read.
+     */
+    private ClientHandler handler;
+
+    /**
+     * True if the client speaks the binary protocol.
+     */
+    private boolean binary;
+
+    /**
+     * The number of bytes of the handshake of the binary protocol which have not been read yet.
+     */
+    private int handshake;
+
+    /**
+     * The body of the frame being read, null while its length is being read.
+     */
+    private byte[] frame;
+
+    /**
+     * The number of bytes of the body of the frame which have been read, or the length read so far.
+     */
+    private int frameRead;
+
+    /**
+     * The number of bits of the length of the frame which have been read.
+     */
+    private int lengthShift;
+
+    /**
+     * The mailbox through which the requests are executed, one at a time, on a virtual thread of the connection.
+     */
+    private final Mailbox requests = new Mailbox("tcp-connection");
+
+    /**
+     * The bytes of the line being read.
+     */
+    private byte[] line = new byte[128];
+
+    /**
+     * The number of bytes of the line being read.
+     */
+    private int lineLength;
+
+    /**
+     * The command of the request being read, null if the next line starts a new request.
+     */
+    private String command;
+
+    /**
+     * The opcode of the request being read, null if its command is unknown.
+     */
+    private Opcode opcode;
+
+    /**
+     * The arguments of the request being read.
+     */
+    private ArrayDeque<String> arguments;
+
+    /**
+     * The number of arguments of the request being read which have not arrived yet.
+     */
+    private int missing;
+
+    /**
+     * The buffers waiting to be sent, in order.
+     */
+    private final Queue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The number of bytes in the outbound buffers which have not been sent yet.
+     */
+    private final AtomicLong queued = new AtomicLong();
+
+    /**
+     * The maximum number of bytes waiting to be sent before the connection is closed.
+     */
+    private final int maxOutbound;
+
+    /**
+     * True if the event loop has been asked to send the outbound buffers and has not finished yet.
+     */
+    private final AtomicBoolean writeRequested = new AtomicBoolean();
+
+    /**
+     * True once the connection has been closed.
+     */
+    private volatile boolean closed;
+
+
+    /**
+     * Constructor for the SelectorConnection class.
+     *
+     * @param server is the server executing the requests
+     * @param channel is the channel of the connection, in non-blocking mode
+     * @param loop is the event loop reading and writing the channel
+     * @param pool is the pool of the buffers used to send the answers
+     * @param maxOutbound is the maximum number of bytes waiting to be sent before the connection is closed
+     */
+    SelectorConnection(ServerTCP server, SocketChannel channel, EventLoop loop, BufferPool pool, int maxOutbound) {
+        this.server = server;
+        this.channel = channel;
+        this.loop = loop;
+        this.pool = pool;
+        this.maxOutbound = maxOutbound;
+    }
+
+
+    /**
+     * Getter method for the channel attribute.
+     *
+     * @return the channel of the connection
+     */
+    SocketChannel getChannel() {
+        return channel;
+    }
+
+
+    /**
+     * Reads the bytes received by the event loop, and executes every request completed by them.
+     * It is called only by the event loop.
+     *
+     * @param bytes are the bytes received, ready to be read
+     * @throws IOException if the client sends a line or a frame which is too long
+     */
+    void received(ByteBuffer bytes) throws IOException {
+        if (handler == null && bytes.hasRemaining()) start(Byte.toUnsignedInt(bytes.get(bytes.position())) == BinaryCodec.MAGIC);
+        if (binary) framesReceived(bytes);
+        else linesReceived(bytes);
+    }
+
+
+    /**
+     * Creates the handler of the client for the protocol it speaks, and adds it to the clients of the server.
+     * A client asking for the binary protocol is answered before any other thread can write to it.
+     *
+     * @param binary is true if the client asked for the binary protocol
+     * @throws IOException if the connection has been closed
+     */
+    private void start(boolean binary) throws IOException {
+        this.binary = binary;
+        if (binary) {
+            BinaryOutput output = new BinaryOutput();
+            output.write(new byte[] {(byte) BinaryCodec.MAGIC, BinaryCodec.VERSION});
+            output.flush();
+            handshake = 2;
+            handler = new ClientHandler(server, new BinaryClientProxy(output));
+        } else {
+            handler = new ClientHandler(server, new BufferedWriter(new Output(), ServerTCP.BUFFER_SIZE));
+        }
+        server.accepted(handler);
+    }
+
+
+    /**
+     * Reads bytes of the binary protocol, executing every frame completed by them.
+     *
+     * @param bytes are the bytes received, ready to be read
+     * @throws IOException if the client sends a frame longer than BinaryCodec.MAX_FRAME
+     */
+    private void framesReceived(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            if (handshake > 0) {
+                bytes.get();
+                handshake--;
+                continue;
+            }
+            if (frame == null) {
+                int b = Byte.toUnsignedInt(bytes.get());
+                frameRead |= (b & 0x7F) << lengthShift;
+                lengthShift += 7;
+                if (b >= 0x80) {
+                    if (lengthShift > 28) throw new IOException("Malformed frame length");
+                    continue;
+                }
+                if (frameRead > BinaryCodec.MAX_FRAME) throw new IOException("Frame longer than " + BinaryCodec.MAX_FRAME + " bytes");
+                frame = new byte[frameRead];
+                frameRead = 0;
+                lengthShift = 0;
+            }
+            int count = Math.min(bytes.remaining(), frame.length - frameRead);
+            bytes.get(frame, frameRead, count);
+            frameRead += count;
+            if (frameRead == frame.length) {
+                ByteBuffer body = ByteBuffer.wrap(frame);
+                frame = null;
+                frameRead = 0;
+                requests.execute(() -> handler.execute(body));
+            }
+        }
+    }
+
+
+    /**
+     * Reads bytes of the text protocol, executing every request completed by them.
+     *
+     * @param bytes are the bytes received, ready to be read
+     * @throws IOException if the client sends a line longer than MAX_LINE
+     */
+    private void linesReceived(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            byte b = bytes.get();
+            if (b == '\n') {
+                int length = lineLength > 0 && line[lineLength - 1] == '\r' ? lineLength - 1 : lineLength;
+                lineLength = 0;
+                lineRead(new String(line, 0, length, StandardCharsets.UTF_8));
+            } else {
+                if (lineLength == line.length) {
+                    if (lineLength >= MAX_LINE) throw new IOException("Line longer than " + MAX_LINE + " bytes");
+                    line = Arrays.copyOf(line, lineLength * 2);
+                }
+                line[lineLength++] = b;
+            }
+        }
+    }
+
+
+    /**
+     * Adds a line to the request being read, and executes the request once all its arguments have arrived.
+     *
+     * @param text is the line read
+     */
+    private void lineRead(String text) {
+        if (command == null) {
+            command = text;
+            opcode = Opcode.of(PendingRequests.untag(text));
+            missing = opcode == null ? 0 : opcode.countArguments();
+            arguments = new ArrayDeque<>(missing);
+        } else {
+            arguments.add(text);
+            missing--;
+        }
+        if (missing == 0) {
+            String request = command;
+            Opcode requested = opcode;
+            ArrayDeque<String> values = arguments;
+            command = null;
+            opcode = null;
+            arguments = null;
+            if (requested == null) System.err.println("[INVALID MESSAGE]: " + request);
+            else requests.execute(() -> handler.execute(PendingRequests.idOf(request), requested, values::poll));
+        }
+    }
+
+
+    /**
+     * Sends the outbound buffers, as long as the socket takes them.
+     * It is called only by the event loop.
+     *
+     * @return true if all the buffers have been sent, false if the socket is full
+     * @throws IOException if the channel cannot be written
+     */
+    boolean write() throws IOException {
+        while (true) {
+            ByteBuffer buffer;
+            while ((buffer = outbound.peek()) != null) {
+                queued.addAndGet(-channel.write(buffer));
+                if (buffer.hasRemaining()) return false;
+                outbound.poll();
+                pool.release(buffer);
+            }
+            writeRequested.set(false);
+            // Buffers queued after the queue was found empty were not followed by a request, so they are sent now
+            if (outbound.isEmpty() || !writeRequested.compareAndSet(false, true)) return true;
+        }
+    }
+
+
+    /**
+     * Adds a buffer to the outbound buffers, closing the connection if the client has left too many bytes unread.
+     * If the connection has been closed meanwhile, the event loop is asked again to give the buffers back to the pool,
+     * since it may have emptied the outbound buffers before this one was added.
+     *
+     * @param buffer is the buffer to be sent, ready to be read
+     * @throws IOException if the connection has been closed or too many bytes are waiting to be sent
+     */
+    private void enqueue(ByteBuffer buffer) throws IOException {
+        outbound.add(buffer);
+        if (closed) {
+            loop.requestWrite(this);
+            throw new ClosedChannelException();
+        }
+        if (queued.addAndGet(buffer.remaining()) <= maxOutbound) return;
+        shutdown();
+        throw new IOException("More than " + maxOutbound + " bytes waiting to be sent, the client has been disconnected");
+    }
+
+
+    /**
+     * Closes the connection from a thread other than the event loop.
+     * The channel is closed at once, while the buffers are given back to the pool by the event loop,
+     * which may still be sending one of them.
+     */
+    private void shutdown() {
+        closed = true;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("\nError while closing the connection: " + e.getMessage());
+        }
+        loop.requestWrite(this);
+    }
+
+
+    /**
+     * Asks the event loop to send the outbound buffers, unless it has already been asked.
+     */
+    private void requestWrite() {
+        if (writeRequested.compareAndSet(false, true)) loop.requestWrite(this);
+    }
+
+
+    /**
+     * Closes the connection and gives its buffers back to the pool.
+     * It is called only by the event loop.
+     */
+    void close() {
+        closed = true;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("\nError while closing the connection: " + e.getMessage());
+        }
+        ByteBuffer buffer;
+        while ((buffer = outbound.poll()) != null) pool.release(buffer);
+    }
+
+
+    /**
+     * The writer of the ClientHandler, which encodes the answers into the outbound buffers when it is flushed.
+     * The ClientHandler writes one message at a time, so the writer is never used by two threads at once.
+     */
+    private class Output extends Writer {
+
+        /**
+         * The characters written since the last flush.
+         */
+        private final StringBuilder text = new StringBuilder();
+
+        /**
+         * The encoder of the characters into bytes.
+         */
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+
+        /**
+         * Keeps the characters until the next flush.
+         *
+         * @param chars is the array of characters
+         * @param offset is the index of the first character to write
+         * @param length is the number of characters to write
+         */
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            text.append(chars, offset, length);
+        }
+
+
+        /**
+         * Encodes the characters written into outbound buffers and asks the event loop to send them.
+         *
+         * @throws IOException if the connection has been closed
+         */
+        @Override
+        public void flush() throws IOException {
+            if (closed) {
+                text.setLength(0);
+                throw new ClosedChannelException();
+            }
+            if (text.isEmpty()) return;
+            CharBuffer chars = CharBuffer.wrap(text);
+            encoder.reset();
+            ByteBuffer buffer = pool.acquire();
+            while (encoder.encode(chars, buffer, true).isOverflow()) {
+                enqueue(buffer.flip());
+                buffer = pool.acquire();
+            }
+            while (encoder.flush(buffer).isOverflow()) {
+                enqueue(buffer.flip());
+                buffer = pool.acquire();
+            }
+            text.setLength(0);
+            enqueue(buffer.flip());
+            requestWrite();
+        }
+
+
+        /**
+         * Closes the connection, leaving the outbound buffers to the event loop.
+         */
+        @Override
+        public void close() {
+            shutdown();
+        }
+    }
+
+
+    /**
+     * The output of the BinaryClientProxy, which copies the frames into the outbound buffers
+     * and asks the event loop to send them when it is flushed.
+     * The ClientHandler writes one message at a time, so the output is never used by two threads at once.
+     */
+    private class BinaryOutput extends OutputStream {
+
+        /**
+         * The buffer being filled, null if there is none.
+         */
+        private ByteBuffer buffer;
+
+
+        /**
+         * Copies a byte into the outbound buffers.
+         *
+         * @param b is the byte to write
+         * @throws IOException if the connection has been closed
+         */
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+
+        /**
+         * Copies bytes into the outbound buffers.
+         *
+         * @param bytes is the array of bytes
+         * @param offset is the index of the first byte to write
+         * @param length is the number of bytes to write
+         * @throws IOException if the connection has been closed
+         */
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (closed) {
+                discard();
+                throw new ClosedChannelException();
+            }
+            while (length > 0) {
+                if (buffer == null) buffer = pool.acquire();
+                int count = Math.min(length, buffer.remaining());
+                buffer.put(bytes, offset, count);
+                offset += count;
+                length -= count;
+                if (!buffer.hasRemaining()) {
+                    ByteBuffer full = buffer;
+                    buffer = null;
+                    enqueue(full.flip());
+                }
+            }
+        }
+
+
+        /**
+         * Asks the event loop to send the bytes written.
+         *
+         * @throws IOException if the connection has been closed
+         */
+        @Override
+        public void flush() throws IOException {
+            if (closed) {
+                discard();
+                throw new ClosedChannelException();
+            }
+            if (buffer != null) {
+                ByteBuffer filled = buffer;
+                buffer = null;
+                enqueue(filled.flip());
+            }
+            requestWrite();
+        }
+
+
+        /**
+         * Closes the connection, leaving the outbound buffers to the event loop.
+         */
+        @Override
+        public void close() {
+            discard();
+            shutdown();
+        }
+
+
+        /**
+         * Gives the buffer being filled back to the pool, since it is never going to be sent.
+         */
+        private void discard() {
+            if (buffer != null) {
+                pool.release(buffer);
+                buffer = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package Network.TCP;
+
+import java.io.IOException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * An engine of the ServerTCP which serves all the connections with a fixed number of event loops,
+ * instead of a thread blocked on every socket.
+ * Each event loop reads and writes many non-blocking channels through a selector, using pooled direct buffers,
+ * and passes every complete request to the ClientHandler of its connection, which executes it through the mailbox
+ * of the connection and the mailbox of the match.
+ * The clients speak the text or the binary protocol, as with ServerTCP.runServer, so they do not see which engine is used.
+ */
+public class SelectorServer {
+
+    /**
+     * The size, in bytes, of the pooled buffers.
+     */
+    static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The maximum number of free buffers kept in the pool.
+     */
+    static final int POOL_CAPACITY = 1024;
+
+    /**
+     * The server executing the requests.
+     */
+    private final ServerTCP server;
+
+    /**
+     * The channel accepting the connections, in blocking mode.
+     */
+    private final ServerSocketChannel listenChannel;
+
+    /**
+     * The pool of the buffers shared by the event loops and the connections.
+     */
+    private final BufferPool pool = new BufferPool(BUFFER_SIZE, POOL_CAPACITY);
+
+    /**
+     * The event loops, which the connections are given to in turn.
+     */
+    private final EventLoop[] loops;
+
+
+    /**
+     * Constructor for the SelectorServer class, with an event loop for every available processor.
+     *
+     * @param server is the server executing the requests
+     * @param listenChannel is the channel accepting the connections, whose socket the server has been created with
+     * @throws IOException if the selectors cannot be opened
+     */
+    public SelectorServer(ServerTCP server, ServerSocketChannel listenChannel) throws IOException {
+        this(server, listenChannel, Runtime.getRuntime().availableProcessors());
+    }
+
+
+    /**
+     * Constructor for the SelectorServer class.
+     *
+     * @param server is the server executing the requests
+     * @param listenChannel is the channel accepting the connections, whose socket the server has been created with
+     * @param eventLoops is the number of event loops
+     * @throws IOException if the selectors cannot be opened
+     */
+    public SelectorServer(ServerTCP server, ServerSocketChannel listenChannel, int eventLoops) throws IOException {
+        this.server = server;
+        this.listenChannel = listenChannel;
+        this.loops = new EventLoop[eventLoops];
+        for (int i = 0; i < eventLoops; i++) {
+            loops[i] = new EventLoop(pool);
+            Thread.ofPlatform().name("tcp-event-loop-" + i).start(loops[i]);
+        }
+    }
+
+
+    /**
+     * Accepts the connections and gives them to the event loops in turn, until the listen channel is closed.
+     * The event loops are then stopped, closing all the connections.
+     *
+     * @throws IOException if there is a generic input or output exception
+     */
+    public void runServer() throws IOException {
+        try {
+            SocketChannel channel;
+            for (int next = 0; (channel = listenChannel.accept()) != null; next = (next + 1) % loops.length) {
+                channel.configureBlocking(false);
+                SelectorConnection connection = new SelectorConnection(server, channel, loops[next], pool, SelectorConnection.MAX_OUTBOUND);
+                loops[next].register(connection);
+            }
+        } finally {
+            for (EventLoop loop : loops) loop.stop();
+        }
+    }
+
+
+    /**
+     * Getter method for the number of event loops.
+     *
+     * @return the number of threads serving the connections
+     */
+    public int getEventLoops() {
+        return loops.length;
+    }
+}
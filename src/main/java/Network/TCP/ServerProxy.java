@@ -1,6 +1,7 @@
 package Network.TCP;
 
 import Controller.GameController;
+import Controller.TurnResult;
 import Listeners.Message;
 import Model.Cards.Card;
 import Model.Cards.Colors;
@@ -26,9 +27,16 @@ public class ServerProxy implements VirtualServer {
      */
     final PrintWriter out;
 
+    /**
+     * The requests sent which are still waiting for an answer.
+     */
+    private final PendingRequests requests = new PendingRequests();
+
 
     /**
      * Constructor of the ServerTCP class.
+     * Every method writes all the lines of its request while holding the lock of the proxy,
+     * so the requests of different threads are never mixed up on the connection.
      *
      * @param out is the buffered writer to wrap in the printer writer.
      */
@@ -37,13 +45,35 @@ public class ServerProxy implements VirtualServer {
     }
 
 
+    /**
+     * Getter method for the requests attribute.
+     *
+     * @return the requests sent which are still waiting for an answer
+     */
+    public PendingRequests getRequests() {
+        return requests;
+    }
+
+
+    /**
+     * Opens a new request expecting an answer and tags its command with the correlation ID.
+     * The answer can be read from the last request opened by the calling thread.
+     *
+     * @param command is the command of the request
+     * @return the tagged command
+     */
+    private String request(String command) {
+        return PendingRequests.tag(requests.open(), command);
+    }
+
+
     /**
      * We register a client to a list of clients (VirtualView) the server keeps.
      *
      * @param client is the client that needs to be added
      */
     @Override
-    public void connect(ClientData client) {}
+    public synchronized void connect(ClientData client) {}
 
 
     /**
@@ -54,8 +84,8 @@ public class ServerProxy implements VirtualServer {
      * @return true if the name is already in use, false otherwise
      */
     @Override
-    public boolean checkName(String nameToCheck) {
-        out.println("check name");
+    public synchronized boolean checkName(String nameToCheck) {
+        out.println(request("check name"));
         out.println(nameToCheck);
         out.flush();
         return false;
@@ -72,8 +102,8 @@ public class ServerProxy implements VirtualServer {
      * @return true if the command is legal, false otherwise
      */
     @Override
-    public boolean checkCommand(int idMatch, String nickname, String command) {
-        out.println("check command");
+    public synchronized boolean checkCommand(int idMatch, String nickname, String command) {
+        out.println(request("check command"));
         out.println(command);
         out.flush();
         return false;
@@ -89,8 +119,8 @@ public class ServerProxy implements VirtualServer {
      * @return true if the player is present in the match
      */
     @Override
-    public boolean checkPlayer(int idMatch, String nickname) {
-        out.println("check player");
+    public synchronized boolean checkPlayer(int idMatch, String nickname) {
+        out.println(request("check player"));
         out.println(nickname);
         out.flush();
         return false;
@@ -107,8 +137,8 @@ public class ServerProxy implements VirtualServer {
      * @return true if recipient is a valid name, false otherwise
      */
     @Override
-    public boolean checkRecipient(int idMatch, String sender, String recipient) {
-        out.println("check recipient");
+    public synchronized boolean checkRecipient(int idMatch, String sender, String recipient) {
+        out.println(request("check recipient"));
         out.println(recipient);
         out.flush();
         return false;
@@ -122,8 +152,8 @@ public class ServerProxy implements VirtualServer {
      * @return true if there isn't an open match
      */
     @Override
-    public boolean firstPlayer() {
-        out.println("first");
+    public synchronized boolean firstPlayer() {
+        out.println(request("first"));
         out.flush();
         return false;
     }
@@ -131,29 +161,17 @@ public class ServerProxy implements VirtualServer {
 
     /**
      * Notifies the ClientHandler to call the respective method on ServerTCP.
-     * Initializes the number of players in the game.
-     *
-     * @param n The number of players declared by the client
-     */
-    @Override
-    public void setNumbOfPlayers(int n) {
-        out.println("set number of players");
-        out.println(n);
-        out.flush();
-    }
-
-
-    /**
-     * Notifies the ClientHandler to call the respective method on ServerTCP.
-     * Adds a new match to the game.
+     * Adds a new match to the game, unless another match is waiting for players or being created.
      *
      * @param name is the name of the player who created the new match
-     * @return the ID of the newly created match
+     * @param numOfPlayers is the number of players declared by the client
+     * @return the ID of the newly created match, or -1 if the client has to join the open match instead
      */
     @Override
-    public int addMatch(String name) {
-        out.println("add match");
+    public synchronized int openMatch(String name, int numOfPlayers) {
+        out.println(request("open match"));
         out.println(name);
+        out.println(numOfPlayers);
         out.flush();
         return 0;
     }
@@ -167,8 +185,8 @@ public class ServerProxy implements VirtualServer {
      * @return the ID related to the match
      */
     @Override
-    public int addPlayer(String name) {
-        out.println("add player");
+    public synchronized int addPlayer(String name) {
+        out.println(request("add player"));
         out.println(name);
         out.flush();
         return 0;
@@ -183,8 +201,8 @@ public class ServerProxy implements VirtualServer {
      * @return a list containing all players' nicknames
      */
     @Override
-    public List<String> getPlayersNames(int idMatch) {
-        out.println("get names");
+    public synchronized List<String> getPlayersNames(int idMatch) {
+        out.println(request("get names"));
         out.flush();
         return null;
     }
@@ -196,7 +214,7 @@ public class ServerProxy implements VirtualServer {
      * @param message is the message containing the necessary information to display
      */
     @Override
-    public void sendUpdate(Message message) {}
+    public synchronized void sendUpdate(Message message) {}
 
 
     /**
@@ -206,8 +224,8 @@ public class ServerProxy implements VirtualServer {
      * @return the table related to the specified match
      */
     @Override
-    public Table getTable(int idMatch) {
-        out.println("get table");
+    public synchronized Table getTable(int idMatch) {
+        out.println(request("get table"));
         out.flush();
         return null;
     }
@@ -219,8 +237,8 @@ public class ServerProxy implements VirtualServer {
      * @return the instance of the server's controller
      */
     @Override
-    public GameController getController() {
-        out.println("get controller");
+    public synchronized GameController getController() {
+        out.println(request("get controller"));
         out.flush();
         return null;
     }
@@ -238,7 +256,7 @@ public class ServerProxy implements VirtualServer {
      * @param y is the second coordinate of the position where the player wants to place the card
      */
     @Override
-    public void place(int idMatch, String nickname, int cardSelected, String faceSelected, int x, int y) {
+    public synchronized void place(int idMatch, String nickname, int cardSelected, String faceSelected, int x, int y) {
         out.println("place");
         out.println(cardSelected);
         out.println(faceSelected);
@@ -256,8 +274,8 @@ public class ServerProxy implements VirtualServer {
      * @return the phase to the GUI
      */
     @Override
-    public String getPhaseGui(int idMatch) {
-        out.println("get phase");
+    public synchronized String getPhaseGui(int idMatch) {
+        out.println(request("get phase"));
         out.flush();
         return "";
     }
@@ -271,7 +289,7 @@ public class ServerProxy implements VirtualServer {
      * @param nickname is the name of the player who wants to play the action
      */
     @Override
-    public void drawResource(int idMatch, String nickname) {
+    public synchronized void drawResource(int idMatch, String nickname) {
         out.println("draw resource");
         out.flush();
     }
@@ -285,7 +303,7 @@ public class ServerProxy implements VirtualServer {
      * @param nickname is the name of the player who wants to play the action
      */
     @Override
-    public void drawGold(int idMatch, String nickname) {
+    public synchronized void drawGold(int idMatch, String nickname) {
         out.println("draw gold");
         out.flush();
     }
@@ -300,13 +318,57 @@ public class ServerProxy implements VirtualServer {
      * @param cardSelected references to the index of the card which has been selected from the table
      */
     @Override
-    public void drawTable(int idMatch, String nickname, int cardSelected) {
+    public synchronized void drawTable(int idMatch, String nickname, int cardSelected) {
         out.println("draw table");
         out.println(cardSelected);
         out.flush();
     }
 
 
+    /**
+     * Notifies the ClientHandler to call the respective method on ServerTCP.
+     * Checks the turn, the phase, the coordinates and the requirements and places the card in a single request.
+     *
+     * @param idMatch is the ID related to the match the player is currently playing
+     * @param nickname is the name of the player who launched the command
+     * @param cardSelected references to the index of the card which has been selected
+     * @param faceSelected indicates of the card needs to be placed by the front or by the back
+     * @param x is the first coordinate of the position where the player wants to place the card
+     * @param y is the second coordinate of the position where the player wants to place the card
+     * @return null, the result is sent back to the ClientTCP by the ClientHandler
+     */
+    @Override
+    public synchronized TurnResult tryPlace(int idMatch, String nickname, int cardSelected, String faceSelected, int x, int y) {
+        out.println(request("try place"));
+        out.println(cardSelected);
+        out.println(faceSelected);
+        out.println(x);
+        out.println(y);
+        out.flush();
+        return null;
+    }
+
+
+    /**
+     * Notifies the ClientHandler to call the respective method on ServerTCP.
+     * Checks the turn, the phase and the chosen deck or card on the table and draws the card in a single request.
+     *
+     * @param idMatch is the ID of the match the player is currently playing
+     * @param nickname is the name of the player who wants to play the action
+     * @param source is "resource", "gold" or "table"
+     * @param cardSelected references to the index of the card which has been selected from the table, ignored for the decks
+     * @return null, the result is sent back to the ClientTCP by the ClientHandler
+     */
+    @Override
+    public synchronized TurnResult tryDraw(int idMatch, String nickname, String source, int cardSelected) {
+        out.println(request("try draw"));
+        out.println(source);
+        out.println(cardSelected);
+        out.flush();
+        return null;
+    }
+
+
     /**
      * Calls the respective method in VirtualServer.
      * Method used by a user playing via Gui to receive placed cards with their coordinates,
@@ -318,8 +380,8 @@ public class ServerProxy implements VirtualServer {
      * the starter card is in position (0, 0)
      */
     @Override
-    public Card[] getOrderedCardsList(int idMatch, String nickname) {
-        out.println("get card list");
+    public synchronized Card[] getOrderedCardsList(int idMatch, String nickname) {
+        out.println(request("get card list"));
         out.println(nickname);
         out.flush();
         return new Card[0];
@@ -334,8 +396,8 @@ public class ServerProxy implements VirtualServer {
      * @return the points of the player
      */
     @Override
-    public int getPlayerPoints(int idMatch, String nickname) {
-        out.println("get points");
+    public synchronized int getPlayerPoints(int idMatch, String nickname) {
+        out.println(request("get points"));
         out.println(nickname);
         out.flush();
         return 0;
@@ -354,8 +416,8 @@ public class ServerProxy implements VirtualServer {
      *         4 if everything is empty
      */
     @Override
-    public int whereCanIDraw(int idMatch) {
-        out.println("where can draw");
+    public synchronized int whereCanIDraw(int idMatch) {
+        out.println(request("where can draw"));
         out.flush();
         return 0;
     }
@@ -369,8 +431,8 @@ public class ServerProxy implements VirtualServer {
      * @return a list with all the positions of the table with a card on them
      */
     @Override
-    public List<Integer> availablePositionsForDrawing(int idMatch) {
-        out.println("available for drawing");
+    public synchronized List<Integer> availablePositionsForDrawing(int idMatch) {
+        out.println(request("available for drawing"));
         out.flush();
         return new ArrayList<>();
     }
@@ -386,7 +448,7 @@ public class ServerProxy implements VirtualServer {
      * @param chatMessage is the message typed by the sender
      */
     @Override
-    public void chat(int idMatch, String sender, String recipient, String chatMessage) {
+    public synchronized void chat(int idMatch, String sender, String recipient, String chatMessage) {
         out.println("chat");
         out.println(sender);
         out.println(recipient);
@@ -401,7 +463,7 @@ public class ServerProxy implements VirtualServer {
      * @return the list with all the registered clients
      */
     @Override
-    public List<ClientData> getClients() {
+    public synchronized List<ClientData> getClients() {
         return null;
     }
 
@@ -414,8 +476,8 @@ public class ServerProxy implements VirtualServer {
      * @return true if every expected player is connected
      */
     @Override
-    public boolean allConnected(int idMatch) {
-        out.println("all connected");
+    public synchronized boolean allConnected(int idMatch) {
+        out.println(request("all connected"));
         out.flush();
         return false;
     }
@@ -429,8 +491,8 @@ public class ServerProxy implements VirtualServer {
      * @return true if every starter card has been placed, false otherwise
      */
     @Override
-    public boolean allStarterCardsPlaced(int idMatch) {
-        out.println("all starter cards placed");
+    public synchronized boolean allStarterCardsPlaced(int idMatch) {
+        out.println(request("all starter cards placed"));
         out.flush();
         return false;
     }
@@ -443,7 +505,7 @@ public class ServerProxy implements VirtualServer {
      * @param idMatch is the ID related to the specified match
      */
     @Override
-    public void increaseNumOfStarterCardsPlaced(int idMatch) {
+    public synchronized void increaseNumOfStarterCardsPlaced(int idMatch) {
         out.println("increase starter cards");
         out.flush();
     }
@@ -456,7 +518,7 @@ public class ServerProxy implements VirtualServer {
      * @param idMatch is the ID related to the specified match
      */
     @Override
-    public void shuffleDecksAndGiveStarterCards(int idMatch) {
+    public synchronized void shuffleDecksAndGiveStarterCards(int idMatch) {
         out.println("shuffle");
         out.flush();
     }
@@ -469,7 +531,7 @@ public class ServerProxy implements VirtualServer {
      * @param idMatch is the current match
      */
     @Override
-    public void drawCardsAndPlaceCommonObjectives(int idMatch) {
+    public synchronized void drawCardsAndPlaceCommonObjectives(int idMatch) {
         out.println("draw cards and place objectives");
         out.flush();
     }
@@ -487,7 +549,7 @@ public class ServerProxy implements VirtualServer {
      * @param pos2 is the column where the card will be placed
      */
     @Override
-    public void viewDifferenceOfResources(int idMatch, String nickname, int cardSelected, String faceSelected, int pos1, int pos2) {
+    public synchronized void viewDifferenceOfResources(int idMatch, String nickname, int cardSelected, String faceSelected, int pos1, int pos2) {
         out.println("view difference");
         out.println(cardSelected);
         out.println(faceSelected);
@@ -505,7 +567,7 @@ public class ServerProxy implements VirtualServer {
      * @param nickname is the name of the player who made the request
      */
     @Override
-    public void viewHand(int idMatch, String nickname) {
+    public synchronized void viewHand(int idMatch, String nickname) {
         out.println("view hand");
         out.flush();
     }
@@ -518,7 +580,7 @@ public class ServerProxy implements VirtualServer {
      * @param idMatch is the ID related to the specified match
      * @param nickname is the name of the player who made the request
      */
-    public void viewHandAndArea(int idMatch, String nickname) {
+    public synchronized void viewHandAndArea(int idMatch, String nickname) {
         out.println("view hand and area");
         out.flush();
     }
@@ -532,7 +594,7 @@ public class ServerProxy implements VirtualServer {
      * @param nickname is the name of the player who made the request
      */
     @Override
-    public void viewStartingTable(int idMatch, String nickname) {
+    public synchronized void viewStartingTable(int idMatch, String nickname) {
         out.println("view starting table");
         out.flush();
     }
@@ -546,7 +608,7 @@ public class ServerProxy implements VirtualServer {
      * @param nickname is the name of the player who made the request
      */
     @Override
-    public void viewTable(int idMatch, String nickname) {
+    public synchronized void viewTable(int idMatch, String nickname) {
         out.println("view table");
         out.flush();
     }
@@ -559,7 +621,7 @@ public class ServerProxy implements VirtualServer {
      * @param idMatch is the ID related to the specified match
      */
     @Override
-    public void giveObjectives(int idMatch) {
+    public synchronized void giveObjectives(int idMatch) {
         out.println("give objectives");
         out.flush();
     }
@@ -573,7 +635,7 @@ public class ServerProxy implements VirtualServer {
      * @param nickname is the name of the player who made the request
      */
     @Override
-    public void viewChoiceObjectives(int idMatch, String nickname) {
+    public synchronized void viewChoiceObjectives(int idMatch, String nickname) {
         out.println("view choice objectives");
         out.flush();
     }
@@ -588,7 +650,7 @@ public class ServerProxy implements VirtualServer {
      * @param obSelected indicates which option the client selected
      */
     @Override
-    public void putChoiceObjectives(int idMatch, String nickname, int obSelected) {
+    public synchronized void putChoiceObjectives(int idMatch, String nickname, int obSelected) {
         out.println("put choice objectives");
         out.println(obSelected);
         out.flush();
@@ -603,8 +665,8 @@ public class ServerProxy implements VirtualServer {
      * @return an array of all the colors the player can choose from
      */
     @Override
-    public Colors[] showAvailableColors(int idMatch) {
-        out.println("show colors");
+    public synchronized Colors[] showAvailableColors(int idMatch) {
+        out.println(request("show colors"));
         out.flush();
         return new Colors[0];
     }
@@ -618,7 +680,7 @@ public class ServerProxy implements VirtualServer {
      * @param nickname is the nickname of the player who is making the request
      */
     @Override
-    public void itIsMyTurn(int idMatch, String nickname) {
+    public synchronized void itIsMyTurn(int idMatch, String nickname) {
         out.println("my turn");
         out.flush();
     }
@@ -633,8 +695,8 @@ public class ServerProxy implements VirtualServer {
      * @return true if it is the turn of the player to choose the color
      */
     @Override
-    public boolean canIChooseTheColor(int idMatch, String nickname) {
-        out.println("can I choose the color");
+    public synchronized boolean canIChooseTheColor(int idMatch, String nickname) {
+        out.println(request("can I choose the color"));
         out.flush();
         return false;
     }
@@ -649,8 +711,8 @@ public class ServerProxy implements VirtualServer {
      * @return true if the client entered a valid color
      */
     @Override
-    public boolean checkColor(int idMatch, Colors colorChosen) {
-        out.println("check color");
+    public synchronized boolean checkColor(int idMatch, Colors colorChosen) {
+        out.println(request("check color"));
         out.println(colorChosen.getValue());
         out.flush();
         return false;
@@ -666,7 +728,7 @@ public class ServerProxy implements VirtualServer {
      * @param colorChosen is the color the client selected
      */
     @Override
-    public void removeColorAndPassTurn(int idMatch, String nickname, Colors colorChosen) {
+    public synchronized void removeColorAndPassTurn(int idMatch, String nickname, Colors colorChosen) {
         out.println("remove color");
         out.println(colorChosen.getValue());
         out.flush();
@@ -680,8 +742,8 @@ public class ServerProxy implements VirtualServer {
      * @param idMatch is the ID related to the current match
      */
     @Override
-    public boolean isBlackPawnChosen(int idMatch) {
-        out.println("is black pawn chosen");
+    public synchronized boolean isBlackPawnChosen(int idMatch) {
+        out.println(request("is black pawn chosen"));
         out.flush();
         return false;
     }
@@ -695,7 +757,7 @@ public class ServerProxy implements VirtualServer {
      * @param value is a boolean indicating the value to pass to the setter method as a parameter
      */
     @Override
-    public void setBlackPawnChosen(int idMatch, boolean value) {
+    public synchronized void setBlackPawnChosen(int idMatch, boolean value) {
         out.println("set black pawn");
         out.println(value);
         out.flush();
@@ -709,7 +771,7 @@ public class ServerProxy implements VirtualServer {
      * @param idMatch is the ID related to the current match
      */
     @Override
-    public void chooseTheBlackPawn(int idMatch) {
+    public synchronized void chooseTheBlackPawn(int idMatch) {
         out.println("choose black pawn");
         out.flush();
     }
@@ -723,8 +785,8 @@ public class ServerProxy implements VirtualServer {
      * @return the nickname of the first player of the match, the one owning the black pawn
      */
     @Override
-    public String getNameOfThePlayerWithTheBlackPawn(int idMatch) {
-        out.println("player with black pawn");
+    public synchronized String getNameOfThePlayerWithTheBlackPawn(int idMatch) {
+        out.println(request("player with black pawn"));
         out.flush();
         return null;
     }
@@ -739,7 +801,7 @@ public class ServerProxy implements VirtualServer {
      * @param value is a boolean indicating the value to pass to the setter method as a parameter
      */
     @Override
-    public void setYourTurn(int idMatch, String nickname, boolean value) {
+    public synchronized void setYourTurn(int idMatch, String nickname, boolean value) {
         out.println("set turn");
         out.println(value);
         out.flush();
@@ -755,8 +817,8 @@ public class ServerProxy implements VirtualServer {
      * @return true if it is the turn of the specified player
      */
     @Override
-    public boolean checkTurn(int idMatch, String nickname) {
-        out.println("check turn");
+    public synchronized boolean checkTurn(int idMatch, String nickname) {
+        out.println(request("check turn"));
         out.flush();
         return false;
     }
@@ -771,7 +833,7 @@ public class ServerProxy implements VirtualServer {
      * @param areaOwner is the nickname of the player whose area is going to be displayed
      */
     @Override
-    public void viewPlayArea(int idMatch, String nickname, String areaOwner) {
+    public synchronized void viewPlayArea(int idMatch, String nickname, String areaOwner) {
         out.println("view play area");
         out.println(areaOwner);
         out.flush();
@@ -786,7 +848,7 @@ public class ServerProxy implements VirtualServer {
      * @param nickname is the nickname of the player who is requesting to view the card
      */
     @Override
-    public void viewSecretObjective(int idMatch, String nickname) {
+    public synchronized void viewSecretObjective(int idMatch, String nickname) {
         out.println("view secret");
         out.flush();
     }
@@ -803,8 +865,8 @@ public class ServerProxy implements VirtualServer {
      * @return true if a card can be placed on the specified coordinates, false otherwise
      */
     @Override
-    public boolean areCoordinatesValid(int idMatch, String nickname, int x, int y) {
-        out.println("are coordinates valid");
+    public synchronized boolean areCoordinatesValid(int idMatch, String nickname, int x, int y) {
+        out.println(request("are coordinates valid"));
         out.println(x);
         out.println(y);
         out.flush();
@@ -812,6 +874,38 @@ public class ServerProxy implements VirtualServer {
     }
 
 
+    /**
+     * Notifies the ClientHandler to call the respective method on ServerTCP.
+     * Shows all the coordinates where the player can place a card.
+     *
+     * @param idMatch is the ID relative to the specified match
+     * @param nickname is the nickname of the player who is requesting the positions
+     * @return a list with the row and the column of every legal position, one position after the other
+     */
+    @Override
+    public synchronized List<Integer> legalPositions(int idMatch, String nickname) {
+        out.println(request("legal positions"));
+        out.flush();
+        return new ArrayList<>();
+    }
+
+
+    /**
+     * Notifies the ClientHandler to call the respective method on ServerTCP.
+     * Evaluates every placement of the cards in the hand of the player, without changing the play area.
+     *
+     * @param idMatch is the ID relative to the specified match
+     * @param nickname is the nickname of the player who is requesting the evaluation
+     * @return the moves encoded by 'Move.encode', 'Move.ENCODED_SIZE' integers for every move
+     */
+    @Override
+    public synchronized List<Integer> evaluateMoves(int idMatch, String nickname) {
+        out.println(request("evaluate moves"));
+        out.flush();
+        return new ArrayList<>();
+    }
+
+
     /**
      * Notifies the ClientHandler to call the respective method on ServerTCP.
      * Checks wether the requirements to place a gold card are met.
@@ -822,8 +916,8 @@ public class ServerProxy implements VirtualServer {
      * @return true if the requirements are met, false otherwise
      */
     @Override
-    public boolean canIPlaceTheGoldCard(int idMatch, String nickname, int cardSelected) {
-        out.println("can place gold card");
+    public synchronized boolean canIPlaceTheGoldCard(int idMatch, String nickname, int cardSelected) {
+        out.println(request("can place gold card"));
         out.println(cardSelected);
         out.flush();
         return false;
@@ -837,7 +931,7 @@ public class ServerProxy implements VirtualServer {
      * @param idMatch is the ID related to the specified match
      */
     @Override
-    public void increaseNumOfObjectiveCardChosen(int idMatch) {
+    public synchronized void increaseNumOfObjectiveCardChosen(int idMatch) {
         out.println("increase objective cards");
         out.flush();
     }
@@ -851,8 +945,8 @@ public class ServerProxy implements VirtualServer {
      * @return true if every player has chosen their secret objective, false otherwise
      */
     @Override
-    public boolean allObjectiveCardsChosen(int idMatch) {
-        out.println("all objectives chosen");
+    public synchronized boolean allObjectiveCardsChosen(int idMatch) {
+        out.println(request("all objectives chosen"));
         out.flush();
         return false;
     }
@@ -869,8 +963,8 @@ public class ServerProxy implements VirtualServer {
      * @return 0 if the conditions for the final phase are not satisfied, 1 if they are, 2 if the last round is starting
      */
     @Override
-    public int checkSecondToLastTurn(int idMatch, String nickname) {
-        out.println("check round");
+    public synchronized int checkSecondToLastTurn(int idMatch, String nickname) {
+        out.println(request("check round"));
         out.flush();
         return 0;
     }
@@ -884,7 +978,7 @@ public class ServerProxy implements VirtualServer {
      * @param value is a boolean indicating the value to pass to the setter method as a parameter
      */
     @Override
-    public void setLastRound(int idMatch, boolean value) {
+    public synchronized void setLastRound(int idMatch, boolean value) {
         out.println("set last round");
         out.println(value);
         out.flush();
@@ -899,8 +993,8 @@ public class ServerProxy implements VirtualServer {
      * @return true if the match is in its last round
      */
     @Override
-    public boolean isLastRound(int idMatch) {
-        out.println("is last round");
+    public synchronized boolean isLastRound(int idMatch) {
+        out.println(request("is last round"));
         out.flush();
         return false;
     }
@@ -914,8 +1008,8 @@ public class ServerProxy implements VirtualServer {
      * @return true if the match is in its second to last round
      */
     @Override
-    public boolean isSecondToLastRound(int idMatch) {
-        out.println("is second to last round");
+    public synchronized boolean isSecondToLastRound(int idMatch) {
+        out.println(request("is second to last round"));
         out.flush();
         return false;
     }
@@ -929,7 +1023,7 @@ public class ServerProxy implements VirtualServer {
      * @param b is a boolean indicating the value to pass to the setter method as a parameter
      */
     @Override
-    public void setSecondToLastRound(int idMatch, boolean b) {
+    public synchronized void setSecondToLastRound(int idMatch, boolean b) {
         out.println("set second to last round");
         out.println(b);
         out.flush();
@@ -945,8 +1039,8 @@ public class ServerProxy implements VirtualServer {
      * @return true if the next player in the list Players present on the match table owns the black pawn
      */
     @Override
-    public boolean isNextPlayerTheBlackPawn(int idMatch, String nickname) {
-        out.println("is next player black pawn");
+    public synchronized boolean isNextPlayerTheBlackPawn(int idMatch, String nickname) {
+        out.println(request("is next player black pawn"));
         out.flush();
         return false;
     }
@@ -959,7 +1053,7 @@ public class ServerProxy implements VirtualServer {
      * @param idMatch is the ID related to the current match
      */
     @Override
-    public void increaseNumOfPlayersThatHaveFinishedToPlay(int idMatch) {
+    public synchronized void increaseNumOfPlayersThatHaveFinishedToPlay(int idMatch) {
         out.println("increase players that have finished");
         out.flush();
     }
@@ -973,8 +1067,8 @@ public class ServerProxy implements VirtualServer {
      * @return the number of players who have finished to play
      */
     @Override
-    public int getNumOfPlayersThatHaveFinishedToPlay(int idMatch) {
-        out.println("get players that have finished");
+    public synchronized int getNumOfPlayersThatHaveFinishedToPlay(int idMatch) {
+        out.println(request("get players that have finished"));
         out.flush();
         return 0;
     }
@@ -988,8 +1082,8 @@ public class ServerProxy implements VirtualServer {
      * @return the number of players chosen by the creator of the match
      */
     @Override
-    public int getNumOfPlayers(int idMatch) {
-        out.println("get number of players");
+    public synchronized int getNumOfPlayers(int idMatch) {
+        out.println(request("get number of players"));
         out.flush();
         return 0;
     }
@@ -1003,7 +1097,7 @@ public class ServerProxy implements VirtualServer {
      * @param nickname is the nickname of the client/player
      */
     @Override
-    public void calculateObjectives(int idMatch, String nickname) {
+    public synchronized void calculateObjectives(int idMatch, String nickname) {
         out.println("calculate objectives");
         out.flush();
     }
@@ -1016,7 +1110,7 @@ public class ServerProxy implements VirtualServer {
      * @param idMatch is the ID related to the current match
      */
     @Override
-    public void increaseNumOfObjectiveCardCalculated(int idMatch) {
+    public synchronized void increaseNumOfObjectiveCardCalculated(int idMatch) {
         out.println("increase calculated objectives");
         out.flush();
     }
@@ -1030,8 +1124,8 @@ public class ServerProxy implements VirtualServer {
      * @return true if the score was calculated for every player
      */
     @Override
-    public boolean allObjectiveCardsCalculated(int idMatch) {
-        out.println("all objectives calculated");
+    public synchronized boolean allObjectiveCardsCalculated(int idMatch) {
+        out.println(request("all objectives calculated"));
         out.flush();
         return false;
     }
@@ -1044,7 +1138,7 @@ public class ServerProxy implements VirtualServer {
      * @param idMatch is the ID related to the current match
      */
     @Override
-    public void calculateWinner(int idMatch) {
+    public synchronized void calculateWinner(int idMatch) {
         out.println("calculate winner");
         out.flush();
     }
@@ -1058,7 +1152,7 @@ public class ServerProxy implements VirtualServer {
      * @param nickname is the nickname of the specified player
      */
     @Override
-    public void showEndGameMessage(int idMatch, String nickname) {
+    public synchronized void showEndGameMessage(int idMatch, String nickname) {
         out.println("endgame message");
         out.flush();
     }
@@ -1073,8 +1167,8 @@ public class ServerProxy implements VirtualServer {
      * @return true if the player is the winner, false otherwise
      */
     @Override
-    public boolean endGameMessageGui(int idMatch, String nickname) {
-        out.println("endgame message gui");
+    public synchronized boolean endGameMessageGui(int idMatch, String nickname) {
+        out.println(request("endgame message gui"));
         out.flush();
         return false;
     }
@@ -1088,7 +1182,7 @@ public class ServerProxy implements VirtualServer {
      * @param nickname is the nickname of the specified player
      */
     @Override
-    public void cheat1(int idMatch, String nickname) {
+    public synchronized void cheat1(int idMatch, String nickname) {
         out.println("cheat 1");
         out.flush();
     }
@@ -1102,7 +1196,7 @@ public class ServerProxy implements VirtualServer {
      * @param nickname is the nickname of the specified player
      */
     @Override
-    public void cheat2(int idMatch, String nickname) {
+    public synchronized void cheat2(int idMatch, String nickname) {
         out.println("cheat 2");
         out.flush();
     }
@@ -1115,7 +1209,7 @@ public class ServerProxy implements VirtualServer {
      * @param idMatch is the ID related to the current match
      */
     @Override
-    public void cheat3(int idMatch) {
+    public synchronized void cheat3(int idMatch) {
         out.println("cheat 3");
         out.flush();
     }
@@ -1127,7 +1221,7 @@ public class ServerProxy implements VirtualServer {
      *
      * @param nickname is the nickname of the specified client
      */
-    public void receivePong(String nickname) {
+    public synchronized void receivePong(String nickname) {
         out.println("receive pong");
         out.println(nickname);
         out.flush();
@@ -1141,8 +1235,22 @@ public class ServerProxy implements VirtualServer {
      * @param nickname is the nickname of the specified player
      */
     @Override
-    public void removeClient(String nickname) {
+    public synchronized void removeClient(String nickname) {
         out.println("remove client");
         out.flush();
     }
+
+
+    /**
+     * Notifies the ClientHandler to call the respective method on ServerTCP.
+     * Subscribes the client to the announcements of the changes of the turn of its match.
+     *
+     * @param idMatch is the ID of the match of the client
+     * @param nickname is the nickname of the client
+     */
+    @Override
+    public synchronized void subscribeToTurns(int idMatch, String nickname) {
+        out.println("subscribe to turns");
+        out.flush();
+    }
 }
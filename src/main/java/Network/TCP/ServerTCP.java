@@ -1,15 +1,18 @@
 package Network.TCP;
 
 import Controller.GameController;
-import Controller.MatchController;
+import Controller.TurnResult;
 import Listeners.EndPoint;
 import Listeners.GameStatus;
 import Listeners.Message;
 import Model.Cards.Card;
 import Model.Cards.Colors;
+import Model.Move;
 import Model.Player;
 import Model.Table;
 import Network.ClientData;
+import Network.ClientNotifier;
+import Network.Snapshot;
 import Network.VirtualServer;
 import javafx.util.Pair;
 
@@ -50,15 +53,42 @@ public class ServerTCP implements VirtualServer {
 
 
     /**
-     * the constructor of the class
+     * the size, in characters, of the buffers used to read and write the lines of every connection.
+     * The messages of the protocol are short lines, so small buffers keep the memory used by every connection low
+     */
+    static final int BUFFER_SIZE = 2048;
+
+    /**
+     * the executor running the handler of every accepted connection
+     */
+    private final ExecutorService connections;
+
+
+    /**
+     * the constructor of the class, which runs every connection on its own virtual thread
      * @param listenSocket is the socket configured to listen for incoming connections on a specific port
      * @param controller is the reference to the controller
      * @param clients is the list of all clients connected using the TCP protocol
      */
     public ServerTCP(ServerSocket listenSocket, GameController controller, CopyOnWriteArrayList<ClientData> clients) {
+        this(listenSocket, controller, clients, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+
+    /**
+     * the constructor of the class
+     * @param listenSocket is the socket configured to listen for incoming connections on a specific port
+     * @param controller is the reference to the controller
+     * @param clients is the list of all clients connected using the TCP protocol
+     * @param connections is the executor running the handler of every accepted connection,
+     *                    which blocks on the socket for as long as the client stays connected
+     */
+    public ServerTCP(ServerSocket listenSocket, GameController controller, CopyOnWriteArrayList<ClientData> clients, ExecutorService connections) {
         this.listenSocket = listenSocket;
         this.controller = controller;
         this.clients = clients;
+        this.connections = connections;
+        controller.addObserver(new ClientNotifier(clients));
         scheduler = Executors.newScheduledThreadPool(1);
         lastResponses = new ConcurrentHashMap<>();
         scheduledPing();
@@ -66,31 +96,53 @@ public class ServerTCP implements VirtualServer {
 
 
     /**
-     * with this method the server for the TCP protocol can start
+     * with this method the server for the TCP protocol can start.
+     * Every accepted connection is handled by a task of the executor, which reads the requests of the client
+     * until the connection is closed and then closes the socket
      * @throws IOException if there is a generic input or output exception
      */
     public void runServer() throws IOException {
         Socket clientSocket;
         while ((clientSocket = this.listenSocket.accept()) != null) {
-            InputStreamReader socketRx = new InputStreamReader(clientSocket.getInputStream());
-            OutputStreamWriter socketTx = new OutputStreamWriter(clientSocket.getOutputStream());
+            Socket socket = clientSocket;
+            connections.execute(() -> serve(socket));
+        }
+    }
 
-            ClientHandler handler = new ClientHandler(this, new BufferedReader(socketRx), new BufferedWriter(socketTx));
 
-            synchronized (this.clients) {
-                clients.add(new ClientData(handler, "", -1));
+    /**
+     * serves a connection until it is closed, with the binary protocol if the client asks for it in the handshake,
+     * with the text protocol otherwise
+     * @param socket is the socket of the connection, closed when the client disconnects
+     */
+    private void serve(Socket socket) {
+        try (socket) {
+            BufferedInputStream socketRx = new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE);
+            OutputStream socketTx = socket.getOutputStream();
+            if (BinaryCodec.accept(socketRx, socketTx)) {
+                ClientHandler handler = new ClientHandler(this, new BinaryClientProxy(new BufferedOutputStream(socketTx, BUFFER_SIZE)));
+                accepted(handler);
+                handler.runBinaryView(socketRx);
+            } else {
+                ClientHandler handler = new ClientHandler(this, new BufferedReader(new InputStreamReader(socketRx), BUFFER_SIZE), new BufferedWriter(new OutputStreamWriter(socketTx), BUFFER_SIZE));
+                accepted(handler);
+                handler.runVirtualView();
             }
-            new Thread(() -> {
-                try {
-                    handler.runVirtualView();
-                } catch (IOException e) {
-                    System.err.println("\nError for handler: " + e.getMessage());
-                }
-            }).start();
+        } catch (IOException e) {
+            System.err.println("\nError for handler: " + e.getMessage());
         }
     }
 
 
+    /**
+     * adds the handler of a new connection to the list of clients, before the client chooses a nickname
+     * @param handler is the handler of the connection
+     */
+    void accepted(ClientHandler handler) {
+        clients.add(new ClientData(handler, "", -1));
+    }
+
+
     /**
      * We register a client to a list of clients (VirtualView) the server keeps.
      *
@@ -111,9 +163,7 @@ public class ServerTCP implements VirtualServer {
         boolean alreadyInUse = false;
         if (!clients.isEmpty()) {
             for (ClientData c : clients) {
-                synchronized (this.clients) {
-                    if (c.getNickname().equals(nameToCheck))    alreadyInUse = true;
-                }
+                if (c.getNickname().equals(nameToCheck))    alreadyInUse = true;
             }
         }
         return alreadyInUse;
@@ -130,8 +180,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public boolean checkCommand(int idMatch, String nickname, String command) {
-        boolean isLegal = controller.getMatch(idMatch).getPhase().processCommand(command);
-        return isLegal;
+        return controller.call(idMatch, match -> match.getPhase().processCommand(command));
     }
 
 
@@ -144,9 +193,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public boolean checkPlayer(int idMatch, String nickname) {
-        Player player = controller.getMatch(idMatch).getPlayerByName(nickname);
-        if (player == null) return false;
-        return true;
+        return controller.call(idMatch, match -> match.getPlayerByName(nickname) != null);
     }
 
 
@@ -161,15 +208,14 @@ public class ServerTCP implements VirtualServer {
     public boolean checkRecipient(int idMatch, String sender, String recipient) {
         if (recipient.equalsIgnoreCase("all") || recipient.equalsIgnoreCase("everybody"))
             return true;
-        boolean isValid = false;
-        synchronized (this.controller) {
-            MatchController currentMatch = controller.getMatch(idMatch);
-            for (Player player : currentMatch.getTable().getPlayers()) {
+        return controller.call(idMatch, match -> {
+            boolean isValid = false;
+            for (Player player : match.getTable().getPlayers()) {
                 if (player.getNickname().equals(recipient) && !player.getNickname().equals(sender))
                     isValid = true;
             }
-        }
-        return isValid;
+            return isValid;
+        });
     }
 
 
@@ -196,44 +242,32 @@ public class ServerTCP implements VirtualServer {
     }
 
 
-    /**
-     * Initializes the number of players in the game.
-     *
-     * @param n The number of players declared by the client
-     */
-    @Override
-    public void setNumbOfPlayers(int n) {
-        controller.setPlayersQueue(n);
-    }
-
-
     /**
      * Calls the respective method present in GameController.
-     * Adds a new match to the game.
+     * Adds a new match to the game, unless another match is waiting for players or being created.
      *
      * @param name is the name of the player who created the new match
-     * @return the ID of the newly created match
+     * @param numOfPlayers is the number of players declared by the client
+     * @return the ID of the newly created match, or -1 if the client has to join the open match instead
      */
     @Override
-    public int addMatch(String name) {
+    public int openMatch(String name, int numOfPlayers) {
         EndPoint playerListener = new EndPoint();
-        int idMatch;
-        idMatch = controller.addMatch(name, playerListener);
+        int idMatch = controller.openMatch(name, numOfPlayers, playerListener);
+        if (idMatch < 0) return idMatch;
         playerListener.setServer(this);
         System.err.println("\nNew client connected: " + name);
         for (ClientData c : clients) {
-            synchronized (this.clients) {
-                try {
-                    if (c.getClient().getNickname().equals(name)) {
-                        c.setNickname(name);
-                        c.setIdMatch(idMatch);
-                    }
-                } catch (RemoteException | NullPointerException e) {
-                    try { c.getClient().setNickname(name); }
-                    catch (RemoteException ex) { throw new RuntimeException(ex); }
+            try {
+                if (c.getClient().getNickname().equals(name)) {
                     c.setNickname(name);
                     c.setIdMatch(idMatch);
                 }
+            } catch (RemoteException | NullPointerException e) {
+                try { c.getClient().setNickname(name); }
+                catch (RemoteException ex) { throw new RuntimeException(ex); }
+                c.setNickname(name);
+                c.setIdMatch(idMatch);
             }
         }
         return idMatch;
@@ -260,18 +294,16 @@ public class ServerTCP implements VirtualServer {
         playerListener.setServer(this);
         System.err.println("\nNew client connected: " + name);
         for (ClientData c : clients) {
-            synchronized (this.clients) {
-                try {
-                    if (c.getClient().getNickname().equals(name)) {
-                        c.setNickname(name);
-                        c.setIdMatch(idMatch);
-                    }
-                } catch (NullPointerException | RemoteException e) {
-                    try { c.getClient().setNickname(name); }
-                    catch (RemoteException ex) { throw new RuntimeException(ex); }
+            try {
+                if (c.getClient().getNickname().equals(name)) {
                     c.setNickname(name);
                     c.setIdMatch(idMatch);
                 }
+            } catch (NullPointerException | RemoteException e) {
+                try { c.getClient().setNickname(name); }
+                catch (RemoteException ex) { throw new RuntimeException(ex); }
+                c.setNickname(name);
+                c.setIdMatch(idMatch);
             }
         }
         return idMatch;
@@ -287,7 +319,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public List<String> getPlayersNames(int idMatch) {
-        return controller.getMatch(idMatch).getPlayersNames();
+        return controller.call(idMatch, match -> match.getPlayersNames());
     }
 
 
@@ -299,30 +331,31 @@ public class ServerTCP implements VirtualServer {
     @Override
     public void sendUpdate(Message message) {
         for (ClientData c : clients) {
-            synchronized (this.clients) {
-                try {
-                    if (message.getNickname().equals(c.getNickname())) {
-                        if (message.getStatus().equals(GameStatus.IT_IS_YOUR_TURN)) {
-                            c.getClient().notifyTurn(message);
-                        }
-                        else c.getClient().showUpdate(message);
+            try {
+                if (message.getNickname().equals(c.getNickname())) {
+                    if (message.getStatus().equals(GameStatus.IT_IS_YOUR_TURN)) {
+                        c.getClient().notifyTurn(message);
                     }
-                } catch (RemoteException e) { forceClientDisconnection(c); }
-            }
+                    else c.getClient().showUpdate(message);
+                }
+            } catch (RemoteException e) { forceClientDisconnection(c); }
         }
     }
 
 
     /**
      * Gets the table of a specified match.
+     * The table is copied inside the mailbox of the match, so the copy sent to the client is never changed
+     * by the commands run while it is being serialized.
      *
      * @param idMatch is the ID related to the match
-     * @return the table related to the specified match
+     * @return a copy of the table related to the specified match
      */
     @Override
     public Table getTable(int idMatch) {
         try {
-            return controller.getMatch(idMatch).getTable();
+            Snapshot table = controller.call(idMatch, match -> new Snapshot(match.getTable()));
+            return table.read();
         } catch (Exception e) {
             System.err.println("Error: " + e.getMessage());
         }
@@ -343,13 +376,13 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void place(int idMatch, String nickname, int cardSelected, String faceSelected, int x, int y) {
-        controller.getMatch(idMatch).place(nickname, cardSelected, faceSelected, x, y);
+        controller.run(idMatch, match -> match.place(nickname, cardSelected, faceSelected, x, y));
     }
 
 
     @Override
     public String getPhaseGui(int idMatch) {
-        return controller.getMatch(idMatch).getPhase().communicatePhaseToGui();
+        return controller.call(idMatch, match -> match.getPhase().communicatePhaseToGui());
     }
 
 
@@ -362,7 +395,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void drawResource(int idMatch, String nickname) {
-        controller.getMatch(idMatch).drawResource(nickname);
+        controller.run(idMatch, match -> match.drawResource(nickname));
     }
 
 
@@ -375,7 +408,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void drawGold(int idMatch, String nickname) {
-        controller.getMatch(idMatch).drawGold(nickname);
+        controller.run(idMatch, match -> match.drawGold(nickname));
     }
 
 
@@ -389,7 +422,41 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void drawTable(int idMatch, String nickname, int cardSelected) {
-        controller.getMatch(idMatch).drawTable(nickname, cardSelected);
+        controller.run(idMatch, match -> match.drawTable(nickname, cardSelected));
+    }
+
+
+    /**
+     * Calls the respective tryPlace method present on the controller.
+     * Checks the turn, the phase, the coordinates and the requirements and places the card in a single request.
+     *
+     * @param idMatch is the ID related to the match the player is currently playing
+     * @param nickname is the name of the player who launched the command
+     * @param cardSelected references to the index of the card which has been selected
+     * @param faceSelected indicates of the card needs to be placed by the front or by the back
+     * @param x is the first coordinate of the position where the player wants to place the card
+     * @param y is the second coordinate of the position where the player wants to place the card
+     * @return the new hand, the change of resources and the points if the card has been placed, the rejection otherwise
+     */
+    @Override
+    public TurnResult tryPlace(int idMatch, String nickname, int cardSelected, String faceSelected, int x, int y) {
+        return controller.call(idMatch, match -> match.tryPlace(nickname, cardSelected, faceSelected, x, y));
+    }
+
+
+    /**
+     * Calls the respective tryDraw method present on the controller.
+     * Checks the turn, the phase and the chosen deck or card on the table and draws the card in a single request.
+     *
+     * @param idMatch is the ID of the match the player is currently playing
+     * @param nickname is the name of the player who wants to play the action
+     * @param source is "resource", "gold" or "table"
+     * @param cardSelected references to the index of the card which has been selected from the table, ignored for the decks
+     * @return the new hand and the points if the card has been drawn, the rejection otherwise
+     */
+    @Override
+    public TurnResult tryDraw(int idMatch, String nickname, String source, int cardSelected) {
+        return controller.call(idMatch, match -> match.tryDraw(nickname, source, cardSelected));
     }
 
     /**
@@ -404,7 +471,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public Card[] getOrderedCardsList(int idMatch, String nickname) {
-        return controller.getMatch(idMatch).getPlayerByName(nickname).getPlayArea().getOrderedCardList();
+        return controller.call(idMatch, match -> match.getPlayerByName(nickname).getPlayArea().getOrderedCardList());
     }
 
     /**
@@ -416,7 +483,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public int getPlayerPoints(int idMatch, String nickname) {
-        return controller.getMatch(idMatch).getPlayerByName(nickname).getPoints();
+        return controller.call(idMatch, match -> match.getPlayerByName(nickname).getPoints());
     }
 
 
@@ -433,7 +500,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public int whereCanIDraw(int idMatch) {
-        return controller.getMatch(idMatch).whereCanIDraw();
+        return controller.call(idMatch, match -> match.whereCanIDraw());
     }
 
 
@@ -446,7 +513,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public List<Integer> availablePositionsForDrawing(int idMatch) {
-        return controller.getMatch(idMatch).availablePositionsForDrawing();
+        return controller.call(idMatch, match -> match.availablePositionsForDrawing());
     }
 
 
@@ -463,18 +530,14 @@ public class ServerTCP implements VirtualServer {
         try {
             if (recipient.equalsIgnoreCase("all") || recipient.equalsIgnoreCase("everybody")) {
                 for (ClientData c : clients) {
-                    synchronized (this.clients) {
-                        if (c.getIdMatch() == idMatch && !c.getNickname().equals(sender))
-                            c.getClient().onChatMessage(sender, chatMessage);
-                    }
+                    if (c.getIdMatch() == idMatch && !c.getNickname().equals(sender))
+                        c.getClient().onChatMessage(sender, chatMessage);
                 }
             }
             else {
                 for (ClientData c : clients) {
-                    synchronized (this.clients) {
-                        if (c.getIdMatch() == idMatch && c.getNickname().equals(recipient))
-                            c.getClient().onPrivateChatMessage(sender, chatMessage);
-                    }
+                    if (c.getIdMatch() == idMatch && c.getNickname().equals(recipient))
+                        c.getClient().onPrivateChatMessage(sender, chatMessage);
                 }
             }
         } catch (RemoteException e) { System.err.println("Can not send chat message to client, network error"); }
@@ -500,10 +563,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public boolean allConnected(int idMatch) {
-        if(controller.getMatch(idMatch).getNumOfPlayers() == controller.getMatch(idMatch).getTable().getPlayers().size()) {
-            return true;
-        }
-        return false;
+        return controller.call(idMatch, match -> match.getNumOfPlayers() == match.getTable().getPlayers().size());
     }
 
 
@@ -515,11 +575,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public boolean allStarterCardsPlaced(int idMatch) {
-        boolean allPlaced = false;
-        if (controller.getMatch(idMatch).getNumOfStarterCardsPlaced() == controller.getMatch(idMatch).getTable().getPlayers().size()){
-            allPlaced = true;
-        }
-        return allPlaced;
+        return controller.call(idMatch, match -> match.getNumOfStarterCardsPlaced() == match.getTable().getPlayers().size());
     }
 
 
@@ -530,8 +586,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void increaseNumOfStarterCardsPlaced(int idMatch) {
-        MatchController currentMatch = controller.getMatch(idMatch);
-        currentMatch.setNumOfStarterCardsPlaced(currentMatch.getNumOfStarterCardsPlaced() + 1);
+        controller.run(idMatch, match -> match.setNumOfStarterCardsPlaced(match.getNumOfStarterCardsPlaced() + 1));
     }
 
 
@@ -543,7 +598,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void shuffleDecksAndGiveStarterCards(int idMatch) {
-        controller.getMatch(idMatch).shuffleDecksAndGiveStarterCards();
+        controller.run(idMatch, match -> match.shuffleDecksAndGiveStarterCards());
     }
 
 
@@ -554,7 +609,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void drawCardsAndPlaceCommonObjectives(int idMatch) {
-        controller.getMatch(idMatch).drawCardsAndPlaceCommonObjectives();
+        controller.run(idMatch, match -> match.drawCardsAndPlaceCommonObjectives());
     }
 
 
@@ -571,7 +626,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void viewDifferenceOfResources(int idMatch, String nickname, int cardSelected, String faceSelected, int pos1, int pos2) {
-        controller.getMatch(idMatch).viewDifferenceOfResources(nickname, cardSelected, faceSelected, pos1, pos2);
+        controller.run(idMatch, match -> match.viewDifferenceOfResources(nickname, cardSelected, faceSelected, pos1, pos2));
     }
 
 
@@ -584,7 +639,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void viewHand(int idMatch, String nickname) {
-        controller.getMatch(idMatch).viewHand(nickname);
+        controller.run(idMatch, match -> match.viewHand(nickname));
     }
 
 
@@ -596,7 +651,7 @@ public class ServerTCP implements VirtualServer {
      * @param nickname is the name of the player who made the request
      */
     public void viewHandAndArea(int idMatch, String nickname) {
-        controller.getMatch(idMatch).viewHandAndArea(nickname);
+        controller.run(idMatch, match -> match.viewHandAndArea(nickname));
     }
 
 
@@ -609,7 +664,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void viewStartingTable(int idMatch, String nickname) {
-        controller.getMatch(idMatch).viewStartingTable(nickname);
+        controller.run(idMatch, match -> match.viewStartingTable(nickname));
     }
 
 
@@ -622,7 +677,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void viewTable(int idMatch, String nickname) {
-        controller.getMatch(idMatch).viewTable(nickname);
+        controller.run(idMatch, match -> match.viewTable(nickname));
     }
 
 
@@ -634,7 +689,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void giveObjectives(int idMatch) {
-        controller.getMatch(idMatch).giveObjectives();
+        controller.run(idMatch, match -> match.giveObjectives());
     }
 
 
@@ -647,7 +702,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void viewChoiceObjectives(int idMatch, String nickname) {
-        controller.getMatch(idMatch).viewChoiceObjectives(nickname);
+        controller.run(idMatch, match -> match.viewChoiceObjectives(nickname));
     }
 
 
@@ -661,7 +716,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void putChoiceObjectives(int idMatch, String nickname, int obSelected) {
-        controller.getMatch(idMatch).putChoiceObjectives(nickname, obSelected);
+        controller.run(idMatch, match -> match.putChoiceObjectives(nickname, obSelected));
     }
 
 
@@ -673,7 +728,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public Colors[] showAvailableColors(int idMatch) {
-        return controller.getMatch(idMatch).getAvailableColors();
+        return controller.call(idMatch, match -> match.getAvailableColors());
     }
 
 
@@ -685,7 +740,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void itIsMyTurn(int idMatch, String nickname) {
-        controller.getMatch(idMatch).itIsMyTurn(nickname);
+        controller.run(idMatch, match -> match.itIsMyTurn(nickname));
     }
 
 
@@ -699,7 +754,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public boolean canIChooseTheColor(int idMatch, String nickname) {
-        return controller.getMatch(idMatch).canIChooseTheColor(nickname);
+        return controller.call(idMatch, match -> match.canIChooseTheColor(nickname));
     }
 
 
@@ -713,7 +768,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public boolean checkColor(int idMatch, Colors colorChosen) {
-        return controller.getMatch(idMatch).checkColor(colorChosen);
+        return controller.call(idMatch, match -> match.checkColor(colorChosen));
     }
 
 
@@ -727,7 +782,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void removeColorAndPassTurn(int idMatch, String nickname, Colors colorChosen) {
-        controller.getMatch(idMatch).removeColorAndPassTurn(nickname, colorChosen);
+        controller.run(idMatch, match -> match.removeColorAndPassTurn(nickname, colorChosen));
     }
 
 
@@ -738,7 +793,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public boolean isBlackPawnChosen(int idMatch) {
-        return controller.getMatch(idMatch).isBlackPawnChosen();
+        return controller.call(idMatch, match -> match.isBlackPawnChosen());
     }
 
 
@@ -750,7 +805,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void setBlackPawnChosen(int idMatch, boolean value) {
-        controller.getMatch(idMatch).setBlackPawnChosen(value);
+        controller.run(idMatch, match -> match.setBlackPawnChosen(value));
     }
 
 
@@ -762,7 +817,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void chooseTheBlackPawn(int idMatch) {
-        controller.getMatch(idMatch).chooseTheBlackPawn();
+        controller.run(idMatch, match -> match.chooseTheBlackPawn());
     }
 
 
@@ -774,7 +829,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public String getNameOfThePlayerWithTheBlackPawn(int idMatch) {
-        return controller.getMatch(idMatch).getNameOfThePlayerWithTheBlackPawn();
+        return controller.call(idMatch, match -> match.getNameOfThePlayerWithTheBlackPawn());
     }
 
 
@@ -787,7 +842,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void setYourTurn(int idMatch, String nickname, boolean value) {
-        controller.getMatch(idMatch).setYourTurn(nickname, value);
+        controller.run(idMatch, match -> match.setYourTurn(nickname, value));
     }
 
 
@@ -800,7 +855,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public boolean checkTurn(int idMatch, String nickname) {
-        return controller.getMatch(idMatch).isYourTurn(nickname);
+        return controller.call(idMatch, match -> match.isYourTurn(nickname));
     }
 
 
@@ -814,7 +869,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void viewPlayArea(int idMatch, String nickname, String areaOwner) {
-        controller.getMatch(idMatch).viewPlayArea(nickname, areaOwner);
+        controller.run(idMatch, match -> match.viewPlayArea(nickname, areaOwner));
     }
 
 
@@ -827,7 +882,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void viewSecretObjective(int idMatch, String nickname) {
-        controller.getMatch(idMatch).viewSecretObjective(nickname);
+        controller.run(idMatch, match -> match.viewSecretObjective(nickname));
     }
 
 
@@ -843,7 +898,35 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public boolean areCoordinatesValid(int idMatch, String nickname, int x, int y) {
-        return controller.getMatch(idMatch).areCoordinatesValid(nickname, x, y);
+        return controller.call(idMatch, match -> match.areCoordinatesValid(nickname, x, y));
+    }
+
+
+    /**
+     * Calls the respective method present in MatchController.
+     * Shows all the coordinates where the player can place a card.
+     *
+     * @param idMatch is the ID relative to the specified match
+     * @param nickname is the nickname of the player who is requesting the positions
+     * @return a list with the row and the column of every legal position, one position after the other
+     */
+    @Override
+    public List<Integer> legalPositions(int idMatch, String  nickname) {
+        return controller.call(idMatch, match -> match.legalPositions(nickname));
+    }
+
+
+    /**
+     * Calls the respective method present in MatchController.
+     * Evaluates every placement of the cards in the hand of the player, without changing the play area.
+     *
+     * @param idMatch is the ID relative to the specified match
+     * @param nickname is the nickname of the player who is requesting the evaluation
+     * @return the moves encoded by 'Move.encode', 'Move.ENCODED_SIZE' integers for every move
+     */
+    @Override
+    public List<Integer> evaluateMoves(int idMatch, String  nickname) {
+        return Move.encode(controller.call(idMatch, match -> match.evaluateMoves(nickname)));
     }
 
 
@@ -858,7 +941,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public boolean canIPlaceTheGoldCard(int idMatch, String nickname, int cardSelected) {
-        return controller.getMatch(idMatch).canIPlaceTheGoldCard(nickname, cardSelected);
+        return controller.call(idMatch, match -> match.canIPlaceTheGoldCard(nickname, cardSelected));
     }
 
 
@@ -869,8 +952,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void increaseNumOfObjectiveCardChosen(int idMatch) {
-        MatchController currentMatch = controller.getMatch(idMatch);
-        currentMatch.setNumOfObjectiveCardChosen(currentMatch.getNumOfObjectiveCardChosen()+1);
+        controller.run(idMatch, match -> match.setNumOfObjectiveCardChosen(match.getNumOfObjectiveCardChosen() + 1));
     }
 
 
@@ -882,11 +964,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public boolean allObjectiveCardsChosen(int idMatch) {
-        boolean allChosen = false;
-        if (controller.getMatch(idMatch).getNumOfObjectiveCardChosen() == controller.getMatch(idMatch).getNumOfPlayers()) {
-            allChosen = true;
-        }
-        return allChosen;
+        return controller.call(idMatch, match -> match.getNumOfObjectiveCardChosen() == match.getNumOfPlayers());
     }
 
 
@@ -902,7 +980,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public int checkSecondToLastTurn(int idMatch, String nickname) {
-        return controller.getMatch(idMatch).checkSecondToLastTurn(nickname);
+        return controller.call(idMatch, match -> match.checkSecondToLastTurn(nickname));
     }
 
 
@@ -914,7 +992,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void setLastRound(int idMatch, boolean value) {
-        controller.getMatch(idMatch).setLastRound(value);
+        controller.run(idMatch, match -> match.setLastRound(value));
     }
 
 
@@ -926,7 +1004,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public boolean isLastRound(int idMatch) {
-        return controller.getMatch(idMatch).isLastRound();
+        return controller.call(idMatch, match -> match.isLastRound());
     }
 
 
@@ -938,7 +1016,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public boolean isSecondToLastRound(int idMatch) {
-        return controller.getMatch(idMatch).isSecondToLastRound();
+        return controller.call(idMatch, match -> match.isSecondToLastRound());
     }
 
 
@@ -950,7 +1028,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void setSecondToLastRound(int idMatch, boolean b) {
-        controller.getMatch(idMatch).setSecondToLastRound(b);
+        controller.run(idMatch, match -> match.setSecondToLastRound(b));
     }
 
 
@@ -964,19 +1042,19 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public boolean isNextPlayerTheBlackPawn(int idMatch, String nickname) {
-        return controller.getMatch(idMatch).isNextPlayerTheBlackPawn(nickname);
+        return controller.call(idMatch, match -> match.isNextPlayerTheBlackPawn(nickname));
     }
 
 
     /**
      * Increase the number of players who have finished to play the match.
+     * When the last player finishes, the server scores the whole match and sends the results to every player.
      *
      * @param idMatch is the ID related to the current match
      */
     @Override
     public void increaseNumOfPlayersThatHaveFinishedToPlay(int idMatch) {
-        MatchController currentMatch = controller.getMatch(idMatch);
-        currentMatch.setNumOfPlayersThatHaveFinishedToPlay(currentMatch.getNumOfPlayersThatHaveFinishedToPlay() +1);
+        controller.run(idMatch, match -> match.increaseNumOfPlayersThatHaveFinishedToPlay());
     }
 
 
@@ -989,7 +1067,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public int getNumOfPlayersThatHaveFinishedToPlay(int idMatch) {
-        return controller.getMatch(idMatch).getNumOfPlayersThatHaveFinishedToPlay();
+        return controller.call(idMatch, match -> match.getNumOfPlayersThatHaveFinishedToPlay());
     }
 
 
@@ -1001,7 +1079,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public int getNumOfPlayers(int idMatch) {
-        return controller.getMatch(idMatch).getNumOfPlayers();
+        return controller.call(idMatch, match -> match.getNumOfPlayers());
     }
 
 
@@ -1014,7 +1092,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void calculateObjectives(int idMatch, String nickname) {
-        controller.getMatch(idMatch).calculateObjectives(nickname);
+        controller.run(idMatch, match -> match.calculateObjectives(nickname));
     }
 
 
@@ -1025,8 +1103,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void increaseNumOfObjectiveCardCalculated(int idMatch) {
-        MatchController currentMatch = controller.getMatch(idMatch);
-        currentMatch.setNumOfObjectiveCardCalculated(currentMatch.getNumOfObjectiveCardCalculated() + 1);
+        controller.run(idMatch, match -> match.setNumOfObjectiveCardCalculated(match.getNumOfObjectiveCardCalculated() + 1));
     }
 
 
@@ -1038,10 +1115,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public boolean allObjectiveCardsCalculated(int idMatch) {
-        boolean allCalculated = false;
-        MatchController currentMatch = controller.getMatch(idMatch);
-        if (currentMatch.getNumOfObjectiveCardCalculated() == currentMatch.getNumOfPlayers()) allCalculated = true;
-        return allCalculated;
+        return controller.call(idMatch, match -> match.getNumOfObjectiveCardCalculated() == match.getNumOfPlayers());
     }
 
 
@@ -1053,7 +1127,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void calculateWinner(int idMatch) {
-        controller.getMatch(idMatch).calculateWinner();
+        controller.run(idMatch, match -> match.calculateWinner());
     }
 
 
@@ -1066,7 +1140,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void showEndGameMessage(int idMatch, String nickname) {
-        controller.getMatch(idMatch).showEndGameMessage(nickname);
+        controller.run(idMatch, match -> match.showEndGameMessage(nickname));
     }
 
     /**
@@ -1079,7 +1153,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public boolean endGameMessageGui(int idMatch, String nickname) {
-        return controller.getMatch(idMatch).endGameMessageGui(nickname);
+        return controller.call(idMatch, match -> match.endGameMessageGui(nickname));
     }
 
 
@@ -1092,7 +1166,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void cheat1(int idMatch, String nickname) {
-        controller.getMatch(idMatch).cheat1(nickname);
+        controller.run(idMatch, match -> match.cheat1(nickname));
     }
 
 
@@ -1105,7 +1179,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void cheat2(int idMatch, String nickname) {
-        controller.getMatch(idMatch).cheat2(nickname);
+        controller.run(idMatch, match -> match.cheat2(nickname));
     }
 
 
@@ -1117,7 +1191,7 @@ public class ServerTCP implements VirtualServer {
      */
     @Override
     public void cheat3(int idMatch) {
-        controller.getMatch(idMatch).cheat3();
+        controller.run(idMatch, match -> match.cheat3());
     }
 
 
@@ -1128,20 +1202,18 @@ public class ServerTCP implements VirtualServer {
      */
     public void scheduledPing() {
         scheduler.scheduleAtFixedRate(() -> {
-            synchronized (this.clients) {
-                for (ClientData c : clients) {
-                    try {
-                        String nickname = c.getNickname();
-                        if (lastResponses.containsKey(nickname)) {
-                            long lastResponseTime = lastResponses.get(nickname);
-                            long currentTime = System.currentTimeMillis();
-                            //If a client does not respond within 2 minutes, it is considered as disconnected
-                            if (currentTime - lastResponseTime > 120000)  forceClientDisconnection(c);
-                        }
-                        c.getClient().pong();
-                    } catch (IOException e) {
-                        System.err.println("\nError while pinging client " + c.getNickname());
+            for (ClientData c : clients) {
+                try {
+                    String nickname = c.getNickname();
+                    if (lastResponses.containsKey(nickname)) {
+                        long lastResponseTime = lastResponses.get(nickname);
+                        long currentTime = System.currentTimeMillis();
+                        //If a client does not respond within 2 minutes, it is considered as disconnected
+                        if (currentTime - lastResponseTime > 120000)  forceClientDisconnection(c);
                     }
+                    c.getClient().pong();
+                } catch (IOException e) {
+                    System.err.println("\nError while pinging client " + c.getNickname());
                 }
             }
         }, 0, 180, TimeUnit.SECONDS); //Ping every 3 minutes
@@ -1158,6 +1230,20 @@ public class ServerTCP implements VirtualServer {
     }
 
 
+    /**
+     * Subscribes a client to the announcements of the changes of the turn of its match.
+     *
+     * @param idMatch is the ID of the match of the client
+     * @param nickname is the nickname of the client
+     */
+    @Override
+    public void subscribeToTurns(int idMatch, String nickname) {
+        for (ClientData c : clients) {
+            if (c.getIdMatch() == idMatch && c.getNickname().equals(nickname)) c.setTurnsSubscribed(true);
+        }
+    }
+
+
     /**
      * Removes the specified client from the clients list present on the server.
      *
@@ -1167,16 +1253,30 @@ public class ServerTCP implements VirtualServer {
     public void removeClient(String nickname) {
         System.err.println("\nClient " + nickname + " disconnected");
         for (ClientData c : clients) {
-            synchronized (this.clients) {
-                if (c.getNickname().equals(nickname))
-                    clients.remove(c);
+            if (c.getNickname().equals(nickname)) {
+                clients.remove(c);
+                evictIfEnded(c.getIdMatch());
             }
         }
     }
 
 
+    /**
+     * Moves a match to the archive of the controller once it has ended and its last client has left.
+     *
+     * @param idMatch is the ID of the match
+     */
+    private void evictIfEnded(int idMatch) {
+        for (ClientData c : clients) {
+            if (c.getIdMatch() == idMatch) return;
+        }
+        if (controller.evictIfEnded(idMatch)) System.err.println("\nMatch " + idMatch + " ended and archived");
+    }
+
+
     /**
      * Removes a client from the clients list and forces they to disconnect and quit.
+     * The match of the client is aborted, so it is moved to the archive and the other clients of the match quit too.
      *
      * @param client is a reference to the specific client
      */
@@ -1184,6 +1284,7 @@ public class ServerTCP implements VirtualServer {
         System.err.println("\nClient " + client.getNickname() + " not responding, match " + client.getIdMatch() + " aborted");
         int idMatch = client.getIdMatch();
         clients.remove(client);
+        controller.evict(idMatch, true);
         for (ClientData c : clients) {
             if (c.getIdMatch() == idMatch) {
                 String details = "\n\nA client in your match left, match aborted";
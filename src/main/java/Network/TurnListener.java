@@ -0,0 +1,19 @@
+package Network;
+
+/**
+ * Interface for the listeners of the turns on the client side, which are told by the client every time
+ * the player whose turn it is or the phase of the turn change, as soon as the server announces it.
+ */
+@FunctionalInterface
+public interface TurnListener {
+
+
+    /**
+     * Tells the listener the new state of the turn.
+     * It is called by the thread which receives the announcements of the server, so it must not wait.
+     *
+     * @param yourTurn is true if it is the turn of the player of this client
+     * @param phase is the name of the phase of the turn, "PlacingPhase" or "DrawPhase"
+     */
+    void onTurn(boolean yourTurn, String phase);
+}
@@ -0,0 +1,113 @@
+package Network;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The state of the turn as last announced by the server to a client, with the listeners of the client
+ * which are told about every change.
+ */
+public class TurnNotifier {
+
+    /**
+     * The listeners told about every change of the turn.
+     */
+    private final List<TurnListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * True once the client has subscribed to the announcements of the server.
+     */
+    private boolean subscribed;
+
+    /**
+     * True once the state of the turn is known, either announced by the server or asked to it.
+     */
+    private boolean known;
+
+    /**
+     * True if it is the turn of the player of the client.
+     */
+    private boolean yourTurn;
+
+    /**
+     * The name of the phase of the turn.
+     */
+    private String phase;
+
+
+    /**
+     * Records a new state of the turn announced by the server and tells every listener about it.
+     *
+     * @param yourTurn is true if it is the turn of the player of the client
+     * @param phase is the name of the phase of the turn
+     */
+    public void update(boolean yourTurn, String phase) {
+        synchronized (this) {
+            this.known = true;
+            this.yourTurn = yourTurn;
+            this.phase = phase;
+        }
+        for (TurnListener listener : listeners) listener.onTurn(yourTurn, phase);
+    }
+
+
+    /**
+     * Records the state of the turn asked to the server, unless an announcement has arrived meanwhile,
+     * since the announcement is more recent.
+     *
+     * @param yourTurn is true if it is the turn of the player of the client
+     * @param phase is the name of the phase of the turn
+     */
+    public void init(boolean yourTurn, String phase) {
+        synchronized (this) {
+            if (known) return;
+            this.known = true;
+            this.yourTurn = yourTurn;
+            this.phase = phase;
+        }
+        for (TurnListener listener : listeners) listener.onTurn(yourTurn, phase);
+    }
+
+
+    /**
+     * Checks if the state of the turn is known.
+     *
+     * @return true if the state of the turn has been announced by the server or asked to it
+     */
+    public synchronized boolean isKnown() {
+        return known;
+    }
+
+
+    /**
+     * Adds a listener and tells it the current state of the turn, if it is known.
+     *
+     * @param listener is the listener to be added
+     * @return true if the client has not subscribed to the announcements yet, and has to do it now
+     */
+    public boolean add(TurnListener listener) {
+        boolean first;
+        boolean current;
+        String currentPhase;
+        synchronized (this) {
+            first = !subscribed;
+            subscribed = true;
+            listeners.add(listener);
+            if (!known) return first;
+            current = yourTurn;
+            currentPhase = phase;
+        }
+        listener.onTurn(current, currentPhase);
+        return first;
+    }
+
+
+    /**
+     * Removes a listener, which is not told about the next changes.
+     *
+     * @param listener is the listener to be removed
+     */
+    public void remove(TurnListener listener) {
+        listeners.remove(listener);
+    }
+}
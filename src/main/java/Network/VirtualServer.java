@@ -1,6 +1,7 @@
 package Network;
 
 import Controller.GameController;
+import Controller.TurnResult;
 import Listeners.Message;
 import Model.Cards.Card;
 import Model.Cards.Colors;
@@ -89,24 +90,16 @@ public interface VirtualServer extends Remote {
     boolean firstPlayer() throws RemoteException;
 
 
-    /**
-     * Initializes the number of players in the game.
-     *
-     * @param n is the number of players declared by the client
-     * @throws RemoteException in case of network errors
-     */
-    void setNumbOfPlayers(int n) throws RemoteException;
-
-
     /**
      * Calls the respective method present in GameController.
-     * Adds a new match to the game.
+     * Adds a new match to the game, unless another match is waiting for players or being created.
      *
      * @param name is the name of the player who created the new match
-     * @return the ID of the newly created match
+     * @param numOfPlayers is the number of players declared by the client
+     * @return the ID of the newly created match, or -1 if the client has to join the open match instead
      * @throws RemoteException in case of network errors
      */
-    int addMatch(String name) throws RemoteException;
+    int openMatch(String name, int numOfPlayers) throws RemoteException;
 
 
     /**
@@ -210,6 +203,36 @@ public interface VirtualServer extends Remote {
     void drawTable(int idMatch, String nickname, int cardSelected) throws RemoteException;
 
 
+    /**
+     * Calls the respective tryPlace method present on the controller.
+     * Checks the turn, the phase, the coordinates and the requirements and places the card in a single request.
+     *
+     * @param idMatch is the ID related to the match the player is currently playing
+     * @param nickname is the name of the player who launched the command
+     * @param cardSelected references to the index of the card which has been selected
+     * @param faceSelected indicates of the card needs to be placed by the front or by the back
+     * @param x is the first coordinate of the position where the player wants to place the card
+     * @param y is the second coordinate of the position where the player wants to place the card
+     * @return the new hand, the change of resources and the points if the card has been placed, the rejection otherwise
+     * @throws RemoteException in case of network errors
+     */
+    TurnResult tryPlace(int idMatch, String nickname, int cardSelected, String faceSelected, int x, int y) throws RemoteException;
+
+
+    /**
+     * Calls the respective tryDraw method present on the controller.
+     * Checks the turn, the phase and the chosen deck or card on the table and draws the card in a single request.
+     *
+     * @param idMatch is the ID of the match the player is currently playing
+     * @param nickname is the name of the player who wants to play the action
+     * @param source is "resource", "gold" or "table"
+     * @param cardSelected references to the index of the card which has been selected from the table, ignored for the decks
+     * @return the new hand and the points if the card has been drawn, the rejection otherwise
+     * @throws RemoteException in case of network errors
+     */
+    TurnResult tryDraw(int idMatch, String nickname, String source, int cardSelected) throws RemoteException;
+
+
     /**
      * Calls the respective method in VirtualServer.
      * Method used by a user playing via Gui to receive placed cards and their coordinates,
@@ -551,6 +574,30 @@ public interface VirtualServer extends Remote {
     boolean areCoordinatesValid(int idMatch, String  nickname, int x, int y) throws RemoteException;
 
 
+    /**
+     * Calls the respective method present in MatchController.
+     * Shows all the coordinates where the player can place a card.
+     *
+     * @param idMatch is the ID relative to the specified match
+     * @param nickname is the nickname of the player who is requesting the positions
+     * @return a list with the row and the column of every legal position, one position after the other
+     * @throws RemoteException in case of network errors
+     */
+    List<Integer> legalPositions(int idMatch, String  nickname) throws RemoteException;
+
+
+    /**
+     * Calls the respective method present in MatchController.
+     * Evaluates every placement of the cards in the hand of the player, without changing the play area.
+     *
+     * @param idMatch is the ID relative to the specified match
+     * @param nickname is the nickname of the player who is requesting the evaluation
+     * @return the moves encoded by 'Move.encode', 'Move.ENCODED_SIZE' integers for every move
+     * @throws RemoteException in case of network errors
+     */
+    List<Integer> evaluateMoves(int idMatch, String  nickname) throws RemoteException;
+
+
     /**
      * Calls the respective method present in MatchController.
      * Checks if the requirements to place a gold card are met.
@@ -666,6 +713,7 @@ public interface VirtualServer extends Remote {
 
     /**
      * Increase the number of players who have finished to play the match.
+     * When the last player finishes, the server scores the whole match and sends the results to every player.
      *
      * @param idMatch is the ID related to the current match
      * @throws RemoteException in case of network errors
@@ -795,4 +843,15 @@ public interface VirtualServer extends Remote {
      * @throws RemoteException in case of network errors
      */
     void removeClient(String nickname) throws RemoteException;
+
+
+    /**
+     * Subscribes a client to the announcements of the changes of the turn of its match,
+     * so it is told who plays and in which phase without asking.
+     *
+     * @param idMatch is the ID of the match of the client
+     * @param nickname is the nickname of the client
+     * @throws RemoteException in case of network errors
+     */
+    void subscribeToTurns(int idMatch, String nickname) throws RemoteException;
 }
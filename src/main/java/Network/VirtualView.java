@@ -1,5 +1,6 @@
 package Network;
 
+import Controller.Barrier;
 import Controller.GameController;
 import Listeners.Message;
 import Model.Cards.Card;
@@ -233,13 +234,14 @@ public interface VirtualView extends Remote, Serializable {
 
     /**
      * Calls the respective method present in GameController.
-     * Adds a new match to the game.
+     * Adds a new match to the game, unless another match is waiting for players or being created.
      *
      * @param name is the name of the player who created the new match
-     * @return the ID of the newly created match
+     * @param numOfPlayers is the number of players declared by the client
+     * @return the ID of the newly created match, or -1 if the client has to join the open match instead
      * @throws RemoteException in case of network errors
      */
-    int addMatch(String name) throws RemoteException;
+    int openMatch(String name, int numOfPlayers) throws RemoteException;
 
 
     /**
@@ -580,6 +582,30 @@ public interface VirtualView extends Remote, Serializable {
     boolean areCoordinatesValid(int idMatch, String  nickname, int x, int y) throws RemoteException;
 
 
+    /**
+     * Calls the respective method present in MatchController.
+     * Shows all the coordinates where the player can place a card.
+     *
+     * @param idMatch is the ID relative to the specified match
+     * @param nickname is the nickname of the player who is requesting the positions
+     * @return a list with the row and the column of every legal position, one position after the other
+     * @throws RemoteException in case of network errors
+     */
+    List<Integer> legalPositions(int idMatch, String  nickname) throws RemoteException;
+
+
+    /**
+     * Calls the respective method present in MatchController.
+     * Evaluates every placement of the cards in the hand of the player, without changing the play area.
+     *
+     * @param idMatch is the ID relative to the specified match
+     * @param nickname is the nickname of the player who is requesting the evaluation
+     * @return the moves encoded by 'Move.encode', 'Move.ENCODED_SIZE' integers for every move
+     * @throws RemoteException in case of network errors
+     */
+    List<Integer> evaluateMoves(int idMatch, String  nickname) throws RemoteException;
+
+
     /**
      * Calls the respective method present in MatchController.
      * Checks if the requirements to place a gold card are met.
@@ -711,4 +737,61 @@ public interface VirtualView extends Remote, Serializable {
      * @throws RemoteException in case of network errors
      */
     void forceExit(String details) throws RemoteException;
+
+
+    /**
+     * Tells the client that every player of its match has reached a barrier, so the client stops waiting for it.
+     *
+     * @param barrier is the barrier reached
+     * @throws RemoteException in case of network errors
+     */
+    void barrierReached(Barrier barrier) throws RemoteException;
+
+
+    /**
+     * Waits until every player of the match of this client has reached a barrier.
+     * The client sleeps until the server announces the barrier, instead of asking the server again and again.
+     *
+     * @param barrier is the barrier to wait for
+     * @throws RemoteException in case of network errors
+     */
+    void awaitBarrier(Barrier barrier) throws RemoteException;
+
+
+    /**
+     * Waits until the server has sent this client its final score and the "you won" or "you lost" message,
+     * which are pushed once the last player has finished to play, instead of asking the server again and again.
+     *
+     * @throws RemoteException in case of network errors
+     */
+    void awaitEndOfMatch() throws RemoteException;
+
+
+    /**
+     * Tells the client that the player whose turn it is or the phase of the turn have changed.
+     *
+     * @param turnOwner is the nickname of the player whose turn it is, null if it is nobody's turn
+     * @param phase is the name of the phase of the turn, "PlacingPhase" or "DrawPhase"
+     * @throws RemoteException in case of network errors
+     */
+    void turnChanged(String turnOwner, String phase) throws RemoteException;
+
+
+    /**
+     * Adds a listener told about every change of the turn as soon as the server announces it, and tells it
+     * the current state of the turn. The first time, the client subscribes to the announcements of the server.
+     *
+     * @param listener is the listener to be added
+     * @throws RemoteException in case of network errors
+     */
+    void subscribeToTurns(TurnListener listener) throws RemoteException;
+
+
+    /**
+     * Removes a listener of the turn, which is not told about the next changes.
+     *
+     * @param listener is the listener to be removed
+     * @throws RemoteException in case of network errors
+     */
+    void unsubscribeFromTurns(TurnListener listener) throws RemoteException;
 }
@@ -52,6 +52,11 @@ public class Gui extends GuiStatusModifier<VirtualView>{
      */
     boolean first = false;
 
+    /**
+     * The number of players chosen by the user for the match it is going to open.
+     */
+    int numOfPlayers;
+
     /**
      * A boolean that is set to true if the thread to check if
      * the user is the first player in the current game is over.
@@ -94,6 +99,34 @@ public class Gui extends GuiStatusModifier<VirtualView>{
     }
 
 
+    /**
+     * Getter method for the numOfPlayers attribute.
+     *
+     * @return the number of players chosen by the user for the match it is going to open
+     */
+    public int getNumOfPlayers() {
+        return numOfPlayers;
+    }
+
+
+    /**
+     * Setter method for the numOfPlayers attribute.
+     *
+     * @param numOfPlayers is the number of players chosen by the user for the match it is going to open
+     */
+    public void setNumOfPlayers(int numOfPlayers) {
+        this.numOfPlayers = numOfPlayers;
+    }
+
+
+    /**
+     * Asks the user to choose how many players the match it is going to open must have
+     */
+    public void askNumOfPlayers() {
+        GuiApplication.setNewScene("/FXML/PlayerNumberScene.fxml");
+    }
+
+
     /**
      * Asks the user to choose a unique nickname
      */
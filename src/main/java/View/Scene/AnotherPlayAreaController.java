@@ -1,6 +1,7 @@
 package View.Scene;
 
 import Model.Cards.Card;
+import Network.TurnListener;
 import View.Gui.GuiApplication;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
@@ -18,9 +19,6 @@ import java.rmi.RemoteException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 
 /**
  * Controller for the FXML file AnotherPlayAreaScene.fxml
@@ -119,21 +117,14 @@ public class AnotherPlayAreaController extends SceneController{
     List<String> allPlayers;
 
     /**
-     * A boolean used to exit the Turn thread
+     * A boolean used to stop showing the turn, when the scene is left
      */
-    boolean exit = false;
+    volatile boolean exit = false;
 
     /**
-     * An ExecutorService with a fixed thread pool size of 5, used to handle tasks related to
-     * the player's turn to place a card.
+     * The listener which shows the turn as soon as the server announces it.
      */
-    final ExecutorService yourTurnToPlaceThread = Executors.newFixedThreadPool(5);
-
-    /**
-     * A Future representing the result of an asynchronous computation for managing the turn task.
-     * This is used to control the task lifecycle and check if the task is completed.
-     */
-    private Future<?> turnTaskFuture;
+    private final TurnListener turnListener = this::showTurn;
 
     /**
      * An array containing all the cards placed by the current player.
@@ -244,7 +235,7 @@ public class AnotherPlayAreaController extends SceneController{
 
     /**
      * Initializes the controller class. This method is automatically called when the FXML file is loaded for the first time.
-     * It configures the ScrollPane, calls the superclass' setTarget method and starts the waitForYourTurn thread
+     * It configures the ScrollPane, calls the superclass' setTarget method and subscribes to the changes of the turn
      */
     @FXML
     public void initialize(){
@@ -252,7 +243,7 @@ public class AnotherPlayAreaController extends SceneController{
         scrollPane.setHvalue(scrollPane.getHmax() / 2);
         scrollPane.setVvalue(scrollPane.getVmax() / 2);
         super.setTarget();
-        startThread();
+        startTurnUpdates();
     }
 
 
@@ -283,7 +274,7 @@ public class AnotherPlayAreaController extends SceneController{
      */
     @FXML
     private void playAreaView() {
-        stopThread();
+        stopTurnUpdates();
         Platform.runLater(() -> Objects.requireNonNull(GuiApplication.getGui()).showPlayArea("placing"));
     }
 
@@ -294,64 +285,60 @@ public class AnotherPlayAreaController extends SceneController{
      */
     @FXML
     private void tableView() {
-        stopThread();
+        stopTurnUpdates();
         Platform.runLater(() -> Objects.requireNonNull(GuiApplication.getGui()).showTable("draw"));
     }
 
 
     /**
-     * Method that sets the exit attribute to false and start the thread responsible for managing the turn cycle
+     * Subscribes the scene to the changes of the turn, which are shown as soon as the server announces them.
      */
-    public void startThread(){
+    public void startTurnUpdates(){
         exit = false;
-        turnTaskFuture = yourTurnToPlaceThread.submit(this::waitForYourTurn);
+        modifyStatus(target -> threads.execute(() -> {
+            try {
+                target.subscribeToTurns(turnListener);
+            } catch (RemoteException e) {
+                throw new RuntimeException(e);
+            }
+        }));
     }
 
 
     /**
-     * Method that sets the exit attribute to true and stop the thread responsible for managing the turn cycle
+     * Unsubscribes the scene from the changes of the turn, since the scene is being left.
      */
-    public void stopThread() {
+    public void stopTurnUpdates() {
         exit = true;
-        if (turnTaskFuture != null) {
-            turnTaskFuture.cancel(true);
-        }
-    }
-
-
-    /**
-     * This method is used to manage the turn cycle.
-     * This method continuously check if it's the user's turn and updates the status label accordingly.
-     * The boolean variable turn is true if it's user's turn, false otherwise.
-     * The boolean variable placingPhase is true if the current game is in the PlacingPhase, false if it's in the DrawPhase.
-     */
-    public void waitForYourTurn(){
         modifyStatus(target -> {
             try {
-                boolean turn;
-                boolean placingPhase;
-                while (true) {
-                    if(exit){
-                        return;
-                    }else{
-                        turn = target.checkTurn();
-                        //Checks if it is the player's turn and if this is not the draw phase
-                        placingPhase = turn && target.getPhaseGui().equals("PlacingPhase");
-                        if (turn && placingPhase) {
-                            Platform.runLater(() -> labelTurn.setText("It's your turn, place a card!"));
-                        } else if (turn) {
-                            Platform.runLater(() -> labelTurn.setText("It's your turn, draw a card!"));
-                        } else {
-                            Platform.runLater(() -> labelTurn.setText("Wait for your turn"));
-                        }
-                        Thread.sleep(1500);
-                    }
-                }
+                target.unsubscribeFromTurns(turnListener);
             } catch (RemoteException e) {
                 throw new RuntimeException(e);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
             }
         });
     }
+
+
+    /**
+     * Shows the turn announced by the server and updates the status label accordingly.
+     * It is called as soon as the player whose turn it is or the phase of the turn change, so no thread has to
+     * ask the server again and again.
+     *
+     * @param turn is true if it is the user's turn
+     * @param phase is the name of the phase of the turn
+     */
+    private void showTurn(boolean turn, String phase) {
+        if (exit) {
+            return;
+        }
+        boolean placingPhase = turn && "PlacingPhase".equals(phase);
+        if (placingPhase) {
+            Platform.runLater(() -> labelTurn.setText("It's your turn, place a card!"));
+        } else if (turn) {
+            Platform.runLater(() -> labelTurn.setText("It's your turn, draw a card!"));
+        } else {
+            Platform.runLater(() -> labelTurn.setText("Wait for your turn"));
+        }
+    }
 }
@@ -154,7 +154,7 @@ public class ChooseBetweenTwoCardsController extends SceneController{
         modifyStatus(target -> {
             threads.execute(() -> {
                 try {
-                    target.getServer().place(target.getIdMatch(), target.getNickname(), 1, choice, 2, 2);
+                    target.getServer().place(target.getIdMatch(), target.getNickname(), 1, choice, 0, 0);
                     target.getServer().increaseNumOfStarterCardsPlaced(target.getIdMatch());
                     if(!target.allStarterCardsPlaced(target.getIdMatch())) {
                         Platform.runLater(() -> GuiApplication.setNewWaitingSceneOnStage("starter", new Stage()));
@@ -71,11 +71,7 @@ public class NicknameController extends SceneController {
                     if (alreadyInUse.get()) {
                         Platform.runLater(() -> showError("The username is already in use!"));
                     } else {
-                        try {
-                            handleMatchCreation(target, nicknameText);
-                        } catch (NoSuchElementException e) {
-                            Platform.runLater(() -> showError("Another user is creating the first match, please retry."));
-                        }
+                        handleMatchCreation(target, nicknameText);
                     }
                 });
             });
@@ -102,21 +98,28 @@ public class NicknameController extends SceneController {
 
     /**
      * Method to handle the match creation. If the user is the first player a new match is created, otherwise the user is
-     * added to an existing match.
+     * added to an existing match. If another user has opened a match in the meantime the user joins it, and if the
+     * match the user was going to join has been filled in the meantime the user is asked to open a new one.
      *
      * @param target is the user's client
      * @param nicknameText is the nickname chosen by the client
-     * @throws NoSuchElementException if the match the user is trying to access does not exist
      */
-    private void handleMatchCreation(VirtualView target, String nicknameText) throws NoSuchElementException{
+    private void handleMatchCreation(VirtualView target, String nicknameText) {
             try {
+                matchId = -1;
                 if (target.isFirst()) {
-                    matchId = target.addMatch(nicknameText);
-                } else {
+                    matchId = target.openMatch(nicknameText, Objects.requireNonNull(GuiApplication.getGui()).getNumOfPlayers());
+                    if (matchId < 0) target.setFirst(false);
+                }
+                if (!target.isFirst()) {
                     try { matchId = target.addPlayer(nicknameText); }
-                    catch (NoSuchElementException e) { throw new NoSuchElementException(); }
+                    catch (NoSuchElementException e) { matchId = -1; }
+                }
+                if (matchId < 0) {
+                    target.setFirst(true);
+                    Platform.runLater(() -> Objects.requireNonNull(GuiApplication.getGui()).askNumOfPlayers());
+                    return;
                 }
-                if (matchId < 0) throw new NoSuchElementException();
 
                 Platform.runLater(() -> {
                     try {
@@ -4,6 +4,7 @@ import Model.Cards.Card;
 import Model.Cards.Colors;
 import Model.PlayArea;
 import Model.Player;
+import Network.TurnListener;
 import View.Gui.GuiApplication;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
@@ -23,9 +24,6 @@ import java.io.IOException;
 import java.rmi.RemoteException;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 
 /**
  * Controller for the FXML file PlayAreaScene.fxml
@@ -223,20 +221,15 @@ public class PlayAreaSceneController extends SceneController{
     @FXML
     Circle chatCircle;
 
-    /**
-     * The length of the PlayArea grid.
-     */
-    int playAreaMatrixLength;
-
     /**
      * Boolean indicating if it's user's turn to place the card.
      */
-    public boolean yourTurnToPlace = false;
+    public volatile boolean yourTurnToPlace = false;
 
     /**
-     * Boolean condition to stop the turn thread.
+     * Boolean condition to stop showing the turn, when the scene is left.
      */
-    boolean exit = false;
+    volatile boolean exit = false;
 
     /**
      * Boolean indicating if the chosen coordinates are valid.
@@ -249,16 +242,9 @@ public class PlayAreaSceneController extends SceneController{
     public boolean requirementsRespected;
 
     /**
-     * An ExecutorService with a fixed thread pool size of 5, used to handle tasks related to
-     * the player's turn to place a card.
-     */
-    final ExecutorService yourTurnToPlaceThread = Executors.newFixedThreadPool(5);
-
-    /**
-     * A Future representing the result of an asynchronous computation for managing the turn task.
-     * This is used to control the task lifecycle and check if the task is completed.
+     * The listener which shows the turn as soon as the server announces it.
      */
-    private Future<?> turnTaskFuture;
+    private final TurnListener turnListener = this::showTurn;
 
 
     /**
@@ -279,7 +265,7 @@ public class PlayAreaSceneController extends SceneController{
                             MenuItem anotherPlayArea = new MenuItem(name);
                             Platform.runLater(() -> menuButton.getItems().add(anotherPlayArea));
                             anotherPlayArea.setOnAction(e -> {
-                                stopThread();
+                                stopTurnUpdates();
                                 Objects.requireNonNull(GuiApplication.getGui()).showAnotherPlayArea(name);
                             });
                         }
@@ -293,21 +279,32 @@ public class PlayAreaSceneController extends SceneController{
 
 
     /**
-     * Method that sets the exit attribute to false and start the thread responsible for managing the turn cycle.
+     * Subscribes the scene to the changes of the turn, which are shown as soon as the server announces them.
      */
-    public void startThread(){
+    public void startTurnUpdates(){
         exit = false;
-        turnTaskFuture = yourTurnToPlaceThread.submit(this::waitForYourTurn);
+        modifyStatus(target -> threads.execute(() -> {
+            try {
+                target.subscribeToTurns(turnListener);
+            } catch (RemoteException e) {
+                throw new RuntimeException(e);
+            }
+        }));
     }
 
 
     /**
-     * Method that sets the exit attribute to true and stop the thread responsible for managing the turn cycle.
+     * Unsubscribes the scene from the changes of the turn, since the scene is being left.
      */
-    public void stopThread() {
+    public void stopTurnUpdates() {
         exit = true;
-        if (turnTaskFuture != null)
-            turnTaskFuture.cancel(true);
+        modifyStatus(target -> {
+            try {
+                target.unsubscribeFromTurns(turnListener);
+            } catch (RemoteException e) {
+                throw new RuntimeException(e);
+            }
+        });
     }
 
 
@@ -350,14 +347,14 @@ public class PlayAreaSceneController extends SceneController{
                                 color = target.getColor();
                                 target.itIsMyTurn();
                                 yourTurnToPlace = true;
-                                startThread();
+                                startTurnUpdates();
                             }
                             else if(!target.isBlackPawn()) {
                                 blackPawn = false;
                                 color = target.getColor();
                                 target.setYourTurn(false);
                                 yourTurnToPlace = false;
-                                startThread();
+                                startTurnUpdates();
                             }
 
                             for (Player p : target.getTable(target.getIdMatch()).getPlayers()) {
@@ -396,7 +393,7 @@ public class PlayAreaSceneController extends SceneController{
                 scrollPane.layout();
                 scrollPane.setHvalue(scrollPane.getHmax() / 2);
                 scrollPane.setVvalue(scrollPane.getVmax() / 2);
-                startThread();
+                startTurnUpdates();
                 modifyStatus(target -> {
                     threads.execute(() -> {
                         Player player = null;
@@ -501,8 +498,7 @@ public class PlayAreaSceneController extends SceneController{
                 assert player != null;
                 PlayArea playArea = player.getPlayArea();
                 if (player.getHand().isEmpty()) {
-                    Card starterCard = playArea.getGrid()[2][2];
-                    playAreaMatrixLength = playArea.getGrid().length;
+                    Card starterCard = playArea.getGrid().get(0, 0);
                     String imageCard;
                     if (starterCard.isFace()) {
                         imageCard = starterCard.getImageFront();
@@ -518,8 +514,8 @@ public class PlayAreaSceneController extends SceneController{
                         pane.setMaxHeight(CARD_HEIGHT);
                         pane.getChildren().add(image);
                         paneGrid.getChildren().add(pane);
-                        image.setTranslateX(((2 - (double) playAreaMatrixLength / 2) + 0.5) * (CARD_WIDTH + translateX));
-                        image.setTranslateY(((2 - (double) playAreaMatrixLength / 2) + 0.5) * (CARD_HEIGHT + translateY));
+                        image.setTranslateX(0);
+                        image.setTranslateY(0);
                     });
                     try {
                         if(target.isFirst())
@@ -556,17 +552,6 @@ public class PlayAreaSceneController extends SceneController{
                 else
                     faceSelected = "back";
                 target.placeGui(cardSelected, faceSelected, row, col);
-                Player player = null;
-                try {
-                    for (Player p : target.getTable(target.getIdMatch()).getPlayers()) {
-                        if (p.getNickname().equals(target.getNickname()))
-                            player = p;
-                    }
-                } catch (RemoteException e) {
-                    throw new RuntimeException(e);
-                }
-                assert player != null;
-                playAreaMatrixLength = player.getPlayArea().getGrid().length;
                 points = target.getPlayerPoints(target.getNickname());
             } catch (RemoteException e) {
                 throw new RuntimeException(e);
@@ -594,7 +579,6 @@ public class PlayAreaSceneController extends SceneController{
             Platform.runLater(() -> numPoints.setText("You have " + points + " points!"));
         else
             Platform.runLater(() -> numPoints.setText("You have " + points + " point!"));
-        this.notifyAll();
     }
 
 
@@ -643,7 +627,7 @@ public class PlayAreaSceneController extends SceneController{
      */
     @FXML
     private void tableView() {
-        stopThread();
+        stopTurnUpdates();
         Platform.runLater(() -> Objects.requireNonNull(GuiApplication.getGui()).showTable("draw"));
     }
 
@@ -724,10 +708,11 @@ public class PlayAreaSceneController extends SceneController{
             pane.setMaxHeight(CARD_HEIGHT);
             double x = (((event.getX() - (paneGrid.getWidth() / 2)) + 50) / (CARD_WIDTH + translateX));
             double y = (((event.getY() - (paneGrid.getHeight() / 2)) + 12) / (CARD_HEIGHT + translateY));
-            int row = (int) ((y + ((double) playAreaMatrixLength / 2)) - 0.5);
-            int col = (int) ((x + ((double) playAreaMatrixLength / 2)) - 0.5);
-            double new_X = ((col - ((double) playAreaMatrixLength / 2)) + 0.5) * (CARD_WIDTH + translateX);
-            double new_Y = ((row - ((double) playAreaMatrixLength / 2)) + 0.5) * (CARD_HEIGHT + translateY);
+            //Coordinates are relative to the starter card, which is always in position (0, 0)
+            int row = (int) Math.floor(y);
+            int col = (int) Math.floor(x);
+            double new_X = col * (CARD_WIDTH + translateX);
+            double new_Y = row * (CARD_HEIGHT + translateY);
             boolean face;
             int cardSelected;
             if(cardToPlace.equals(handCard1Image)) {
@@ -828,43 +813,24 @@ public class PlayAreaSceneController extends SceneController{
 
 
     /**
-     * This method is used to manage the turn cycle.
-     * This method continuously check if it's the user's turn and updates the status label accordingly.
-     * The boolean variable turn is true if it's user's turn, false otherwise.
-     * If turn is true and the game is in the PlacingPhase the threads wait for the player to place his card.
+     * Shows the turn announced by the server and updates the status label accordingly.
+     * It is called as soon as the player whose turn it is or the phase of the turn change, so no thread has to
+     * ask the server again and again.
+     *
+     * @param turn is true if it is the user's turn
+     * @param phase is the name of the phase of the turn
      */
-    public synchronized void waitForYourTurn(){
-        modifyStatus(target ->{
-            try {
-                while (true) {
-                    boolean turn;
-                    do {
-                        if(exit){
-                            return;
-                        }else{
-                            turn = target.checkTurn();
-                            //Checks if it is the player's turn and if this is not the draw phase
-                            yourTurnToPlace = turn && target.getPhaseGui().equals("PlacingPhase");
-                            if (turn && yourTurnToPlace) {
-                                Platform.runLater(() -> labelTurn.setText("It's your turn, place a card!"));
-                            } else if (turn) {
-                                Platform.runLater(() -> labelTurn.setText("It's your turn, draw a card!"));
-                                Thread.sleep(1000);
-                            } else {
-                                Platform.runLater(() -> labelTurn.setText("Wait for your turn"));
-                                Thread.sleep(1000);
-                            }
-                        }
-                    } while (!yourTurnToPlace && !turn);
-                    if(exit){
-                        return;
-                    }
-                    this.wait();
-                }
-            } catch (InterruptedException | RemoteException e) {
-                Thread.currentThread().interrupt();
-                throw new RuntimeException(e);
-            }
-        });
+    private void showTurn(boolean turn, String phase) {
+        if (exit) {
+            return;
+        }
+        yourTurnToPlace = turn && "PlacingPhase".equals(phase);
+        if (yourTurnToPlace) {
+            Platform.runLater(() -> labelTurn.setText("It's your turn, place a card!"));
+        } else if (turn) {
+            Platform.runLater(() -> labelTurn.setText("It's your turn, draw a card!"));
+        } else {
+            Platform.runLater(() -> labelTurn.setText("Wait for your turn"));
+        }
     }
 }
\ No newline at end of file
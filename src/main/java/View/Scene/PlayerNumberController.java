@@ -8,7 +8,6 @@ import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import org.jetbrains.annotations.NotNull;
 
-import java.rmi.RemoteException;
 import java.util.Objects;
 
 /**
@@ -36,19 +35,13 @@ public class PlayerNumberController extends SceneController{
 
     /**
      * This FXML method is triggered when the confirm button is pressed.
-     * It notifies the Client by communicating how many players the game that is being created must have.
+     * It remembers how many players the game that is going to be created must have, so the match is opened
+     * together with the nickname of the user.
      */
     @FXML
     public void confirm(){
-        modifyStatus(target -> {
-            threads.execute(() -> {
-                try {
-                    target.getServer().setNumbOfPlayers(Integer.parseInt(comboBox.getSelectionModel().getSelectedItem().toString()));
-                } catch (RemoteException e) {
-                    throw new RuntimeException(e);
-                }
-            });
-        });
+        Objects.requireNonNull(GuiApplication.getGui())
+                .setNumOfPlayers(Integer.parseInt(comboBox.getSelectionModel().getSelectedItem().toString()));
         Platform.runLater(() -> Objects.requireNonNull(GuiApplication.getGui()).askPlayerNickname());
     }
 
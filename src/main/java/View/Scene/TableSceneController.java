@@ -2,6 +2,7 @@ package View.Scene;
 
 import Model.Player;
 import Model.Table;
+import Network.TurnListener;
 import View.Gui.GuiApplication;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
@@ -19,9 +20,6 @@ import java.rmi.RemoteException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 
 /**
  * Controller for the FXML file TableScene.fxml
@@ -210,12 +208,12 @@ public class TableSceneController extends SceneController{
     /**
      * Boolean indicating if it's user's turn to draw the card.
      */
-    public boolean yourTurnToDraw = false;
+    public volatile boolean yourTurnToDraw = false;
 
     /**
-     * Boolean condition to stop the turn thread.
+     * Boolean condition to stop showing the turn, when the scene is left.
      */
-    boolean exit = false;
+    volatile boolean exit = false;
 
     /**
      * Int that indicates if the decks or the cards on the table are empty.
@@ -233,16 +231,9 @@ public class TableSceneController extends SceneController{
     List<Integer> availablePositionsForDrawing;
 
     /**
-     * An ExecutorService with a fixed thread pool size of 5, used to handle tasks related to
-     * the player's turn to draw a card.
+     * The listener which shows the turn as soon as the server announces it.
      */
-    final ExecutorService yourTurnToDrawThread = Executors.newFixedThreadPool(5);
-
-    /**
-     * A Future representing the result of an asynchronous computation for managing the turn task.
-     * This is used to control the task lifecycle and check if the task is completed.
-     */
-    private Future<?> turnTaskFuture;
+    private final TurnListener turnListener = this::showTurn;
 
     /**
      * An int value used to check whether the current turn is the second to last or last.
@@ -265,7 +256,7 @@ public class TableSceneController extends SceneController{
                             MenuItem anotherPlayArea = new MenuItem(name);
                             Platform.runLater(() -> menuButton.getItems().add(anotherPlayArea));
                             anotherPlayArea.setOnAction(e -> {
-                                stopThread();
+                                stopTurnUpdates();
                                 Objects.requireNonNull(GuiApplication.getGui()).showAnotherPlayArea(name);
                             });
                         }
@@ -279,19 +270,32 @@ public class TableSceneController extends SceneController{
 
 
     /**
-     * Method that sets the exit attribute to false and start the thread responsible for managing the turn cycle.
+     * Subscribes the scene to the changes of the turn, which are shown as soon as the server announces them.
      */
-    public void startThread(){
+    public void startTurnUpdates(){
         exit = false;
-        turnTaskFuture = yourTurnToDrawThread.submit(this::waitForYourTurn);
+        modifyStatus(target -> threads.execute(() -> {
+            try {
+                target.subscribeToTurns(turnListener);
+            } catch (RemoteException e) {
+                throw new RuntimeException(e);
+            }
+        }));
     }
 
 
     /**
-     * Method that sets the exit attribute to true and stop the thread responsible for managing the turn cycle.
+     * Unsubscribes the scene from the changes of the turn, since the scene is being left.
      */
-    private void stopThread() {
+    private void stopTurnUpdates() {
         exit = true;
+        modifyStatus(target -> {
+            try {
+                target.unsubscribeFromTurns(turnListener);
+            } catch (RemoteException e) {
+                throw new RuntimeException(e);
+            }
+        });
     }
 
 
@@ -387,9 +391,8 @@ public class TableSceneController extends SceneController{
                 });
                 break;
             case DRAW:
-                startThread();
+                startTurnUpdates();
                 noCardsToDraw = 0;
-                exit = false;
                 initializeTable();
                 if(noCardsToDraw == 6 && yourTurnToDraw){
                     modifyStatus(target -> {
@@ -545,7 +548,7 @@ public class TableSceneController extends SceneController{
      */
     @FXML
     private void playAreaView() {
-        stopThread();
+        stopTurnUpdates();
         Platform.runLater(() -> Objects.requireNonNull(GuiApplication.getGui()).showPlayArea("placing"));
     }
 
@@ -597,7 +600,6 @@ public class TableSceneController extends SceneController{
             });
             checkEndTurnGui();
             Platform.runLater(this::initializeTable);
-            notifyAll();
         }
     }
 
@@ -626,7 +628,6 @@ public class TableSceneController extends SceneController{
             });
             checkEndTurnGui();
             Platform.runLater(this::initializeTable);
-            notifyAll();
         }
     }
 
@@ -655,7 +656,6 @@ public class TableSceneController extends SceneController{
             });
             checkEndTurnGui();
             Platform.runLater(this::initializeTable);
-            notifyAll();
         }
     }
 
@@ -684,7 +684,6 @@ public class TableSceneController extends SceneController{
             });
             checkEndTurnGui();
             Platform.runLater(this::initializeTable);
-            notifyAll();
         }
     }
 
@@ -713,7 +712,6 @@ public class TableSceneController extends SceneController{
             });
             checkEndTurnGui();
             Platform.runLater(this::initializeTable);
-            notifyAll();
         }
     }
 
@@ -742,7 +740,6 @@ public class TableSceneController extends SceneController{
             });
             checkEndTurnGui();
             Platform.runLater(this::initializeTable);
-            notifyAll();
         }
     }
 
@@ -769,43 +766,24 @@ public class TableSceneController extends SceneController{
 
 
     /**
-     * This method is used to manage the turn cycle.
-     * This method continuously check if it's the user's turn and updates the status label accordingly.
-     * The boolean variable turn is true if it's user's turn, false otherwise.
-     * If turn is true and the game is in the DrawPhase the threads wait for the player to draw a card.
+     * Shows the turn announced by the server and updates the status label accordingly.
+     * It is called as soon as the player whose turn it is or the phase of the turn change, so no thread has to
+     * ask the server again and again.
+     *
+     * @param turn is true if it is the user's turn
+     * @param phase is the name of the phase of the turn
      */
-    public synchronized void waitForYourTurn(){
-        modifyStatus(target -> {
-            try {
-                while (true) {
-                    boolean turn;
-                    do {
-                        if (exit) {
-                            return;
-                        }else{
-                            turn = target.checkTurn();
-                            yourTurnToDraw = turn && target.getPhaseGui().equals("DrawPhase");
-                            if (turn && yourTurnToDraw) {
-                                Platform.runLater(() -> labelTurn.setText("It's your turn, draw a card!"));
-                            } else if (turn) {
-                                Platform.runLater(() -> labelTurn.setText("It's your turn, place a card!"));
-                                Thread.sleep(1000);
-                            } else {
-                                Platform.runLater(() -> labelTurn.setText("Wait for your turn"));
-                                Thread.sleep(1000);
-                            }
-                        }
-                    } while (!yourTurnToDraw && !turn);
-                    if(exit){
-                        return;
-                    }
-                    wait();
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            } catch (RemoteException e) {
-                throw new RuntimeException(e);
-            }
-        });
+    private void showTurn(boolean turn, String phase) {
+        if (exit) {
+            return;
+        }
+        yourTurnToDraw = turn && "DrawPhase".equals(phase);
+        if (yourTurnToDraw) {
+            Platform.runLater(() -> labelTurn.setText("It's your turn, draw a card!"));
+        } else if (turn) {
+            Platform.runLater(() -> labelTurn.setText("It's your turn, place a card!"));
+        } else {
+            Platform.runLater(() -> labelTurn.setText("Wait for your turn"));
+        }
     }
 }
\ No newline at end of file
@@ -206,27 +206,8 @@ public class WaitingController extends SceneController {
             root.getChildren().add(menuButton);
         });
         modifyStatus(target -> {
-                boolean end;
                 try {
-                    do {
-                        end = target.getNumOfPlayersThatHaveFinishedToPlay(target.getIdMatch()) == target.getNumOfPlayers(target.getIdMatch());
-                    } while (!end);
-                    target.getServer().calculateObjectives(target.getIdMatch(), target.getNickname());
-                    target.getServer().increaseNumOfObjectiveCardCalculated(target.getIdMatch());
-                } catch (RemoteException e) {
-                    throw new RuntimeException(e);
-                }
-                Platform.runLater(() -> text.setText("Wait for other players to finish their last turn"));
-        });
-
-        modifyStatus(target -> {
-                boolean calculated;
-                try {
-                    do {
-                        calculated = target.allObjectiveCardsCalculated(target.getIdMatch());
-                    } while (!calculated);
-                    if(target.isFirst())
-                        target.getServer().calculateWinner(target.getIdMatch());
+                    target.awaitEndOfMatch(); //The server scores the match when the last player finishes
                 } catch (RemoteException e) {
                     throw new RuntimeException(e);
                 }
@@ -0,0 +1,47 @@
+package Controller;
+
+import Model.MonteCarloSearch;
+import Model.Player;
+import Network.RMI.ServerRMI;
+import org.junit.jupiter.api.Test;
+
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * with this class we are testing the bots playing without a client
+ */
+class BotPlayerTest {
+
+    /**
+     * testing that three bots started together create a single match and play it until the end
+     */
+    @Test
+    void bots_play_a_whole_match() throws Exception {
+        ServerRMI server = new ServerRMI(new ServerSocket(), new GameController(0), new CopyOnWriteArrayList<>());
+        MonteCarloSearch search = new MonteCarloSearch(5);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            threads.add(new BotPlayer(server, "Bot" + i, 3, search).start());
+        }
+        for (Thread thread : threads) {
+            thread.join(120_000);
+            assertFalse(thread.isAlive());
+        }
+        assertEquals(1, server.getController().getMatchList().size());
+        MatchController match = server.getController().getMatch(0);
+        assertEquals(3, match.getTable().getPlayers().size());
+        assertTrue(match.isLastRound());
+        assertEquals(3, match.getNumOfObjectiveCardCalculated());
+        assertNotNull(match.getWinners()[0]);
+        for (Player player : match.getTable().getPlayers()) {
+            assertNotNull(player.getObjective());
+            assertTrue(player.getPlayArea().getGrid().getSize() > 1);
+            assertTrue(player.getPoints() <= match.getWinners()[0].getPoints());
+        }
+    }
+}
@@ -8,6 +8,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -19,10 +22,6 @@ class GameControllerTest {
      * this is the instance of the class tested
      */
     private GameController game;
-    /**
-     * a reference to a table
-     */
-    private Table table;
 
     /**
      * for every test the instance of the class tested is initialized
@@ -38,28 +37,31 @@ class GameControllerTest {
      */
     @Test
     void setterAndGetter(){
-        game.setPlayersQueue(2);
-        assertEquals(2, game.getPlayersQueue());
+        assertEquals(0, game.getPlayersQueue());
         MatchController match1 = new MatchController(1, 4, null);
-        game.getMatchList().add(match1);
-        assertEquals(match1, game.getMatch(0));
+        game.addMatch(match1);
+        assertEquals(match1, game.getMatch(1));
+        assertEquals(List.of(match1), game.getMatchList());
         assertTrue(game.isFirst());
         game.setFirst(true);
         assertTrue(game.isFirst());
     }
 
     /**
-     * testing the method addMatch of GameController
+     * testing the method openMatch of GameController
      */
     @Test
-    void addMatch(){
-        game.setPlayersQueue(2);
+    void openMatch(){
         Listener listenerTest = new EndPoint();
-        game.addMatch("Corrado", listenerTest);
+        int id = game.openMatch("Corrado", 2, listenerTest);
         assertFalse(game.isFirst());
+        assertEquals(1, game.getPlayersQueue());
         assertEquals(1, game.getMatchList().size());
         Listener listenerTest2 = new EndPoint();
-        game.addMatch("Federico", listenerTest2);
+        assertEquals(-1, game.openMatch("Federico", 2, listenerTest2));
+        assertEquals(1, game.getMatchList().size());
+        assertEquals(id, game.addPlayer("Federico", listenerTest2));
+        assertNotEquals(-1, game.openMatch("Carlo", 2, new EndPoint()));
         assertEquals(2, game.getMatchList().size());
     }
 
@@ -68,21 +70,205 @@ class GameControllerTest {
      */
     @Test
     void addPlayer(){
-        game.setPlayersQueue(2);
+        assertThrows(NoSuchElementException.class, () -> game.addPlayer("Early", new EndPoint()));
+        int id = game.openMatch("Carlo", 3, new EndPoint());
+        assertEquals(2, game.getPlayersQueue());
+        assertEquals("Carlo", game.getMatch(id).getTable().getPlayers().getFirst().getNickname());
+        Listener listenerTest = new EndPoint();
+        assertEquals(id, game.addPlayer("Daniele", listenerTest));
+        assertEquals(1, game.getPlayersQueue());
+        assertEquals("Daniele", game.getMatch(id).getTable().getPlayers().get(1).getNickname());
+        game.addPlayer("Federico", new EndPoint());
+        assertEquals(0, game.getPlayersQueue());
+        assertThrows(NoSuchElementException.class, () -> game.addPlayer("Late", new EndPoint()));
+    }
+
+    /**
+     * testing that players opening and joining matches at the same time take every free seat of a match
+     * exactly once, and that a new match is opened only once the open one is full
+     */
+    @Test
+    void concurrentJoins() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            String nickname = "Player" + i;
+            threads.add(Thread.ofVirtual().start(() -> {
+                while (game.openMatch(nickname, 50, new EndPoint()) < 0) {
+                    try {
+                        game.addPlayer(nickname, new EndPoint());
+                        return;
+                    } catch (NoSuchElementException e) {
+                        //The open match is full, so the player opens a new one
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) thread.join();
+        assertEquals(40, game.getPlayersQueue());
+        assertEquals(2, game.getMatchList().size());
+        assertEquals(50, game.getMatchList().getFirst().getTable().getPlayers().size());
+        assertEquals(10, game.getMatchList().getLast().getTable().getPlayers().size());
+    }
+
+    /**
+     * testing that an ended or aborted match is removed from the live matches and only its record is kept,
+     * and that the archive forgets the least recently used records when it is full
+     */
+    @Test
+    void evictAndArchive(){
+        int id = game.openMatch("Corrado", 2, new EndPoint());
+        game.addPlayer("Federico", new EndPoint());
+        assertFalse(game.evictIfEnded(id));
+        game.getMatch(id).setScored(true);
+        assertTrue(game.evictIfEnded(id));
+        assertThrows(IndexOutOfBoundsException.class, () -> game.getMatch(id));
+        MatchRecord record = game.getResult(id);
+        assertFalse(record.isAborted());
+        assertArrayEquals(new String[]{"Corrado", "Federico"}, record.getNicknames());
+        assertEquals(0, record.getPoints("Federico"));
+        assertEquals(-1, record.getPoints("Carlo"));
+        assertSame(record, game.evict(id, true));
+
+        int aborted = game.openMatch("Carlo", 3, new EndPoint());
+        assertTrue(game.evict(aborted, true).isAborted());
+        assertEquals(0, game.getPlayersQueue());
+        assertEquals(0, game.getResult(aborted).getWinners().length);
+
+        MatchArchive archive = new MatchArchive(2);
+        archive.put(record);
+        archive.put(game.getResult(aborted));
+        archive.get(id);
+        archive.put(new MatchRecord(new MatchController(7, 2, newTable()), true));
+        assertEquals(2, archive.size());
+        assertNotNull(archive.get(id));
+        assertNull(archive.get(aborted));
+        assertNotNull(archive.get(7));
+    }
+
+    /**
+     * testing that a scored match is moved to the archive once the end grace is over,
+     * even if no client has ever been connected to it
+     */
+    @Test
+    void evictScored() throws InterruptedException {
+        game.setEndGrace(0);
+        int id = game.openMatch("Bot0", 1, new EndPoint());
+        game.run(id, match -> match.setNumOfStarterCardsPlaced(1));
+        game.run(id, match -> match.setNumOfObjectiveCardChosen(1));
+        game.run(id, match -> match.setBlackPawnChosen(true));
+        assertNull(game.getResult(id));
+        game.run(id, match -> {
+            match.setScored(true);
+            match.setNumOfObjectiveCardCalculated(1);
+        });
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (game.getResult(id) == null && System.currentTimeMillis() < deadline) Thread.sleep(10);
+        assertNotNull(game.getResult(id));
+        assertThrows(IndexOutOfBoundsException.class, () -> game.getMatch(id));
+    }
+
+    /**
+     * testing that every barrier and every change of the turn is announced once to every observer, in order,
+     * as soon as the command which causes it has been run
+     */
+    @Test
+    void barriersAnnounced(){
+        List<Barrier> announced = new ArrayList<>();
+        List<String> turns = new ArrayList<>();
+        MatchObserver observer = new MatchObserver() {
+            @Override
+            public void barrierReached(int idMatch, Barrier barrier) {
+                announced.add(barrier);
+            }
+
+            @Override
+            public void turnChanged(int idMatch, String turnOwner, String phase) {
+                turns.add(turnOwner + " " + phase);
+            }
+        };
+        List<Barrier> alsoAnnounced = new ArrayList<>();
+        game.addObserver(observer);
+        game.addObserver(observer);
+        game.addObserver(new MatchObserver() {
+            @Override
+            public void barrierReached(int idMatch, Barrier barrier) {
+                alsoAnnounced.add(barrier);
+            }
+
+            @Override
+            public void turnChanged(int idMatch, String turnOwner, String phase) {
+            }
+        });
+        int id = game.openMatch("Corrado", 2, new EndPoint());
+        game.run(id, match -> match.setNumOfStarterCardsPlaced(1));
+        assertEquals(List.of(), announced);
+        game.addPlayer("Federico", new EndPoint());
+        assertEquals(List.of(Barrier.CONNECTED), announced);
+        game.run(id, match -> match.setNumOfStarterCardsPlaced(2));
+        game.run(id, match -> match.setBlackPawnChosen(true));
+        assertEquals(List.of(Barrier.CONNECTED, Barrier.STARTER_CARDS_PLACED), announced);
+        game.run(id, match -> match.setNumOfObjectiveCardChosen(2));
+        game.run(id, match -> match.setNumOfObjectiveCardChosen(2));
+        assertEquals(List.of(Barrier.CONNECTED, Barrier.STARTER_CARDS_PLACED, Barrier.OBJECTIVE_CARDS_CHOSEN,
+                Barrier.BLACK_PAWN_CHOSEN), announced);
+        assertEquals(List.of("Corrado PlacingPhase"), turns);
+        assertEquals(announced, alsoAnnounced);
+
+        game.run(id, match -> match.getPhase().transition(new DrawPhase(match)));
+        game.run(id, match -> match.setYourTurn("Corrado", true));
+        game.run(id, match -> {
+            match.setYourTurn("Corrado", false);
+            match.setYourTurn("Federico", true);
+        });
+        assertEquals(List.of("Corrado PlacingPhase", "Corrado DrawPhase", "Federico DrawPhase"), turns);
+    }
+
+    /**
+     * testing that the observer of a match is told only about its match and about the commands without result,
+     * while the commands which only read the match are not announced
+     */
+    @Test
+    void matchObserver(){
+        List<String> told = new ArrayList<>();
+        MatchObserver observer = new MatchObserver() {
+            @Override
+            public void barrierReached(int idMatch, Barrier barrier) {
+                told.add(idMatch + " " + barrier);
+            }
+
+            @Override
+            public void turnChanged(int idMatch, String turnOwner, String phase) {
+            }
+
+            @Override
+            public void commandRun(int idMatch) {
+                told.add(idMatch + " run");
+            }
+        };
+        int id = game.openMatch("Corrado", 1, new EndPoint());
+        int other = game.openMatch("Federico", 1, new EndPoint());
+        game.addObserver(id, observer);
+
+        game.call(id, MatchController::getNumOfPlayers);
+        game.run(other, match -> match.setNumOfStarterCardsPlaced(1));
+        assertEquals(List.of(), told);
+        game.run(id, match -> match.setNumOfStarterCardsPlaced(1));
+        assertEquals(List.of(id + " STARTER_CARDS_PLACED", id + " run"), told);
+        game.removeObserver(id, observer);
+        game.run(id, match -> match.setBlackPawnChosen(true));
+        assertEquals(2, told.size());
+    }
+
+    /**
+     * creates a new table for the tests
+     *
+     * @return a new table
+     */
+    private Table newTable() {
         try {
-            table = new Table();
+            return new Table();
         } catch (IOException | ParseException e) {
             throw new RuntimeException(String.valueOf(e));
         }
-        MatchController match1 = new MatchController(1, 4, table);
-        game.getMatchList().add(match1);
-        Listener listenerTest = new EndPoint();
-        game.addPlayer("Carlo", listenerTest);
-        assertEquals(1, game.getPlayersQueue());
-        assertEquals("Carlo", game.getMatch(0).getTable().getPlayers().getFirst().getNickname());
-        Listener listenerTest2 = new EndPoint();
-        game.addPlayer("Daniele", listenerTest2);
-        assertEquals(0, game.getPlayersQueue());
-        assertEquals("Daniele", game.getMatch(0).getTable().getPlayers().get(1).getNickname());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+package Controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests that the commands sent to a mailbox are run one at a time.
+ */
+class MailboxTest {
+
+    /**
+     * A counter increased without locks by many threads through the mailbox does not lose any increment.
+     */
+    @Test
+    void commandsAreSerialized() throws InterruptedException {
+        Mailbox mailbox = new Mailbox("test");
+        int[] counter = new int[1];
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                for (int i = 0; i < 1000; i++) mailbox.call(() -> counter[0]++);
+            }));
+        }
+        for (Thread thread : threads) thread.join();
+        assertEquals(8000, mailbox.call(() -> counter[0]));
+    }
+
+
+    /**
+     * A command sent by another command of the same mailbox is run immediately,
+     * and the exceptions of the commands reach the caller.
+     */
+    @Test
+    void nestedCommandsAndExceptions() {
+        Mailbox mailbox = new Mailbox("test");
+        assertFalse(mailbox.isOwner());
+        assertEquals(2, mailbox.call(() -> mailbox.call(() -> mailbox.isOwner() ? 2 : 0)));
+        assertThrows(IllegalStateException.class, () -> mailbox.call(() -> {
+            throw new IllegalStateException();
+        }));
+        assertEquals(1, mailbox.call(() -> 1));
+    }
+}
@@ -4,8 +4,11 @@ import Listeners.EndPoint;
 import Model.Cards.*;
 import Model.PlayArea;
 import Model.Player;
+import Model.SparseGrid;
 import Model.Table;
 import Network.RMI.ServerRMI;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import javafx.css.Match;
 import org.json.simple.parser.ParseException;
 import org.junit.jupiter.api.BeforeEach;
@@ -86,7 +89,7 @@ class MatchControllerTest {
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
-        PlayArea playArea1 = new PlayArea(5, 5, null);
+        PlayArea playArea1 = new PlayArea(null);
         Player player1 = new Player("Federico", 1, table);
         playArea1.setPlayer(player1);
         player1.setPlayArea(playArea1);
@@ -95,7 +98,7 @@ class MatchControllerTest {
         player1.addListener(listener1);
         listener1.setServer(serverRMI);
         table.getPlayers().add(player1);
-        PlayArea playArea2 = new PlayArea(5, 5, null);
+        PlayArea playArea2 = new PlayArea(null);
         Player player2 = new Player("Daniele", 1, table);
         playArea2.setPlayer(player2);
         player2.setPlayArea(playArea2);
@@ -104,7 +107,7 @@ class MatchControllerTest {
         player2.addListener(listener2);
         listener2.setServer(serverRMI);
         table.getPlayers().add(player2);
-        PlayArea playArea3 = new PlayArea(5, 5, null);
+        PlayArea playArea3 = new PlayArea(null);
         Player player3 = new Player("Carlo", 1, table);
         playArea3.setPlayer(player3);
         player3.setPlayArea(playArea3);
@@ -113,7 +116,7 @@ class MatchControllerTest {
         player3.addListener(listener3);
         listener3.setServer(serverRMI);
         table.getPlayers().add(player3);
-        PlayArea playArea4 = new PlayArea(5, 5, null);
+        PlayArea playArea4 = new PlayArea(null);
         Player player4 = new Player("Corrado", 1, table);
         playArea4.setPlayer(player4);
         player4.setPlayArea(playArea4);
@@ -135,17 +138,17 @@ class MatchControllerTest {
         assertTrue(table.getCardsG()[1].getPoints()>1 || (table.getCardsG()[1].getPointsObject()!=Symbols.EMPTY));
         assertTrue(table.getCardsG()[0].isFace() && table.getCardsG()[1].isFace(), "The GoldCards' faces should be true");
 
-        assertNotEquals(null, player1.getPlayArea().getGrid()[2][2].getCentre(), "The card in position [2, 2] in playArea of player1 should be a StarterCard");
-        assertTrue(player1.getPlayArea().getGrid()[2][2].isFace(), "The StarterCard face should be true");
+        assertNotEquals(null, player1.getPlayArea().getGrid().get(0, 0).getCentre(), "The card in position [0, 0] in playArea of player1 should be a StarterCard");
+        assertTrue(player1.getPlayArea().getGrid().get(0, 0).isFace(), "The StarterCard face should be true");
 
-        assertNotEquals(null, player2.getPlayArea().getGrid()[2][2].getCentre(), "The card in position [2, 2] in playArea of player2 should be a StarterCard");
-        assertTrue(player2.getPlayArea().getGrid()[2][2].isFace(), "The StarterCard face should be true");
+        assertNotEquals(null, player2.getPlayArea().getGrid().get(0, 0).getCentre(), "The card in position [0, 0] in playArea of player2 should be a StarterCard");
+        assertTrue(player2.getPlayArea().getGrid().get(0, 0).isFace(), "The StarterCard face should be true");
 
-        assertNotEquals(null, player3.getPlayArea().getGrid()[2][2].getCentre(), "The card in position [2, 2] in playArea of player3 should be a StarterCard");
-        assertTrue(player3.getPlayArea().getGrid()[2][2].isFace(), "The StarterCard face should be true");
+        assertNotEquals(null, player3.getPlayArea().getGrid().get(0, 0).getCentre(), "The card in position [0, 0] in playArea of player3 should be a StarterCard");
+        assertTrue(player3.getPlayArea().getGrid().get(0, 0).isFace(), "The StarterCard face should be true");
 
-        assertNotEquals(null, player4.getPlayArea().getGrid()[2][2].getCentre(), "The card in position [2, 2] in playArea of player4 should be a StarterCard");
-        assertTrue(player4.getPlayArea().getGrid()[2][2].isFace(), "The StarterCard face should be true");
+        assertNotEquals(null, player4.getPlayArea().getGrid().get(0, 0).getCentre(), "The card in position [0, 0] in playArea of player4 should be a StarterCard");
+        assertTrue(player4.getPlayArea().getGrid().get(0, 0).isFace(), "The StarterCard face should be true");
 
         assertEquals(3, player1.getHand().size(), "The player should have 3 cards in his hand");
         assertTrue((player1.getHand().get(0).getPoints()<=1 && player1.getHand().get(0).getPointsObject()==Symbols.EMPTY && player1.getHand().get(0).getCentre()==null), "The first card should be a ResourceCard");
@@ -182,9 +185,9 @@ class MatchControllerTest {
         assertNotEquals(null, player4.getObjective(), "Player4 should have an ObjectiveCard");
         assertTrue(player4.getObjective().isSecret(), "The player4 ObjectiveCard should be secret");
         Card card= player1.getHand().get(1);
-        match.place("Federico",2,"front",1,1);
+        match.place("Federico",2,"front",-1,-1);
         match.viewPlayArea("Federico", "Federico");
-        //assertEquals(card,player1.getPlayArea().getGrid()[1][1]);
+        //assertEquals(card,player1.getPlayArea().getGrid().get(-1, -1));
     }
 
 
@@ -253,7 +256,7 @@ class MatchControllerTest {
             throw new RuntimeException(String.valueOf(e));
         }
         MatchController match = new MatchController(1, 4, table);
-        PlayArea playArea1 = new PlayArea(5, 5, null);
+        PlayArea playArea1 = new PlayArea(null);
         Player player1 = new Player("Federico", 1, table);
         assertEquals(1, player1.getIdMatch());
         player1.setMatch(match);
@@ -278,7 +281,7 @@ class MatchControllerTest {
         player1.setBlackPawn(true);
         assertTrue(player1.isBlackPawn());
         player1.viewHandAndArea();
-        PlayArea playArea2 = new PlayArea(5, 5, null);
+        PlayArea playArea2 = new PlayArea(null);
         Player player2 = new Player("Daniele", 1, table);
         playArea2.setPlayer(player2);
         player2.setPlayArea(playArea2);
@@ -287,7 +290,7 @@ class MatchControllerTest {
         player2.addListener(listener2);
         listener2.setServer(serverRMI);
         table.getPlayers().add(player2);
-        PlayArea playArea3 = new PlayArea(5, 5, null);
+        PlayArea playArea3 = new PlayArea(null);
         Player player3 = new Player("Carlo", 1, table);
         playArea3.setPlayer(player3);
         player3.setPlayArea(playArea3);
@@ -296,7 +299,7 @@ class MatchControllerTest {
         player3.addListener(listener3);
         listener3.setServer(serverRMI);
         table.getPlayers().add(player3);
-        PlayArea playArea4 = new PlayArea(5, 5, null);
+        PlayArea playArea4 = new PlayArea(null);
         Player player4 = new Player("Corrado", 1, table);
         playArea4.setPlayer(player4);
         player4.setPlayArea(playArea4);
@@ -314,13 +317,13 @@ class MatchControllerTest {
         match.viewStartingTable("Corrado");
         match.viewChoiceObjectives("Corrado");
         match.viewPlayArea("Corrado", "Corrado");
-        match.place("Corrado",2,"front",1,1);
+        match.place("Corrado",2,"front",-1,-1);
         match.putChoiceObjectives("Corrado",2);
         match.putChoiceObjectives("Corrado",1);
         ObjectiveCard card=player4.getObjective();
         assertEquals(card,player4.getObChoice1());
-        Card card1 = player4.getPlayArea().getGrid()[2][2];
-        assertEquals(card1,player4.getPlayArea().getGrid()[2][2]);
+        Card card1 = player4.getPlayArea().getGrid().get(0, 0);
+        assertEquals(card1,player4.getPlayArea().getGrid().get(0, 0));
     }
 
 
@@ -330,7 +333,7 @@ class MatchControllerTest {
     @Test
     void placeStarterCard(){
         MatchController match = new MatchController(1, 4, table);
-        PlayArea playArea = new PlayArea(5, 5, null);
+        PlayArea playArea = new PlayArea(null);
         playArea.setPlayer(player);
         player.setPlayArea(playArea);
         player.setTable(table);
@@ -344,7 +347,7 @@ class MatchControllerTest {
         hand.add(card);
         player.setHand(hand);
         match.placeStarterCard(player.getNickname(), "front");
-        assertEquals(card, player.getPlayArea().getGrid()[2][2]);
+        assertEquals(card, player.getPlayArea().getGrid().get(0, 0));
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.PLANT));
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.FUNGI));
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.ANIMAL));
@@ -359,7 +362,7 @@ class MatchControllerTest {
     @Test
     void calculateObjectives_case1(){
         MatchController match = new MatchController(1, 4, table);
-        PlayArea playArea = new PlayArea(5, 5, null);
+        PlayArea playArea = new PlayArea(null);
         playArea.setPlayer(player);
         player.setPlayArea(playArea);
         player.setTable(table);
@@ -384,9 +387,9 @@ class MatchControllerTest {
         Symbols[] centre_card3 = {Symbols.PLANT};
         Symbols[] symbols_card3 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card3 = new ResourceCard(symbols_card3, Colors.GREEN, centre_card3, true, 0, null, null, null);
-        player.getPlayArea().getGrid()[2][2] = card1;
-        player.getPlayArea().getGrid()[3][2] = card2;
-        player.getPlayArea().getGrid()[4][3] = card3;
+        player.getPlayArea().getGrid().put(2, 2, card1);
+        player.getPlayArea().getGrid().put(3, 2, card2);
+        player.getPlayArea().getGrid().put(4, 3, card3);
         match.calculateObjectives(player.getNickname());
         assertEquals(3, player.getPoints());
         assertEquals(1, player.getObCardUsed());
@@ -400,7 +403,7 @@ class MatchControllerTest {
     @Test
     void calculateObjectives_case2(){
         MatchController match = new MatchController(1, 4, table);
-        PlayArea playArea = new PlayArea(5, 5, null);
+        PlayArea playArea = new PlayArea(null);
         playArea.setPlayer(player);
         player.setPlayArea(playArea);
         player.setTable(table);
@@ -430,25 +433,25 @@ class MatchControllerTest {
      */
     @Test
     void shuffleDecksAndGiveStarterCards(){
-        PlayArea playArea1 = new PlayArea(5, 5, null);
+        PlayArea playArea1 = new PlayArea(null);
         Player player1 = new Player("Federico", 1, table);
         playArea1.setPlayer(player1);
         player1.setPlayArea(playArea1);
         player1.setTable(table);
         table.getPlayers().add(player1);
-        PlayArea playArea2 = new PlayArea(5, 5, null);
+        PlayArea playArea2 = new PlayArea(null);
         Player player2 = new Player("Daniele", 1, table);
         playArea2.setPlayer(player2);
         player2.setPlayArea(playArea2);
         player2.setTable(table);
         table.getPlayers().add(player2);
-        PlayArea playArea3 = new PlayArea(5, 5, null);
+        PlayArea playArea3 = new PlayArea(null);
         Player player3 = new Player("Carlo", 1, table);
         playArea3.setPlayer(player3);
         player3.setPlayArea(playArea3);
         player3.setTable(table);
         table.getPlayers().add(player3);
-        PlayArea playArea4 = new PlayArea(5, 5, null);
+        PlayArea playArea4 = new PlayArea(null);
         Player player4 = new Player("Corrado", 1, table);
         playArea4.setPlayer(player4);
         player4.setPlayArea(playArea4);
@@ -473,25 +476,25 @@ class MatchControllerTest {
      */
     @Test
     void drawCardsAndPlaceCommonObjectives(){
-        PlayArea playArea1 = new PlayArea(5, 5, null);
+        PlayArea playArea1 = new PlayArea(null);
         Player player1 = new Player("Federico", 1, table);
         playArea1.setPlayer(player1);
         player1.setPlayArea(playArea1);
         player1.setTable(table);
         table.getPlayers().add(player1);
-        PlayArea playArea2 = new PlayArea(5, 5, null);
+        PlayArea playArea2 = new PlayArea(null);
         Player player2 = new Player("Daniele", 1, table);
         playArea2.setPlayer(player2);
         player2.setPlayArea(playArea2);
         player2.setTable(table);
         table.getPlayers().add(player2);
-        PlayArea playArea3 = new PlayArea(5, 5, null);
+        PlayArea playArea3 = new PlayArea(null);
         Player player3 = new Player("Carlo", 1, table);
         playArea3.setPlayer(player3);
         player3.setPlayArea(playArea3);
         player3.setTable(table);
         table.getPlayers().add(player3);
-        PlayArea playArea4 = new PlayArea(5, 5, null);
+        PlayArea playArea4 = new PlayArea(null);
         Player player4 = new Player("Corrado", 1, table);
         playArea4.setPlayer(player4);
         player4.setPlayArea(playArea4);
@@ -526,25 +529,25 @@ class MatchControllerTest {
      */
     @Test
     void giveObjectives(){
-        PlayArea playArea1 = new PlayArea(5, 5, null);
+        PlayArea playArea1 = new PlayArea(null);
         Player player1 = new Player("Federico", 1, table);
         playArea1.setPlayer(player1);
         player1.setPlayArea(playArea1);
         player1.setTable(table);
         table.getPlayers().add(player1);
-        PlayArea playArea2 = new PlayArea(5, 5, null);
+        PlayArea playArea2 = new PlayArea(null);
         Player player2 = new Player("Daniele", 1, table);
         playArea2.setPlayer(player2);
         player2.setPlayArea(playArea2);
         player2.setTable(table);
         table.getPlayers().add(player2);
-        PlayArea playArea3 = new PlayArea(5, 5, null);
+        PlayArea playArea3 = new PlayArea(null);
         Player player3 = new Player("Carlo", 1, table);
         playArea3.setPlayer(player3);
         player3.setPlayArea(playArea3);
         player3.setTable(table);
         table.getPlayers().add(player3);
-        PlayArea playArea4 = new PlayArea(5, 5, null);
+        PlayArea playArea4 = new PlayArea(null);
         Player player4 = new Player("Corrado", 1, table);
         playArea4.setPlayer(player4);
         player4.setPlayArea(playArea4);
@@ -586,7 +589,7 @@ class MatchControllerTest {
         } catch (IOException | ParseException e) {
             throw new RuntimeException(String.valueOf(e));
         }
-        PlayArea playArea1 = new PlayArea(5, 5, null);
+        PlayArea playArea1 = new PlayArea(null);
         Player player1 = new Player("Federico", 1, table);
         playArea1.setPlayer(player1);
         player1.setPlayArea(playArea1);
@@ -595,7 +598,7 @@ class MatchControllerTest {
         player1.addListener(listener1);
         listener1.setServer(serverRMI);
         table.getPlayers().add(player1);
-        PlayArea playArea2 = new PlayArea(5, 5, null);
+        PlayArea playArea2 = new PlayArea(null);
         Player player2 = new Player("Daniele", 1, table);
         playArea2.setPlayer(player2);
         player2.setPlayArea(playArea2);
@@ -604,7 +607,7 @@ class MatchControllerTest {
         player2.addListener(listener2);
         listener2.setServer(serverRMI);
         table.getPlayers().add(player2);
-        PlayArea playArea3 = new PlayArea(5, 5, null);
+        PlayArea playArea3 = new PlayArea(null);
         Player player3 = new Player("Carlo", 1, table);
         playArea3.setPlayer(player3);
         player3.setPlayArea(playArea3);
@@ -613,7 +616,7 @@ class MatchControllerTest {
         player3.addListener(listener3);
         listener3.setServer(serverRMI);
         table.getPlayers().add(player3);
-        PlayArea playArea4 = new PlayArea(5, 5, null);
+        PlayArea playArea4 = new PlayArea(null);
         Player player4 = new Player("Corrado", 1, table);
         playArea4.setPlayer(player4);
         player4.setPlayArea(playArea4);
@@ -655,7 +658,7 @@ class MatchControllerTest {
      */
     @Test
     void cheat1(){
-        PlayArea playArea1 = new PlayArea(5, 5, null);
+        PlayArea playArea1 = new PlayArea(null);
         Player player1 = new Player("Federico", 1, table);
         playArea1.setPlayer(player1);
         player1.setPlayArea(playArea1);
@@ -675,7 +678,7 @@ class MatchControllerTest {
      */
     @Test
     void cheat2(){
-        PlayArea playArea1 = new PlayArea(5, 5, null);
+        PlayArea playArea1 = new PlayArea(null);
         Player player1 = new Player("Federico", 1, table);
         playArea1.setPlayer(player1);
         player1.setPlayArea(playArea1);
@@ -697,25 +700,25 @@ class MatchControllerTest {
         } catch (IOException | ParseException e) {
             throw new RuntimeException(String.valueOf(e));
         }
-        PlayArea playArea1 = new PlayArea(5, 5, null);
+        PlayArea playArea1 = new PlayArea(null);
         Player player1 = new Player("Federico", 1, table);
         playArea1.setPlayer(player1);
         player1.setPlayArea(playArea1);
         player1.setPoints(4);
         table.getPlayers().add(player1);
-        PlayArea playArea2 = new PlayArea(5, 5, null);
+        PlayArea playArea2 = new PlayArea(null);
         Player player2 = new Player("Daniele", 1, table);
         playArea2.setPlayer(player2);
         player2.setPlayArea(playArea2);
         player2.setPoints(10);
         table.getPlayers().add(player2);
-        PlayArea playArea3 = new PlayArea(5, 5, null);
+        PlayArea playArea3 = new PlayArea(null);
         Player player3 = new Player("Carlo", 1, table);
         playArea3.setPlayer(player3);
         player3.setPlayArea(playArea3);
         player3.setPoints(30);
         table.getPlayers().add(player3);
-        PlayArea playArea4 = new PlayArea(5, 5, null);
+        PlayArea playArea4 = new PlayArea(null);
         Player player4 = new Player("Corrado", 1, table);
         playArea4.setPlayer(player4);
         player4.setPlayArea(playArea4);
@@ -738,27 +741,27 @@ class MatchControllerTest {
         } catch (IOException | ParseException e) {
             throw new RuntimeException(String.valueOf(e));
         }
-        PlayArea playArea1 = new PlayArea(5, 5, null);
+        PlayArea playArea1 = new PlayArea(null);
         Player player1 = new Player("Federico", 1, table);
         playArea1.setPlayer(player1);
         player1.setPlayArea(playArea1);
         player1.setPoints(4);
         table.getPlayers().add(player1);
-        PlayArea playArea2 = new PlayArea(5, 5, null);
+        PlayArea playArea2 = new PlayArea(null);
         Player player2 = new Player("Daniele", 1, table);
         playArea2.setPlayer(player2);
         player2.setPlayArea(playArea2);
         player2.setPoints(30);
         player2.setObCardUsed(2);
         table.getPlayers().add(player2);
-        PlayArea playArea3 = new PlayArea(5, 5, null);
+        PlayArea playArea3 = new PlayArea(null);
         Player player3 = new Player("Carlo", 1, table);
         playArea3.setPlayer(player3);
         player3.setPlayArea(playArea3);
         player3.setPoints(30);
         player3.setObCardUsed(3);
         table.getPlayers().add(player3);
-        PlayArea playArea4 = new PlayArea(5, 5, null);
+        PlayArea playArea4 = new PlayArea(null);
         Player player4 = new Player("Corrado", 1, table);
         playArea4.setPlayer(player4);
         player4.setPlayArea(playArea4);
@@ -781,27 +784,27 @@ class MatchControllerTest {
         } catch (IOException | ParseException e) {
             throw new RuntimeException(String.valueOf(e));
         }
-        PlayArea playArea1 = new PlayArea(5, 5, null);
+        PlayArea playArea1 = new PlayArea(null);
         Player player1 = new Player("Federico", 1, table);
         playArea1.setPlayer(player1);
         player1.setPlayArea(playArea1);
         player1.setPoints(4);
         table.getPlayers().add(player1);
-        PlayArea playArea2 = new PlayArea(5, 5, null);
+        PlayArea playArea2 = new PlayArea(null);
         Player player2 = new Player("Daniele", 1, table);
         playArea2.setPlayer(player2);
         player2.setPlayArea(playArea2);
         player2.setPoints(30);
         player2.setObCardUsed(2);
         table.getPlayers().add(player2);
-        PlayArea playArea3 = new PlayArea(5, 5, null);
+        PlayArea playArea3 = new PlayArea(null);
         Player player3 = new Player("Carlo", 1, table);
         playArea3.setPlayer(player3);
         player3.setPlayArea(playArea3);
         player3.setPoints(30);
         player3.setObCardUsed(2);
         table.getPlayers().add(player3);
-        PlayArea playArea4 = new PlayArea(5, 5, null);
+        PlayArea playArea4 = new PlayArea(null);
         Player player4 = new Player("Corrado", 1, table);
         playArea4.setPlayer(player4);
         player4.setPlayArea(playArea4);
@@ -830,7 +833,7 @@ class MatchControllerTest {
             throw new RuntimeException(e);
         }
         MatchController match = new MatchController(1, 4, table);
-        PlayArea playArea1 = new PlayArea(5, 5, null);
+        PlayArea playArea1 = new PlayArea(null);
         Player player1 = new Player("Federico", 1, table);
         playArea1.setPlayer(player1);
         player1.setPlayArea(playArea1);
@@ -839,7 +842,7 @@ class MatchControllerTest {
         player1.addListener(listener1);
         listener1.setServer(serverRMI);
         table.getPlayers().add(player1);
-        PlayArea playArea2 = new PlayArea(5, 5, null);
+        PlayArea playArea2 = new PlayArea(null);
         Player player2 = new Player("Daniele", 1, table);
         playArea2.setPlayer(player2);
         player2.setPlayArea(playArea2);
@@ -865,27 +868,27 @@ class MatchControllerTest {
         } catch (IOException | ParseException e) {
             throw new RuntimeException(String.valueOf(e));
         }
-        PlayArea playArea1 = new PlayArea(5, 5, null);
+        PlayArea playArea1 = new PlayArea(null);
         Player player1 = new Player("Federico", 1, table);
         playArea1.setPlayer(player1);
         player1.setPlayArea(playArea1);
         player1.setPoints(4);
         table.getPlayers().add(player1);
-        PlayArea playArea2 = new PlayArea(5, 5, null);
+        PlayArea playArea2 = new PlayArea(null);
         Player player2 = new Player("Daniele", 1, table);
         playArea2.setPlayer(player2);
         player2.setPlayArea(playArea2);
         player2.setPoints(30);
         player2.setObCardUsed(2);
         table.getPlayers().add(player2);
-        PlayArea playArea3 = new PlayArea(5, 5, null);
+        PlayArea playArea3 = new PlayArea(null);
         Player player3 = new Player("Carlo", 1, table);
         playArea3.setPlayer(player3);
         player3.setPlayArea(playArea3);
         player3.setPoints(30);
         player3.setObCardUsed(2);
         table.getPlayers().add(player3);
-        PlayArea playArea4 = new PlayArea(5, 5, null);
+        PlayArea playArea4 = new PlayArea(null);
         Player player4 = new Player("Corrado", 1, table);
         playArea4.setPlayer(player4);
         player4.setPlayArea(playArea4);
@@ -910,27 +913,27 @@ class MatchControllerTest {
         } catch (IOException | ParseException e) {
             throw new RuntimeException(String.valueOf(e));
         }
-        PlayArea playArea1 = new PlayArea(5, 5, null);
+        PlayArea playArea1 = new PlayArea(null);
         Player player1 = new Player("Federico", 1, table);
         playArea1.setPlayer(player1);
         player1.setPlayArea(playArea1);
         player1.setPoints(4);
         table.getPlayers().add(player1);
-        PlayArea playArea2 = new PlayArea(5, 5, null);
+        PlayArea playArea2 = new PlayArea(null);
         Player player2 = new Player("Daniele", 1, table);
         playArea2.setPlayer(player2);
         player2.setPlayArea(playArea2);
         player2.setPoints(30);
         player2.setObCardUsed(2);
         table.getPlayers().add(player2);
-        PlayArea playArea3 = new PlayArea(5, 5, null);
+        PlayArea playArea3 = new PlayArea(null);
         Player player3 = new Player("Carlo", 1, table);
         playArea3.setPlayer(player3);
         player3.setPlayArea(playArea3);
         player3.setPoints(30);
         player3.setObCardUsed(2);
         table.getPlayers().add(player3);
-        PlayArea playArea4 = new PlayArea(5, 5, null);
+        PlayArea playArea4 = new PlayArea(null);
         Player player4 = new Player("Corrado", 1, table);
         playArea4.setPlayer(player4);
         player4.setPlayArea(playArea4);
@@ -962,7 +965,7 @@ class MatchControllerTest {
      */
     @Test
     void cardPlaceable(){
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         Symbols[] symbols_card1 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card1 = new ResourceCard(symbols_card1, Colors.RED, null, true, 0, null, null, null);
         Symbols[] symbols_card2 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
@@ -973,24 +976,24 @@ class MatchControllerTest {
         Card card4 = new ResourceCard(symbols_card4, Colors.GREEN, null, true, 0, null, null, null);
         Symbols[] symbols_card5 = {Symbols.FUNGI, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card5 = new ResourceCard(symbols_card5, Colors.GREEN, null, true, 0, null, null, null);
-        player.getPlayArea().getGrid()[1][1]=card1;
-        player.getPlayArea().getGrid()[1][3]=card2;
-        player.getPlayArea().getGrid()[3][1]=card3;
-        player.getPlayArea().getGrid()[3][3]=card4;
+        player.getPlayArea().getGrid().put(1, 1, card1);
+        player.getPlayArea().getGrid().put(1, 3, card2);
+        player.getPlayArea().getGrid().put(3, 1, card3);
+        player.getPlayArea().getGrid().put(3, 3, card4);
         MatchController match = new MatchController(1, 4, table);
         match.areCoordinatesValid(player.getNickname(), 2, 2);
         assertTrue(match.checkCoordinates(player.getPlayArea().getGrid(), 2, 2));
 
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         Symbols[] symbols_card6 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card6 = new ResourceCard(symbols_card6, Colors.RED, null, true, 0, null, null, null);
         Symbols[] symbols_card7 = {Symbols.FUNGI, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card7 = new ResourceCard(symbols_card7, Colors.GREEN, null, true, 0, null, null, null);
-        player.getPlayArea().getGrid()[1][1]=card6;
+        player.getPlayArea().getGrid().put(1, 1, card6);
         match.areCoordinatesValid(player.getNickname(), 2, 2);
         assertTrue(match.checkCoordinates(player.getPlayArea().getGrid(), 2, 2));
 
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         player.getPlayArea().getAvailableResources().put(Symbols.ANIMAL, 0);
         player.getPlayArea().getAvailableResources().put(Symbols.FUNGI, 0);
         player.getPlayArea().getAvailableResources().put(Symbols.PLANT, 2);
@@ -1021,13 +1024,13 @@ class MatchControllerTest {
         } catch (IOException | ParseException e) {
             throw new RuntimeException(String.valueOf(e));
         }
-        PlayArea playArea1 = new PlayArea(5, 5, null);
+        PlayArea playArea1 = new PlayArea(null);
         Player player1 = new Player("Federico", 1, table);
         playArea1.setPlayer(player1);
         player1.setPlayArea(playArea1);
         player1.setPoints(4);
         table.getPlayers().add(player1);
-        PlayArea playArea2 = new PlayArea(5, 5, null);
+        PlayArea playArea2 = new PlayArea(null);
         Player player2 = new Player("Daniele", 1, table);
         playArea2.setPlayer(player2);
         player2.setPlayArea(playArea2);
@@ -1095,4 +1098,181 @@ class MatchControllerTest {
         assertFalse(match.availablePositionsForDrawing().contains(1));
         assertTrue(match.availablePositionsForDrawing().isEmpty());
     }
-}
\ No newline at end of file
+
+
+    /**
+     * testing that a fork of the match can place and draw without changing the match, and that a fork of the fork
+     * does not change the fork
+     */
+    @Test
+    void fork(){
+        MatchController match = new MatchController(1, 1, table);
+        match.prepareTable();
+        player.setYourTurn(true);
+        List<Card> hand = new ArrayList<>(player.getHand());
+        Card starter = player.getPlayArea().getGrid().get(0, 0);
+        boolean[] corners = starter.getCorners().clone();
+        Card top = table.getDeckR().getFirst();
+        int deckSize = table.getDeckR().size();
+
+        MatchController fork = match.fork();
+        Player forked = fork.getPlayerByName("Carlo");
+        assertNotSame(player, forked);
+        long position = forked.getPlayArea().sortedLegalPositions()[0];
+        fork.place("Carlo", 1, "back", SparseGrid.rowOf(position), SparseGrid.columnOf(position));
+        fork.drawResource("Carlo");
+
+        assertEquals(2, forked.getPlayArea().getGrid().getSize());
+        assertEquals(3, forked.getHand().size());
+        assertEquals(deckSize - 1, fork.getTable().getDeckR().size());
+        assertEquals(1, player.getPlayArea().getGrid().getSize());
+        assertEquals(hand, player.getHand());
+        assertSame(starter, player.getPlayArea().getGrid().get(0, 0));
+        assertArrayEquals(corners, starter.getCorners());
+        assertTrue(hand.getFirst().isFace());
+        assertEquals(deckSize, table.getDeckR().size());
+        assertSame(top, table.getDeckR().getFirst());
+        assertSame(fork, forked.getMatch());
+        assertSame(fork, fork.getTable().getMatch());
+        assertNull(table.fork().getMatch());
+        assertNull(table.fork().getPlayers().getFirst().getMatch());
+        Card placed = forked.getPlayArea().getGrid().get(SparseGrid.rowOf(position), SparseGrid.columnOf(position));
+        assertSame(placed, forked.getPlayArea().own(placed));
+
+        MatchController forkOfFork = fork.fork();
+        assertNotSame(placed, forked.getPlayArea().own(placed));
+        Player forkedTwice = forkOfFork.getPlayerByName("Carlo");
+        position = forkedTwice.getPlayArea().sortedLegalPositions()[0];
+        forkOfFork.place("Carlo", 1, "back", SparseGrid.rowOf(position), SparseGrid.columnOf(position));
+        assertEquals(3, forkedTwice.getPlayArea().getGrid().getSize());
+        assertEquals(2, forked.getPlayArea().getGrid().getSize());
+        assertEquals(3, forked.getHand().size());
+        assertEquals(1, player.getPlayArea().getGrid().getSize());
+    }
+
+
+    /**
+     * testing that the server scores every player when the last one finishes to play, giving the same points
+     * of the objectives calculated one player at a time, and that the match is scored only once
+     */
+    @Test
+    void scoreMatch() throws IOException, ParseException {
+        List<String> script = MatchReplay.record(3, List.of("Federico", "Daniele", "Carlo"));
+        MatchReplay sequential = new MatchReplay(3, List.of("Federico", "Daniele", "Carlo"));
+        MatchReplay parallel = new MatchReplay(3, List.of("Federico", "Daniele", "Carlo"));
+        for (String command : script.subList(1, script.size() - 1)) {
+            sequential.execute(command);
+            parallel.execute(command);
+        }
+        MatchController first = sequential.getMatch();
+        MatchController second = parallel.getMatch();
+        for (String nickname : first.getPlayersNames()) first.calculateObjectives(nickname);
+        first.calculateWinner();
+
+        assertFalse(second.isScored());
+        second.increaseNumOfPlayersThatHaveFinishedToPlay();
+        second.increaseNumOfPlayersThatHaveFinishedToPlay();
+        assertFalse(second.isScored());
+        second.increaseNumOfPlayersThatHaveFinishedToPlay();
+        assertTrue(second.isScored());
+        assertEquals(3, second.getNumOfObjectiveCardCalculated());
+        for (String nickname : first.getPlayersNames()) {
+            assertEquals(first.getPlayerByName(nickname).getPoints(), second.getPlayerByName(nickname).getPoints());
+        }
+        assertEquals(first.getWinners()[0].getNickname(), second.getWinners()[0].getNickname());
+
+        int points = second.getPlayerByName("Carlo").getPoints();
+        second.scoreMatch();
+        second.calculateObjectives("Carlo");
+        assertEquals(points, second.getPlayerByName("Carlo").getPoints());
+    }
+
+
+    /**
+     * testing that a placement and a draw are rejected without changing the match when they are not legal,
+     * that they are executed together with the change of phase when they are legal, and that the result
+     * survives the serialization used by the TCP connection
+     */
+    @Test
+    void tryPlaceAndDraw() throws JsonProcessingException {
+        MatchController match = new MatchController(1, 1, table);
+        match.prepareTable();
+        long position = player.getPlayArea().sortedLegalPositions()[0];
+        int row = SparseGrid.rowOf(position);
+        int column = SparseGrid.columnOf(position);
+        assertEquals(TurnResult.Rejection.NOT_YOUR_TURN, match.tryPlace("Carlo", 1, "back", row, column).getRejection());
+        player.setYourTurn(true);
+        assertEquals(TurnResult.Rejection.WRONG_PHASE, match.tryDraw("Carlo", "resource", 0).getRejection());
+        assertEquals(TurnResult.Rejection.INVALID_CARD, match.tryPlace("Carlo", 4, "back", row, column).getRejection());
+        assertEquals(TurnResult.Rejection.INVALID_FACE, match.tryPlace("Carlo", 1, "side", row, column).getRejection());
+        assertEquals(TurnResult.Rejection.INVALID_POSITION, match.tryPlace("Carlo", 1, "back", 0, 0).getRejection());
+        assertEquals(1, player.getPlayArea().getGrid().getSize());
+        assertEquals(3, player.getHand().size());
+        assertInstanceOf(PlacingPhase.class, match.getPhase());
+
+        ResourceLedger before = new ResourceLedger();
+        before.copyFrom(player.getPlayArea().getAvailableResources());
+        TurnResult placed = match.tryPlace("Carlo", 1, "back", row, column);
+        assertTrue(placed.isAccepted());
+        assertNull(placed.getRejection());
+        assertEquals(2, player.getPlayArea().getGrid().getSize());
+        assertEquals(player.getHand(), placed.getHand());
+        assertEquals(player.getPoints(), placed.getPoints());
+        for (Symbols symbol : Symbols.values()) {
+            assertEquals(player.getPlayArea().getAvailableResources().get(symbol) - before.get(symbol), placed.getResourceDelta().get(symbol));
+        }
+        assertInstanceOf(DrawPhase.class, match.getPhase());
+        assertEquals(TurnResult.Rejection.WRONG_PHASE, match.tryPlace("Carlo", 1, "back", row, column).getRejection());
+
+        assertEquals(TurnResult.Rejection.INVALID_SOURCE, match.tryDraw("Carlo", "deck", 0).getRejection());
+        table.getCardsR()[0] = null;
+        assertEquals(TurnResult.Rejection.EMPTY_SLOT, match.tryDraw("Carlo", "table", 1).getRejection());
+        assertEquals(2, player.getHand().size());
+        int deckSize = table.getDeckR().size();
+        TurnResult drawn = match.tryDraw("Carlo", "resource", 0);
+        assertTrue(drawn.isAccepted());
+        assertEquals(3, drawn.getHand().size());
+        assertFalse(drawn.isNothingToDraw());
+        assertNull(drawn.getResourceDelta());
+        assertThrows(UnsupportedOperationException.class, () -> drawn.getHand().clear());
+        assertEquals(3, player.getHand().size());
+        assertEquals(deckSize - 1, table.getDeckR().size());
+        assertInstanceOf(PlacingPhase.class, match.getPhase());
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        TurnResult received = objectMapper.readValue(objectMapper.writeValueAsString(placed), TurnResult.class);
+        assertTrue(received.isAccepted());
+        assertEquals(placed.getPoints(), received.getPoints());
+        assertArrayEquals(placed.getResourceDelta().getCounts(), received.getResourceDelta().getCounts());
+        assertEquals(placed.getHand().size(), received.getHand().size());
+        TurnResult rejected = objectMapper.readValue(objectMapper.writeValueAsString(TurnResult.rejected(TurnResult.Rejection.EMPTY_DECK)), TurnResult.class);
+        assertFalse(rejected.isAccepted());
+        assertEquals(TurnResult.Rejection.EMPTY_DECK, rejected.getRejection());
+    }
+
+
+    /**
+     * testing that a draw with a valid source is accepted without drawing when nothing is left on the decks
+     * and on the table, saying so in the result, and that the turn passes anyway
+     */
+    @Test
+    void tryDrawWithNothingLeft() {
+        MatchController match = new MatchController(1, 1, table);
+        match.prepareTable();
+        player.setYourTurn(true);
+        match.getPhase().transition(new DrawPhase(match));
+        while (!table.getDeckR().isEmpty()) table.getDeckR().draw();
+        while (!table.getDeckG().isEmpty()) table.getDeckG().draw();
+        table.getCardsR()[0] = table.getCardsR()[1] = null;
+        table.getCardsG()[0] = table.getCardsG()[1] = null;
+        List<Card> hand = new ArrayList<>(player.getHand());
+
+        assertEquals(TurnResult.Rejection.INVALID_SOURCE, match.tryDraw("Carlo", "deck", 0).getRejection());
+        TurnResult drawn = match.tryDraw("Carlo", "table", 1);
+        assertTrue(drawn.isAccepted());
+        assertTrue(drawn.isNothingToDraw());
+        assertEquals(hand, drawn.getHand());
+        assertEquals(hand, player.getHand());
+        assertInstanceOf(PlacingPhase.class, match.getPhase());
+    }
+}
@@ -0,0 +1,45 @@
+package Controller;
+
+import org.json.simple.parser.ParseException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests that a seeded match is recorded and replayed always in the same way.
+ */
+class MatchReplayTest {
+
+    /**
+     * The same seed produces the same script, and replaying it twice gives the same final points.
+     */
+    @Test
+    void replayIsDeterministic() throws IOException, ParseException {
+        List<String> nicknames = List.of("Federico", "Daniele", "Carlo");
+        List<String> script = MatchReplay.record(42, nicknames);
+        assertEquals(script, MatchReplay.record(42, nicknames));
+        assertEquals("match 42 Federico Daniele Carlo", script.getFirst());
+        assertEquals("scoreMatch", script.getLast());
+
+        MatchReplay.Report first = MatchReplay.replay(script);
+        MatchReplay.Report second = MatchReplay.replay(script);
+        assertEquals(script.size() - 1, first.getCommands());
+        assertEquals(first.getPoints(), second.getPoints());
+        assertEquals(nicknames, List.copyOf(first.getPoints().keySet()));
+        assertTrue(first.getCommandsPerSecond() > 0);
+        assertTrue(first.getLatency("place", 99) >= first.getLatency("place", 50));
+    }
+
+
+    /**
+     * A command which is not valid in the current phase stops the replay.
+     */
+    @Test
+    void invalidCommand() {
+        List<String> script = List.of("match 1 Federico Daniele", "shuffleDecksAndGiveStarterCards", "processCommand Federico draw");
+        assertThrows(IllegalStateException.class, () -> MatchReplay.replay(script));
+    }
+}
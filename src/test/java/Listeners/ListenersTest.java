@@ -15,9 +15,7 @@ import org.junit.jupiter.api.Test;
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 
@@ -125,7 +123,7 @@ class ListenersTest {
         assertEquals(table.getDeckR(), message.getDeckR());
         message.setDeckG(table.getDeckG());
         assertEquals(table.getDeckG(), message.getDeckG());
-        PlayArea playArea = new PlayArea(5, 5, new Player());
+        PlayArea playArea = new PlayArea(new Player());
         message.setPlayArea(playArea);
         assertEquals(playArea, message.getPlayArea());
         message.setAreaOwner("Corrado");
@@ -141,7 +139,7 @@ class ListenersTest {
         message.setObchoice2(table.getDeckO().getFirst());
         assertEquals(table.getDeckO().getFirst(), message.getObchoice1());
         assertEquals(table.getDeckO().getFirst(), message.getObchoice2());
-        Map<Symbols, Integer> availableResources = new HashMap<>();
+        ResourceLedger availableResources = new ResourceLedger();
         message.setAvailableResources(availableResources);
         assertEquals(availableResources, message.getAvailableResources());
         message.setStatus(GameStatus.IT_IS_YOUR_TURN);
@@ -51,7 +51,7 @@ class PointsByPositionTest {
             throw new RuntimeException(e);
         }
         player.setPoints(5);
-        player.setPlayArea(new PlayArea(7, 7, player));
+        player.setPlayArea(new PlayArea(player));
         playArea = player.getPlayArea();
         table = player.getTable();
         table.getScore().put(player.getNickname(), player.getPoints());
@@ -74,16 +74,16 @@ class PointsByPositionTest {
         Card card1 = new ResourceCard(symbols, Colors.PURPLE, centre1, true, 1, Symbols.EMPTY, null, null);
         Card card2 = new ResourceCard(symbols, Colors.BLUE, centre2, false, 0, Symbols.EMPTY, null, null);
         Card placedCard = new GoldCard(symbols, Colors.RED, centre3, true, 2, Symbols.EMPTY, null, null, goldCardRequirements);
-        playArea.getGrid()[3][3] = starterCard;
-        playArea.getGrid()[2][2] = card1;
-        playArea.getGrid()[2][4] = card2;
-        playArea.getGrid()[1][3] = placedCard;
+        playArea.getGrid().put(3, 3, starterCard);
+        playArea.getGrid().put(2, 2, card1);
+        playArea.getGrid().put(2, 4, card2);
+        playArea.getGrid().put(1, 3, placedCard);
         starterCard.setCorners(new boolean[]{false, false, true, true});
         card1.setCorners(new boolean[]{true, false, true, true});
         card2.setCorners(new boolean[]{false, true, true, true});
         placedCard.setCorners(new boolean[]{true, true, true, true});
         player.setPlayArea(playArea);
-        pointsByPosition.calculatePoints(placedCard, player);
+        player.setPoints(player.getPoints() + pointsByPosition.calculatePoints(Placement.of(placedCard, playArea, 1, 3)));
         assertEquals(9, player.getPoints(), "The player's points should be 9.");
     }
 }
\ No newline at end of file
@@ -63,9 +63,9 @@ class PointsPerObjectTest {
         } catch (IOException | ParseException e) {
             throw new RuntimeException(e);
         }
-        playArea = new PlayArea(5, 5, player);
-        playArea.getAvailableResources().replace(Symbols.INKWELL, 0, 3);
-        playArea.getAvailableResources().replace(Symbols.QUILL, 0, 2);
+        playArea = new PlayArea(player);
+        playArea.getAvailableResources().put(Symbols.INKWELL, 3);
+        playArea.getAvailableResources().put(Symbols.QUILL, 2);
         player.setPlayArea(playArea);
         table = player.getTable();
         table.getScore().put(player.getNickname(), player.getPoints());
@@ -77,7 +77,7 @@ class PointsPerObjectTest {
      */
     @Test
     void updateScore() {
-        pointsPerObject.calculatePoints(card, player);
+        player.setPoints(player.getPoints() + pointsPerObject.calculatePoints(Placement.of(card, playArea, 0, 0)));
         assertEquals(16, player.getPoints(), "The player's points should be 16.");
     }
 }
\ No newline at end of file
@@ -1,9 +1,13 @@
 package Model.Cards;
 
+import Model.CalculatePoints.CalculatePoints;
+import Model.CalculatePoints.PointsByPosition;
+import Model.CalculatePoints.PointsPerObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -51,8 +55,10 @@ class CardTest {
         requirements3.put(Symbols.FUNGI, 0);
         requirements3.put(Symbols.ANIMAL, 0);
         requirements3.put(Symbols.INSECT, 0);
-        card2.setRequirements(requirements3);
-        assertEquals(requirements3, card2.getRequirements());
+        ResourceLedger ledger3 = new ResourceLedger(requirements3);
+        card2.setRequirements(ledger3);
+        assertEquals(ledger3, card2.getRequirements());
+        assertEquals(2, card2.getRequirements().get(Symbols.PLANT));
     }
 
     /**
@@ -96,4 +102,54 @@ class CardTest {
         card4.setImageBack("RETRO");
         assertEquals("RETRO", card4.getImageBack());
     }
-}
\ No newline at end of file
+    /**
+     * testing that the catalog is parsed once and that the cards of different decks share the definitions
+     * and the frozen requirements, but no array which a match could change
+     */
+    @Test
+    void Catalog() throws Exception {
+        CardCatalog catalog = CardCatalog.getInstance();
+        assertSame(catalog, CardCatalog.getInstance());
+        List<GoldCard> deck1 = catalog.newGoldDeck();
+        List<GoldCard> deck2 = catalog.newGoldDeck();
+        assertEquals(40, deck1.size());
+        GoldCard card1 = deck1.getFirst();
+        GoldCard card2 = deck2.getFirst();
+        assertEquals(41, card1.getId());
+        assertSame(catalog.getById(41), catalog.getById(card2.getId()));
+        assertSame(card1.getRequirements(), card2.getRequirements());
+        assertNotSame(card1.getSymbols(), card2.getSymbols());
+        assertArrayEquals(card1.getSymbols(), card2.getSymbols());
+        assertThrows(UnsupportedOperationException.class, () -> card1.getRequirements().add(Symbols.PLANT, 1));
+        card1.getRequirements().getCounts()[Symbols.PLANT.ordinal()] = 100;
+        assertNotEquals(100, card2.getRequirements().get(Symbols.PLANT));
+        StarterCard starter1 = catalog.newStarterDeck().getFirst();
+        StarterCard starter2 = catalog.newStarterDeck().getFirst();
+        assertNotSame(starter1.getCentre(), starter2.getCentre());
+        assertNotSame(starter1.getDefaultSymbols(), starter2.getDefaultSymbols());
+        starter1.getDefaultSymbols()[0] = Symbols.QUILL;
+        assertArrayEquals(catalog.getById(starter2.getId()).getBackSymbols(), starter2.getDefaultSymbols());
+        assertEquals(20, catalog.getByColor(Colors.RED).size());
+        for (CardDefinition definition : catalog.getBySymbol(Symbols.QUILL)) {
+            assertTrue(definition.shows(Symbols.QUILL));
+        }
+        assertEquals(16, catalog.newObjectiveDeck().size());
+        assertEquals(87, catalog.newObjectiveDeck().getFirst().getId());
+    }
+
+    /**
+     * testing that the gold cards of the catalog share the stateless strategies which score them
+     */
+    @Test
+    void GoldCardScoring() throws Exception {
+        CardCatalog catalog = CardCatalog.getInstance();
+        for (GoldCard card : catalog.newGoldDeck()) {
+            CalculatePoints expected = card.getPointsObject() != Symbols.EMPTY ? PointsPerObject.INSTANCE
+                    : card.getPoints() == 2 ? PointsByPosition.INSTANCE : null;
+            assertSame(expected, card.getScoring());
+            assertSame(catalog.getById(card.getId()).getScoring(), card.getScoring());
+        }
+        GoldCard card = new GoldCard(new Symbols[4], Colors.RED, null, true, 2, Symbols.EMPTY, null, null, new ResourceLedger());
+        assertSame(PointsByPosition.INSTANCE, card.getScoring());
+    }
+}
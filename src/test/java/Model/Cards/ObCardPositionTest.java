@@ -35,7 +35,7 @@ class ObCardPositionTest {
         } catch (IOException | ParseException e) {
             throw new RuntimeException(e);
         }
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
     }
 
     /**
@@ -49,7 +49,7 @@ class ObCardPositionTest {
         } catch (IOException | ParseException e) {
             throw new RuntimeException(e);
         }
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         Colors[] colors_red_red_green = {Colors.RED, Colors.RED, Colors.GREEN};
         int[] positions_red_red_green = {1,1,2};
         ObCardPosition ob_1 = new ObCardPosition(3, null, null, colors_red_red_green, positions_red_red_green);
@@ -63,9 +63,9 @@ class ObCardPositionTest {
         Symbols[] centre_card3 = {Symbols.PLANT};
         Symbols[] symbols_card3 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card3 = new ResourceCard(symbols_card3, Colors.GREEN, centre_card3, true, 0, null, null, null);
-        player.getPlayArea().getGrid()[2][2] = card1;
-        player.getPlayArea().getGrid()[3][2] = card2;
-        player.getPlayArea().getGrid()[4][3] = card3;
+        player.getPlayArea().getGrid().put(2, 2, card1);
+        player.getPlayArea().getGrid().put(3, 2, card2);
+        player.getPlayArea().getGrid().put(4, 3, card3);
         ob_1.calculateObCardPosition(ob_1, player);
         assertEquals(3, player.getPoints(), "The player points should be 3");
 
@@ -81,9 +81,9 @@ class ObCardPositionTest {
         Symbols[] centre_card_3 = {Symbols.PLANT};
         Symbols[] symbols_card_3 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card_3 = new ResourceCard(symbols_card_3, Colors.GREEN, centre_card_3, true, 0, null, null, null);
-        player.getPlayArea().getGrid()[2][2] = card_1;
-        player.getPlayArea().getGrid()[3][2] = card_2;
-        player.getPlayArea().getGrid()[4][3] = card_3;
+        player.getPlayArea().getGrid().put(2, 2, card_1);
+        player.getPlayArea().getGrid().put(3, 2, card_2);
+        player.getPlayArea().getGrid().put(4, 3, card_3);
         player.setPoints(0);
         ob_2.calculateObCardPosition(ob_2, player);
         assertEquals(0, player.getPoints(), "The player points should be 0");
@@ -106,22 +106,19 @@ class ObCardPositionTest {
         Symbols[] centre_card__5 = {Symbols.PLANT};
         Symbols[] symbols_card__5 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card__5 = new ResourceCard(symbols_card__5, Colors.GREEN, centre_card__5, true, 0, null, null, null);
-        player.getPlayArea().getGrid()[1][1] = card__1;
-        player.getPlayArea().getGrid()[2][2] = card__2;
-        player.getPlayArea().getGrid()[3][3] = card__3;
-        player.getPlayArea().getGrid()[4][4] = card__4;
-        player.getPlayArea().getGrid()[5][5] = card__5;
+        player.getPlayArea().getGrid().put(1, 1, card__1);
+        player.getPlayArea().getGrid().put(2, 2, card__2);
+        player.getPlayArea().getGrid().put(3, 3, card__3);
+        player.getPlayArea().getGrid().put(4, 4, card__4);
+        player.getPlayArea().getGrid().put(5, 5, card__5);
         player.setPoints(0);
         ob_3.calculateObCardPosition(ob_3, player);
         assertEquals(3, player.getPoints(), "The player points should be 3");
         Symbols[] centre_card__6 = {Symbols.PLANT};
         Symbols[] symbols_card__6 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card__6 = new ResourceCard(symbols_card__6, Colors.GREEN, centre_card__6, true, 0, null, null, null);
-        player.getPlayArea().getGrid()[6][6] = card__6;
+        player.getPlayArea().getGrid().put(6, 6, card__6);
         player.setPoints(0);
-        card__1.setConsidered(false);
-        card__2.setConsidered(false);
-        card__3.setConsidered(false);
         ob_3.calculateObCardPosition(ob_3, player);
         assertEquals(6, player.getPoints(), "The player points should be 6");
     }
@@ -137,7 +134,7 @@ class ObCardPositionTest {
         } catch (IOException | ParseException e) {
             throw new RuntimeException(e);
         }
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         Colors[] colors_red_red_green = {Colors.RED, Colors.RED, Colors.GREEN};
         int[] positions_red_red_green = {1,1,2};
         ObCardPosition ob_1 = new ObCardPosition(3, null, null, colors_red_red_green, positions_red_red_green);
@@ -150,14 +147,14 @@ class ObCardPositionTest {
         Symbols[] centre_card3 = {Symbols.PLANT};
         Symbols[] symbols_card3 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card3 = new ResourceCard(symbols_card3, Colors.GREEN, centre_card3, true, 0, null, null, null);
-        player.getPlayArea().getGrid()[2][2] = card1;
-        player.getPlayArea().getGrid()[3][2] = card2;
-        player.getPlayArea().getGrid()[4][3] = card3;
+        player.getPlayArea().getGrid().put(2, 2, card1);
+        player.getPlayArea().getGrid().put(3, 2, card2);
+        player.getPlayArea().getGrid().put(4, 3, card3);
         int k1 = ob_1.where_to_continue(ob_1, player, 2,2, 0, 1);
         assertEquals(0, k1, "k1 should be 0");
         int p1 = ob_1.where_to_continue(ob_1, player, 3,2, 1, 2);
         assertEquals(1, p1, "p1 should be 1");
-        player.getPlayArea().getGrid()[3][2] = null;
+        player.getPlayArea().getGrid().put(3, 2, null);
         int k_1 = ob_1.where_to_continue(ob_1, player, 2,2, 0, 1);
         assertEquals(2, k_1, "k_1 should be 2");
 
@@ -173,9 +170,9 @@ class ObCardPositionTest {
         Symbols[] centre_card_3 = {Symbols.PLANT};
         Symbols[] symbols_card_3 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card_3 = new ResourceCard(symbols_card_3, Colors.GREEN, centre_card_3, true, 0, null, null, null);
-        player.getPlayArea().getGrid()[2][2] = card_1;
-        player.getPlayArea().getGrid()[3][2] = card_2;
-        player.getPlayArea().getGrid()[4][3] = card_3;
+        player.getPlayArea().getGrid().put(2, 2, card_1);
+        player.getPlayArea().getGrid().put(3, 2, card_2);
+        player.getPlayArea().getGrid().put(4, 3, card_3);
         int k2 = ob_2.where_to_continue(ob_2, player, 2,2, 0, 1);
         assertEquals(2, k2, "k2 should be 2");
         int p2 = ob_2.where_to_continue(ob_2, player, 3,2, 1, 2);
@@ -199,11 +196,11 @@ class ObCardPositionTest {
         Symbols[] centre_card__5 = {Symbols.PLANT};
         Symbols[] symbols_card__5 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card__5 = new ResourceCard(symbols_card__5, Colors.GREEN, centre_card__5, true, 0, null, null, null);
-        player.getPlayArea().getGrid()[2][2] = card__1;
-        player.getPlayArea().getGrid()[3][3] = card__2;
-        player.getPlayArea().getGrid()[4][4] = card__3;
-        player.getPlayArea().getGrid()[5][5] = card__4;
-        player.getPlayArea().getGrid()[6][6] = card__5;
+        player.getPlayArea().getGrid().put(2, 2, card__1);
+        player.getPlayArea().getGrid().put(3, 3, card__2);
+        player.getPlayArea().getGrid().put(4, 4, card__3);
+        player.getPlayArea().getGrid().put(5, 5, card__4);
+        player.getPlayArea().getGrid().put(6, 6, card__5);
         int k3 = ob_3.where_to_continue(ob_3, player, 2,2, 0, 1);
         assertEquals(1, k3, "k3 should be 1");
         int p3 = ob_3.where_to_continue(ob_3, player, 3,3, 1, 2);
@@ -225,12 +222,84 @@ class ObCardPositionTest {
         Symbols[] centre_card___3 = {Symbols.FUNGI};
         Symbols[] symbols_card___3 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card___3 = new ResourceCard(symbols_card___3, Colors.BLUE, centre_card___3, true, 0, null, null, null);
-        player.getPlayArea().getGrid()[2][4] = card___1;
-        player.getPlayArea().getGrid()[3][3] = card___2;
-        player.getPlayArea().getGrid()[4][2] = card___3;
+        player.getPlayArea().getGrid().put(2, 4, card___1);
+        player.getPlayArea().getGrid().put(3, 3, card___2);
+        player.getPlayArea().getGrid().put(4, 2, card___3);
         int k4 = ob_2.where_to_continue(ob_4, player, 2,4, 0, 1);
         assertEquals(-1, k4, "k4 should be -1");
         int p4 = ob_2.where_to_continue(ob_4, player, 3,3, 1, 2);
         assertEquals(-1, p4, "p4 should be -1");
     }
+
+
+    /**
+     * testing if the pattern tracker of the play area, updated after every placement, counts the same patterns
+     * found by 'calculateObCardPosition' on the whole grid, also when a chain of cards is built from the bottom
+     */
+    @Test
+    void patternTracker_matches_full_scan() {
+        Colors[] colors_green_green_green = {Colors.GREEN, Colors.GREEN, Colors.GREEN};
+        int[] positions_green_green_green = {0,1,2};
+        ObCardPosition ob_diagonal = new ObCardPosition(3, null, null, colors_green_green_green, positions_green_green_green);
+        Colors[] colors_red_red_green = {Colors.RED, Colors.RED, Colors.GREEN};
+        int[] positions_red_red_green = {1,1,2};
+        ObCardPosition ob_l = new ObCardPosition(3, null, null, colors_red_red_green, positions_red_red_green);
+        player.getPlayArea().getPatternTracker().track(ob_diagonal, player.getPlayArea().getGrid());
+        player.getPlayArea().getPatternTracker().track(ob_l, player.getPlayArea().getGrid());
+        java.util.Random random = new java.util.Random(42);
+        int[] rows = new int[60];
+        int[] columns = new int[60];
+        //A diagonal chain of green cards placed from the bottom, so that every new card changes the chosen patterns
+        for (int k = 0; k < 8; k++) {
+            rows[k] = 7 - k;
+            columns[k] = 7 - k;
+        }
+        for (int k = 8; k < rows.length; k++) {
+            rows[k] = random.nextInt(12) - 6;
+            columns[k] = random.nextInt(12) - 6;
+        }
+        for (int k = 0; k < rows.length; k++) {
+            if (player.getPlayArea().getGrid().get(rows[k], columns[k]) != null) continue;
+            Colors color = k < 8 || random.nextBoolean() ? Colors.GREEN : Colors.RED;
+            Symbols[] symbols = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
+            Card card = new ResourceCard(symbols, color, new Symbols[]{Symbols.PLANT}, true, 0, null, null, null);
+            player.getPlayArea().getGrid().put(rows[k], columns[k], card);
+            player.getPlayArea().getPatternTracker().cardPlaced(player.getPlayArea().getGrid(), rows[k], columns[k]);
+            for (ObCardPosition ob : new ObCardPosition[]{ob_diagonal, ob_l}) {
+                player.setPoints(0);
+                ob.calculateObCardPosition(ob, player);
+                assertEquals(player.getPoints(), ob.getPoints() * player.getPlayArea().getPatternTracker().getMatches(ob, player.getPlayArea().getGrid()));
+            }
+        }
+        assertTrue(player.getPlayArea().getPatternTracker().getMatches(ob_diagonal, player.getPlayArea().getGrid()) >= 2);
+    }
+
+
+    /**
+     * testing that counting the patterns does not change the grid, so that the same grid can be evaluated
+     * many times and by different objectives at the same time with the same results
+     */
+    @Test
+    void countPatterns_without_side_effects() {
+        ObCardPosition ob_diagonal = new ObCardPosition(2, null, null, new Colors[]{Colors.GREEN, Colors.GREEN, Colors.GREEN}, new int[]{0,1,2});
+        ObCardPosition ob_l = new ObCardPosition(3, null, null, new Colors[]{Colors.GREEN, Colors.GREEN, Colors.RED}, new int[]{1,1,2});
+        for (int k = 0; k < 6; k++) {
+            Card card = new ResourceCard(new Symbols[]{Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT},
+                    Colors.GREEN, new Symbols[]{Symbols.PLANT}, true, 0, null, null, null);
+            player.getPlayArea().getGrid().put(k, k, card);
+            Card below = new ResourceCard(new Symbols[]{Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT},
+                    Colors.GREEN, new Symbols[]{Symbols.PLANT}, true, 0, null, null, null);
+            player.getPlayArea().getGrid().put(k + 1, k, below);
+        }
+        int diagonal = ob_diagonal.countPatterns(player.getPlayArea().getGrid());
+        int l = ob_l.countPatterns(player.getPlayArea().getGrid());
+        assertEquals(diagonal, ob_diagonal.countPatterns(player.getPlayArea().getGrid()));
+        java.util.List<ObCardPosition> objectives = java.util.Collections.nCopies(100, ob_diagonal);
+        assertTrue(objectives.parallelStream().allMatch(ob -> ob.countPatterns(player.getPlayArea().getGrid()) == diagonal));
+        assertEquals(l, ob_l.countPatterns(player.getPlayArea().getGrid()));
+        ob_diagonal.calculateObCardPosition(ob_diagonal, player);
+        ob_diagonal.calculateObCardPosition(ob_diagonal, player);
+        assertEquals(2 * 2 * diagonal, player.getPoints());
+        assertTrue(diagonal > 0);
+    }
 }
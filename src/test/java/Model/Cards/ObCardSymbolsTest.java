@@ -35,7 +35,7 @@ class ObCardSymbolsTest {
         } catch (IOException | ParseException e) {
             throw new RuntimeException(e);
         }
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
     }
 
     /**
@@ -49,7 +49,7 @@ class ObCardSymbolsTest {
         } catch (IOException | ParseException e) {
             throw new RuntimeException(e);
         }
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         Symbols[] symbols_3_plants = {Symbols.PLANT, Symbols.PLANT, Symbols.PLANT};
         ObCardSymbols ob_card_3_plants = new ObCardSymbols(2, null, null, symbols_3_plants);
         ob_card_3_plants.setSymbols(symbols_3_plants);
@@ -80,7 +80,7 @@ class ObCardSymbolsTest {
         } catch (IOException | ParseException e) {
             throw new RuntimeException(e);
         }
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         Symbols[] symbols_2_quills = {Symbols.QUILL, Symbols.QUILL};
         ObCardSymbols ob_card_2_quills = new ObCardSymbols(2, null, null, symbols_2_quills);
         player.getPlayArea().getAvailableResources().put(Symbols.QUILL, 3);
@@ -110,7 +110,7 @@ class ObCardSymbolsTest {
         } catch (IOException | ParseException e) {
             throw new RuntimeException(e);
         }
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         Symbols[] symbols_three_different = {Symbols.QUILL, Symbols.INKWELL, Symbols.MANUSCRIPT};
         ObCardSymbols ob_card_three_different = new ObCardSymbols(3, null, null, symbols_three_different);
         player.getPlayArea().getAvailableResources().put(Symbols.QUILL, 3);
@@ -0,0 +1,92 @@
+package Model;
+
+import Model.Cards.Colors;
+import Model.Cards.ResourceCard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * with this class we are testing the deck of cards
+ */
+class DeckTest {
+
+    /**
+     * the cards used to create the deck
+     */
+    private List<ResourceCard> cards;
+
+    /**
+     * the deck being tested
+     */
+    private Deck<ResourceCard> deck;
+
+    /**
+     * creates a deck of 40 resource cards
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        cards = new Table().getDeckR();
+        deck = new Deck<>(cards);
+    }
+
+    /**
+     * testing that drawing removes the card on top and that the deck behaves as a list
+     */
+    @Test
+    void draw() {
+        assertEquals(40, deck.remaining());
+        ResourceCard top = deck.get(0);
+        Colors color = deck.peekTopColor();
+        assertSame(top, deck.peek());
+        assertSame(top, deck.draw());
+        assertEquals(color, top.getColors());
+        assertEquals(39, deck.size());
+        assertFalse(deck.contains(top));
+        ResourceCard second = deck.get(1);
+        assertSame(second, deck.remove(1));
+        assertEquals(38, deck.size());
+        deck.clear();
+        assertTrue(deck.isEmpty());
+        assertNull(deck.draw());
+        assertNull(deck.peekTopColor());
+    }
+
+    /**
+     * testing that the same random source gives the same shuffle
+     */
+    @Test
+    void shuffle() {
+        Deck<ResourceCard> other = new Deck<>(cards);
+        deck.shuffle(new Random(42));
+        other.shuffle(new Random(42));
+        assertEquals(deck, other);
+        assertEquals(40, deck.size());
+        assertTrue(deck.containsAll(cards));
+    }
+
+    /**
+     * testing that a snapshot does not change when the deck is drawn, and that a deck can be restored
+     */
+    @Test
+    void snapshot() {
+        deck.shuffle(new Random(7));
+        deck.draw();
+        int[] order = deck.order();
+        Deck<ResourceCard> copy = deck.snapshot();
+        List<ResourceCard> expected = new ArrayList<>(deck);
+        deck.draw();
+        deck.draw();
+        assertEquals(expected, copy);
+        assertSame(expected.getFirst(), copy.draw());
+        deck.restore(order);
+        assertEquals(expected, deck);
+        deck.add(expected.getFirst());
+        assertSame(expected.getFirst(), deck.get(deck.size() - 1));
+    }
+}
@@ -0,0 +1,100 @@
+package Model;
+
+import Controller.GameController;
+import Listeners.EndPoint;
+import Model.Cards.Card;
+import Model.Cards.GoldCard;
+import Model.Cards.ObjectiveCard;
+import Model.Cards.ResourceCard;
+import Network.RMI.ServerRMI;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * with this class we are testing the Monte Carlo search of the actions of a player
+ */
+class MonteCarloSearchTest {
+
+    /**
+     * the table with the decks
+     */
+    private Table table;
+
+    /**
+     * the player whose actions are searched
+     */
+    private Player player;
+
+    /**
+     * creates a player with the starter card placed, three cards in the hand and the cards on the table
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        table = new Table();
+        table.setRandom(new Random(3));
+        table.shuffle_resource_deck();
+        table.shuffle_golden_deck();
+        table.shuffle_objective_deck();
+        table.setCardsR(new ResourceCard[]{table.getDeckR().draw(), table.getDeckR().draw()});
+        table.setCardsG(new GoldCard[]{table.getDeckG().draw(), table.getDeckG().draw()});
+        table.setCardsO(new ObjectiveCard[]{table.getDeckO().draw(), table.getDeckO().draw()});
+        player = new Player("Carlo", 1, table);
+        EndPoint listener = new EndPoint();
+        player.addListener(listener);
+        listener.setServer(new ServerRMI(new ServerSocket(), new GameController(0), new CopyOnWriteArrayList<>()));
+        table.getPlayers().add(player);
+        Card starter = table.getDeckS().draw();
+        player.getHand().add(starter);
+        player.placeCard(starter, true, 0, 0);
+        player.getHand().add(table.getDeckR().draw());
+        player.getHand().add(table.getDeckR().draw());
+        player.getHand().add(table.getDeckG().draw());
+        player.setObChoice1(table.getDeckO().draw());
+        player.setObChoice2(table.getDeckO().draw());
+    }
+
+    /**
+     * testing that the search chooses legal actions and never changes the player or the table
+     */
+    @Test
+    void search_does_not_change_the_match() {
+        MonteCarloSearch search = new MonteCarloSearch(20);
+        int objective = search.chooseObjective(player);
+        assertTrue(objective == 1 || objective == 2);
+        player.putChoiceObjectives(objective);
+        for (int turn = 0; turn < 5; turn++) {
+            List<Card> hand = new ArrayList<>(player.getHand());
+            List<Card> deckR = new ArrayList<>(table.getDeckR());
+            int cards = player.getPlayArea().getGrid().getSize();
+            Move move = search.chooseMove(player);
+            assertEquals(hand, player.getHand());
+            assertEquals(deckR, table.getDeckR());
+            assertEquals(cards, player.getPlayArea().getGrid().getSize());
+            assertTrue(move.isRequirementsMet());
+            assertTrue(player.getPlayArea().isLegalPosition(move.getRow(), move.getColumn()));
+            Card card = player.getHand().get(move.getHandIndex());
+            player.placeCard(card, move.isFace(), move.getRow(), move.getColumn());
+            //The search forked the play area, so the placed card is a copy owned by the play area
+            assertEquals(card.getId(), player.getPlayArea().getGrid().get(move.getRow(), move.getColumn()).getId());
+            int choice = search.chooseDraw(player);
+            assertEquals(deckR, table.getDeckR());
+            if (choice == MonteCarloSearch.RESOURCE_DECK) player.getHand().add(table.getDeckR().draw());
+            else if (choice == MonteCarloSearch.GOLD_DECK) player.getHand().add(table.getDeckG().draw());
+            else {
+                assertTrue(choice >= 1 && choice <= 4);
+                Card[] cardsOnTable = choice <= 2 ? table.getCardsR() : table.getCardsG();
+                player.getHand().add(cardsOnTable[(choice - 1) % 2]);
+                cardsOnTable[(choice - 1) % 2] = choice <= 2 ? table.getDeckR().draw() : table.getDeckG().draw();
+            }
+            assertEquals(3, player.getHand().size());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package Model;
+
+import Controller.GameController;
+import Listeners.EndPoint;
+import Model.Cards.Card;
+import Model.Cards.ResourceLedger;
+import Model.Cards.Symbols;
+import Network.RMI.ServerRMI;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * with this class we are testing the evaluation of the moves of a player
+ */
+class MoveEvaluatorTest {
+
+    /**
+     * the table with the decks
+     */
+    private Table table;
+
+    /**
+     * the player whose moves are evaluated
+     */
+    private Player player;
+
+    /**
+     * creates a player with the starter card placed
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        table = new Table();
+        table.setRandom(new Random(11));
+        table.shuffle_resource_deck();
+        table.shuffle_golden_deck();
+        player = new Player("Carlo", 1, table);
+        EndPoint listener = new EndPoint();
+        player.addListener(listener);
+        listener.setServer(new ServerRMI(new ServerSocket(), new GameController(0), new CopyOnWriteArrayList<>()));
+        table.getPlayers().add(player);
+        Card starter = table.getDeckS().draw();
+        player.getHand().add(starter);
+        player.placeCard(starter, true, 0, 0);
+    }
+
+    /**
+     * testing that every evaluated move gives the same resources and points of the real placement,
+     * and that the evaluation does not change the play area
+     */
+    @Test
+    void evaluate_matches_placement() {
+        MoveEvaluator evaluator = new MoveEvaluator();
+        Random random = new Random(5);
+        for (int turn = 0; turn < 25; turn++) {
+            while (player.getHand().size() < 3) {
+                player.getHand().add(random.nextBoolean() ? table.getDeckR().draw() : table.getDeckG().draw());
+            }
+            int cards = player.getPlayArea().getGrid().getSize();
+            ResourceLedger available = new ResourceLedger();
+            available.copyFrom(player.getPlayArea().getAvailableResources());
+            List<Move> moves = evaluator.evaluate(player);
+            assertEquals(3 * 2 * player.getPlayArea().sortedLegalPositions().length, moves.size());
+            assertEquals(cards, player.getPlayArea().getGrid().getSize());
+            List<Move> playable = new ArrayList<>();
+            for (Move move : moves) {
+                Card card = player.getHand().get(move.getHandIndex());
+                player.getPlayArea().viewDifferenceOfResources(card, move.isFace() ? "front" : "back", move.getRow(), move.getColumn());
+                for (Symbols symbol : Symbols.values()) {
+                    assertEquals(player.getPlayArea().getPossibleFutureAvailableResources().get(symbol) - available.get(symbol),
+                            move.getResourceDelta().get(symbol));
+                }
+                if (move.isRequirementsMet()) playable.add(move);
+            }
+            Move chosen = playable.get(random.nextInt(playable.size()));
+            Card card = player.getHand().get(chosen.getHandIndex());
+            int points = player.getPoints();
+            player.placeCard(card, chosen.isFace(), chosen.getRow(), chosen.getColumn());
+            assertSame(card, player.getPlayArea().getGrid().get(chosen.getRow(), chosen.getColumn()));
+            assertEquals(points + chosen.getPoints(), player.getPoints());
+            for (Symbols symbol : Symbols.values()) {
+                assertEquals(available.get(symbol) + chosen.getResourceDelta().get(symbol), player.getPlayArea().getAvailableResources().get(symbol));
+            }
+        }
+        List<Integer> encoded = Move.encode(evaluator.evaluate(player));
+        List<Move> decoded = Move.decode(encoded);
+        assertEquals(encoded, Move.encode(decoded));
+    }
+}
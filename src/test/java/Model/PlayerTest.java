@@ -267,7 +267,7 @@ class PlayerTest {
     @Test
     void placeCard_resource_card() {
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         player.getPlayArea().getAvailableResources().put(Symbols.PLANT, 2);
         player.getPlayArea().getAvailableResources().put(Symbols.INSECT, 2);
         player.getPlayArea().getAvailableResources().put(Symbols.QUILL, 2);
@@ -278,16 +278,16 @@ class PlayerTest {
         Symbols points_object_card3 = Symbols.EMPTY;
         Symbols[] symbols_card3 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card3 = new ResourceCard(symbols_card3, Colors.GREEN, null, true, 1, points_object_card3, null, null);
-        player.getPlayArea().getGrid()[1][1]=card1;
-        player.getPlayArea().getGrid()[1][3]=card2;
+        player.getPlayArea().getGrid().put(1, 1, card1);
+        player.getPlayArea().getGrid().put(1, 3, card2);
         player.placeCard(card3, true, 2, 2);
-        assertEquals(card3, player.getPlayArea().getGrid()[2][2]);
+        assertEquals(card3, player.getPlayArea().getGrid().get(2, 2));
         assertEquals(2, player.getPlayArea().getAvailableResources().get(Symbols.QUILL));
         assertEquals(2, player.getPlayArea().getAvailableResources().get(Symbols.PLANT));
         assertEquals(3, player.getPlayArea().getAvailableResources().get(Symbols.INSECT));
         assertEquals(0, player.getPlayArea().getAvailableResources().get(Symbols.FUNGI));
-        assertEquals(false, player.getPlayArea().getGrid()[1][1].getCorners()[3]);
-        assertEquals(false, player.getPlayArea().getGrid()[1][3].getCorners()[2]);
+        assertEquals(false, player.getPlayArea().getGrid().get(1, 1).getCorners()[3]);
+        assertEquals(false, player.getPlayArea().getGrid().get(1, 3).getCorners()[2]);
         assertEquals(1, player.getPoints());
     }
     /**
@@ -297,7 +297,7 @@ class PlayerTest {
     @Test
     void placeCard_resource_card_folded() {
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         player.getPlayArea().getAvailableResources().put(Symbols.PLANT, 2);
         player.getPlayArea().getAvailableResources().put(Symbols.INSECT, 2);
         player.getPlayArea().getAvailableResources().put(Symbols.QUILL, 2);
@@ -308,16 +308,16 @@ class PlayerTest {
         Symbols points_object_card3 = Symbols.EMPTY;
         Symbols[] symbols_card3 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card3 = new ResourceCard(symbols_card3, Colors.GREEN, null, true, 1, points_object_card3, null, null);
-        player.getPlayArea().getGrid()[1][1]=card1;
-        player.getPlayArea().getGrid()[1][3]=card2;
+        player.getPlayArea().getGrid().put(1, 1, card1);
+        player.getPlayArea().getGrid().put(1, 3, card2);
         player.placeCard(card3, false, 2, 2);
-        assertEquals(card3, player.getPlayArea().getGrid()[2][2]);
+        assertEquals(card3, player.getPlayArea().getGrid().get(2, 2));
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.QUILL));
         assertEquals(2, player.getPlayArea().getAvailableResources().get(Symbols.PLANT));
         assertEquals(2, player.getPlayArea().getAvailableResources().get(Symbols.INSECT));
         assertEquals(0, player.getPlayArea().getAvailableResources().get(Symbols.FUNGI));
-        assertEquals(false, player.getPlayArea().getGrid()[1][1].getCorners()[3]);
-        assertEquals(false, player.getPlayArea().getGrid()[1][3].getCorners()[2]);
+        assertEquals(false, player.getPlayArea().getGrid().get(1, 1).getCorners()[3]);
+        assertEquals(false, player.getPlayArea().getGrid().get(1, 3).getCorners()[2]);
         assertEquals(0, player.getPoints());
     }
 
@@ -327,7 +327,7 @@ class PlayerTest {
      */@Test
     void placeCard_gold_card_with_3_points() {
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         player.getPlayArea().getAvailableResources().put(Symbols.ANIMAL, 0);
         player.getPlayArea().getAvailableResources().put(Symbols.FUNGI, 0);
         player.getPlayArea().getAvailableResources().put(Symbols.PLANT, 2);
@@ -345,16 +345,16 @@ class PlayerTest {
         Symbols points_object_card3 = Symbols.EMPTY;
         Symbols[] symbols_card3 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card3 = new GoldCard(symbols_card3, Colors.GREEN, null, true, 3, points_object_card3, null, null, requirements3);
-        player.getPlayArea().getGrid()[1][1]=card1;
-        player.getPlayArea().getGrid()[1][3]=card2;
+        player.getPlayArea().getGrid().put(1, 1, card1);
+        player.getPlayArea().getGrid().put(1, 3, card2);
         player.placeCard(card3, true, 2, 2);
-        assertEquals(card3, player.getPlayArea().getGrid()[2][2]);
+        assertEquals(card3, player.getPlayArea().getGrid().get(2, 2));
         assertEquals(2, player.getPlayArea().getAvailableResources().get(Symbols.QUILL));
         assertEquals(2, player.getPlayArea().getAvailableResources().get(Symbols.PLANT));
         assertEquals(3, player.getPlayArea().getAvailableResources().get(Symbols.INSECT));
         assertEquals(0, player.getPlayArea().getAvailableResources().get(Symbols.FUNGI));
-        assertEquals(false, player.getPlayArea().getGrid()[1][1].getCorners()[3]);
-        assertEquals(false, player.getPlayArea().getGrid()[1][3].getCorners()[2]);
+        assertEquals(false, player.getPlayArea().getGrid().get(1, 1).getCorners()[3]);
+        assertEquals(false, player.getPlayArea().getGrid().get(1, 3).getCorners()[2]);
         assertEquals(3, player.getPoints());
     }
     /**
@@ -363,7 +363,7 @@ class PlayerTest {
      */@Test
     void placeCard_gold_card_with_5_points() {
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         player.getPlayArea().getAvailableResources().put(Symbols.ANIMAL, 0);
         player.getPlayArea().getAvailableResources().put(Symbols.FUNGI, 0);
         player.getPlayArea().getAvailableResources().put(Symbols.PLANT, 2);
@@ -381,16 +381,16 @@ class PlayerTest {
         Symbols points_object_card3 = Symbols.EMPTY;
         Symbols[] symbols_card3 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card3 = new GoldCard(symbols_card3, Colors.GREEN, null, true, 5, points_object_card3, null, null, requirements3);
-        player.getPlayArea().getGrid()[1][1]=card1;
-        player.getPlayArea().getGrid()[1][3]=card2;
+        player.getPlayArea().getGrid().put(1, 1, card1);
+        player.getPlayArea().getGrid().put(1, 3, card2);
         player.placeCard(card3, true, 2, 2);
-        assertEquals(card3, player.getPlayArea().getGrid()[2][2]);
+        assertEquals(card3, player.getPlayArea().getGrid().get(2, 2));
         assertEquals(2, player.getPlayArea().getAvailableResources().get(Symbols.QUILL));
         assertEquals(2, player.getPlayArea().getAvailableResources().get(Symbols.PLANT));
         assertEquals(3, player.getPlayArea().getAvailableResources().get(Symbols.INSECT));
         assertEquals(0, player.getPlayArea().getAvailableResources().get(Symbols.FUNGI));
-        assertEquals(false, player.getPlayArea().getGrid()[1][1].getCorners()[3]);
-        assertEquals(false, player.getPlayArea().getGrid()[1][3].getCorners()[2]);
+        assertEquals(false, player.getPlayArea().getGrid().get(1, 1).getCorners()[3]);
+        assertEquals(false, player.getPlayArea().getGrid().get(1, 3).getCorners()[2]);
         assertEquals(5, player.getPoints());
     }
     /**
@@ -399,7 +399,7 @@ class PlayerTest {
      */@Test
     void placeCard_gold_card_with_2_points_per_quill() {
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         player.getPlayArea().getAvailableResources().put(Symbols.ANIMAL, 0);
         player.getPlayArea().getAvailableResources().put(Symbols.FUNGI, 0);
         player.getPlayArea().getAvailableResources().put(Symbols.PLANT, 2);
@@ -417,16 +417,16 @@ class PlayerTest {
         Symbols points_object_card3 = Symbols.QUILL;
         Symbols[] symbols_card3 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card3 = new GoldCard(symbols_card3, Colors.GREEN, null, true, 2, points_object_card3, null, null, requirements3);
-        player.getPlayArea().getGrid()[1][1]=card1;
-        player.getPlayArea().getGrid()[1][3]=card2;
+        player.getPlayArea().getGrid().put(1, 1, card1);
+        player.getPlayArea().getGrid().put(1, 3, card2);
         player.placeCard(card3, true, 2, 2);
-        assertEquals(card3, player.getPlayArea().getGrid()[2][2]);
+        assertEquals(card3, player.getPlayArea().getGrid().get(2, 2));
         assertEquals(2, player.getPlayArea().getAvailableResources().get(Symbols.QUILL));
         assertEquals(2, player.getPlayArea().getAvailableResources().get(Symbols.PLANT));
         assertEquals(3, player.getPlayArea().getAvailableResources().get(Symbols.INSECT));
         assertEquals(0, player.getPlayArea().getAvailableResources().get(Symbols.FUNGI));
-        assertEquals(false, player.getPlayArea().getGrid()[1][1].getCorners()[3]);
-        assertEquals(false, player.getPlayArea().getGrid()[1][3].getCorners()[2]);
+        assertEquals(false, player.getPlayArea().getGrid().get(1, 1).getCorners()[3]);
+        assertEquals(false, player.getPlayArea().getGrid().get(1, 3).getCorners()[2]);
         match.getTable().getScore().put(player.getNickname(), 0);
         assertEquals(4, player.getPoints());
     }
@@ -436,7 +436,7 @@ class PlayerTest {
      */@Test
     void placeCard_gold_card_with_2_points_per_corner_covered() {
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         player.getPlayArea().getAvailableResources().put(Symbols.ANIMAL, 0);
         player.getPlayArea().getAvailableResources().put(Symbols.FUNGI, 0);
         player.getPlayArea().getAvailableResources().put(Symbols.PLANT, 2);
@@ -454,16 +454,16 @@ class PlayerTest {
         Symbols points_object_card3 = Symbols.EMPTY;
         Symbols[] symbols_card3 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card3 = new GoldCard(symbols_card3, Colors.GREEN, null, true, 2, points_object_card3, null, null, requirements3);
-        player.getPlayArea().getGrid()[1][1]=card1;
-        player.getPlayArea().getGrid()[1][3]=card2;
+        player.getPlayArea().getGrid().put(1, 1, card1);
+        player.getPlayArea().getGrid().put(1, 3, card2);
         player.placeCard(card3, true, 2, 2);
-        assertEquals(card3, player.getPlayArea().getGrid()[2][2]);
+        assertEquals(card3, player.getPlayArea().getGrid().get(2, 2));
         assertEquals(2, player.getPlayArea().getAvailableResources().get(Symbols.QUILL));
         assertEquals(2, player.getPlayArea().getAvailableResources().get(Symbols.PLANT));
         assertEquals(3, player.getPlayArea().getAvailableResources().get(Symbols.INSECT));
         assertEquals(0, player.getPlayArea().getAvailableResources().get(Symbols.FUNGI));
-        assertEquals(false, player.getPlayArea().getGrid()[1][1].getCorners()[3]);
-        assertEquals(false, player.getPlayArea().getGrid()[1][3].getCorners()[2]);
+        assertEquals(false, player.getPlayArea().getGrid().get(1, 1).getCorners()[3]);
+        assertEquals(false, player.getPlayArea().getGrid().get(1, 3).getCorners()[2]);
         assertEquals(4, player.getPoints());
     }
 
@@ -474,7 +474,7 @@ class PlayerTest {
     @Test
     void placeCard_gold_card_folded() {
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         player.getPlayArea().getAvailableResources().put(Symbols.ANIMAL, 0);
         player.getPlayArea().getAvailableResources().put(Symbols.FUNGI, 0);
         player.getPlayArea().getAvailableResources().put(Symbols.PLANT, 2);
@@ -492,16 +492,16 @@ class PlayerTest {
         Symbols points_object_card3 = Symbols.EMPTY;
         Symbols[] symbols_card3 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card3 = new GoldCard(symbols_card3, Colors.GREEN, null, true, 3, points_object_card3, null, null, requirements3);
-        player.getPlayArea().getGrid()[1][1]=card1;
-        player.getPlayArea().getGrid()[1][3]=card2;
+        player.getPlayArea().getGrid().put(1, 1, card1);
+        player.getPlayArea().getGrid().put(1, 3, card2);
         player.placeCard(card3, false, 2, 2);
-        assertEquals(card3, player.getPlayArea().getGrid()[2][2]);
+        assertEquals(card3, player.getPlayArea().getGrid().get(2, 2));
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.QUILL));
         assertEquals(2, player.getPlayArea().getAvailableResources().get(Symbols.PLANT));
         assertEquals(2, player.getPlayArea().getAvailableResources().get(Symbols.INSECT));
         assertEquals(0, player.getPlayArea().getAvailableResources().get(Symbols.FUNGI));
-        assertEquals(false, player.getPlayArea().getGrid()[1][1].getCorners()[3]);
-        assertEquals(false, player.getPlayArea().getGrid()[1][3].getCorners()[2]);
+        assertEquals(false, player.getPlayArea().getGrid().get(1, 1).getCorners()[3]);
+        assertEquals(false, player.getPlayArea().getGrid().get(1, 3).getCorners()[2]);
         assertEquals(0, player.getPoints());
     }
     /**
@@ -511,14 +511,14 @@ class PlayerTest {
     @Test
     void placeCard_starter_card() {
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         Symbols pointsObject = Symbols.EMPTY;
         Symbols[] default_symbols = {Symbols.FUNGI, Symbols.PLANT, Symbols.INSECT, Symbols.ANIMAL};
         Symbols[] symbols = {Symbols.EMPTY, Symbols.NOCORNER, Symbols.INSECT, Symbols.FUNGI};
         Symbols[] centre = {Symbols.ANIMAL, Symbols.PLANT, Symbols.EMPTY};
         Card card = new StarterCard(symbols, null, centre, true, 0, pointsObject, null, null, default_symbols);
-        player.placeCard(card, true, 2, 2);
-        assertEquals(card, player.getPlayArea().getGrid()[2][2]);
+        player.placeCard(card, true, 0, 0);
+        assertEquals(card, player.getPlayArea().getGrid().get(0, 0));
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.PLANT));
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.FUNGI));
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.ANIMAL));
@@ -531,14 +531,14 @@ class PlayerTest {
     @Test
     void placeCard_starter_card_folded() {
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         Symbols[] default_symbols = {Symbols.FUNGI, Symbols.PLANT, Symbols.INSECT, Symbols.ANIMAL};
         Symbols[] symbols = {Symbols.EMPTY, Symbols.NOCORNER, Symbols.INSECT, Symbols.FUNGI};
         Symbols[] centre = {Symbols.ANIMAL, Symbols.PLANT, Symbols.EMPTY};
         Symbols pointsObject = Symbols.EMPTY;
         Card card = new StarterCard(symbols, null, centre, true, 0, pointsObject, null, null, default_symbols);
-        player.placeCard(card, false, 2, 2);
-        assertEquals(card, player.getPlayArea().getGrid()[2][2]);
+        player.placeCard(card, false, 0, 0);
+        assertEquals(card, player.getPlayArea().getGrid().get(0, 0));
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.PLANT));
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.FUNGI));
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.ANIMAL));
@@ -551,17 +551,17 @@ class PlayerTest {
     @Test
     void check_and_insert_2_cards_around() {
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         Symbols[] symbols_card1 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card1 = new ResourceCard(symbols_card1, Colors.RED, null, true, 0, null, null, null);
         Symbols[] symbols_card2 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card2 = new ResourceCard(symbols_card2, Colors.RED, null, true, 0, null, null, null);
         Symbols[] symbols_card3 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card3 = new ResourceCard(symbols_card3, Colors.GREEN, null, true, 0, null, null, null);
-        player.getPlayArea().getGrid()[1][1]=card1;
-        player.getPlayArea().getGrid()[1][3]=card2;
+        player.getPlayArea().getGrid().put(1, 1, card1);
+        player.getPlayArea().getGrid().put(1, 3, card2);
         player.getPlayArea().check_and_insert(card3, true, 2, 2);
-        assertEquals(card3, player.getPlayArea().getGrid()[2][2]);
+        assertEquals(card3, player.getPlayArea().getGrid().get(2, 2));
     }
     /**
      * This test assures that a new resource card not folded can be placed with 4 resource card already on the grid
@@ -569,7 +569,7 @@ class PlayerTest {
     @Test
     void check_and_insert_4_cards_around() {
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         Symbols[] symbols_card1 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card1 = new ResourceCard(symbols_card1, Colors.RED, null, true, 0, null, null, null);
         Symbols[] symbols_card2 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
@@ -580,12 +580,12 @@ class PlayerTest {
         Card card4 = new ResourceCard(symbols_card4, Colors.GREEN, null, true, 0, null, null, null);
         Symbols[] symbols_card5 = {Symbols.FUNGI, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card5 = new ResourceCard(symbols_card5, Colors.GREEN, null, true, 0, null, null, null);
-        player.getPlayArea().getGrid()[1][1]=card1;
-        player.getPlayArea().getGrid()[1][3]=card2;
-        player.getPlayArea().getGrid()[3][1]=card3;
-        player.getPlayArea().getGrid()[3][3]=card4;
+        player.getPlayArea().getGrid().put(1, 1, card1);
+        player.getPlayArea().getGrid().put(1, 3, card2);
+        player.getPlayArea().getGrid().put(3, 1, card3);
+        player.getPlayArea().getGrid().put(3, 3, card4);
         player.getPlayArea().check_and_insert(card5, true, 2, 2);
-        assertEquals(card5, player.getPlayArea().getGrid()[2][2]);
+        assertEquals(card5, player.getPlayArea().getGrid().get(2, 2));
     }
     /**
      * This test assures that a new resource card folded can be placed with 4 resource card already on the grid
@@ -593,7 +593,7 @@ class PlayerTest {
     @Test
     void check_and_insert_4_cards_around_card_to_place_folded() {
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         Symbols[] symbols_card1 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card1 = new ResourceCard(symbols_card1, Colors.RED, null, true, 0, null, null, null);
         Symbols[] symbols_card2 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
@@ -604,15 +604,15 @@ class PlayerTest {
         Card card4 = new ResourceCard(symbols_card4, Colors.GREEN, null, true, 0, null, null, null);
         Symbols[] symbols_card5 = {Symbols.FUNGI, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card5 = new ResourceCard(symbols_card5, Colors.GREEN, null, true, 0, null, null, null);
-        player.getPlayArea().getGrid()[1][1]=card1;
-        player.getPlayArea().getGrid()[1][3]=card2;
-        player.getPlayArea().getGrid()[3][1]=card3;
-        player.getPlayArea().getGrid()[3][3]=card4;
+        player.getPlayArea().getGrid().put(1, 1, card1);
+        player.getPlayArea().getGrid().put(1, 3, card2);
+        player.getPlayArea().getGrid().put(3, 1, card3);
+        player.getPlayArea().getGrid().put(3, 3, card4);
         player.getPlayArea().check_and_insert(card5, false, 2, 2);
-        assertEquals(card5, player.getPlayArea().getGrid()[2][2]);
-        assertEquals(false, player.getPlayArea().getGrid()[2][2].isFace());
+        assertEquals(card5, player.getPlayArea().getGrid().get(2, 2));
+        assertEquals(false, player.getPlayArea().getGrid().get(2, 2).isFace());
         for(int i=0; i<4; i++){
-            assertEquals(Symbols.EMPTY, player.getPlayArea().getGrid()[2][2].getSymbols()[i]);
+            assertEquals(Symbols.EMPTY, player.getPlayArea().getGrid().get(2, 2).getSymbols()[i]);
         }
     }
     /**
@@ -621,7 +621,7 @@ class PlayerTest {
      */@Test
     void check_and_insert_NOCORNER() {
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         Symbols[] symbols_card1 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card1 = new ResourceCard(symbols_card1, Colors.RED, null, true, 0, null, null, null);
         Symbols[] symbols_card2 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
@@ -632,12 +632,12 @@ class PlayerTest {
         Card card4 = new ResourceCard(symbols_card4, Colors.GREEN, null, true, 0, null, null, null);
         Symbols[] symbols_card5 = {Symbols.FUNGI, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card5 = new ResourceCard(symbols_card5, Colors.GREEN, null, true, 0, null, null, null);
-        player.getPlayArea().getGrid()[1][1]=card1;
-        player.getPlayArea().getGrid()[1][3]=card2;
-        player.getPlayArea().getGrid()[3][1]=card3;
-        player.getPlayArea().getGrid()[3][3]=card4;
+        player.getPlayArea().getGrid().put(1, 1, card1);
+        player.getPlayArea().getGrid().put(1, 3, card2);
+        player.getPlayArea().getGrid().put(3, 1, card3);
+        player.getPlayArea().getGrid().put(3, 3, card4);
         player.getPlayArea().check_and_insert(card5, true, 2, 2);
-        assertEquals(null, player.getPlayArea().getGrid()[2][2]);
+        assertEquals(null, player.getPlayArea().getGrid().get(2, 2));
     }
     /**
      * This test assures that a new resource card not folded can not be placed with 4 resource card already on the grid,
@@ -645,7 +645,7 @@ class PlayerTest {
      */@Test
     void check_and_insert_false() {
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         Symbols[] symbols_card1 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card1 = new ResourceCard(symbols_card1, Colors.RED, null, true, 0, null, null, null);
         Symbols[] symbols_card2 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
@@ -657,45 +657,160 @@ class PlayerTest {
         Card card4 = new ResourceCard(symbols_card4, Colors.GREEN, null, true, 0, null, null, null);
         Symbols[] symbols_card5 = {Symbols.FUNGI, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card5 = new ResourceCard(symbols_card5, Colors.GREEN, null, true, 0, null, null, null);
-        player.getPlayArea().getGrid()[1][1]=card1;
-        player.getPlayArea().getGrid()[1][3]=card2;
-        player.getPlayArea().getGrid()[3][1]=card3;
-        player.getPlayArea().getGrid()[3][3]=card4;
+        player.getPlayArea().getGrid().put(1, 1, card1);
+        player.getPlayArea().getGrid().put(1, 3, card2);
+        player.getPlayArea().getGrid().put(3, 1, card3);
+        player.getPlayArea().getGrid().put(3, 3, card4);
         player.getPlayArea().check_and_insert(card5, true, 2, 2);
-        assertEquals(null, player.getPlayArea().getGrid()[2][2]);
+        assertEquals(null, player.getPlayArea().getGrid().get(2, 2));
     }
     /**
      * This test assures that a new resource card not folded can not be placed because there are not near cards
      */@Test
     void check_and_insert_no_true() {
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         Symbols[] symbols_card1 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card1 = new ResourceCard(symbols_card1, Colors.RED, null, true, 0, null, null, null);
         player.getPlayArea().check_and_insert(card1, true, 2, 2);
-        assertEquals(null, player.getPlayArea().getGrid()[2][2]);
+        assertEquals(null, player.getPlayArea().getGrid().get(2, 2));
     }
 
     /**
-     * This test controls that the grid of a player is correctly extended when a card is placed
-     * near the border of the matrix
+     * This test controls that the legal positions of the play area, updated at every placement,
+     * are the same positions found by checking every position around the placed cards
      */
     @Test
-    void extend_matrix() {
+    void legal_positions_updated_on_placement() {
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(5,5, player));
-        player.extend_matrix(1, 3);
-        assertEquals(7, player.getPlayArea().getGrid().length);
-        player.extend_matrix(4, 4);
-        assertEquals(7, player.getPlayArea().getGrid().length);
-        player.extend_matrix(3, 1);
-        assertEquals(9, player.getPlayArea().getGrid().length);
-        player.extend_matrix(1, 1);
-        assertEquals(11, player.getPlayArea().getGrid().length);
-        player.extend_matrix(9, 3);
-        assertEquals(13, player.getPlayArea().getGrid().length);
-        player.extend_matrix(3, 11);
-        assertEquals(15, player.getPlayArea().getGrid().length);
+        player.setPlayArea(new PlayArea(player));
+        player.getHand().add(table.getDeckS().getFirst());
+        player.placeCard(table.getDeckS().getFirst(), true, 0, 0);
+        java.util.Random random = new java.util.Random(7);
+        for (int k = 0; k < 20; k++) {
+            long[] legal = player.getPlayArea().sortedLegalPositions();
+            SparseGrid grid = player.getPlayArea().getGrid();
+            int count = 0;
+            for (int i = grid.getMinRow() - 1; i <= grid.getMaxRow() + 1; i++) {
+                for (int j = grid.getMinColumn() - 1; j <= grid.getMaxColumn() + 1; j++) {
+                    assertEquals(PlayArea.check_position(grid, i, j), player.getPlayArea().isLegalPosition(i, j));
+                    assertEquals(PlayArea.check_position(grid, i, j), match.areCoordinatesValid(player.getNickname(), i, j));
+                    if (PlayArea.check_position(grid, i, j)) count++;
+                }
+            }
+            assertEquals(count, legal.length);
+            assertEquals(2 * count, match.legalPositions(player.getNickname()).size());
+            if (legal.length == 0) break;
+            long position = legal[random.nextInt(legal.length)];
+            Card card = table.getDeckR().removeFirst();
+            player.getHand().add(card);
+            player.placeCard(card, random.nextBoolean(), SparseGrid.rowOf(position), SparseGrid.columnOf(position));
+            assertEquals(card, grid.get(SparseGrid.rowOf(position), SparseGrid.columnOf(position)));
+            assertFalse(player.getPlayArea().isLegalPosition(SparseGrid.rowOf(position), SparseGrid.columnOf(position)));
+        }
+    }
+
+
+    /**
+     * This test controls that the legal positions are still correct when a card is outside the bitboards
+     */
+    @Test
+    void legal_positions_outside_bitboard() {
+        player.setPlayArea(new PlayArea(player));
+        Symbols[] symbols = {Symbols.EMPTY, Symbols.NOCORNER, Symbols.EMPTY, Symbols.EMPTY};
+        player.getPlayArea().getGrid().put(0, 0, new ResourceCard(symbols.clone(), Colors.RED, null, true, 0, null, null, null));
+        assertFalse(player.getPlayArea().getBitboard().isOverflowed());
+        assertTrue(player.getPlayArea().getBitboard().isOccupied(0, 0));
+        assertTrue(player.getPlayArea().isLegalPosition(1, 1));
+        assertFalse(player.getPlayArea().isLegalPosition(-1, 1));
+        player.getPlayArea().getGrid().put(100, 100, new ResourceCard(symbols.clone(), Colors.BLUE, null, true, 0, null, null, null));
+        assertTrue(player.getPlayArea().getBitboard().isOverflowed());
+        assertTrue(player.getPlayArea().isLegalPosition(101, 101));
+        assertFalse(player.getPlayArea().isLegalPosition(99, 101));
+        assertTrue(player.getPlayArea().isLegalPosition(1, 1));
+    }
+
+
+    /**
+     * This test controls that a fork of the bitboards shares them until one of the two is updated
+     */
+    @Test
+    void bitboard_fork() {
+        SparseGrid grid = new SparseGrid();
+        Symbols[] symbols = {Symbols.EMPTY, Symbols.EMPTY, Symbols.EMPTY, Symbols.EMPTY};
+        grid.put(0, 0, new ResourceCard(symbols.clone(), Colors.RED, null, true, 0, null, null, null));
+        Bitboard board = new Bitboard();
+        board.build(grid);
+        Bitboard fork = board.fork();
+        SparseGrid forkGrid = grid.fork();
+        forkGrid.put(1, 1, new ResourceCard(symbols.clone(), Colors.BLUE, null, true, 0, null, null, null));
+        fork.cardPlaced(forkGrid, 1, 1);
+        assertTrue(fork.isOccupied(1, 1));
+        assertFalse(board.isOccupied(1, 1));
+        assertEquals(1, board.getCards());
+        assertEquals(2, fork.getCards());
+        assertEquals(4, board.legalPositions().length);
+    }
+
+
+    /**
+     * This test controls that the set of packed positions keeps every key across growing and removals,
+     * the key 0 of the origin included
+     */
+    @Test
+    void long_set() {
+        LongSet set = new LongSet();
+        Random random = new Random(7);
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 2000; i++) {
+            long key = SparseGrid.pack(random.nextInt(21) - 10, random.nextInt(21) - 10);
+            if (random.nextInt(3) == 0) assertEquals(expected.remove(key), set.remove(key));
+            else assertEquals(expected.add(key), set.add(key));
+        }
+        assertEquals(expected.size(), set.size());
+        assertArrayEquals(expected.stream().mapToLong(Long::longValue).sorted().toArray(), set.sortedKeys());
+        LongSet copy = new LongSet(set);
+        copy.add(0L);
+        copy.remove(SparseGrid.pack(1, 1));
+        assertTrue(copy.contains(0L));
+        assertEquals(expected.contains(SparseGrid.pack(1, 1)), set.contains(SparseGrid.pack(1, 1)));
+        set.clear();
+        assertEquals(0, set.size());
+        assertFalse(set.contains(0L));
+    }
+
+
+    /**
+     * This test controls that the cards placed on the grid of a player keep their coordinates
+     * while the play area grows in every direction
+     */
+    @Test
+    void grid_keeps_coordinates() {
+        match = new MatchController(1, 4, table);
+        player.setPlayArea(new PlayArea(player));
+        Symbols[] symbols = {Symbols.EMPTY, Symbols.EMPTY, Symbols.EMPTY, Symbols.EMPTY};
+        Card card1 = new ResourceCard(symbols, Colors.RED, null, true, 0, null, null, null);
+        Card card2 = new ResourceCard(symbols, Colors.BLUE, null, true, 0, null, null, null);
+        player.getPlayArea().getGrid().put(0, 0, card1);
+        player.getPlayArea().getGrid().put(-1, -1, card2);
+        for (int i = 1; i <= 40; i++) {
+            player.getPlayArea().getGrid().put(i, i, new ResourceCard(symbols, Colors.GREEN, null, true, 0, null, null, null));
+            player.getPlayArea().getGrid().put(-i - 1, i - 1, new ResourceCard(symbols, Colors.PURPLE, null, true, 0, null, null, null));
+        }
+        assertEquals(card1, player.getPlayArea().getGrid().get(0, 0));
+        assertEquals(card2, player.getPlayArea().getGrid().get(-1, -1));
+        assertEquals(82, player.getPlayArea().getGrid().getSize());
+        assertEquals(-41, player.getPlayArea().getGrid().getMinRow());
+        assertEquals(40, player.getPlayArea().getGrid().getMaxRow());
+        assertEquals(-1, player.getPlayArea().getGrid().getMinColumn());
+        assertEquals(40, player.getPlayArea().getGrid().getMaxColumn());
+        player.getPlayArea().getGrid().remove(-1, -1);
+        assertNull(player.getPlayArea().getGrid().get(-1, -1));
+        assertEquals(81, player.getPlayArea().getGrid().getSize());
+        for (int i = 1; i <= 40; i++) {
+            assertEquals(Colors.GREEN, player.getPlayArea().getGrid().get(i, i).getColors());
+            assertEquals(Colors.PURPLE, player.getPlayArea().getGrid().get(-i - 1, i - 1).getColors());
+        }
     }
 
 
@@ -706,7 +821,7 @@ class PlayerTest {
     @Test
     void update_resources_folded_card_1() {
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         player.getPlayArea().getAvailableResources().put(Symbols.PLANT, 2);
         player.getPlayArea().getAvailableResources().put(Symbols.INSECT, 2);
         player.getPlayArea().getAvailableResources().put(Symbols.QUILL, 2);
@@ -716,9 +831,9 @@ class PlayerTest {
         Card card2 = new ResourceCard(symbols_card2, Colors.RED, null, true, 0, null, null, null);
         Symbols[] symbols_card3 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card3 = new ResourceCard(symbols_card3, Colors.GREEN, null, true, 0, null, null, null);
-        player.getPlayArea().getGrid()[1][1]=card1;
-        player.getPlayArea().getGrid()[1][3]=card2;
-        player.getPlayArea().getGrid()[2][2]=card3;
+        player.getPlayArea().getGrid().put(1, 1, card1);
+        player.getPlayArea().getGrid().put(1, 3, card2);
+        player.getPlayArea().getGrid().put(2, 2, card3);
         player.getPlayArea().update_resources(card3, false, 2, 2);
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.QUILL));
         assertEquals(2, player.getPlayArea().getAvailableResources().get(Symbols.PLANT));
@@ -731,7 +846,7 @@ class PlayerTest {
      */@Test
     void update_resources_folded_card_2() {
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         player.getPlayArea().getAvailableResources().put(Symbols.PLANT, 2);
         player.getPlayArea().getAvailableResources().put(Symbols.INSECT, 2);
         player.getPlayArea().getAvailableResources().put(Symbols.QUILL, 2);
@@ -742,9 +857,9 @@ class PlayerTest {
         Card card2 = new ResourceCard(symbols_card2, Colors.RED, null, true, 0, null, null, null);
         Symbols[] symbols_card3 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card3 = new ResourceCard(symbols_card3, Colors.RED, null, true, 0, null, null, null);
-        player.getPlayArea().getGrid()[1][1]=card1;
-        player.getPlayArea().getGrid()[1][3]=card2;
-        player.getPlayArea().getGrid()[2][2]=card3;
+        player.getPlayArea().getGrid().put(1, 1, card1);
+        player.getPlayArea().getGrid().put(1, 3, card2);
+        player.getPlayArea().getGrid().put(2, 2, card3);
         player.getPlayArea().update_resources(card3, false, 2, 2);
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.QUILL));
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.PLANT));
@@ -758,7 +873,7 @@ class PlayerTest {
      */@Test
     void update_resources_folded_card_3() {
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         player.getPlayArea().getAvailableResources().put(Symbols.PLANT, 2);
         player.getPlayArea().getAvailableResources().put(Symbols.INSECT, 2);
         player.getPlayArea().getAvailableResources().put(Symbols.QUILL, 2);
@@ -769,9 +884,9 @@ class PlayerTest {
         Card card2 = new ResourceCard(symbols_card2, Colors.RED, null, true, 0, null, null, null);
         Symbols[] symbols_card3 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card3 = new ResourceCard(symbols_card3, Colors.BLUE, null, true, 0, null, null, null);
-        player.getPlayArea().getGrid()[1][1]=card1;
-        player.getPlayArea().getGrid()[1][3]=card2;
-        player.getPlayArea().getGrid()[2][2]=card3;
+        player.getPlayArea().getGrid().put(1, 1, card1);
+        player.getPlayArea().getGrid().put(1, 3, card2);
+        player.getPlayArea().getGrid().put(2, 2, card3);
         player.getPlayArea().update_resources(card3, false, 2, 2);
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.QUILL));
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.PLANT));
@@ -784,7 +899,7 @@ class PlayerTest {
      */@Test
     void update_resources_folded_card_4() {
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         player.getPlayArea().getAvailableResources().put(Symbols.PLANT, 2);
         player.getPlayArea().getAvailableResources().put(Symbols.INSECT, 2);
         player.getPlayArea().getAvailableResources().put(Symbols.QUILL, 2);
@@ -794,9 +909,9 @@ class PlayerTest {
         Card card2 = new ResourceCard(symbols_card2, Colors.RED, null, true, 0, null, null, null);
         Symbols[] symbols_card3 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card3 = new ResourceCard(symbols_card3, Colors.PURPLE, null, true, 0, null, null, null);
-        player.getPlayArea().getGrid()[1][1]=card1;
-        player.getPlayArea().getGrid()[1][3]=card2;
-        player.getPlayArea().getGrid()[2][2]=card3;
+        player.getPlayArea().getGrid().put(1, 1, card1);
+        player.getPlayArea().getGrid().put(1, 3, card2);
+        player.getPlayArea().getGrid().put(2, 2, card3);
         player.getPlayArea().update_resources(card3, false, 2, 2);
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.QUILL));
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.PLANT));
@@ -809,7 +924,7 @@ class PlayerTest {
      */@Test
     void update_resources_not_folded_card_with_3_cards() {
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         player.getPlayArea().getAvailableResources().put(Symbols.PLANT, 2);
         player.getPlayArea().getAvailableResources().put(Symbols.INSECT, 2);
         player.getPlayArea().getAvailableResources().put(Symbols.QUILL, 2);
@@ -819,9 +934,9 @@ class PlayerTest {
         Card card2 = new ResourceCard(symbols_card2, Colors.RED, null, true, 0, null, null, null);
         Symbols[] symbols_card3 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card3 = new ResourceCard(symbols_card3, Colors.GREEN, null, true, 0, null, null, null);
-        player.getPlayArea().getGrid()[1][1]=card1;
-        player.getPlayArea().getGrid()[1][3]=card2;
-        player.getPlayArea().getGrid()[2][2]=card3;
+        player.getPlayArea().getGrid().put(1, 1, card1);
+        player.getPlayArea().getGrid().put(1, 3, card2);
+        player.getPlayArea().getGrid().put(2, 2, card3);
         player.getPlayArea().update_resources(card3, true, 2, 2);
         assertEquals(2, player.getPlayArea().getAvailableResources().get(Symbols.QUILL));
         assertEquals(2, player.getPlayArea().getAvailableResources().get(Symbols.PLANT));
@@ -834,7 +949,7 @@ class PlayerTest {
      */@Test
     void update_resources_not_folded_card_with_5_cards() {
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         player.getPlayArea().getAvailableResources().put(Symbols.PLANT, 2);
         player.getPlayArea().getAvailableResources().put(Symbols.INSECT, 2);
         player.getPlayArea().getAvailableResources().put(Symbols.QUILL, 2);
@@ -848,11 +963,11 @@ class PlayerTest {
         Card card4 = new ResourceCard(symbols_card4, Colors.RED, null, true, 0, null, null, null);
         Symbols[] symbols_card5 = {Symbols.QUILL, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card5 = new ResourceCard(symbols_card5, Colors.RED, null, true, 0, null, null, null);
-        player.getPlayArea().getGrid()[1][1]=card1;
-        player.getPlayArea().getGrid()[1][3]=card2;
-        player.getPlayArea().getGrid()[2][2]=card3;
-        player.getPlayArea().getGrid()[3][1]=card4;
-        player.getPlayArea().getGrid()[3][3]=card5;
+        player.getPlayArea().getGrid().put(1, 1, card1);
+        player.getPlayArea().getGrid().put(1, 3, card2);
+        player.getPlayArea().getGrid().put(2, 2, card3);
+        player.getPlayArea().getGrid().put(3, 1, card4);
+        player.getPlayArea().getGrid().put(3, 3, card5);
         player.getPlayArea().update_resources(card3, true, 2, 2);
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.QUILL));
         assertEquals(2, player.getPlayArea().getAvailableResources().get(Symbols.PLANT));
@@ -865,18 +980,18 @@ class PlayerTest {
      */@Test
     void update_resources_starter_card_not_folded() {
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         Symbols[] default_symbols = {Symbols.FUNGI, Symbols.PLANT, Symbols.INSECT, Symbols.ANIMAL};
         Symbols[] symbols = {Symbols.EMPTY, Symbols.NOCORNER, Symbols.INSECT, Symbols.FUNGI};
         Symbols[] centre = {Symbols.ANIMAL, Symbols.PLANT, Symbols.EMPTY};
         Card card = new StarterCard(symbols, null, centre, true, 0, null, null, null, default_symbols);
-        player.getPlayArea().getGrid()[2][2] = card;
+        player.getPlayArea().getGrid().put(2, 2, card);
         player.getPlayArea().update_resources(card, true, 2, 2);
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.ANIMAL));
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.PLANT));
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.INSECT));
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.FUNGI));
-        assertEquals(null,player.getPlayArea().getAvailableResources().get(Symbols.EMPTY));
+        assertEquals(0, player.getPlayArea().getAvailableResources().get(Symbols.EMPTY));
     }
 
     /**
@@ -884,7 +999,7 @@ class PlayerTest {
      */@Test
     void update_resources_starter_card_folded() {
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         Symbols[] default_symbols = {Symbols.FUNGI, Symbols.PLANT, Symbols.INSECT, Symbols.ANIMAL};
         Symbols[] symbols = {Symbols.EMPTY, Symbols.NOCORNER, Symbols.INSECT, Symbols.FUNGI};
         Symbols[] centre = {Symbols.ANIMAL, Symbols.PLANT, Symbols.EMPTY};
@@ -896,13 +1011,13 @@ class PlayerTest {
                 card.getCorners()[i] = true;
             }
         }
-        player.getPlayArea().getGrid()[2][2] = card;
+        player.getPlayArea().getGrid().put(2, 2, card);
         player.getPlayArea().update_resources(card, false, 2, 2);
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.ANIMAL));
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.PLANT));
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.INSECT));
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.FUNGI));
-        assertEquals(null,player.getPlayArea().getAvailableResources().get(Symbols.EMPTY));
+        assertEquals(0, player.getPlayArea().getAvailableResources().get(Symbols.EMPTY));
     }
 
     /**
@@ -911,18 +1026,18 @@ class PlayerTest {
     @Test
     void make_covered_corners_false() {
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         Symbols[] symbols_card1 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card1 = new ResourceCard(symbols_card1, Colors.RED, null, true, 0, null, null, null);
         Symbols[] symbols_card2 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card2 = new ResourceCard(symbols_card2, Colors.RED, null, true, 0, null, null, null);
         Symbols[] symbols_card3 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card3 = new ResourceCard(symbols_card3, Colors.GREEN, null, true, 0, null, null, null);
-        player.getPlayArea().getGrid()[1][1]=card1;
-        player.getPlayArea().getGrid()[1][3]=card2;
+        player.getPlayArea().getGrid().put(1, 1, card1);
+        player.getPlayArea().getGrid().put(1, 3, card2);
         player.getPlayArea().make_covered_corners_false(2, 2);
-        assertEquals(false, player.getPlayArea().getGrid()[1][1].getCorners()[3]);
-        assertEquals(false, player.getPlayArea().getGrid()[1][3].getCorners()[2]);
+        assertEquals(false, player.getPlayArea().getGrid().get(1, 1).getCorners()[3]);
+        assertEquals(false, player.getPlayArea().getGrid().get(1, 3).getCorners()[2]);
     }
 
     /**
@@ -932,7 +1047,7 @@ class PlayerTest {
     @Test
     void placeStarterCard(){
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         Symbols pointsObject = Symbols.EMPTY;
         Symbols[] default_symbols = {Symbols.FUNGI, Symbols.PLANT, Symbols.INSECT, Symbols.ANIMAL};
         Symbols[] symbols = {Symbols.EMPTY, Symbols.NOCORNER, Symbols.INSECT, Symbols.FUNGI};
@@ -942,7 +1057,7 @@ class PlayerTest {
         hand.add(card);
         player.setHand(hand);
         player.placeStarterCard(card, true);
-        assertEquals(card, player.getPlayArea().getGrid()[2][2]);
+        assertEquals(card, player.getPlayArea().getGrid().get(0, 0));
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.PLANT));
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.FUNGI));
         assertEquals(1, player.getPlayArea().getAvailableResources().get(Symbols.ANIMAL));
@@ -953,7 +1068,7 @@ class PlayerTest {
      */@Test
     void viewDifferenceOfResources1() {
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         player.getPlayArea().getAvailableResources().put(Symbols.PLANT, 2);
         player.getPlayArea().getAvailableResources().put(Symbols.INSECT, 2);
         player.getPlayArea().getAvailableResources().put(Symbols.QUILL, 2);
@@ -964,9 +1079,9 @@ class PlayerTest {
         Card card2 = new ResourceCard(symbols_card2, Colors.BLUE, null, true, 0, null, null, null);
         Symbols[] symbols_card3 = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card3 = new ResourceCard(symbols_card3, Colors.RED, null, true, 0, null, null, null);
-        player.getPlayArea().getGrid()[1][1]=card1;
-        player.getPlayArea().getGrid()[1][3]=card2;
-        player.getPlayArea().getGrid()[2][2]=card3;
+        player.getPlayArea().getGrid().put(1, 1, card1);
+        player.getPlayArea().getGrid().put(1, 3, card2);
+        player.getPlayArea().getGrid().put(2, 2, card3);
         player.viewDifferenceOfResources(card3, "front", 2, 2);
         player.viewDifferenceOfResources(card3, "back", 2, 2);
         player.viewDifferenceOfResources(card1, "front", 3, 1);
@@ -978,7 +1093,7 @@ class PlayerTest {
      */@Test
     void viewDifferenceOfResources2() {
         match = new MatchController(1, 4, table);
-        player.setPlayArea(new PlayArea(8,8, player));
+        player.setPlayArea(new PlayArea(player));
         player.getPlayArea().getAvailableResources().put(Symbols.PLANT, 2);
         player.getPlayArea().getAvailableResources().put(Symbols.INSECT, 2);
         player.getPlayArea().getAvailableResources().put(Symbols.QUILL, 2);
@@ -992,13 +1107,37 @@ class PlayerTest {
         Card card4 = new ResourceCard(symbols_card4, Colors.RED, null, true, 0, null, null, null);
         Symbols[] symbols_card5 = {Symbols.QUILL, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
         Card card5 = new ResourceCard(symbols_card5, Colors.PURPLE, null, true, 0, null, null, null);
-        player.getPlayArea().getGrid()[1][1]=card1;
-        player.getPlayArea().getGrid()[1][3]=card2;
-        player.getPlayArea().getGrid()[2][2]=card3;
-        player.getPlayArea().getGrid()[3][1]=card4;
-        player.getPlayArea().getGrid()[3][3]=card5;
+        player.getPlayArea().getGrid().put(1, 1, card1);
+        player.getPlayArea().getGrid().put(1, 3, card2);
+        player.getPlayArea().getGrid().put(2, 2, card3);
+        player.getPlayArea().getGrid().put(3, 1, card4);
+        player.getPlayArea().getGrid().put(3, 3, card5);
         player.viewDifferenceOfResources(card5, "back", 2, 2);
 
     }
 
-}
\ No newline at end of file
+    /**
+     * testing that the playable mask of the hand follows the changes of the available resources and of the hand
+     */
+    @Test
+    void playableMask() {
+        player.setPlayArea(new PlayArea(player));
+        Symbols[] symbols = {Symbols.NOCORNER, Symbols.INSECT, Symbols.QUILL, Symbols.PLANT};
+        Card resource = new ResourceCard(symbols, Colors.GREEN, null, true, 0, Symbols.EMPTY, null, null);
+        Map<Symbols, Integer> requirements = new HashMap<>();
+        requirements.put(Symbols.PLANT, 2);
+        Card gold = new GoldCard(symbols, Colors.GREEN, null, true, 1, Symbols.QUILL, null, null, requirements);
+        List<Card> hand = new ArrayList<>(List.of(gold, resource));
+        player.setHand(hand);
+        assertEquals(0b10, player.getPlayableMask());
+        assertFalse(player.isPlayable(0));
+        player.getPlayArea().getAvailableResources().put(Symbols.PLANT, 2);
+        assertEquals(0b11, player.getPlayableMask());
+        hand.removeFirst();
+        assertEquals(0b1, player.getPlayableMask());
+        hand.add(gold);
+        player.getPlayArea().getAvailableResources().subtract(Symbols.PLANT, 1);
+        assertEquals(0b01, player.getPlayableMask());
+        assertTrue(player.isPlayable(0));
+    }
+}
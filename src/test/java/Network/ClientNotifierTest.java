@@ -0,0 +1,63 @@
+package Network;
+
+import Controller.DrawPhase;
+import Controller.GameController;
+import Listeners.EndPoint;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests that the clients are told about the changes of their match whatever server they are connected to.
+ */
+class ClientNotifierTest {
+
+    /**
+     * The RMI and the TCP server register a notifier over the same clients, and each client is told once
+     * about the barriers of its match and, if it has subscribed, about the turns.
+     */
+    @Test
+    void everyClientToldOnce() {
+        GameController game = new GameController(0);
+        CopyOnWriteArrayList<ClientData> clients = new CopyOnWriteArrayList<>();
+        game.addObserver(new ClientNotifier(clients));
+        game.addObserver(new ClientNotifier(clients));
+
+        int id = game.openMatch("Corrado", 2, new EndPoint());
+        List<String> rmiCalls = new CopyOnWriteArrayList<>();
+        List<String> tcpCalls = new CopyOnWriteArrayList<>();
+        ClientData rmi = new ClientData(recording(rmiCalls), "Corrado", id);
+        ClientData tcp = new ClientData(recording(tcpCalls), "Federico", id);
+        rmi.setTurnsSubscribed(true);
+        tcp.setTurnsSubscribed(true);
+        clients.add(rmi);
+        clients.add(tcp);
+        clients.add(new ClientData(recording(new CopyOnWriteArrayList<>()), "Other", id + 1));
+
+        game.addPlayer("Federico", new EndPoint());
+        game.run(id, match -> match.getPhase().transition(new DrawPhase(match)));
+        List<String> expected = List.of("barrierReached [CONNECTED]", "turnChanged [Corrado, DrawPhase]");
+        assertEquals(expected, rmiCalls);
+        assertEquals(expected, tcpCalls);
+    }
+
+
+    /**
+     * Creates a client which records the notifications it receives.
+     *
+     * @param calls is where every notification is recorded, with its arguments
+     * @return the client
+     */
+    private VirtualView recording(List<String> calls) {
+        return (VirtualView) Proxy.newProxyInstance(VirtualView.class.getClassLoader(), new Class<?>[] {VirtualView.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("barrierReached") || method.getName().equals("turnChanged"))
+                        calls.add(method.getName() + " " + List.of(args));
+                    return null;
+                });
+    }
+}
@@ -0,0 +1,50 @@
+package Network.RMI;
+
+import Controller.GameController;
+import Listeners.GameStatus;
+import Listeners.Message;
+import Network.ClientData;
+import Network.VirtualView;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.rmi.RemoteException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests that the RMI server sends the updates of a match to its clients.
+ */
+class ServerRMITest {
+
+    /**
+     * A client which asks the server for the legal positions while showing a play area, as the ClientRMI does,
+     * gets its answer, because the update is sent once the command has left the mailbox of the match.
+     */
+    @Test
+    void callBackFromUpdate() {
+        GameController controller = new GameController(0);
+        ServerRMI server = new ServerRMI(null, controller, new CopyOnWriteArrayList<>());
+        int idMatch = server.openMatch("alice", 1);
+        List<String> shown = new CopyOnWriteArrayList<>();
+        //As with RMI, the client runs the callback on a thread of its own while the server waits for it
+        VirtualView client = (VirtualView) Proxy.newProxyInstance(VirtualView.class.getClassLoader(),
+                new Class<?>[] {VirtualView.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("showUpdate") && ((Message) args[0]).getStatus() == GameStatus.VIEW_AREA) {
+                        CompletableFuture.runAsync(() -> {
+                            try { shown.add(((Message) args[0]).getAreaOwner() + " " + server.getPlayersNames(idMatch)); }
+                            catch (RemoteException e) { throw new RuntimeException(e); }
+                        }).join();
+                    }
+                    return null;
+                });
+        server.connect(new ClientData(client, "alice", idMatch));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> server.viewPlayArea(idMatch, "alice", "alice"));
+        assertEquals(List.of("alice [alice]"), shown);
+    }
+}
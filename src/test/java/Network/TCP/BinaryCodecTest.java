@@ -0,0 +1,103 @@
+package Network.TCP;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests that the binary protocol carries the same requests and messages as the text protocol.
+ */
+class BinaryCodecTest {
+
+    /**
+     * Integers and strings are read back as they were written.
+     */
+    @Test
+    void roundTrip() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryCodec.writeVarint(out, 300);
+        BinaryCodec.writeSigned(out, -1);
+        BinaryCodec.writeSigned(out, Integer.MIN_VALUE);
+        BinaryCodec.writeText(out, "città");
+        BinaryCodec.writeText(out, null);
+        ByteBuffer in = ByteBuffer.wrap(out.toByteArray());
+        assertEquals(300, BinaryCodec.readVarint(in));
+        assertEquals(-1, BinaryCodec.readSigned(in));
+        assertEquals(Integer.MIN_VALUE, BinaryCodec.readSigned(in));
+        assertEquals("città", BinaryCodec.readText(in));
+        assertNull(BinaryCodec.readText(in));
+        assertFalse(in.hasRemaining());
+        assertArrayEquals(new byte[] {(byte) 0xAC, 0x02}, Arrays.copyOf(out.toByteArray(), 2));
+    }
+
+
+    /**
+     * The requests written by the ServerProxy become frames with the opcode and the typed arguments of the command,
+     * much shorter than their lines.
+     */
+    @Test
+    void requests() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ServerProxy proxy = new ServerProxy(new BufferedWriter(new BinaryRequestWriter(bytes)));
+        proxy.tryPlace(1, "alice", 2, "back", -40, 41);
+        int placeSize = bytes.size();
+        proxy.chat(1, "alice", "all", "hi");
+
+        InputStream in = new ByteArrayInputStream(bytes.toByteArray());
+        ByteBuffer frame = BinaryCodec.readFrame(in);
+        assertEquals(Opcode.TRY_PLACE, Opcode.of(BinaryCodec.readVarint(frame)));
+        assertEquals(1, BinaryCodec.readVarint(frame));
+        assertEquals(2, BinaryCodec.readSigned(frame));
+        assertEquals("back", BinaryCodec.readText(frame));
+        assertEquals(-40, BinaryCodec.readSigned(frame));
+        assertEquals(41, BinaryCodec.readSigned(frame));
+        assertFalse(frame.hasRemaining());
+
+        frame = BinaryCodec.readFrame(in);
+        assertEquals(Opcode.CHAT, Opcode.of(BinaryCodec.readVarint(frame)));
+        assertEquals(0, BinaryCodec.readVarint(frame));
+        assertEquals("alice", BinaryCodec.readText(frame));
+        assertEquals("all", BinaryCodec.readText(frame));
+        assertEquals("hi", BinaryCodec.readText(frame));
+        assertNull(BinaryCodec.readFrame(in));
+
+        String text = PendingRequests.tag(1, "try place") + "\n2\nback\n-40\n41\n";
+        assertTrue(placeSize < text.length() / 2);
+    }
+
+
+    /**
+     * The frames of the BinaryClientProxy are read by the client as the same lines the ClientProxy writes.
+     */
+    @Test
+    void messages() throws IOException {
+        StringWriter text = new StringWriter();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ClientProxy textProxy = new ClientProxy(new BufferedWriter(text));
+        ClientProxy binaryProxy = new BinaryClientProxy(bytes);
+        for (ClientProxy proxy : List.of(textProxy, binaryProxy)) {
+            MessageTCP outcome = new MessageTCP(MessageType.BOOLEAN, true);
+            outcome.setRequestID(7);
+            proxy.notifyOutcome(outcome);
+            proxy.notifyValue(new MessageTCP(MessageType.INTEGER, -3));
+            MessageTCP positions = new MessageTCP(MessageType.POSITIONS);
+            positions.setPositions(List.of(0, 12, -5));
+            proxy.notifyPositionList(positions);
+            MessageTCP names = new MessageTCP(MessageType.NAMES);
+            names.setNames(List.of("alice", "bob"));
+            proxy.notifyNamesList(names);
+            proxy.notifyChat(new MessageTCP(MessageType.TURN_CHANGED, "", "DrawPhase"));
+            proxy.notifyTurn(new MessageTCP(MessageType.TURN));
+            proxy.notifyString(new MessageTCP(MessageType.BARRIER, "CONNECTED"));
+        }
+
+        BufferedReader reader = new BufferedReader(new BinaryAnswerReader(new ByteArrayInputStream(bytes.toByteArray())));
+        for (String expected : text.toString().split("\\R")) assertEquals(expected, reader.readLine());
+        assertNull(reader.readLine());
+    }
+}
@@ -0,0 +1,78 @@
+package Network.TCP;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.StringWriter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests that the answers of the TCP protocol complete the requests with the same correlation ID.
+ */
+class PendingRequestsTest {
+
+    /**
+     * Many requests can be in flight and their answers can arrive in any order.
+     */
+    @Test
+    void answersOutOfOrder() throws ExecutionException, InterruptedException {
+        PendingRequests requests = new PendingRequests();
+        int first = requests.open();
+        CompletableFuture<String> firstAnswer = requests.lastOpened();
+        int second = requests.open();
+        CompletableFuture<String> secondAnswer = requests.lastOpened();
+        assertNotEquals(first, second);
+        assertEquals(2, requests.size());
+
+        assertTrue(requests.complete(second, "true"));
+        assertFalse(firstAnswer.isDone());
+        assertTrue(requests.complete(first, "7"));
+        assertEquals("7", firstAnswer.get());
+        assertEquals("true", secondAnswer.get());
+        assertFalse(requests.complete(first, "7"));
+        assertEquals(0, requests.size());
+
+        requests.open();
+        CompletableFuture<String> lost = requests.lastOpened();
+        requests.failAll(new EOFException());
+        assertThrows(ExecutionException.class, lost::get);
+        assertEquals(0, requests.size());
+    }
+
+
+    /**
+     * Lines are tagged and untagged with the correlation ID, and untagged lines are left as they are.
+     */
+    @Test
+    void tags() {
+        String tagged = PendingRequests.tag(42, "get points");
+        assertEquals(42, PendingRequests.idOf(tagged));
+        assertEquals("get points", PendingRequests.untag(tagged));
+        assertEquals(0, PendingRequests.idOf("TURN CHANGED"));
+        assertEquals("TURN CHANGED", PendingRequests.untag("TURN CHANGED"));
+    }
+
+
+    /**
+     * The client proxy tags the header of the answers, but not the header of the notifications.
+     */
+    @Test
+    void answersAreTagged() {
+        StringWriter written = new StringWriter();
+        ClientProxy proxy = new ClientProxy(new BufferedWriter(written));
+        MessageTCP answer = new MessageTCP(MessageType.BOOLEAN, true);
+        answer.setRequestID(5);
+        proxy.notifyOutcome(answer);
+        proxy.notifyString(new MessageTCP(MessageType.BARRIER, "CONNECTED"));
+        String[] lines = written.toString().split("\\R");
+        assertEquals(5, PendingRequests.idOf(lines[0]));
+        assertEquals("BOOLEAN", PendingRequests.untag(lines[0]));
+        assertEquals("true", lines[1]);
+        assertEquals("BARRIER", lines[2]);
+        assertEquals("CONNECTED", lines[3]);
+    }
+}
@@ -0,0 +1,165 @@
+package Network.TCP;
+
+import Controller.GameController;
+import Network.ClientData;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests that the selector engine of the TCP server speaks the same protocol as the blocking one.
+ */
+class SelectorServerTest {
+
+    /**
+     * Many clients are served by two event loops, and requests split across many packets are executed
+     * only once all their arguments have arrived.
+     */
+    @Test
+    void manyConnections() throws IOException, InterruptedException {
+        int connections = 200;
+        CopyOnWriteArrayList<ClientData> clients = new CopyOnWriteArrayList<>();
+        ServerSocketChannel listenChannel = ServerSocketChannel.open()
+                .bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), connections);
+        ServerTCP server = new ServerTCP(listenChannel.socket(), new GameController(0), clients);
+        SelectorServer engine = new SelectorServer(server, listenChannel, 2);
+        Thread acceptor = Thread.ofVirtual().start(() -> {
+            try {
+                engine.runServer();
+            } catch (IOException ignored) {
+                // The listen channel has been closed at the end of the test
+            }
+        });
+
+        List<Socket> sockets = new ArrayList<>();
+        try {
+            for (int i = 0; i < connections; i++) {
+                Socket socket = new Socket(InetAddress.getLoopbackAddress(), listenChannel.socket().getLocalPort());
+                sockets.add(socket);
+                OutputStream out = socket.getOutputStream();
+                out.write((PendingRequests.tag(2 * i + 1, "first") + "\n").getBytes());
+                out.write((PendingRequests.tag(2 * i + 2, "check na")).getBytes());
+                out.flush();
+                out.write("me\r\n".getBytes());
+                out.flush();
+                out.write(("player" + i + "\n").getBytes());
+                out.flush();
+            }
+            for (int i = 0; i < connections; i++) {
+                BufferedReader in = new BufferedReader(new InputStreamReader(sockets.get(i).getInputStream()));
+                String header = in.readLine();
+                assertEquals(2 * i + 1, PendingRequests.idOf(header));
+                assertEquals("BOOLEAN", PendingRequests.untag(header));
+                assertEquals("true", in.readLine());
+                header = in.readLine();
+                assertEquals(2 * i + 2, PendingRequests.idOf(header));
+                assertEquals("BOOLEAN", PendingRequests.untag(header));
+                assertEquals("false", in.readLine());
+            }
+            assertEquals(connections, clients.size());
+            assertEquals(2, engine.getEventLoops());
+        } finally {
+            for (Socket socket : sockets) socket.close();
+            listenChannel.close();
+            acceptor.join();
+        }
+    }
+
+
+    /**
+     * A client asking for the binary protocol is served by the event loops with frames,
+     * even when the handshake and the frames are split across many packets.
+     */
+    @Test
+    void binaryHandshake() throws IOException, InterruptedException {
+        ServerSocketChannel listenChannel = ServerSocketChannel.open()
+                .bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        ServerTCP server = new ServerTCP(listenChannel.socket(), new GameController(0), new CopyOnWriteArrayList<>());
+        SelectorServer engine = new SelectorServer(server, listenChannel, 1);
+        Thread acceptor = Thread.ofVirtual().start(() -> {
+            try {
+                engine.runServer();
+            } catch (IOException ignored) {
+                // The listen channel has been closed at the end of the test
+            }
+        });
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), listenChannel.socket().getLocalPort())) {
+            OutputStream out = socket.getOutputStream();
+            out.write(BinaryCodec.MAGIC);
+            out.flush();
+            out.write(BinaryCodec.VERSION);
+            ByteArrayOutputStream requests = new ByteArrayOutputStream();
+            BinaryCodec.writeFrame(requests, Opcode.FIRST.encode(1));
+            BinaryCodec.writeFrame(requests, Opcode.CHECK_NAME.encode(2, "alice"));
+            byte[] bytes = requests.toByteArray();
+            for (byte b : bytes) {
+                out.write(b);
+                out.flush();
+            }
+            InputStream in = socket.getInputStream();
+            assertEquals(BinaryCodec.MAGIC, in.read());
+            assertEquals(BinaryCodec.VERSION, in.read());
+            BufferedReader answers = new BufferedReader(new BinaryAnswerReader(in));
+            assertEquals(PendingRequests.tag(1, "BOOLEAN"), answers.readLine());
+            assertEquals("true", answers.readLine());
+            assertEquals(PendingRequests.tag(2, "BOOLEAN"), answers.readLine());
+            assertEquals("false", answers.readLine());
+        } finally {
+            listenChannel.close();
+            acceptor.join();
+        }
+    }
+
+
+    /**
+     * A client which sends requests without reading the answers is disconnected once too many bytes
+     * are waiting to be sent to it.
+     */
+    @Test
+    void slowClientDisconnected() throws IOException, InterruptedException {
+        BufferPool pool = new BufferPool(64, 4);
+        ServerTCP server = new ServerTCP(new ServerSocket(), new GameController(0), new CopyOnWriteArrayList<>());
+        //The event loop is not running, so nothing is ever sent
+        SocketChannel channel = SocketChannel.open();
+        SelectorConnection connection = new SelectorConnection(server, channel, new EventLoop(pool), pool, 256);
+        for (int i = 1; i <= 100; i++) {
+            connection.received(ByteBuffer.wrap((PendingRequests.tag(i, "first") + "\n").getBytes()));
+        }
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (channel.isOpen() && System.currentTimeMillis() < deadline) Thread.sleep(10);
+        assertFalse(channel.isOpen());
+    }
+
+
+    /**
+     * The buffers given back to the pool are reused, and the pool keeps no more than its capacity.
+     */
+    @Test
+    void pooledBuffers() {
+        BufferPool pool = new BufferPool(64, 1);
+        var first = pool.acquire();
+        var second = pool.acquire();
+        assertTrue(first.isDirect());
+        assertEquals(64, first.capacity());
+        first.put((byte) 1);
+        pool.release(first);
+        pool.release(second);
+        assertEquals(1, pool.size());
+        var reused = pool.acquire();
+        assertSame(first, reused);
+        assertEquals(0, reused.position());
+        assertEquals(0, pool.size());
+    }
+}
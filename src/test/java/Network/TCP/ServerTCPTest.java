@@ -0,0 +1,108 @@
+package Network.TCP;
+
+import Controller.GameController;
+import Network.ClientData;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests that the TCP server handles every connection on a thread of the configured executor.
+ */
+class ServerTCPTest {
+
+    /**
+     * Many clients stay connected at the same time, each one served by its own virtual thread.
+     */
+    @Test
+    void manyConnections() throws IOException, InterruptedException {
+        int connections = 200;
+        AtomicInteger virtualThreads = new AtomicInteger();
+        ThreadFactory virtual = Thread.ofVirtual().factory();
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(task -> {
+            Thread thread = virtual.newThread(task);
+            if (thread.isVirtual()) virtualThreads.incrementAndGet();
+            return thread;
+        });
+        CopyOnWriteArrayList<ClientData> clients = new CopyOnWriteArrayList<>();
+        ServerSocket listenSocket = new ServerSocket(0, connections, InetAddress.getLoopbackAddress());
+        ServerTCP server = new ServerTCP(listenSocket, new GameController(0), clients, executor);
+        Thread acceptor = Thread.ofVirtual().start(() -> {
+            try {
+                server.runServer();
+            } catch (IOException ignored) {
+                // The listen socket has been closed at the end of the test
+            }
+        });
+
+        List<Socket> sockets = new ArrayList<>();
+        try {
+            for (int i = 0; i < connections; i++) {
+                Socket socket = new Socket(InetAddress.getLoopbackAddress(), listenSocket.getLocalPort());
+                sockets.add(socket);
+                PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream()), true);
+                out.println(PendingRequests.tag(i + 1, "first"));
+            }
+            for (int i = 0; i < connections; i++) {
+                BufferedReader in = new BufferedReader(new InputStreamReader(sockets.get(i).getInputStream()));
+                String header = in.readLine();
+                assertEquals(i + 1, PendingRequests.idOf(header));
+                assertEquals("BOOLEAN", PendingRequests.untag(header));
+                assertEquals("true", in.readLine());
+            }
+            assertEquals(connections, clients.size());
+            assertEquals(connections, virtualThreads.get());
+        } finally {
+            for (Socket socket : sockets) socket.close();
+            listenSocket.close();
+            acceptor.join();
+            executor.close();
+        }
+    }
+
+
+    /**
+     * A client asking for the binary protocol in the handshake is answered with frames,
+     * while the other clients of the same server keep using the text protocol.
+     */
+    @Test
+    void binaryHandshake() throws IOException, InterruptedException {
+        ServerSocket listenSocket = new ServerSocket(0, 10, InetAddress.getLoopbackAddress());
+        ServerTCP server = new ServerTCP(listenSocket, new GameController(0), new CopyOnWriteArrayList<>());
+        Thread acceptor = Thread.ofVirtual().start(() -> {
+            try {
+                server.runServer();
+            } catch (IOException ignored) {
+                // The listen socket has been closed at the end of the test
+            }
+        });
+        try (Socket binary = new Socket(InetAddress.getLoopbackAddress(), listenSocket.getLocalPort());
+             Socket text = new Socket(InetAddress.getLoopbackAddress(), listenSocket.getLocalPort())) {
+            BinaryCodec.request(binary.getInputStream(), binary.getOutputStream());
+            new ServerProxy(new BufferedWriter(new BinaryRequestWriter(binary.getOutputStream()))).checkName("alice");
+            BufferedReader answers = new BufferedReader(new BinaryAnswerReader(binary.getInputStream()));
+            assertEquals(PendingRequests.tag(1, "BOOLEAN"), answers.readLine());
+            assertEquals("false", answers.readLine());
+
+            new PrintWriter(new OutputStreamWriter(text.getOutputStream()), true).println(PendingRequests.tag(1, "first"));
+            BufferedReader lines = new BufferedReader(new InputStreamReader(text.getInputStream()));
+            assertEquals(PendingRequests.tag(1, "BOOLEAN"), lines.readLine());
+            assertEquals("true", lines.readLine());
+        } finally {
+            listenSocket.close();
+            acceptor.join();
+        }
+    }
+}